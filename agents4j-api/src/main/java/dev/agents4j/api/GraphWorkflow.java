@@ -1,6 +1,8 @@
 package dev.agents4j.api;
 
 import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.batch.BatchOptions;
+import dev.agents4j.api.batch.WorkflowBatch;
 import dev.agents4j.api.context.*;
 import dev.agents4j.api.context.WorkflowContext;
 import dev.agents4j.api.graph.EdgeId;
@@ -16,10 +18,13 @@ import dev.agents4j.api.result.error.WorkflowError;
 import dev.agents4j.api.serialization.*;
 import dev.agents4j.api.suspension.*;
 import dev.agents4j.api.validation.*;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Interface for graph-based workflow implementations.
@@ -86,7 +91,159 @@ public interface GraphWorkflow<S, O> {
     );
 
     /**
-     * Starts the workflow execution asynchronously.
+     * Resumes a suspended workflow from the state store.
+     *
+     * @param workflowId The ID of the suspended workflow
+     * @return Result of the resumed workflow execution
+     * @see #getStateStore()
+     */
+    default WorkflowResult<O, WorkflowError> resume(WorkflowId workflowId) {
+        return resume(workflowId, WorkflowContext.empty());
+    }
+
+    /**
+     * Resumes a suspended workflow from the state store with context
+     * updates. Stored states were written by this workflow, so they are
+     * resumed with {@link ResumeOptions#permissive()}.
+     *
+     * @param workflowId The ID of the suspended workflow
+     * @param contextUpdates Additional context updates to apply
+     * @return Result of the resumed workflow execution
+     */
+    default WorkflowResult<O, WorkflowError> resume(
+        WorkflowId workflowId,
+        WorkflowContext contextUpdates
+    ) {
+        return resume(workflowId, contextUpdates, ResumeOptions.permissive());
+    }
+
+    /**
+     * Resumes a suspended workflow from the state store with context updates
+     * and options. Fails if the workflow has no store, is not suspended, or
+     * its suspension has expired.
+     *
+     * <p>The suspension is claimed by removing it from the store before the
+     * workflow runs, so two resumes, or a resume and the suspension's
+     * timeout, never both run it: whichever claims it first wins and the
+     * other fails with {@code SUSPENSION_CONFLICT}. Expiry is checked here
+     * against the system clock; a timeout service measuring against
+     * another clock may see the suspension as expired earlier or later,
+     * but the claim still lets only one of them proceed.</p>
+     *
+     * @param workflowId The ID of the suspended workflow
+     * @param contextUpdates Additional context updates to apply
+     * @param options Resume options
+     * @return Result of the resumed workflow execution
+     */
+    default WorkflowResult<O, WorkflowError> resume(
+        WorkflowId workflowId,
+        WorkflowContext contextUpdates,
+        ResumeOptions options
+    ) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Optional<WorkflowStateStore> store = getStateStore();
+        if (store.isEmpty()) {
+            return WorkflowResult.failure(
+                createStoreError(
+                    "NO_STATE_STORE",
+                    "Workflow has no state store: " + getName()
+                )
+            );
+        }
+
+        try {
+            Optional<StoredSuspension> stored = store.get().get(workflowId);
+            if (stored.isEmpty()) {
+                return WorkflowResult.failure(
+                    createStoreError(
+                        "SUSPENSION_NOT_FOUND",
+                        "No suspended state for workflow: " + workflowId.value()
+                    )
+                );
+            }
+            if (stored.get().isExpired(Instant.now())) {
+                return WorkflowResult.failure(
+                    createStoreError(
+                        "SUSPENSION_EXPIRED",
+                        "Suspension expired at " +
+                        stored.get().expiresAt() +
+                        ": " +
+                        stored.get().suspensionId()
+                    )
+                );
+            }
+
+            GraphWorkflowState<S> state = getStateSerializer()
+                .deserialize(stored.get().state(), getVersion());
+            if (
+                !store.get().delete(workflowId, stored.get().suspensionId())
+            ) {
+                return WorkflowResult.failure(
+                    createStoreError(
+                        "SUSPENSION_CONFLICT",
+                        "Suspension already claimed: " +
+                        stored.get().suspensionId()
+                    )
+                );
+            }
+            return resumeClaimed(stored.get(), state, contextUpdates, options);
+        } catch (WorkflowStateSerializer.DeserializationException e) {
+            return WorkflowResult.failure(createDeserializationError(e));
+        } catch (WorkflowStateSerializer.VersionMismatchException e) {
+            return WorkflowResult.failure(createVersionMismatchError(e));
+        } catch (Exception e) {
+            return WorkflowResult.failure(createGenericError(e));
+        }
+    }
+
+    /**
+     * Resumes a suspension that was claimed from the state store. If the
+     * execution fails recoverably the suspension is put back, unless the
+     * workflow has been suspended again meanwhile, so it can be resumed
+     * again. Implementations that keep the store in step with execution
+     * results should override this so that a completed execution does not
+     * remove a suspension other than the claimed one.
+     *
+     * @param suspension The claimed suspension
+     * @param state The state deserialized from the suspension
+     * @param contextUpdates Additional context updates to apply
+     * @param options Resume options
+     * @return Result of the resumed workflow execution
+     */
+    default WorkflowResult<O, WorkflowError> resumeClaimed(
+        StoredSuspension suspension,
+        GraphWorkflowState<S> state,
+        WorkflowContext contextUpdates,
+        ResumeOptions options
+    ) {
+        WorkflowResult<O, WorkflowError> result = resumeWithOptions(
+            state,
+            contextUpdates,
+            options
+        );
+        if (result.getError().filter(WorkflowError::isRecoverable).isPresent()) {
+            getStateStore().ifPresent(store -> {
+                if (store.get(suspension.workflowId()).isEmpty()) {
+                    store.put(suspension);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Gets the store suspended states are persisted to.
+     *
+     * @return The state store, or empty if suspended states are only
+     *         returned to the caller
+     */
+    default Optional<WorkflowStateStore> getStateStore() {
+        return Optional.empty();
+    }
+
+    /**
+     * Starts the workflow execution asynchronously. Implementations may stop
+     * the execution when the returned future is cancelled.
      *
      * @param input The workflow input
      * @return CompletableFuture with the workflow result
@@ -105,6 +262,44 @@ public interface GraphWorkflow<S, O> {
         WorkflowContext context
     );
 
+    /**
+     * Starts one execution per input with bounded concurrency. Inputs are
+     * consumed lazily and results are published per item; failures of
+     * individual items do not abort the batch.
+     *
+     * @param inputs The workflow inputs
+     * @param options The batch options
+     * @return The batch, which starts when subscribed to
+     */
+    default WorkflowBatch<S, O> startBatch(
+        Iterable<S> inputs,
+        BatchOptions options
+    ) {
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        Objects.requireNonNull(options, "Batch options cannot be null");
+        return new WorkflowBatch<>(inputs.iterator(), options, input ->
+            startAsync(input, options.getContext())
+        );
+    }
+
+    /**
+     * Starts one execution per element of the stream with bounded
+     * concurrency. The stream is consumed lazily; closing it remains the
+     * caller's responsibility.
+     *
+     * @param inputs The workflow inputs
+     * @param options The batch options
+     * @return The batch, which starts when subscribed to
+     */
+    default WorkflowBatch<S, O> startBatch(
+        Stream<S> inputs,
+        BatchOptions options
+    ) {
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        Iterable<S> iterable = inputs::iterator;
+        return startBatch(iterable, options);
+    }
+
     /**
      * Gets the workflow version for compatibility checking.
      *
@@ -526,6 +721,10 @@ public interface GraphWorkflow<S, O> {
         );
     }
 
+    private WorkflowError createStoreError(String code, String message) {
+        return ValidationError.of(code, message, "state", "unknown");
+    }
+
     private WorkflowError createGenericError(Exception e) {
         return ValidationError.of(
             "INTERNAL_ERROR",
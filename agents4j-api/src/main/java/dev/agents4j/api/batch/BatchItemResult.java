@@ -0,0 +1,34 @@
+package dev.agents4j.api.batch;
+
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import java.util.Objects;
+
+/**
+ * The result of one execution in a batch.
+ *
+ * @param index The zero-based position of the input in the batch
+ * @param input The workflow input
+ * @param result The workflow result; failures of individual items are
+ *     reported here and do not abort the batch
+ * @param <I> The workflow input type
+ * @param <O> The workflow output type
+ */
+public record BatchItemResult<I, O>(
+    long index,
+    I input,
+    WorkflowResult<O, WorkflowError> result
+) {
+    public BatchItemResult {
+        Objects.requireNonNull(result, "Result cannot be null");
+    }
+
+    /**
+     * Checks whether the execution of this item succeeded.
+     *
+     * @return true if the result is a success
+     */
+    public boolean isSuccess() {
+        return result.isSuccess();
+    }
+}
@@ -0,0 +1,176 @@
+package dev.agents4j.api.batch;
+
+import dev.agents4j.api.context.WorkflowContext;
+import java.util.Objects;
+
+/**
+ * Configuration options for batch workflow execution.
+ * Controls how many executions may be in flight at once, the order in which
+ * results are emitted, and the initial context shared by every execution.
+ */
+public final class BatchOptions {
+
+    /**
+     * Order in which batch results are emitted.
+     */
+    public enum ResultOrder {
+        /** Results are emitted as soon as each execution finishes. */
+        COMPLETION,
+        /** Results are emitted in the order the inputs were supplied. */
+        INPUT,
+    }
+
+    private final int maxConcurrency;
+    private final ResultOrder resultOrder;
+    private final WorkflowContext context;
+
+    private BatchOptions(Builder builder) {
+        this.maxConcurrency = builder.maxConcurrency;
+        this.resultOrder = builder.resultOrder;
+        this.context = builder.context;
+    }
+
+    /**
+     * Gets the maximum number of executions that are started but whose
+     * results have not yet been delivered. This bounds both the work in
+     * flight and the results buffered for a slow subscriber.
+     *
+     * @return The maximum number of outstanding executions
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Gets the order in which results are emitted.
+     *
+     * @return The result order
+     */
+    public ResultOrder getResultOrder() {
+        return resultOrder;
+    }
+
+    /**
+     * Gets the initial context for every execution in the batch.
+     *
+     * @return The initial context
+     */
+    public WorkflowContext getContext() {
+        return context;
+    }
+
+    /**
+     * Creates a new builder for BatchOptions.
+     *
+     * @return A new builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates BatchOptions with default settings: up to twice the number of
+     * available processors in flight, results in completion order.
+     *
+     * @return Default BatchOptions
+     */
+    public static BatchOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Creates BatchOptions with the given concurrency limit and defaults for
+     * everything else.
+     *
+     * @param maxConcurrency The maximum number of outstanding executions
+     * @return BatchOptions with the given limit
+     */
+    public static BatchOptions withMaxConcurrency(int maxConcurrency) {
+        return builder().maxConcurrency(maxConcurrency).build();
+    }
+
+    /**
+     * Builder for creating BatchOptions instances.
+     */
+    public static final class Builder {
+
+        private int maxConcurrency =
+            Runtime.getRuntime().availableProcessors() * 2;
+        private ResultOrder resultOrder = ResultOrder.COMPLETION;
+        private WorkflowContext context = WorkflowContext.empty();
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum number of outstanding executions.
+         *
+         * @param maxConcurrency The limit, at least 1
+         * @return this builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException(
+                    "Max concurrency must be at least 1"
+                );
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the order in which results are emitted.
+         *
+         * @param resultOrder The result order
+         * @return this builder
+         */
+        public Builder resultOrder(ResultOrder resultOrder) {
+            this.resultOrder = Objects.requireNonNull(
+                resultOrder,
+                "Result order cannot be null"
+            );
+            return this;
+        }
+
+        /**
+         * Emits results in input order.
+         *
+         * @return this builder
+         */
+        public Builder preserveInputOrder() {
+            return resultOrder(ResultOrder.INPUT);
+        }
+
+        /**
+         * Sets the initial context for every execution.
+         *
+         * @param context The initial context
+         * @return this builder
+         */
+        public Builder context(WorkflowContext context) {
+            this.context = Objects.requireNonNull(
+                context,
+                "Context cannot be null"
+            );
+            return this;
+        }
+
+        /**
+         * Builds the BatchOptions instance.
+         *
+         * @return A new BatchOptions instance
+         */
+        public BatchOptions build() {
+            return new BatchOptions(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "BatchOptions{maxConcurrency=%d, resultOrder=%s, contextSize=%d}",
+            maxConcurrency,
+            resultOrder,
+            context.size()
+        );
+    }
+}
@@ -0,0 +1,410 @@
+package dev.agents4j.api.batch;
+
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.SystemError;
+import dev.agents4j.api.result.error.WorkflowError;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A batch of workflow executions, published as a stream of per-item results.
+ *
+ * <p>Inputs are pulled lazily from the source. At most
+ * {@link BatchOptions#getMaxConcurrency()} executions are outstanding at any
+ * time, counting both executions in flight and results not yet delivered, so
+ * a slow subscriber holds back the batch instead of letting results pile up.
+ * A failing item is reported as a failed {@link BatchItemResult} and does not
+ * abort the batch; only an exception thrown by the input source ends the
+ * stream with an error.</p>
+ *
+ * <p>The batch starts when it is subscribed to and supports a single
+ * subscriber. Results can also be consumed as a blocking {@link #stream()}.
+ * Cancelling the subscription cancels the executions still in flight.</p>
+ *
+ * @param <I> The workflow input type
+ * @param <O> The workflow output type
+ */
+public final class WorkflowBatch<I, O>
+    implements Flow.Publisher<BatchItemResult<I, O>> {
+
+    private final Iterator<I> inputs;
+    private final BatchOptions options;
+    private final Function<
+        I,
+        CompletionStage<WorkflowResult<O, WorkflowError>>
+    > starter;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Creates a batch.
+     *
+     * @param inputs The inputs, consumed lazily
+     * @param options The batch options
+     * @param starter Starts one execution for an input
+     */
+    public WorkflowBatch(
+        Iterator<I> inputs,
+        BatchOptions options,
+        Function<I, CompletionStage<WorkflowResult<O, WorkflowError>>> starter
+    ) {
+        this.inputs = Objects.requireNonNull(inputs, "Inputs cannot be null");
+        this.options = Objects.requireNonNull(
+            options,
+            "Batch options cannot be null"
+        );
+        this.starter = Objects.requireNonNull(starter, "Starter cannot be null");
+    }
+
+    @Override
+    public void subscribe(
+        Flow.Subscriber<? super BatchItemResult<I, O>> subscriber
+    ) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(CANCELLED);
+            subscriber.onError(
+                new IllegalStateException(
+                    "A workflow batch supports a single subscriber"
+                )
+            );
+            return;
+        }
+        BatchSubscription subscription = new BatchSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    /**
+     * Runs the batch and returns its results as a sequential stream. Reading
+     * the stream blocks until the next result is available; closing it
+     * cancels the remaining executions.
+     *
+     * @return The stream of results
+     */
+    public Stream<BatchItemResult<I, O>> stream() {
+        BlockingSubscriber<I, O> subscriber = new BlockingSubscriber<>(
+            options.getMaxConcurrency()
+        );
+        subscribe(subscriber);
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                subscriber,
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).onClose(subscriber::cancel);
+    }
+
+    /**
+     * Subscription that starts executions and delivers results. All work
+     * happens in {@link #drain()}, which is entered by one thread at a time;
+     * completions only enqueue their result and trigger a drain.
+     */
+    private final class BatchSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super BatchItemResult<I, O>> subscriber;
+        private final boolean inputOrder =
+            options.getResultOrder() == BatchOptions.ResultOrder.INPUT;
+        private final Queue<BatchItemResult<I, O>> completed =
+            new ConcurrentLinkedQueue<>();
+        private final Map<Long, BatchItemResult<I, O>> completedByIndex =
+            new ConcurrentHashMap<>();
+        private final Map<Long, CompletableFuture<?>> running =
+            new ConcurrentHashMap<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable requestError;
+
+        // Only accessed while draining
+        private long nextIndex;
+        private long nextDeliveryIndex;
+        private int outstanding;
+        private boolean exhausted;
+        private boolean terminated;
+        private Throwable sourceError;
+
+        private BatchSubscription(
+            Flow.Subscriber<? super BatchItemResult<I, O>> subscriber
+        ) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException(
+                    "Request must be positive, was " + n
+                );
+            } else {
+                requested.getAndAccumulate(n, (current, add) -> {
+                    long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                drainOnce();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            if (terminated) {
+                return;
+            }
+            if (cancelled) {
+                terminated = true;
+                running.values().forEach(execution -> execution.cancel(true));
+                running.clear();
+                completed.clear();
+                completedByIndex.clear();
+                return;
+            }
+            if (requestError != null) {
+                terminated = true;
+                subscriber.onError(requestError);
+                return;
+            }
+
+            // Deliver what has been requested
+            long delivered = 0;
+            long demand = requested.get();
+            while (delivered < demand && !cancelled) {
+                BatchItemResult<I, O> next = pollNext();
+                if (next == null) {
+                    break;
+                }
+                outstanding--;
+                delivered++;
+                subscriber.onNext(next);
+            }
+            if (delivered > 0) {
+                requested.addAndGet(-delivered);
+            }
+
+            // Start executions while there is room
+            while (
+                !exhausted && outstanding < options.getMaxConcurrency() && !cancelled
+            ) {
+                I input;
+                try {
+                    if (!inputs.hasNext()) {
+                        exhausted = true;
+                        break;
+                    }
+                    input = inputs.next();
+                } catch (RuntimeException e) {
+                    exhausted = true;
+                    sourceError = e;
+                    break;
+                }
+                start(nextIndex++, input);
+            }
+
+            if (exhausted && outstanding == 0 && !cancelled) {
+                terminated = true;
+                if (sourceError != null) {
+                    subscriber.onError(sourceError);
+                } else {
+                    subscriber.onComplete();
+                }
+            }
+        }
+
+        private BatchItemResult<I, O> pollNext() {
+            if (!inputOrder) {
+                return completed.poll();
+            }
+            BatchItemResult<I, O> next = completedByIndex.remove(
+                nextDeliveryIndex
+            );
+            if (next != null) {
+                nextDeliveryIndex++;
+            }
+            return next;
+        }
+
+        private void start(long index, I input) {
+            outstanding++;
+            CompletionStage<WorkflowResult<O, WorkflowError>> execution;
+            try {
+                execution = starter.apply(input);
+            } catch (RuntimeException e) {
+                onItemDone(new BatchItemResult<>(index, input, itemFailure(e)));
+                return;
+            }
+            CompletableFuture<WorkflowResult<O, WorkflowError>> future =
+                execution.toCompletableFuture();
+            running.put(index, future);
+            future.whenComplete((result, throwable) ->
+                onItemDone(
+                    new BatchItemResult<>(
+                        index,
+                        input,
+                        throwable != null ? itemFailure(throwable) : result
+                    )
+                )
+            );
+        }
+
+        private void onItemDone(BatchItemResult<I, O> item) {
+            running.remove(item.index());
+            if (cancelled) {
+                return;
+            }
+            if (inputOrder) {
+                completedByIndex.put(item.index(), item);
+            } else {
+                completed.offer(item);
+            }
+            drain();
+        }
+    }
+
+    private static <O> WorkflowResult<O, WorkflowError> itemFailure(
+        Throwable throwable
+    ) {
+        Throwable cause = throwable instanceof CompletionException &&
+            throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+        return WorkflowResult.failure(
+            SystemError.of(
+                "BATCH_ITEM_ERROR",
+                "Unexpected error executing batch item: " + cause.getMessage(),
+                "WorkflowBatch"
+            )
+        );
+    }
+
+    private static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+    };
+
+    /**
+     * Subscriber that hands results to a blocking iterator, requesting more as
+     * they are consumed.
+     */
+    private static final class BlockingSubscriber<I, O>
+        implements Flow.Subscriber<BatchItemResult<I, O>>, Iterator<BatchItemResult<I, O>> {
+
+        private static final Object COMPLETE = new Object();
+
+        private final int prefetch;
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+        private Object next;
+        private boolean done;
+
+        private BlockingSubscriber(int prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(BatchItemResult<I, O> item) {
+            signals.offer(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.offer(new ErrorSignal(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            signals.offer(COMPLETE);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            Object signal;
+            try {
+                signal = signals.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CompletionException(e);
+            }
+            if (signal == COMPLETE) {
+                done = true;
+                return false;
+            }
+            if (signal instanceof ErrorSignal error) {
+                done = true;
+                throw new CompletionException(error.throwable());
+            }
+            next = signal;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public BatchItemResult<I, O> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BatchItemResult<I, O> item = (BatchItemResult<I, O>) next;
+            next = null;
+            subscription.request(1);
+            return item;
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private record ErrorSignal(Throwable throwable) {}
+    }
+}
@@ -0,0 +1,112 @@
+package dev.agents4j.api.context;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in registry of well-known context keys. Registering a key interns it and
+ * assigns it a stable, dense slot index; {@link ExecutionContext} stores the
+ * values of registered keys in a small array indexed by slot and only hashes
+ * ad-hoc keys.
+ *
+ * <p>Registration is meant for a bounded set of keys declared as constants,
+ * such as framework keys; keys built from dynamic names should not be
+ * registered.</p>
+ */
+public final class ContextKeyRegistry {
+
+    /**
+     * Maximum number of keys that can be registered.
+     */
+    public static final int MAX_SLOTS = 256;
+
+    private static final ConcurrentHashMap<ContextKey<?>, ContextSlot<?>> SLOTS =
+        new ConcurrentHashMap<>();
+    private static volatile ContextKey<?>[] keysBySlot = new ContextKey<?>[0];
+
+    private ContextKeyRegistry() {}
+
+    /**
+     * Registers a key, returning its slot. Registering an equal key again
+     * returns the existing slot.
+     *
+     * @param key The key to register
+     * @param <T> The type of the value associated with the key
+     * @return The slot assigned to the key
+     * @throws IllegalStateException if {@link #MAX_SLOTS} keys are already registered
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ContextSlot<T> register(ContextKey<T> key) {
+        Objects.requireNonNull(key, "Context key cannot be null");
+        ContextSlot<?> existing = SLOTS.get(key);
+        if (existing != null) {
+            return (ContextSlot<T>) existing;
+        }
+        synchronized (ContextKeyRegistry.class) {
+            existing = SLOTS.get(key);
+            if (existing != null) {
+                return (ContextSlot<T>) existing;
+            }
+            int index = keysBySlot.length;
+            if (index >= MAX_SLOTS) {
+                throw new IllegalStateException(
+                    "Cannot register context key '" +
+                    key.name() +
+                    "': all " +
+                    MAX_SLOTS +
+                    " slots are in use"
+                );
+            }
+            ContextSlot<T> slot = new ContextSlot<>(key, index);
+            ContextKey<?>[] grown = Arrays.copyOf(keysBySlot, index + 1);
+            grown[index] = key;
+            keysBySlot = grown;
+            SLOTS.put(key, slot);
+            return slot;
+        }
+    }
+
+    /**
+     * Gets the canonical instance of a registered key.
+     *
+     * @param key The key to look up
+     * @param <T> The type of the value associated with the key
+     * @return The registered instance, or the given key if it is not registered
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ContextKey<T> intern(ContextKey<T> key) {
+        ContextSlot<?> slot = SLOTS.get(key);
+        return slot != null ? (ContextKey<T>) slot.key() : key;
+    }
+
+    /**
+     * Gets the slot index of a key.
+     *
+     * @param key The key to look up
+     * @return The slot index, or -1 if the key is not registered
+     */
+    public static int slotOf(ContextKey<?> key) {
+        ContextSlot<?> slot = SLOTS.get(key);
+        return slot != null ? slot.index() : -1;
+    }
+
+    /**
+     * Gets the number of registered keys.
+     *
+     * @return The registered key count
+     */
+    public static int size() {
+        return keysBySlot.length;
+    }
+
+    /**
+     * Gets the key registered at a slot index.
+     *
+     * @param index The slot index
+     * @return The registered key
+     */
+    static ContextKey<?> keyAt(int index) {
+        return keysBySlot[index];
+    }
+}
@@ -0,0 +1,44 @@
+package dev.agents4j.api.context;
+
+/**
+ * Handle for a context key registered with {@link ContextKeyRegistry}.
+ * Reading a context through a slot indexes a small array directly, avoiding
+ * the key hashing and {@link java.util.Optional} allocation of
+ * {@link WorkflowContext#get(ContextKey)}. Slots are only created by the
+ * registry, so a slot always matches the key it was registered for.
+ *
+ * @param <T> The type of the value associated with the key
+ */
+public final class ContextSlot<T> {
+
+    private final ContextKey<T> key;
+    private final int index;
+
+    ContextSlot(ContextKey<T> key, int index) {
+        this.key = key;
+        this.index = index;
+    }
+
+    /**
+     * Gets the registered key.
+     *
+     * @return The key
+     */
+    public ContextKey<T> key() {
+        return key;
+    }
+
+    /**
+     * Gets the dense slot index assigned by the registry.
+     *
+     * @return The slot index
+     */
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ContextSlot{key=%s, index=%d}", key.name(), index);
+    }
+}
@@ -0,0 +1,693 @@
+package dev.agents4j.api.context;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Persistent hash trie (CHAMP) mapping context keys to values, backing
+ * {@link ExecutionContext}. Updates copy only the nodes on the path to the
+ * changed entry, so {@code with}/{@code without} cost O(log32 n) and share
+ * everything else with the previous context. Null values are supported.
+ */
+final class ContextTrie {
+
+    static final ContextTrie EMPTY = new ContextTrie(BitmapNode.EMPTY, 0, 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int HASH_BITS = 32;
+
+    /** Low bits of a bulk sort key that carry the entry's original index. */
+    private static final int INDEX_BITS = 28;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final int MAX_BULK_ENTRIES = 1 << INDEX_BITS;
+
+    /** Stored in place of null values so that absent and null can be told apart. */
+    private static final Object NULL_VALUE = new Object();
+
+    private final Node root;
+    private final int size;
+    private final int hashCode;
+
+    private ContextTrie(Node root, int size, int hashCode) {
+        this.root = root;
+        this.size = size;
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Builds a trie from distinct keys in one pass. Entries are sorted by
+     * their hash, taken five bits at a time from the low end, so that each
+     * node's entries are contiguous; every node is then allocated once at its
+     * final size instead of being copied on each insertion. The result has
+     * the same shape as inserting the entries one by one.
+     *
+     * @param keys The keys, which must be distinct
+     * @param values The values, where null is allowed
+     * @param count The number of entries to take from the arrays
+     */
+    static ContextTrie of(ContextKey<?>[] keys, Object[] values, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        if (count > MAX_BULK_ENTRIES) {
+            throw new IllegalArgumentException("Too many entries: " + count);
+        }
+        long[] order = new long[count];
+        int hashCode = 0;
+        for (int i = 0; i < count; i++) {
+            int hash = keys[i].hashCode();
+            long sortKey = 0;
+            for (int shift = 0; shift < HASH_BITS; shift += BITS) {
+                sortKey = (sortKey << BITS) | ((hash >>> shift) & MASK);
+            }
+            order[i] = (sortKey << INDEX_BITS) | i;
+            hashCode += hash ^ Objects.hashCode(values[i]);
+        }
+        Arrays.sort(order);
+        ContextKey<?>[] sortedKeys = new ContextKey<?>[count];
+        Object[] sortedValues = new Object[count];
+        int[] hashes = new int[count];
+        for (int i = 0; i < count; i++) {
+            int index = (int) (order[i] & INDEX_MASK);
+            sortedKeys[i] = keys[index];
+            sortedValues[i] = mask(values[index]);
+            hashes[i] = keys[index].hashCode();
+        }
+        Node root = buildNode(sortedKeys, sortedValues, hashes, 0, count, 0);
+        return new ContextTrie(root, count, hashCode);
+    }
+
+    private static Node buildNode(
+        ContextKey<?>[] keys,
+        Object[] values,
+        int[] hashes,
+        int from,
+        int to,
+        int shift
+    ) {
+        if (shift >= HASH_BITS) {
+            return new CollisionNode(
+                Arrays.copyOfRange(keys, from, to),
+                Arrays.copyOfRange(values, from, to)
+            );
+        }
+        int dataMap = 0;
+        int nodeMap = 0;
+        for (int start = from; start < to;) {
+            int mask = (hashes[start] >>> shift) & MASK;
+            int end = groupEnd(hashes, start, to, shift, mask);
+            if (end - start == 1) {
+                dataMap |= 1 << mask;
+            } else {
+                nodeMap |= 1 << mask;
+            }
+            start = end;
+        }
+        int dataArity = Integer.bitCount(dataMap);
+        Object[] content = new Object[2 * dataArity + Integer.bitCount(nodeMap)];
+        int data = 0;
+        int nodes = 0;
+        for (int start = from; start < to;) {
+            int mask = (hashes[start] >>> shift) & MASK;
+            int end = groupEnd(hashes, start, to, shift, mask);
+            if (end - start == 1) {
+                content[2 * data] = keys[start];
+                content[2 * data + 1] = values[start];
+                data++;
+            } else {
+                // Node slots are stored in reverse order at the back
+                content[content.length - 1 - nodes] = buildNode(
+                    keys,
+                    values,
+                    hashes,
+                    start,
+                    end,
+                    shift + BITS
+                );
+                nodes++;
+            }
+            start = end;
+        }
+        return new BitmapNode(dataMap, nodeMap, content);
+    }
+
+    private static int groupEnd(
+        int[] hashes,
+        int start,
+        int to,
+        int shift,
+        int mask
+    ) {
+        int end = start + 1;
+        while (end < to && ((hashes[end] >>> shift) & MASK) == mask) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @return The value, or null if the key is absent or mapped to null
+     */
+    Object get(Object key) {
+        return unmask(root.find(key, key.hashCode(), 0));
+    }
+
+    boolean containsKey(Object key) {
+        return root.find(key, key.hashCode(), 0) != null;
+    }
+
+    ContextTrie put(ContextKey<?> key, Object value) {
+        int keyHash = key.hashCode();
+        Change change = new Change();
+        Node newRoot = root.put(key, mask(value), keyHash, 0, change);
+        if (newRoot == root) {
+            return this;
+        }
+        int entryHash = keyHash ^ Objects.hashCode(value);
+        if (change.replaced) {
+            int oldEntryHash = keyHash ^ Objects.hashCode(unmask(change.oldValue));
+            return new ContextTrie(newRoot, size, hashCode - oldEntryHash + entryHash);
+        }
+        return new ContextTrie(newRoot, size + 1, hashCode + entryHash);
+    }
+
+    ContextTrie remove(Object key) {
+        int keyHash = key.hashCode();
+        Change change = new Change();
+        Node newRoot = root.remove(key, keyHash, 0, change);
+        if (!change.removed) {
+            return this;
+        }
+        int oldEntryHash = keyHash ^ Objects.hashCode(unmask(change.oldValue));
+        return new ContextTrie(newRoot, size - 1, hashCode - oldEntryHash);
+    }
+
+    /**
+     * Adds the entries of {@code smaller} that are not present in this trie.
+     * Used to merge a smaller context underneath a larger one.
+     */
+    ContextTrie putAllAbsent(ContextTrie smaller) {
+        ContextTrie[] result = { this };
+        smaller.forEach((key, value) -> {
+            if (!result[0].containsKey(key)) {
+                result[0] = result[0].put(key, value);
+            }
+        });
+        return result[0];
+    }
+
+    /**
+     * Adds all entries of {@code smaller}, replacing existing mappings.
+     */
+    ContextTrie putAll(ContextTrie smaller) {
+        ContextTrie[] result = { this };
+        smaller.forEach((key, value) -> result[0] = result[0].put(key, value));
+        return result[0];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(BiConsumer<ContextKey<?>, Object> action) {
+        KeyIterator keys = new KeyIterator(root);
+        while (keys.hasNext()) {
+            ContextKey<?> key = keys.next();
+            action.accept(key, unmask(keys.currentValue()));
+        }
+    }
+
+    /**
+     * Gets an unmodifiable live view of the keys.
+     */
+    Set<ContextKey<?>> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<ContextKey<?>> iterator() {
+                return new KeyIterator(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o != null && containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ContextTrie that)) return false;
+        if (size != that.size || hashCode != that.hashCode) return false;
+        boolean[] equal = { true };
+        forEach((key, value) -> {
+            if (equal[0]) {
+                Object other = that.root.find(key, key.hashCode(), 0);
+                equal[0] = other != null && Objects.equals(value, unmask(other));
+            }
+        });
+        return equal[0];
+    }
+
+    /**
+     * Same value as {@link java.util.Map#hashCode()} for the equivalent map,
+     * maintained incrementally.
+     */
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    private static Object mask(Object value) {
+        return value == null ? NULL_VALUE : value;
+    }
+
+    private static Object unmask(Object stored) {
+        return stored == NULL_VALUE ? null : stored;
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    /** Details of a single update, filled in by the nodes. */
+    private static final class Change {
+
+        private boolean replaced;
+        private boolean removed;
+        private Object oldValue;
+    }
+
+    private abstract static class Node {
+
+        /** @return the stored value (masked), or null if absent */
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node put(
+            ContextKey<?> key,
+            Object value,
+            int hash,
+            int shift,
+            Change change
+        );
+
+        abstract Node remove(Object key, int hash, int shift, Change change);
+
+        abstract int payloadArity();
+
+        abstract ContextKey<?> keyAt(int index);
+
+        abstract Object valueAt(int index);
+
+        abstract int nodeArity();
+
+        abstract Node nodeAt(int index);
+
+        final boolean isSingleton() {
+            return payloadArity() == 1 && nodeArity() == 0;
+        }
+    }
+
+    /**
+     * CHAMP node: inline entries are stored as key/value pairs at the front of
+     * {@code content}, sub-nodes in reverse order at the back.
+     */
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, 0, new Object[0]);
+
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] content;
+
+        private BitmapNode(int dataMap, int nodeMap, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                return key.equals(content[2 * i]) ? content[2 * i + 1] : null;
+            }
+            if ((nodeMap & bit) != 0) {
+                return subNode(bit).find(key, hash, shift + BITS);
+            }
+            return null;
+        }
+
+        @Override
+        Node put(
+            ContextKey<?> key,
+            Object value,
+            int hash,
+            int shift,
+            Change change
+        ) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                Object existingKey = content[2 * i];
+                if (key.equals(existingKey)) {
+                    Object existingValue = content[2 * i + 1];
+                    if (existingValue == value) {
+                        return this;
+                    }
+                    change.replaced = true;
+                    change.oldValue = existingValue;
+                    Object[] copy = content.clone();
+                    copy[2 * i + 1] = value;
+                    return new BitmapNode(dataMap, nodeMap, copy);
+                }
+                Node merged = mergeTwo(
+                    (ContextKey<?>) existingKey,
+                    content[2 * i + 1],
+                    existingKey.hashCode(),
+                    key,
+                    value,
+                    hash,
+                    shift + BITS
+                );
+                return migrateInlineToNode(bit, merged);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node sub = subNode(bit);
+                Node newSub = sub.put(key, value, hash, shift + BITS, change);
+                return newSub == sub ? this : withSubNode(bit, newSub);
+            }
+            return insertInline(bit, key, value);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift, Change change) {
+            int bit = bit(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                if (!key.equals(content[2 * i])) {
+                    return this;
+                }
+                change.removed = true;
+                change.oldValue = content[2 * i + 1];
+                return removeInline(bit, i);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node sub = subNode(bit);
+                Node newSub = sub.remove(key, hash, shift + BITS, change);
+                if (!change.removed) {
+                    return this;
+                }
+                if (newSub.isSingleton()) {
+                    if (shift > 0 && payloadArity() == 0 && nodeArity() == 1) {
+                        // Let the parent inline the remaining entry
+                        return newSub;
+                    }
+                    return migrateNodeToInline(bit, newSub);
+                }
+                return withSubNode(bit, newSub);
+            }
+            return this;
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        ContextKey<?> keyAt(int index) {
+            return (ContextKey<?>) content[2 * index];
+        }
+
+        @Override
+        Object valueAt(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Node nodeAt(int index) {
+            return (Node) content[content.length - 1 - index];
+        }
+
+        private Node subNode(int bit) {
+            return nodeAt(index(nodeMap, bit));
+        }
+
+        private BitmapNode withSubNode(int bit, Node newSub) {
+            Object[] copy = content.clone();
+            copy[content.length - 1 - index(nodeMap, bit)] = newSub;
+            return new BitmapNode(dataMap, nodeMap, copy);
+        }
+
+        private BitmapNode insertInline(int bit, Object key, Object value) {
+            int at = 2 * index(dataMap, bit);
+            Object[] copy = new Object[content.length + 2];
+            System.arraycopy(content, 0, copy, 0, at);
+            copy[at] = key;
+            copy[at + 1] = value;
+            System.arraycopy(content, at, copy, at + 2, content.length - at);
+            return new BitmapNode(dataMap | bit, nodeMap, copy);
+        }
+
+        private BitmapNode removeInline(int bit, int dataIndex) {
+            int at = 2 * dataIndex;
+            Object[] copy = new Object[content.length - 2];
+            System.arraycopy(content, 0, copy, 0, at);
+            System.arraycopy(content, at + 2, copy, at, content.length - at - 2);
+            return new BitmapNode(dataMap ^ bit, nodeMap, copy);
+        }
+
+        private BitmapNode migrateInlineToNode(int bit, Node node) {
+            int dataAt = 2 * index(dataMap, bit);
+            // Node slots are stored in reverse, so the new slot lands after
+            // the remaining nodes with a lower bit
+            int nodeAt = content.length - 2 - index(nodeMap, bit);
+            Object[] copy = new Object[content.length - 1];
+            System.arraycopy(content, 0, copy, 0, dataAt);
+            System.arraycopy(content, dataAt + 2, copy, dataAt, nodeAt - dataAt);
+            copy[nodeAt] = node;
+            System.arraycopy(
+                content,
+                nodeAt + 2,
+                copy,
+                nodeAt + 1,
+                content.length - nodeAt - 2
+            );
+            return new BitmapNode(dataMap ^ bit, nodeMap | bit, copy);
+        }
+
+        private BitmapNode migrateNodeToInline(int bit, Node node) {
+            int oldNodeAt = content.length - 1 - index(nodeMap, bit);
+            int dataAt = 2 * index(dataMap, bit);
+            Object[] copy = new Object[content.length + 1];
+            System.arraycopy(content, 0, copy, 0, dataAt);
+            copy[dataAt] = node.keyAt(0);
+            copy[dataAt + 1] = node.valueAt(0);
+            System.arraycopy(content, dataAt, copy, dataAt + 2, oldNodeAt - dataAt);
+            System.arraycopy(
+                content,
+                oldNodeAt + 1,
+                copy,
+                oldNodeAt + 2,
+                content.length - oldNodeAt - 1
+            );
+            return new BitmapNode(dataMap | bit, nodeMap ^ bit, copy);
+        }
+
+        private static Node mergeTwo(
+            ContextKey<?> key0,
+            Object value0,
+            int hash0,
+            ContextKey<?> key1,
+            Object value1,
+            int hash1,
+            int shift
+        ) {
+            if (shift >= HASH_BITS) {
+                return new CollisionNode(
+                    new ContextKey<?>[] { key0, key1 },
+                    new Object[] { value0, value1 }
+                );
+            }
+            int mask0 = (hash0 >>> shift) & MASK;
+            int mask1 = (hash1 >>> shift) & MASK;
+            if (mask0 != mask1) {
+                int dataMap = (1 << mask0) | (1 << mask1);
+                Object[] content = mask0 < mask1
+                    ? new Object[] { key0, value0, key1, value1 }
+                    : new Object[] { key1, value1, key0, value0 };
+                return new BitmapNode(dataMap, 0, content);
+            }
+            Node sub = mergeTwo(
+                key0,
+                value0,
+                hash0,
+                key1,
+                value1,
+                hash1,
+                shift + BITS
+            );
+            return new BitmapNode(0, 1 << mask0, new Object[] { sub });
+        }
+    }
+
+    /** Entries whose keys have identical hash codes. */
+    private static final class CollisionNode extends Node {
+
+        private final ContextKey<?>[] keys;
+        private final Object[] values;
+
+        private CollisionNode(ContextKey<?>[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node put(
+            ContextKey<?> key,
+            Object value,
+            int hash,
+            int shift,
+            Change change
+        ) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    if (values[i] == value) {
+                        return this;
+                    }
+                    change.replaced = true;
+                    change.oldValue = values[i];
+                    Object[] newValues = values.clone();
+                    newValues[i] = value;
+                    return new CollisionNode(keys, newValues);
+                }
+            }
+            ContextKey<?>[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+            Object[] newValues = Arrays.copyOf(values, values.length + 1);
+            newKeys[keys.length] = key;
+            newValues[values.length] = value;
+            return new CollisionNode(newKeys, newValues);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift, Change change) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    change.removed = true;
+                    change.oldValue = values[i];
+                    ContextKey<?>[] newKeys = new ContextKey<?>[keys.length - 1];
+                    Object[] newValues = new Object[values.length - 1];
+                    System.arraycopy(keys, 0, newKeys, 0, i);
+                    System.arraycopy(values, 0, newValues, 0, i);
+                    System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+                    System.arraycopy(values, i + 1, newValues, i, values.length - i - 1);
+                    return new CollisionNode(newKeys, newValues);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int payloadArity() {
+            return keys.length;
+        }
+
+        @Override
+        ContextKey<?> keyAt(int index) {
+            return keys[index];
+        }
+
+        @Override
+        Object valueAt(int index) {
+            return values[index];
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Node nodeAt(int index) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    /** Depth-first iteration over the inline entries of every node. */
+    private static final class KeyIterator implements Iterator<ContextKey<?>> {
+
+        private final Deque<Node> pending = new ArrayDeque<>();
+        private Node current;
+        private int index;
+        private Object currentValue;
+
+        private KeyIterator(Node root) {
+            pending.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current == null || index >= current.payloadArity()) {
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                current = pending.pop();
+                index = 0;
+                for (int i = 0; i < current.nodeArity(); i++) {
+                    pending.push(current.nodeAt(i));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ContextKey<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            currentValue = current.valueAt(index);
+            return current.keyAt(index++);
+        }
+
+        /** Gets the stored value of the entry last returned by next(). */
+        Object currentValue() {
+            return currentValue;
+        }
+    }
+}
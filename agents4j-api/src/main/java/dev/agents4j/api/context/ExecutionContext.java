@@ -1,18 +1,42 @@
 package dev.agents4j.api.context;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Default implementation of WorkflowContext for execution contexts.
- * Uses immutable data structures with structural sharing for efficiency.
+ * Uses immutable data structures with structural sharing for efficiency:
+ * entries live in a persistent hash trie, so updates copy O(log32 n) nodes
+ * instead of the whole map. Values of keys registered with
+ * {@link ContextKeyRegistry} are kept in a small array indexed by slot.
  */
 public final class ExecutionContext implements WorkflowContext {
 
-    private final Map<ContextKey<?>, Object> data;
+    private static final Object[] NO_SLOTS = new Object[0];
 
-    private ExecutionContext(Map<ContextKey<?>, Object> data) {
-        this.data = Collections.unmodifiableMap(new HashMap<>(data));
+    /** Stored in a slot in place of a null value so that absent and null can be told apart. */
+    private static final Object NULL_VALUE = new Object();
+
+    private static final ExecutionContext EMPTY = new ExecutionContext(
+        ContextTrie.EMPTY,
+        NO_SLOTS,
+        0
+    );
+
+    private final ContextTrie data;
+    private final Object[] slots;
+    private final int slotCount;
+
+    private ExecutionContext(ContextTrie data, Object[] slots, int slotCount) {
+        this.data = data;
+        this.slots = slots;
+        this.slotCount = slotCount;
     }
 
     /**
@@ -21,7 +45,7 @@ public final class ExecutionContext implements WorkflowContext {
      * @return An empty ExecutionContext
      */
     public static ExecutionContext empty() {
-        return new ExecutionContext(Collections.emptyMap());
+        return EMPTY;
     }
 
     /**
@@ -44,9 +68,7 @@ public final class ExecutionContext implements WorkflowContext {
             );
         }
 
-        Map<ContextKey<?>, Object> data = new HashMap<>();
-        data.put(key, value);
-        return new ExecutionContext(data);
+        return EMPTY.put(key, value);
     }
 
     /**
@@ -59,6 +81,7 @@ public final class ExecutionContext implements WorkflowContext {
         Objects.requireNonNull(entries, "Entries cannot be null");
 
         // Validate all entries
+        Builder builder = new Builder(entries.size());
         for (Map.Entry<ContextKey<?>, Object> entry : entries.entrySet()) {
             ContextKey<?> key = entry.getKey();
             Object value = entry.getValue();
@@ -72,15 +95,28 @@ public final class ExecutionContext implements WorkflowContext {
                     )
                 );
             }
+            builder.entries.put(key, value);
         }
 
-        return new ExecutionContext(entries);
+        return builder.build();
+    }
+
+    /**
+     * Creates a builder that collects entries and constructs the context in
+     * one pass, instead of copying trie nodes on every {@link #with}.
+     * Prefer it when many entries are known up front, for example when
+     * restoring a serialized context.
+     *
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder(16);
     }
 
     @Override
     public <T> Optional<T> get(ContextKey<T> key) {
         Objects.requireNonNull(key, "Context key cannot be null");
-        Object value = data.get(key);
+        Object value = unmask(lookup(key));
         if (value == null) {
             return Optional.empty();
         }
@@ -90,50 +126,79 @@ public final class ExecutionContext implements WorkflowContext {
         return Optional.ofNullable(typedValue);
     }
 
+    @Override
+    public <T> T getSlotOrDefault(ContextSlot<T> slot, T defaultValue) {
+        int index = slot.index();
+        if (index < slots.length) {
+            Object value = slots[index];
+            if (value != null) {
+                return value == NULL_VALUE
+                    ? defaultValue
+                    : slot.key().cast(value);
+            }
+        }
+        if (data.size() == 0) {
+            return defaultValue;
+        }
+        // The key may have been stored before it was registered
+        Object value = data.get(slot.key());
+        return value == null ? defaultValue : slot.key().cast(value);
+    }
+
     @Override
     public <T> WorkflowContext with(ContextKey<T> key, T value) {
         Objects.requireNonNull(key, "Context key cannot be null");
-        if (value != null && !key.isCompatible(value)) {
-            throw new IllegalArgumentException(
-                String.format(
-                    "Value type %s is not compatible with key type %s",
-                    value.getClass().getSimpleName(),
-                    key.type().getSimpleName()
-                )
-            );
-        }
+        checkCompatible(key, value);
+        return put(key, value);
+    }
 
-        Map<ContextKey<?>, Object> newData = new HashMap<>(this.data);
-        newData.put(key, value);
-        return new ExecutionContext(newData);
+    @Override
+    public <T> WorkflowContext withSlot(ContextSlot<T> slot, T value) {
+        checkCompatible(slot.key(), value);
+        return putSlot(slot.index(), slot.key(), value);
     }
 
     @Override
     public WorkflowContext without(ContextKey<?> key) {
         Objects.requireNonNull(key, "Context key cannot be null");
-        if (!data.containsKey(key)) {
-            return this; // Return same instance if key doesn't exist
+        int index = ContextKeyRegistry.slotOf(key);
+        if (index >= 0 && index < slots.length && slots[index] != null) {
+            Object[] newSlots = slots.clone();
+            newSlots[index] = null;
+            return new ExecutionContext(data, newSlots, slotCount - 1);
         }
 
-        Map<ContextKey<?>, Object> newData = new HashMap<>(this.data);
-        newData.remove(key);
-        return new ExecutionContext(newData);
+        ContextTrie newData = data.remove(key);
+        if (newData == data) {
+            return this; // Return same instance if key doesn't exist
+        }
+        return new ExecutionContext(newData, slots, slotCount);
     }
 
     @Override
     public boolean contains(ContextKey<?> key) {
         Objects.requireNonNull(key, "Context key cannot be null");
-        return data.containsKey(key);
+        return lookup(key) != null;
     }
 
     @Override
     public Set<ContextKey<?>> keys() {
-        return Collections.unmodifiableSet(data.keySet());
+        if (slotCount == 0) {
+            return data.keySet();
+        }
+        Set<ContextKey<?>> keys = new LinkedHashSet<>();
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null) {
+                keys.add(ContextKeyRegistry.keyAt(i));
+            }
+        }
+        keys.addAll(data.keySet());
+        return Collections.unmodifiableSet(keys);
     }
 
     @Override
     public int size() {
-        return data.size();
+        return slotCount + data.size();
     }
 
     @Override
@@ -146,15 +211,213 @@ public final class ExecutionContext implements WorkflowContext {
             return other;
         }
 
-        Map<ContextKey<?>, Object> mergedData = new HashMap<>(this.data);
+        if (other instanceof ExecutionContext that) {
+            ExecutionContext merged = mergeFast(that);
+            if (merged != null) {
+                return merged;
+            }
+        }
+
+        ExecutionContext merged = this;
 
         // Add all entries from other context
         for (ContextKey<?> key : other.keys()) {
             Object value = other.get(key).orElse(null);
-            mergedData.put(key, value);
+            merged = merged.put(key, value);
+        }
+
+        return merged;
+    }
+
+    /**
+     * Merges two execution contexts, walking only the smaller trie; entries
+     * of {@code that} win on conflict.
+     *
+     * @return The merged context, or null if a key is held in a slot on one
+     *     side and in the trie on the other and the generic merge is needed
+     */
+    private ExecutionContext mergeFast(ExecutionContext that) {
+        ContextTrie mergedData;
+        if (that.data.size() <= this.data.size()) {
+            mergedData = data.putAll(that.data);
+        } else {
+            mergedData = that.data.putAllAbsent(data);
         }
 
-        return new ExecutionContext(mergedData);
+        Object[] mergedSlots;
+        int mergedCount;
+        if (that.slotCount == 0) {
+            mergedSlots = slots;
+            mergedCount = slotCount;
+        } else if (slotCount == 0) {
+            mergedSlots = that.slots;
+            mergedCount = that.slotCount;
+        } else {
+            mergedSlots = Arrays.copyOf(
+                slots,
+                Math.max(slots.length, that.slots.length)
+            );
+            mergedCount = slotCount;
+            for (int i = 0; i < that.slots.length; i++) {
+                if (that.slots[i] != null) {
+                    if (mergedSlots[i] == null) {
+                        mergedCount++;
+                    }
+                    mergedSlots[i] = that.slots[i];
+                }
+            }
+        }
+
+        if (mergedCount > 0 && mergedData.size() > 0) {
+            for (int i = 0; i < mergedSlots.length; i++) {
+                if (
+                    mergedSlots[i] != null &&
+                    mergedData.containsKey(ContextKeyRegistry.keyAt(i))
+                ) {
+                    return null;
+                }
+            }
+        }
+        return new ExecutionContext(mergedData, mergedSlots, mergedCount);
+    }
+
+    private ExecutionContext put(ContextKey<?> key, Object value) {
+        int index = ContextKeyRegistry.slotOf(key);
+        if (index >= 0) {
+            return putSlot(index, key, value);
+        }
+        ContextTrie newData = data.put(key, value);
+        return newData == data
+            ? this
+            : new ExecutionContext(newData, slots, slotCount);
+    }
+
+    private ExecutionContext putSlot(int index, ContextKey<?> key, Object value) {
+        Object stored = value == null ? NULL_VALUE : value;
+        if (index < slots.length && slots[index] == stored) {
+            return this;
+        }
+        Object[] newSlots = Arrays.copyOf(
+            slots,
+            Math.max(slots.length, index + 1)
+        );
+        int newCount = newSlots[index] == null ? slotCount + 1 : slotCount;
+        newSlots[index] = stored;
+        // Keep each key in one place if it was stored before registration
+        ContextTrie newData = data.size() == 0 ? data : data.remove(key);
+        return new ExecutionContext(newData, newSlots, newCount);
+    }
+
+    /**
+     * Gets the stored value for a key, with null values masked.
+     *
+     * @return The stored value, or null if the key is absent
+     */
+    private Object lookup(ContextKey<?> key) {
+        if (slotCount > 0) {
+            int index = ContextKeyRegistry.slotOf(key);
+            if (index >= 0 && index < slots.length && slots[index] != null) {
+                return slots[index];
+            }
+        }
+        if (!data.containsKey(key)) {
+            return null;
+        }
+        Object value = data.get(key);
+        return value == null ? NULL_VALUE : value;
+    }
+
+    private static Object unmask(Object stored) {
+        return stored == NULL_VALUE ? null : stored;
+    }
+
+    private static void checkCompatible(ContextKey<?> key, Object value) {
+        if (value != null && !key.isCompatible(value)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Value type %s is not compatible with key type %s",
+                    value.getClass().getSimpleName(),
+                    key.type().getSimpleName()
+                )
+            );
+        }
+    }
+
+    /**
+     * Collects context entries for bulk construction. A later value for the
+     * same key replaces the earlier one, as with {@link #with}.
+     */
+    public static final class Builder {
+
+        private final Map<ContextKey<?>, Object> entries;
+
+        private Builder(int expectedSize) {
+            this.entries = new HashMap<>(Math.max(16, expectedSize * 4 / 3 + 1));
+        }
+
+        /**
+         * Adds an entry.
+         *
+         * @param key The typed key
+         * @param value The value
+         * @param <T> The type of the value
+         * @return This builder
+         * @throws IllegalArgumentException if the value does not match the key type
+         */
+        public <T> Builder put(ContextKey<T> key, T value) {
+            Objects.requireNonNull(key, "Context key cannot be null");
+            checkCompatible(key, value);
+            entries.put(key, value);
+            return this;
+        }
+
+        /**
+         * Gets the number of distinct keys added so far.
+         *
+         * @return The entry count
+         */
+        public int size() {
+            return entries.size();
+        }
+
+        /**
+         * Builds the context. The builder can keep being used afterwards.
+         *
+         * @return A new ExecutionContext with the collected entries
+         */
+        public ExecutionContext build() {
+            if (entries.isEmpty()) {
+                return EMPTY;
+            }
+            ContextKey<?>[] keys = new ContextKey<?>[entries.size()];
+            Object[] values = new Object[entries.size()];
+            int count = 0;
+            Object[] slots = NO_SLOTS;
+            int slotCount = 0;
+            for (Map.Entry<ContextKey<?>, Object> entry : entries.entrySet()) {
+                int index = ContextKeyRegistry.slotOf(entry.getKey());
+                if (index >= 0) {
+                    if (index >= slots.length) {
+                        slots = Arrays.copyOf(
+                            slots,
+                            Math.max(index + 1, ContextKeyRegistry.size())
+                        );
+                    }
+                    Object value = entry.getValue();
+                    slots[index] = value == null ? NULL_VALUE : value;
+                    slotCount++;
+                } else {
+                    keys[count] = entry.getKey();
+                    values[count] = entry.getValue();
+                    count++;
+                }
+            }
+            return new ExecutionContext(
+                ContextTrie.of(keys, values, count),
+                slots,
+                slotCount
+            );
+        }
     }
 
     @Override
@@ -162,20 +425,40 @@ public final class ExecutionContext implements WorkflowContext {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ExecutionContext that = (ExecutionContext) o;
-        return Objects.equals(data, that.data);
+        if (slotCount == 0 && that.slotCount == 0) {
+            return data.equals(that.data);
+        }
+        if (size() != that.size()) {
+            return false;
+        }
+        for (ContextKey<?> key : keys()) {
+            Object value = lookup(key);
+            if (!Objects.equals(value, that.lookup(key))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(data);
+        int hash = data.hashCode();
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != null) {
+                hash +=
+                    ContextKeyRegistry.keyAt(i).hashCode() ^
+                    Objects.hashCode(unmask(slots[i]));
+            }
+        }
+        return 31 + hash;
     }
 
     @Override
     public String toString() {
         return String.format(
             "ExecutionContext{size=%d, keys=%s}",
-            data.size(),
-            data.keySet().stream().map(key -> key.name()).sorted().toList()
+            size(),
+            keys().stream().map(key -> key.name()).sorted().toList()
         );
     }
 }
@@ -31,6 +31,20 @@ public sealed interface WorkflowContext
         return get(key).orElse(defaultValue);
     }
     
+    /**
+     * Gets the value of a registered key with a default if not present.
+     * Implementations may read the slot directly, without hashing the key or
+     * allocating an Optional.
+     *
+     * @param slot The slot of a key registered with {@link ContextKeyRegistry}
+     * @param defaultValue The default value to return if key not found
+     * @param <T> The type of the value
+     * @return The value or the default
+     */
+    default <T> T getSlotOrDefault(ContextSlot<T> slot, T defaultValue) {
+        return getOrDefault(slot.key(), defaultValue);
+    }
+    
     /**
      * Creates a new context with an additional key-value pair.
      *
@@ -41,6 +55,18 @@ public sealed interface WorkflowContext
      */
     <T> WorkflowContext with(ContextKey<T> key, T value);
     
+    /**
+     * Creates a new context with an additional value for a registered key.
+     *
+     * @param slot The slot of a key registered with {@link ContextKeyRegistry}
+     * @param value The value
+     * @param <T> The type of the value
+     * @return A new WorkflowContext with the added value
+     */
+    default <T> WorkflowContext withSlot(ContextSlot<T> slot, T value) {
+        return with(slot.key(), value);
+    }
+    
     /**
      * Creates a new context without the specified key.
      *
@@ -0,0 +1,479 @@
+package dev.agents4j.api.execution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Deadline and cancellation signal for one workflow execution.
+ *
+ * <p>The executor creates a token per execution, bounded by the configured
+ * maximum execution time, and binds it to the thread processing a node. Nodes
+ * read it with {@link #current()} to size their own timeouts to the remaining
+ * budget or to stop early. When the deadline passes or the execution is
+ * cancelled, threads bound to the token are interrupted and registered
+ * callbacks run.</p>
+ *
+ * <p>Cancellation is cooperative: a node that ignores interruption keeps its
+ * thread until it returns, but its result is discarded and the workflow
+ * fails.</p>
+ */
+public final class CancellationToken {
+
+    /**
+     * Why a token was cancelled.
+     */
+    public enum Reason {
+        /** The execution was cancelled by its caller. */
+        CANCELLED,
+        /** The execution ran past its deadline. */
+        DEADLINE_EXCEEDED,
+    }
+
+    private static final CancellationToken NONE = new CancellationToken(
+        false,
+        0L
+    );
+
+    private static final ThreadLocal<CancellationToken> CURRENT =
+        new ThreadLocal<>();
+
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Reason reason;
+
+    // Guarded by lock
+    private List<Runnable> callbacks;
+    private List<Thread> boundThreads;
+    private List<Thread> interruptedThreads;
+    private ScheduledFuture<?> timer;
+    private Registration parentLink;
+
+    private CancellationToken(boolean hasDeadline, long deadlineNanos) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Gets a token that is never cancelled and has no deadline.
+     *
+     * @return The shared inert token
+     */
+    public static CancellationToken none() {
+        return NONE;
+    }
+
+    /**
+     * Creates a token without a deadline that is cancelled only through
+     * {@link #cancel()}.
+     *
+     * @return A new token
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(false, 0L);
+    }
+
+    /**
+     * Creates a token that is cancelled automatically once the timeout has
+     * elapsed. Call {@link #release()} when the guarded work finishes early
+     * so the deadline timer does not keep the token alive.
+     *
+     * @param timeout The time until the deadline
+     * @return A new token
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout, "Timeout cannot be null");
+        long timeoutNanos = saturatedNanos(timeout);
+        CancellationToken token = new CancellationToken(
+            true,
+            System.nanoTime() + timeoutNanos
+        );
+        if (timeoutNanos <= 0) {
+            token.cancel(Reason.DEADLINE_EXCEEDED);
+            return token;
+        }
+        ScheduledFuture<?> timer = DeadlineTimer.EXECUTOR.schedule(
+            () -> token.cancel(Reason.DEADLINE_EXCEEDED),
+            timeoutNanos,
+            TimeUnit.NANOSECONDS
+        );
+        token.lock.lock();
+        try {
+            if (token.reason == null) {
+                token.timer = timer;
+                return token;
+            }
+        } finally {
+            token.lock.unlock();
+        }
+        timer.cancel(false);
+        return token;
+    }
+
+    /**
+     * Creates a token for part of the guarded work, such as one branch of a
+     * fork. The child shares this token's deadline and is cancelled with
+     * it, while cancelling the child leaves this token untouched.
+     *
+     * @return A new child token
+     */
+    public CancellationToken child() {
+        CancellationToken child = new CancellationToken(
+            hasDeadline,
+            deadlineNanos
+        );
+        if (this == NONE) {
+            return child;
+        }
+        Registration link = onCancel(() -> child.cancel(reason));
+        child.lock.lock();
+        try {
+            if (child.reason == null) {
+                child.parentLink = link;
+                return child;
+            }
+        } finally {
+            child.lock.unlock();
+        }
+        link.remove();
+        return child;
+    }
+
+    /**
+     * Gets the token bound to the current thread. Inside a node this is the
+     * token of the workflow execution processing it.
+     *
+     * @return The bound token, or {@link #none()} outside of an execution
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Checks whether the token has been cancelled or its deadline has passed.
+     *
+     * @return true if work guarded by this token should stop
+     */
+    public boolean isCancelled() {
+        if (reason != null) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            cancel(Reason.DEADLINE_EXCEEDED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the reason the token was cancelled.
+     *
+     * @return The reason, or empty if the token is still active
+     */
+    public Optional<Reason> reason() {
+        isCancelled();
+        return Optional.ofNullable(reason);
+    }
+
+    /**
+     * Checks whether the token carries a deadline.
+     *
+     * @return true if the token has a deadline
+     */
+    public boolean hasDeadline() {
+        return hasDeadline;
+    }
+
+    /**
+     * Gets the time left until the deadline.
+     *
+     * @return The remaining nanoseconds, zero once the deadline has passed, or
+     *     {@link Long#MAX_VALUE} if the token has no deadline
+     */
+    public long remainingNanos() {
+        if (!hasDeadline) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0L, deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * Gets the time left until the deadline.
+     *
+     * @return The remaining time, or empty if the token has no deadline
+     */
+    public Optional<Duration> remaining() {
+        return hasDeadline
+            ? Optional.of(Duration.ofNanos(remainingNanos()))
+            : Optional.empty();
+    }
+
+    /**
+     * Throws if the token has been cancelled.
+     *
+     * @throws CancellationException if the token has been cancelled
+     */
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException(
+                reason == Reason.DEADLINE_EXCEEDED
+                    ? "Execution deadline exceeded"
+                    : "Execution cancelled"
+            );
+        }
+    }
+
+    /**
+     * Cancels the token. Has no effect if it is already cancelled or is the
+     * {@link #none()} token.
+     */
+    public void cancel() {
+        cancel(Reason.CANCELLED);
+    }
+
+    private void cancel(Reason cancelReason) {
+        if (this == NONE) {
+            return;
+        }
+        List<Runnable> toRun;
+        Registration link;
+        lock.lock();
+        try {
+            if (reason != null) {
+                return;
+            }
+            reason = cancelReason;
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            link = parentLink;
+            parentLink = null;
+            if (boundThreads != null) {
+                for (Thread thread : boundThreads) {
+                    if (interruptedThreads == null) {
+                        interruptedThreads = new ArrayList<>(2);
+                    }
+                    interruptedThreads.add(thread);
+                    thread.interrupt();
+                }
+            }
+            toRun = callbacks;
+            callbacks = null;
+        } finally {
+            lock.unlock();
+        }
+        if (link != null) {
+            link.remove();
+        }
+        if (toRun != null) {
+            runAll(toRun);
+        }
+    }
+
+    /**
+     * Registers a callback to run when the token is cancelled. The callback
+     * runs immediately on the calling thread if the token is already
+     * cancelled.
+     *
+     * @param callback The callback
+     * @return A registration that removes the callback when it is no longer
+     *     needed
+     */
+    public Registration onCancel(Runnable callback) {
+        Objects.requireNonNull(callback, "Callback cannot be null");
+        if (this == NONE) {
+            return () -> {};
+        }
+        lock.lock();
+        try {
+            if (reason == null) {
+                if (callbacks == null) {
+                    callbacks = new ArrayList<>(2);
+                }
+                callbacks.add(callback);
+                return () -> removeCallback(callback);
+            }
+        } finally {
+            lock.unlock();
+        }
+        callback.run();
+        return () -> {};
+    }
+
+    private void removeCallback(Runnable callback) {
+        lock.lock();
+        try {
+            if (callbacks != null) {
+                callbacks.remove(callback);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Binds the token to the current thread until the returned scope is
+     * closed. While bound, {@link #current()} returns this token and the
+     * thread is interrupted if the token is cancelled. Closing the scope
+     * clears an interrupt raised by this token, so it does not leak into the
+     * caller. Intended for workflow executors.
+     *
+     * @return The scope to close once the guarded work has returned
+     */
+    public Scope enter() {
+        Thread thread = Thread.currentThread();
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        if (this == NONE) {
+            return () -> restore(previous);
+        }
+        lock.lock();
+        try {
+            if (boundThreads == null) {
+                boundThreads = new ArrayList<>(2);
+            }
+            boundThreads.add(thread);
+        } finally {
+            lock.unlock();
+        }
+        return () -> {
+            boolean interruptedByToken;
+            lock.lock();
+            try {
+                boundThreads.remove(thread);
+                interruptedByToken = interruptedThreads != null &&
+                    interruptedThreads.remove(thread);
+            } finally {
+                lock.unlock();
+            }
+            if (interruptedByToken) {
+                Thread.interrupted();
+            }
+            restore(previous);
+        };
+    }
+
+    private static void restore(CancellationToken previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Stops the deadline timer once the guarded work has finished, without
+     * cancelling the token. A child token also stops following its parent.
+     */
+    public void release() {
+        Registration link;
+        lock.lock();
+        try {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            link = parentLink;
+            parentLink = null;
+        } finally {
+            lock.unlock();
+        }
+        if (link != null) {
+            link.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "CancellationToken{" +
+            "reason=" +
+            reason +
+            (hasDeadline ? ", remainingNanos=" + remainingNanos() : "") +
+            '}'
+        );
+    }
+
+    private static void runAll(List<Runnable> toRun) {
+        RuntimeException failure = null;
+        for (Runnable callback : toRun) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * A registered cancellation callback.
+     */
+    @FunctionalInterface
+    public interface Registration {
+        /**
+         * Removes the callback if it has not run yet.
+         */
+        void remove();
+    }
+
+    /**
+     * A binding of a token to the current thread.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        /**
+         * Unbinds the token from the current thread.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Lazily started daemon timer shared by all tokens with a deadline.
+     */
+    private static final class DeadlineTimer {
+
+        private static final ScheduledThreadPoolExecutor EXECUTOR =
+            createExecutor();
+
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            ScheduledThreadPoolExecutor executor =
+                new ScheduledThreadPoolExecutor(1, runnable -> {
+                    Thread thread = new Thread(
+                        runnable,
+                        "agents4j-deadline-timer"
+                    );
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            // Released tokens must not linger in the queue until their deadline
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
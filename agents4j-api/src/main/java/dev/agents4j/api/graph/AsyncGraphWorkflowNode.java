@@ -0,0 +1,168 @@
+package dev.agents4j.api.graph;
+
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Graph workflow node whose processing completes asynchronously. Nodes that
+ * wait on I/O, such as calls to a language model, return a stage instead of
+ * blocking a thread, so an executor running in async mode can chain the next
+ * step as a continuation.
+ *
+ * <p>Async nodes still work with the blocking executor, which waits for
+ * {@link #processAsync} to complete and cancels the stage when the
+ * execution's deadline passes or it is cancelled. {@link #process} waits
+ * for the stage without such a bound. Plain nodes can be used where
+ * an async node is expected through {@link #adapt(GraphWorkflowNode)}.</p>
+ *
+ * @param <S> The type of the workflow state data
+ */
+public interface AsyncGraphWorkflowNode<S> extends GraphWorkflowNode<S> {
+    /**
+     * Process this node with the current graph state without blocking.
+     * The execution's {@link dev.agents4j.api.execution.CancellationToken} is
+     * bound while this method runs; nodes that keep working after returning
+     * should capture it to stop early. The returned stage is cancelled when
+     * the executor abandons the node.
+     *
+     * @param state The current graph workflow state
+     * @return A stage completing with the graph command or error
+     */
+    CompletionStage<
+        WorkflowResult<GraphCommand<S>, WorkflowError>
+    > processAsync(GraphWorkflowState<S> state);
+
+    /**
+     * Process this node by waiting for {@link #processAsync} to complete.
+     *
+     * @param state The current graph workflow state
+     * @return A WorkflowResult containing graph commands or errors
+     */
+    @Override
+    default WorkflowResult<GraphCommand<S>, WorkflowError> process(
+        GraphWorkflowState<S> state
+    ) {
+        return processAsync(state).toCompletableFuture().join();
+    }
+
+    /**
+     * Processes the node asynchronously with the same validation and
+     * lifecycle callbacks as {@link #processWithLifecycle}. Cancelling the
+     * returned stage cancels the stage returned by {@link #processAsync}.
+     *
+     * @param state The current graph workflow state
+     * @return A stage completing with the command or error
+     */
+    default CompletionStage<
+        WorkflowResult<GraphCommand<S>, WorkflowError>
+    > processWithLifecycleAsync(GraphWorkflowState<S> state) {
+        CompletionStage<WorkflowResult<GraphCommand<S>, WorkflowError>> stage;
+        try {
+            // Pre-execution validation
+            var validationResult = validateState(state);
+            if (validationResult.isFailure()) {
+                return CompletableFuture.completedFuture(
+                    WorkflowResult.failure(validationResult.getError().get())
+                );
+            }
+
+            // Pre-execution callback
+            onBeforeExecution(state);
+
+            // Main execution
+            stage = processAsync(state);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(
+                executionErrorResult(state, e)
+            );
+        }
+
+        CompletableFuture<
+            WorkflowResult<GraphCommand<S>, WorkflowError>
+        > handled = stage.toCompletableFuture().handle((result, throwable) -> {
+            if (throwable != null) {
+                return executionErrorResult(state, throwable);
+            }
+            try {
+                if (result.isSuccess()) {
+                    // Post-execution callback
+                    onAfterExecution(state, result.getValue().get());
+                } else if (result.isFailure()) {
+                    onExecutionError(state, result.getError().get());
+                }
+                return result;
+            } catch (Exception e) {
+                return executionErrorResult(state, e);
+            }
+        });
+        handled.whenComplete((result, throwable) -> {
+            if (handled.isCancelled()) {
+                stage.toCompletableFuture().cancel(true);
+            }
+        });
+        return handled;
+    }
+
+    // Reports unexpected exceptions as an "execution-error" suspension, like
+    // GraphWorkflowNode.processWithLifecycle, so sync and async nodes fail
+    // the same way until both move off the deprecated factory
+    @SuppressWarnings("deprecation")
+    private WorkflowResult<
+        GraphCommand<S>,
+        WorkflowError
+    > executionErrorResult(GraphWorkflowState<S> state, Throwable throwable) {
+        onExecutionError(state, null);
+        Throwable cause = throwable instanceof CompletionException &&
+            throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+        return WorkflowResult.suspended(
+            "execution-error",
+            state.data(),
+            "Unexpected exception during node execution: " + cause.getMessage()
+        );
+    }
+
+    /**
+     * Adapts a node to the async contract. Async nodes are returned as is;
+     * other nodes are processed on the calling thread and return a completed
+     * stage.
+     *
+     * @param node The node to adapt
+     * @param <S> The type of the workflow state data
+     * @return The node as an async node
+     */
+    static <S> AsyncGraphWorkflowNode<S> adapt(GraphWorkflowNode<S> node) {
+        Objects.requireNonNull(node, "Node cannot be null");
+        if (node instanceof AsyncGraphWorkflowNode<S> async) {
+            return async;
+        }
+        return new SyncGraphWorkflowNodeAdapter<>(node, null);
+    }
+
+    /**
+     * Adapts a blocking node to the async contract by running it on the
+     * given executor, keeping the caller's thread free while it blocks.
+     *
+     * @param node The node to adapt
+     * @param executor The executor to run the node on
+     * @param <S> The type of the workflow state data
+     * @return The node as an async node
+     */
+    static <S> AsyncGraphWorkflowNode<S> adapt(
+        GraphWorkflowNode<S> node,
+        Executor executor
+    ) {
+        Objects.requireNonNull(node, "Node cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        if (node instanceof AsyncGraphWorkflowNode<S> async) {
+            return async;
+        }
+        return new SyncGraphWorkflowNodeAdapter<>(node, executor);
+    }
+}
@@ -0,0 +1,153 @@
+package dev.agents4j.api.graph;
+
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, persistent map from edge to its last traversal time backing
+ * {@link GraphPosition}. Each traversal appends to a {@link SharedLog} shared
+ * with the previous history, so recording a traversal is O(1) amortized;
+ * lookups return the latest traversal within this view.
+ */
+final class EdgeHistory extends AbstractMap<EdgeId, Instant> {
+
+    private static final EdgeHistory EMPTY = new EdgeHistory(null, 0);
+
+    private final SharedLog<EdgeId> log;
+    private final int length;
+
+    private EdgeHistory(SharedLog<EdgeId> log, int length) {
+        this.log = log;
+        this.length = length;
+    }
+
+    /**
+     * Creates a history holding the given traversals, reusing the instance if
+     * it already is an EdgeHistory.
+     *
+     * @param traversals The edge traversal times
+     * @return An EdgeHistory with the same mappings
+     * @throws NullPointerException if any key or value is null
+     */
+    static EdgeHistory copyOf(Map<EdgeId, Instant> traversals) {
+        if (traversals instanceof EdgeHistory history) {
+            return history;
+        }
+        EdgeHistory history = EMPTY;
+        for (Map.Entry<EdgeId, Instant> entry : traversals.entrySet()) {
+            history = history.record(
+                Objects.requireNonNull(entry.getKey()),
+                Objects.requireNonNull(entry.getValue())
+            );
+        }
+        return history;
+    }
+
+    /**
+     * Creates a new history with the traversal recorded.
+     *
+     * @param edgeId The traversed edge
+     * @param time The traversal time
+     * @return The extended history
+     */
+    EdgeHistory record(EdgeId edgeId, Instant time) {
+        SharedLog<EdgeId> target = log != null ? log : new SharedLog<>();
+        return new EdgeHistory(target.append(length, edgeId, time), length + 1);
+    }
+
+    /**
+     * Gets the traversals recorded after an earlier view of the same log,
+     * in the order they were recorded.
+     *
+     * @param earlier The earlier history
+     * @return The later traversals, or null if this history was not
+     *     recorded on top of the earlier one
+     */
+    Map<EdgeId, Instant> recordedSince(EdgeHistory earlier) {
+        if (earlier.length > length || (earlier.length > 0 && earlier.log != log)) {
+            return null;
+        }
+        Map<EdgeId, Instant> traversals = new LinkedHashMap<>();
+        for (int i = earlier.length; i < length; i++) {
+            traversals.put(log.key(i), (Instant) log.value(i));
+        }
+        return traversals;
+    }
+
+    @Override
+    public Instant get(Object key) {
+        int index = lastIndexOf(key);
+        return index < 0 ? null : (Instant) log.value(index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return lastIndexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return length == 0 ? 0 : log.distinctAt(length - 1);
+    }
+
+    @Override
+    public Set<Map.Entry<EdgeId, Instant>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<EdgeId, Instant>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return EdgeHistory.this.size();
+            }
+        };
+    }
+
+    private int lastIndexOf(Object key) {
+        if (log == null || !(key instanceof EdgeId)) {
+            return -1;
+        }
+        return log.lastIndexOf(key, length);
+    }
+
+    /**
+     * Iterates the latest traversal of each edge in first-traversal order.
+     */
+    private final class EntryIterator
+        implements Iterator<Map.Entry<EdgeId, Instant>> {
+
+        private int next = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return next < length;
+        }
+
+        @Override
+        public Map.Entry<EdgeId, Instant> next() {
+            if (next >= length) {
+                throw new NoSuchElementException();
+            }
+            EdgeId edgeId = log.key(next);
+            next = advance(next + 1);
+            return Map.entry(edgeId, get(edgeId));
+        }
+
+        private int advance(int from) {
+            int index = from;
+            while (index < length && log.occurrenceAt(index) != 1) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
@@ -5,10 +5,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Represents the current position and traversal history within a graph workflow.
  * Tracks node visits, edge traversals, and path information for analysis and cycle detection.
+ * The path and edge history are persistent structures shared between successive
+ * positions, so moving to the next node is O(1) amortized.
  */
 public record GraphPosition(
     NodeId currentNodeId,
@@ -39,9 +42,9 @@ public record GraphPosition(
             throw new IllegalArgumentException("Depth cannot be negative");
         }
         
-        // Make collections immutable
-        visitedNodes = List.copyOf(visitedNodes);
-        edgeTraversalHistory = Map.copyOf(edgeTraversalHistory);
+        // Make collections immutable; persistent instances are reused as-is
+        visitedNodes = NodePath.copyOf(visitedNodes);
+        edgeTraversalHistory = EdgeHistory.copyOf(edgeTraversalHistory);
     }
     
     /**
@@ -70,13 +73,10 @@ public record GraphPosition(
     public GraphPosition moveTo(NodeId nodeId) {
         Objects.requireNonNull(nodeId, "Node ID cannot be null");
         
-        var newVisited = new java.util.ArrayList<>(visitedNodes);
-        newVisited.add(nodeId);
-        
         return new GraphPosition(
             nodeId,
             Optional.of(currentNodeId),
-            newVisited,
+            path().append(nodeId),
             edgeTraversalHistory,
             depth + 1
         );
@@ -90,20 +90,49 @@ public record GraphPosition(
      * @return A new GraphPosition after edge traversal
      */
     public GraphPosition traverseEdge(EdgeId edgeId, NodeId targetNode) {
+        return traverseEdge(edgeId, targetNode, Instant.now());
+    }
+    
+    /**
+     * Creates a new position by traversing the specified edge at the given time.
+     *
+     * @param edgeId The edge being traversed
+     * @param targetNode The target node ID
+     * @param traversedAt The time of the traversal
+     * @return A new GraphPosition after edge traversal
+     */
+    public GraphPosition traverseEdge(
+        EdgeId edgeId,
+        NodeId targetNode,
+        Instant traversedAt
+    ) {
+        return traverseEdge(
+            edgeId,
+            targetNode,
+            traversedAt,
+            Optional.of(currentNodeId)
+        );
+    }
+    
+    /**
+     * Traverses the specified edge, reusing an existing Optional of the
+     * current node as the previous node of the new position.
+     */
+    GraphPosition traverseEdge(
+        EdgeId edgeId,
+        NodeId targetNode,
+        Instant traversedAt,
+        Optional<NodeId> current
+    ) {
         Objects.requireNonNull(edgeId, "Edge ID cannot be null");
         Objects.requireNonNull(targetNode, "Target node cannot be null");
-        
-        var newVisited = new java.util.ArrayList<>(visitedNodes);
-        newVisited.add(targetNode);
-        
-        var newEdgeHistory = new java.util.HashMap<>(edgeTraversalHistory);
-        newEdgeHistory.put(edgeId, Instant.now());
+        Objects.requireNonNull(traversedAt, "Traversal time cannot be null");
         
         return new GraphPosition(
             targetNode,
-            Optional.of(currentNodeId),
-            newVisited,
-            newEdgeHistory,
+            current,
+            path().append(targetNode),
+            ((EdgeHistory) edgeTraversalHistory).record(edgeId, traversedAt),
             depth + 1
         );
     }
@@ -114,7 +143,11 @@ public record GraphPosition(
      * @return true if the current node was previously visited
      */
     public boolean hasCycle() {
-        return visitedNodes.indexOf(currentNodeId) < visitedNodes.size() - 1;
+        int last = visitedNodes.size() - 1;
+        if (last >= 0 && visitedNodes.get(last).equals(currentNodeId)) {
+            return path().lastIsRevisit();
+        }
+        return visitedNodes.indexOf(currentNodeId) < last;
     }
     
     /**
@@ -145,9 +178,7 @@ public record GraphPosition(
      */
     public long getVisitCount(NodeId nodeId) {
         Objects.requireNonNull(nodeId, "Node ID cannot be null");
-        return visitedNodes.stream()
-            .filter(nodeId::equals)
-            .count();
+        return path().visitCount(nodeId);
     }
     
     /**
@@ -178,10 +209,12 @@ public record GraphPosition(
      * @return String representation of the traversal path
      */
     public String getPathString() {
+        if (visitedNodes.isEmpty()) {
+            return "(empty path)";
+        }
         return visitedNodes.stream()
             .map(NodeId::value)
-            .reduce((a, b) -> a + " -> " + b)
-            .orElse("(empty path)");
+            .collect(Collectors.joining(" -> "));
     }
     
     /**
@@ -193,18 +226,19 @@ public record GraphPosition(
     public GraphPosition resetTo(NodeId nodeId) {
         Objects.requireNonNull(nodeId, "Node ID cannot be null");
         
-        var newVisited = new java.util.ArrayList<>(visitedNodes);
-        newVisited.add(nodeId);
-        
         return new GraphPosition(
             nodeId,
             Optional.of(currentNodeId),
-            newVisited,
+            path().append(nodeId),
             edgeTraversalHistory,
             depth + 1
         );
     }
     
+    private NodePath path() {
+        return (NodePath) visitedNodes;
+    }
+    
     @Override
     public String toString() {
         return String.format("GraphPosition{current=%s, depth=%d, path=%s}", 
@@ -0,0 +1,193 @@
+package dev.agents4j.api.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable adjacency index over the edges of a graph workflow.
+ * Built once when the workflow is assembled so that edge lookups during
+ * execution cost a hash probe instead of a scan over every edge.
+ * Outgoing edges of each node are ordered by edge ID.
+ */
+public final class GraphTopology {
+
+    private static final GraphTopology EMPTY = new GraphTopology(
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        0
+    );
+
+    private final Map<NodeId, Set<GraphEdge>> outgoing;
+    private final Map<NodeId, Map<NodeId, GraphEdge>> edgeIndex;
+    private final Map<NodeId, Set<NodeId>> targets;
+    private final int edgeCount;
+
+    private GraphTopology(
+        Map<NodeId, Set<GraphEdge>> outgoing,
+        Map<NodeId, Map<NodeId, GraphEdge>> edgeIndex,
+        Map<NodeId, Set<NodeId>> targets,
+        int edgeCount
+    ) {
+        this.outgoing = outgoing;
+        this.edgeIndex = edgeIndex;
+        this.targets = targets;
+        this.edgeCount = edgeCount;
+    }
+
+    /**
+     * Gets a topology without any edges.
+     *
+     * @return The empty topology
+     */
+    public static GraphTopology empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles the adjacency index for the given edges.
+     * When several edges connect the same pair of nodes, the one with the
+     * lowest edge ID is used for {@link #edgeBetween(NodeId, NodeId)}.
+     *
+     * @param edges The workflow edges
+     * @return A new GraphTopology
+     */
+    public static GraphTopology of(Collection<GraphEdge> edges) {
+        Objects.requireNonNull(edges, "Edges cannot be null");
+        if (edges.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<GraphEdge> sorted = new ArrayList<>(edges);
+        sorted.sort(Comparator.comparing(edge -> edge.edgeId().value()));
+
+        Map<NodeId, List<GraphEdge>> grouped = new LinkedHashMap<>();
+        for (GraphEdge edge : sorted) {
+            grouped
+                .computeIfAbsent(edge.fromNode(), id -> new ArrayList<>())
+                .add(edge);
+        }
+
+        Map<NodeId, Set<GraphEdge>> outgoing = new HashMap<>();
+        Map<NodeId, Map<NodeId, GraphEdge>> edgeIndex = new HashMap<>();
+        Map<NodeId, Set<NodeId>> targets = new HashMap<>();
+        for (Map.Entry<NodeId, List<GraphEdge>> entry : grouped.entrySet()) {
+            List<GraphEdge> nodeEdges = entry.getValue();
+            Map<NodeId, GraphEdge> byTarget = new HashMap<>();
+            Set<NodeId> nodeTargets = new LinkedHashSet<>();
+            for (GraphEdge edge : nodeEdges) {
+                byTarget.putIfAbsent(edge.toNode(), edge);
+                nodeTargets.add(edge.toNode());
+            }
+            outgoing.put(
+                entry.getKey(),
+                Collections.unmodifiableSet(new LinkedHashSet<>(nodeEdges))
+            );
+            edgeIndex.put(entry.getKey(), byTarget);
+            targets.put(
+                entry.getKey(),
+                Collections.unmodifiableSet(nodeTargets)
+            );
+        }
+
+        return new GraphTopology(outgoing, edgeIndex, targets, sorted.size());
+    }
+
+    /**
+     * Finds the edge connecting two nodes.
+     *
+     * @param fromNode The source node
+     * @param toNode The target node
+     * @return Optional containing the edge if one exists
+     */
+    public Optional<GraphEdge> edgeBetween(NodeId fromNode, NodeId toNode) {
+        Map<NodeId, GraphEdge> byTarget = edgeIndex.get(fromNode);
+        if (byTarget == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byTarget.get(toNode));
+    }
+
+    /**
+     * Gets the outgoing edges of a node.
+     *
+     * @param nodeId The source node
+     * @return Immutable set of outgoing edges, empty if there are none
+     */
+    public Set<GraphEdge> edgesFrom(NodeId nodeId) {
+        return outgoing.getOrDefault(nodeId, Set.of());
+    }
+
+    /**
+     * Gets the nodes directly reachable from a node.
+     *
+     * @param nodeId The source node
+     * @return Immutable set of target node IDs, empty if there are none
+     */
+    public Set<NodeId> targetsOf(NodeId nodeId) {
+        return targets.getOrDefault(nodeId, Set.of());
+    }
+
+    /**
+     * Checks whether the node has any outgoing edge.
+     *
+     * @param nodeId The node to check
+     * @return true if the node has outgoing edges
+     */
+    public boolean hasOutgoingEdges(NodeId nodeId) {
+        return outgoing.containsKey(nodeId);
+    }
+
+    /**
+     * Finds every node reachable from the given start nodes, including the
+     * start nodes themselves.
+     *
+     * @param startNodes The nodes to start from
+     * @return Set of reachable node IDs
+     */
+    public Set<NodeId> reachableFrom(Collection<NodeId> startNodes) {
+        Set<NodeId> reachable = new LinkedHashSet<>();
+        List<NodeId> toProcess = new ArrayList<>(startNodes);
+
+        while (!toProcess.isEmpty()) {
+            NodeId nodeId = toProcess.remove(toProcess.size() - 1);
+            if (reachable.add(nodeId)) {
+                for (NodeId target : targetsOf(nodeId)) {
+                    if (!reachable.contains(target)) {
+                        toProcess.add(target);
+                    }
+                }
+            }
+        }
+
+        return reachable;
+    }
+
+    /**
+     * Gets the total number of edges in the topology.
+     *
+     * @return The edge count
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "GraphTopology{nodes=%d, edges=%d}",
+            outgoing.size(),
+            edgeCount
+        );
+    }
+}
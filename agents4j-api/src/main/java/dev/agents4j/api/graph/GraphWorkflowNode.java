@@ -4,7 +4,6 @@ import dev.agents4j.api.result.WorkflowResult;
 import dev.agents4j.api.result.error.WorkflowError;
 import java.time.Duration;
 import java.util.Collections;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -50,6 +49,22 @@ public interface GraphWorkflowNode<S> {
         return "Graph workflow node: " + getName();
     }
 
+    /**
+     * Tag of nodes that are costly to run again, such as LLM calls.
+     */
+    String EXPENSIVE_TAG = "expensive";
+
+    /**
+     * Get the tags of this node. Tags let policies treat groups of nodes
+     * alike, for example checkpointing after every
+     * {@link #EXPENSIVE_TAG expensive} node.
+     *
+     * @return The node tags
+     */
+    default Set<String> getTags() {
+        return Collections.emptySet();
+    }
+
     /**
      * Get node metadata for graph visualization and analysis.
      *
@@ -235,132 +250,3 @@ public interface GraphWorkflowNode<S> {
         }
     }
 }
-
-/**
- * Metadata about a graph workflow node.
- */
-record GraphNodeMetadata(
-    NodeId nodeId,
-    String name,
-    String description,
-    NodeType type,
-    Set<String> tags,
-    Map<String, Object> properties,
-    Optional<Duration> expectedDuration
-) {
-    public GraphNodeMetadata {
-        Objects.requireNonNull(nodeId, "Node ID cannot be null");
-        Objects.requireNonNull(name, "Name cannot be null");
-        Objects.requireNonNull(description, "Description cannot be null");
-        Objects.requireNonNull(type, "Node type cannot be null");
-        Objects.requireNonNull(tags, "Tags cannot be null");
-        Objects.requireNonNull(properties, "Properties cannot be null");
-        Objects.requireNonNull(
-            expectedDuration,
-            "Expected duration optional cannot be null"
-        );
-
-        tags = Set.copyOf(tags);
-        properties = Map.copyOf(properties);
-    }
-
-    /**
-     * Types of nodes in a graph workflow.
-     */
-    public enum NodeType {
-        TASK, // Regular processing node
-        DECISION, // Conditional routing node
-        FORK, // Parallel execution start
-        JOIN, // Parallel execution merge
-        START, // Workflow entry point
-        END, // Workflow exit point
-        SUSPEND, // Suspension point
-    }
-
-    public static GraphNodeMetadata of(
-        NodeId nodeId,
-        String name,
-        String description,
-        NodeType type
-    ) {
-        return new GraphNodeMetadata(
-            nodeId,
-            name,
-            description,
-            type,
-            Collections.emptySet(),
-            Collections.emptyMap(),
-            Optional.empty()
-        );
-    }
-
-    public static GraphNodeMetadata withTags(
-        NodeId nodeId,
-        String name,
-        String description,
-        NodeType type,
-        Set<String> tags
-    ) {
-        return new GraphNodeMetadata(
-            nodeId,
-            name,
-            description,
-            type,
-            tags,
-            Collections.emptyMap(),
-            Optional.empty()
-        );
-    }
-
-    public static GraphNodeMetadata withDuration(
-        NodeId nodeId,
-        String name,
-        String description,
-        NodeType type,
-        Duration expectedDuration
-    ) {
-        return new GraphNodeMetadata(
-            nodeId,
-            name,
-            description,
-            type,
-            Collections.emptySet(),
-            Collections.emptyMap(),
-            Optional.of(expectedDuration)
-        );
-    }
-
-    public GraphNodeMetadata withTag(String tag) {
-        var newTags = new java.util.HashSet<>(tags);
-        newTags.add(tag);
-        return new GraphNodeMetadata(
-            nodeId,
-            name,
-            description,
-            type,
-            newTags,
-            properties,
-            expectedDuration
-        );
-    }
-
-    public GraphNodeMetadata withProperty(String key, Object value) {
-        var newProperties = new java.util.HashMap<>(properties);
-        newProperties.put(key, value);
-        return new GraphNodeMetadata(
-            nodeId,
-            name,
-            description,
-            type,
-            tags,
-            newProperties,
-            expectedDuration
-        );
-    }
-
-    public <T> Optional<T> getProperty(String key) {
-        @SuppressWarnings("unchecked")
-        T value = (T) properties.get(key);
-        return Optional.ofNullable(value);
-    }
-}
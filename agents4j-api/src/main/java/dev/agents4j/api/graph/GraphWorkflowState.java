@@ -196,6 +196,67 @@ public record GraphWorkflowState<S>(
         );
     }
 
+    /**
+     * Creates a new state by traversing an edge to the target node, replacing
+     * the data and context in the same step. Equivalent to chaining
+     * {@link #withContext(WorkflowContext)}, {@link #withData(Object)} and
+     * {@link #traverseEdge(EdgeId, NodeId)}, but builds a single state,
+     * advances the version once and reads the clock once.
+     *
+     * @param edgeId The edge being traversed
+     * @param targetNode The target node ID
+     * @param newData The new state data
+     * @param newContext The new workflow context
+     * @return A new GraphWorkflowState after edge traversal
+     */
+    public GraphWorkflowState<S> traverseEdge(
+        EdgeId edgeId,
+        NodeId targetNode,
+        S newData,
+        WorkflowContext newContext
+    ) {
+        return traverseEdge(edgeId, targetNode, newData, newContext, Instant.now());
+    }
+
+    /**
+     * Creates a new state by traversing an edge to the target node at the
+     * given time, replacing the data and context in the same step. Lets
+     * callers that already read the clock, for example to record the
+     * traversal in the context, stamp the state with the same instant.
+     *
+     * @param edgeId The edge being traversed
+     * @param targetNode The target node ID
+     * @param newData The new state data
+     * @param newContext The new workflow context
+     * @param traversedAt The time of the traversal
+     * @return A new GraphWorkflowState after edge traversal
+     */
+    public GraphWorkflowState<S> traverseEdge(
+        EdgeId edgeId,
+        NodeId targetNode,
+        S newData,
+        WorkflowContext newContext,
+        Instant traversedAt
+    ) {
+        Objects.requireNonNull(edgeId, "Edge ID cannot be null");
+        Objects.requireNonNull(targetNode, "Target node cannot be null");
+        Objects.requireNonNull(newContext, "New context cannot be null");
+        Objects.requireNonNull(traversedAt, "Traversal time cannot be null");
+        // The current node becomes the previous node of the new position
+        Optional<NodeId> previousNode = currentNode.isPresent() &&
+            currentNode.get().equals(position.currentNodeId())
+            ? currentNode
+            : Optional.of(position.currentNodeId());
+        return new GraphWorkflowState<>(
+            workflowId,
+            newData,
+            newContext,
+            Optional.of(targetNode),
+            position.traverseEdge(edgeId, targetNode, traversedAt, previousNode),
+            metadata.advance(traversedAt)
+        );
+    }
+
     /**
      * Creates a new state with data, context, and node updates all applied.
      *
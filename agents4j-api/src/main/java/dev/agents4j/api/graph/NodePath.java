@@ -0,0 +1,113 @@
+package dev.agents4j.api.graph;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, persistent list of visited nodes backing {@link GraphPosition}.
+ * Appending shares the underlying {@link SharedLog} with the previous path, so
+ * a step costs O(1) amortized instead of a copy of the whole path, and visit
+ * counts are answered from the log's per-node index.
+ */
+final class NodePath extends AbstractList<NodeId> implements RandomAccess {
+
+    private static final NodePath EMPTY = new NodePath(null, 0);
+
+    private final SharedLog<NodeId> log;
+    private final int size;
+
+    private NodePath(SharedLog<NodeId> log, int size) {
+        this.log = log;
+        this.size = size;
+    }
+
+    /**
+     * Creates a path holding the given nodes, reusing the instance if it
+     * already is a NodePath.
+     *
+     * @param nodes The visited nodes in order
+     * @return A NodePath with the same elements
+     * @throws NullPointerException if any node is null
+     */
+    static NodePath copyOf(Collection<? extends NodeId> nodes) {
+        if (nodes instanceof NodePath path) {
+            return path;
+        }
+        NodePath path = EMPTY;
+        for (NodeId node : nodes) {
+            path = path.append(Objects.requireNonNull(node));
+        }
+        return path;
+    }
+
+    /**
+     * Creates a new path with the node appended.
+     *
+     * @param node The node to append
+     * @return The extended path
+     */
+    NodePath append(NodeId node) {
+        SharedLog<NodeId> target = log != null ? log : new SharedLog<>();
+        return new NodePath(target.append(size, node, null), size + 1);
+    }
+
+    /**
+     * Checks whether this path starts with every node of the given path.
+     * A path appended from the same log as the prefix is answered without
+     * walking it.
+     *
+     * @param prefix The candidate prefix
+     * @return true if the prefix is a prefix of this path
+     */
+    boolean startsWith(NodePath prefix) {
+        if (prefix.size > size) {
+            return false;
+        }
+        if (prefix.size == 0 || prefix.log == log) {
+            return true;
+        }
+        for (int i = 0; i < prefix.size; i++) {
+            if (!log.key(i).equals(prefix.log.key(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts how often the node occurs in this path.
+     *
+     * @param node The node to count
+     * @return The number of occurrences
+     */
+    long visitCount(NodeId node) {
+        return log == null ? 0 : log.occurrences(node, size);
+    }
+
+    /**
+     * Checks whether the last node of the path also occurs earlier in it.
+     *
+     * @return true if the last node is a revisit
+     */
+    boolean lastIsRevisit() {
+        return size > 0 && log.occurrenceAt(size - 1) > 1;
+    }
+
+    @Override
+    public NodeId get(int index) {
+        Objects.checkIndex(index, size);
+        return log.key(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof NodeId node && visitCount(node) > 0;
+    }
+}
@@ -0,0 +1,194 @@
+package dev.agents4j.api.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only log shared between persistent views such as {@link NodePath} and
+ * {@link EdgeHistory}. A view is a (log, size) pair; entries below a view's
+ * size never change, so successive views share one log and appending is O(1)
+ * amortized. When a view that is no longer the newest appends, its prefix is
+ * copied into a fresh log instead.
+ *
+ * <p>For each key the log keeps the sorted indexes at which it occurs, so
+ * occurrence counts and last occurrences within a view are a binary search
+ * away. Unwritten index slots hold {@link Integer#MAX_VALUE}, which keeps
+ * lookups from older views correct while the log is appended to concurrently.
+ *
+ * @param <K> The entry key type
+ */
+final class SharedLog<K> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final ConcurrentHashMap<K, int[]> positions =
+        new ConcurrentHashMap<>();
+    private volatile Storage storage = new Storage(INITIAL_CAPACITY);
+    private int size; // guarded by this
+
+    /**
+     * Appends an entry after the first {@code viewSize} entries.
+     *
+     * @param viewSize The size of the view that appends
+     * @param key The entry key
+     * @param value The entry payload, may be null
+     * @return The log that holds the new entry at index {@code viewSize}
+     */
+    SharedLog<K> append(int viewSize, K key, Object value) {
+        synchronized (this) {
+            if (size == viewSize) {
+                write(key, value);
+                return this;
+            }
+        }
+        SharedLog<K> copy = copyOf(viewSize);
+        synchronized (copy) {
+            copy.write(key, value);
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    K key(int index) {
+        return (K) storage.keys[index];
+    }
+
+    Object value(int index) {
+        return storage.values[index];
+    }
+
+    /**
+     * Gets the number of occurrences of the key at {@code index} within the
+     * entries up to and including {@code index}.
+     */
+    int occurrenceAt(int index) {
+        return storage.occurrences[index];
+    }
+
+    /**
+     * Gets the number of distinct keys within the entries up to and including
+     * {@code index}.
+     */
+    int distinctAt(int index) {
+        return storage.distinct[index];
+    }
+
+    /**
+     * Counts the occurrences of a key within the first {@code viewSize} entries.
+     */
+    int occurrences(Object key, int viewSize) {
+        int[] indexes = positions.get(key);
+        return indexes == null ? 0 : countBelow(indexes, viewSize);
+    }
+
+    /**
+     * Finds the last index of a key within the first {@code viewSize} entries.
+     *
+     * @return The index, or -1 if the key does not occur
+     */
+    int lastIndexOf(Object key, int viewSize) {
+        int[] indexes = positions.get(key);
+        if (indexes == null) {
+            return -1;
+        }
+        int count = countBelow(indexes, viewSize);
+        return count == 0 ? -1 : indexes[count - 1];
+    }
+
+    private SharedLog<K> copyOf(int viewSize) {
+        SharedLog<K> copy = new SharedLog<>();
+        Storage source = storage;
+        synchronized (copy) {
+            for (int i = 0; i < viewSize; i++) {
+                @SuppressWarnings("unchecked")
+                K key = (K) source.keys[i];
+                copy.write(key, source.values[i]);
+            }
+        }
+        return copy;
+    }
+
+    private void write(K key, Object value) {
+        Storage current = storage;
+        if (size == current.keys.length) {
+            current = current.grow();
+            storage = current;
+        }
+
+        int[] indexes = positions.get(key);
+        int count = indexes == null ? 0 : countBelow(indexes, size);
+        if (indexes == null || count == indexes.length) {
+            int[] grown = new int[Math.max(2, count * 2)];
+            Arrays.fill(grown, Integer.MAX_VALUE);
+            if (indexes != null) {
+                System.arraycopy(indexes, 0, grown, 0, count);
+            }
+            grown[count] = size;
+            positions.put(key, grown);
+        } else {
+            indexes[count] = size;
+        }
+
+        current.keys[size] = key;
+        current.values[size] = value;
+        current.occurrences[size] = count + 1;
+        current.distinct[size] =
+            (size == 0 ? 0 : current.distinct[size - 1]) + (count == 0 ? 1 : 0);
+        size++;
+        // Publish the written slot to readers of the volatile storage field
+        storage = current;
+    }
+
+    private static int countBelow(int[] sortedIndexes, int limit) {
+        int low = 0;
+        int high = sortedIndexes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedIndexes[mid] < limit) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Storage {
+
+        private final Object[] keys;
+        private final Object[] values;
+        private final int[] occurrences;
+        private final int[] distinct;
+
+        private Storage(int capacity) {
+            this(
+                new Object[capacity],
+                new Object[capacity],
+                new int[capacity],
+                new int[capacity]
+            );
+        }
+
+        private Storage(
+            Object[] keys,
+            Object[] values,
+            int[] occurrences,
+            int[] distinct
+        ) {
+            this.keys = keys;
+            this.values = values;
+            this.occurrences = occurrences;
+            this.distinct = distinct;
+        }
+
+        private Storage grow() {
+            int capacity = keys.length * 2;
+            return new Storage(
+                Arrays.copyOf(keys, capacity),
+                Arrays.copyOf(values, capacity),
+                Arrays.copyOf(occurrences, capacity),
+                Arrays.copyOf(distinct, capacity)
+            );
+        }
+    }
+}
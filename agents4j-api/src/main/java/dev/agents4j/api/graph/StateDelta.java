@@ -0,0 +1,361 @@
+package dev.agents4j.api.graph;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.context.WorkflowContext;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The difference between two versions of a {@link GraphWorkflowState}:
+ * the context entries added, changed and removed, the replaced data, the
+ * nodes appended to the path, the edges traversed and the new metadata.
+ * Applying a delta to its base state rebuilds the later state exactly, so a
+ * sequence of deltas can be stored instead of a full state per version.
+ *
+ * <p>Paths and edge histories only grow while a workflow runs. A delta
+ * between successive states of one walk therefore holds just the appended
+ * nodes and edges, found without walking the shared path; states that do
+ * not extend their base are captured whole.</p>
+ *
+ * @param workflowId The workflow ID
+ * @param baseVersion The version of the state the delta applies to
+ * @param metadata The metadata of the resulting state
+ * @param currentNode The current node of the resulting state
+ * @param dataReplaced true if the data differs from the base state
+ * @param data The data of the resulting state, if replaced
+ * @param contextUpdates The context entries added or changed
+ * @param contextRemovals The context keys removed
+ * @param position The change of the graph position
+ * @param <S> The type of the workflow state data
+ */
+public record StateDelta<S>(
+    WorkflowId workflowId,
+    long baseVersion,
+    StateMetadata metadata,
+    Optional<NodeId> currentNode,
+    boolean dataReplaced,
+    S data,
+    WorkflowContext contextUpdates,
+    Set<ContextKey<?>> contextRemovals,
+    PositionDelta position
+) {
+    public StateDelta {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Objects.requireNonNull(metadata, "State metadata cannot be null");
+        Objects.requireNonNull(
+            currentNode,
+            "Current node optional cannot be null"
+        );
+        Objects.requireNonNull(
+            contextUpdates,
+            "Context updates cannot be null"
+        );
+        Objects.requireNonNull(
+            contextRemovals,
+            "Context removals cannot be null"
+        );
+        Objects.requireNonNull(position, "Position delta cannot be null");
+        if (metadata.version() <= baseVersion) {
+            throw new IllegalArgumentException(
+                "Delta version must be greater than its base version"
+            );
+        }
+        contextRemovals = Set.copyOf(contextRemovals);
+    }
+
+    /**
+     * Computes the delta that turns one state into a later one.
+     *
+     * @param base The earlier state
+     * @param target The later state
+     * @param <S> The type of the workflow state data
+     * @return The delta from base to target
+     * @throws IllegalArgumentException if the states belong to different
+     *     workflows or target is not newer than base
+     */
+    public static <S> StateDelta<S> between(
+        GraphWorkflowState<S> base,
+        GraphWorkflowState<S> target
+    ) {
+        Objects.requireNonNull(base, "Base state cannot be null");
+        Objects.requireNonNull(target, "Target state cannot be null");
+        if (!base.workflowId().equals(target.workflowId())) {
+            throw new IllegalArgumentException(
+                "States belong to different workflows: " +
+                base.workflowId().value() +
+                ", " +
+                target.workflowId().value()
+            );
+        }
+
+        // Context entries are compared by identity first; unchanged values
+        // are shared between successive states
+        WorkflowContext baseContext = base.context();
+        WorkflowContext targetContext = target.context();
+        ExecutionContext.Builder updates = ExecutionContext.builder();
+        Set<ContextKey<?>> removals = new LinkedHashSet<>();
+        if (baseContext != targetContext) {
+            for (ContextKey<?> key : targetContext.keys()) {
+                putIfChanged(updates, key, baseContext, targetContext);
+            }
+            for (ContextKey<?> key : baseContext.keys()) {
+                if (!targetContext.contains(key)) {
+                    removals.add(key);
+                }
+            }
+        }
+
+        boolean dataReplaced = !Objects.equals(base.data(), target.data());
+        return new StateDelta<>(
+            target.workflowId(),
+            base.getVersion(),
+            target.metadata(),
+            target.currentNode(),
+            dataReplaced,
+            dataReplaced ? target.data() : null,
+            updates.build(),
+            removals,
+            PositionDelta.between(base.position(), target.position())
+        );
+    }
+
+    /**
+     * Applies this delta to its base state.
+     *
+     * @param base The state at the delta's base version
+     * @return The resulting state
+     * @throws IllegalArgumentException if the state is not the delta's base
+     */
+    public GraphWorkflowState<S> applyTo(GraphWorkflowState<S> base) {
+        Objects.requireNonNull(base, "Base state cannot be null");
+        if (!base.workflowId().equals(workflowId)) {
+            throw new IllegalArgumentException(
+                "Delta of workflow " +
+                workflowId.value() +
+                " cannot be applied to workflow " +
+                base.workflowId().value()
+            );
+        }
+        if (base.getVersion() != baseVersion) {
+            throw new IllegalArgumentException(
+                "Delta applies to version " +
+                baseVersion +
+                ", not " +
+                base.getVersion()
+            );
+        }
+
+        WorkflowContext context = base.context();
+        for (ContextKey<?> key : contextRemovals) {
+            context = context.without(key);
+        }
+        for (ContextKey<?> key : contextUpdates.keys()) {
+            context = copy(context, key, contextUpdates);
+        }
+        return new GraphWorkflowState<>(
+            workflowId,
+            dataReplaced ? data : base.data(),
+            context,
+            currentNode,
+            position.applyTo(base.position()),
+            metadata
+        );
+    }
+
+    /**
+     * Gets the version of the resulting state.
+     *
+     * @return The version
+     */
+    public long version() {
+        return metadata.version();
+    }
+
+    private static <T> void putIfChanged(
+        ExecutionContext.Builder updates,
+        ContextKey<T> key,
+        WorkflowContext base,
+        WorkflowContext target
+    ) {
+        T value = target.get(key).orElse(null);
+        if (value == null) {
+            return;
+        }
+        Object previous = base.get(key).orElse(null);
+        if (previous != value && !value.equals(previous)) {
+            updates.put(key, value);
+        }
+    }
+
+    private static <T> WorkflowContext copy(
+        WorkflowContext target,
+        ContextKey<T> key,
+        WorkflowContext source
+    ) {
+        return target.with(key, source.get(key).orElseThrow());
+    }
+
+    /**
+     * The change of a {@link GraphPosition}: the new current and previous
+     * nodes and depth, the nodes appended to the retained prefix of the
+     * path, and the edges traversed since the base position.
+     *
+     * @param currentNodeId The current node of the resulting position
+     * @param previousNodeId The previous node of the resulting position
+     * @param depth The depth of the resulting position
+     * @param retainedPath The number of leading path nodes kept from the base
+     * @param pathSuffix The nodes appended to the retained path
+     * @param edgesRetained true if the base edge history is kept and
+     *     extended, false if it is replaced
+     * @param edgeTraversals The traversals recorded on top of the kept
+     *     history, or the whole history if it is replaced
+     */
+    public record PositionDelta(
+        NodeId currentNodeId,
+        Optional<NodeId> previousNodeId,
+        int depth,
+        int retainedPath,
+        List<NodeId> pathSuffix,
+        boolean edgesRetained,
+        Map<EdgeId, Instant> edgeTraversals
+    ) {
+        public PositionDelta {
+            Objects.requireNonNull(
+                currentNodeId,
+                "Current node ID cannot be null"
+            );
+            Objects.requireNonNull(
+                previousNodeId,
+                "Previous node ID optional cannot be null"
+            );
+            Objects.requireNonNull(pathSuffix, "Path suffix cannot be null");
+            Objects.requireNonNull(
+                edgeTraversals,
+                "Edge traversals cannot be null"
+            );
+            if (retainedPath < 0) {
+                throw new IllegalArgumentException(
+                    "Retained path length cannot be negative"
+                );
+            }
+            pathSuffix = List.copyOf(pathSuffix);
+            edgeTraversals = Collections.unmodifiableMap(
+                new LinkedHashMap<>(edgeTraversals)
+            );
+        }
+
+        /**
+         * Computes the change from one position to a later one.
+         *
+         * @param base The earlier position
+         * @param target The later position
+         * @return The position delta
+         */
+        public static PositionDelta between(
+            GraphPosition base,
+            GraphPosition target
+        ) {
+            NodePath basePath = NodePath.copyOf(base.visitedNodes());
+            NodePath targetPath = NodePath.copyOf(target.visitedNodes());
+            int retained = targetPath.startsWith(basePath) ? basePath.size() : 0;
+
+            EdgeHistory baseEdges = EdgeHistory.copyOf(
+                base.edgeTraversalHistory()
+            );
+            EdgeHistory targetEdges = EdgeHistory.copyOf(
+                target.edgeTraversalHistory()
+            );
+            Map<EdgeId, Instant> traversals = targetEdges.recordedSince(
+                baseEdges
+            );
+            if (traversals == null) {
+                traversals = traversedSince(baseEdges, targetEdges);
+            }
+            boolean edgesRetained = traversals != null;
+
+            return new PositionDelta(
+                target.currentNodeId(),
+                target.previousNodeId(),
+                target.depth(),
+                retained,
+                targetPath.subList(retained, targetPath.size()),
+                edgesRetained,
+                edgesRetained ? traversals : targetEdges
+            );
+        }
+
+        /**
+         * Applies this change to its base position.
+         *
+         * @param base The base position
+         * @return The resulting position
+         * @throws IllegalArgumentException if the base path is shorter than
+         *     the retained path
+         */
+        public GraphPosition applyTo(GraphPosition base) {
+            List<NodeId> baseNodes = base.visitedNodes();
+            if (baseNodes.size() < retainedPath) {
+                throw new IllegalArgumentException(
+                    "Base path has " +
+                    baseNodes.size() +
+                    " nodes, delta retains " +
+                    retainedPath
+                );
+            }
+            NodePath path = NodePath.copyOf(
+                baseNodes.size() == retainedPath
+                    ? baseNodes
+                    : baseNodes.subList(0, retainedPath)
+            );
+            for (NodeId nodeId : pathSuffix) {
+                path = path.append(nodeId);
+            }
+
+            EdgeHistory edges = edgesRetained
+                ? EdgeHistory.copyOf(base.edgeTraversalHistory())
+                : EdgeHistory.copyOf(Map.of());
+            for (Map.Entry<EdgeId, Instant> traversal : edgeTraversals.entrySet()) {
+                edges = edges.record(traversal.getKey(), traversal.getValue());
+            }
+            return new GraphPosition(
+                currentNodeId,
+                previousNodeId,
+                path,
+                edges,
+                depth
+            );
+        }
+
+        /**
+         * Compares histories that do not share a log, as after a restore.
+         *
+         * @return The traversals that are new or newer in the later history,
+         *     or null if it lost an edge of the earlier one
+         */
+        private static Map<EdgeId, Instant> traversedSince(
+            Map<EdgeId, Instant> earlier,
+            Map<EdgeId, Instant> later
+        ) {
+            for (EdgeId edgeId : earlier.keySet()) {
+                if (!later.containsKey(edgeId)) {
+                    return null;
+                }
+            }
+            Map<EdgeId, Instant> traversals = new LinkedHashMap<>();
+            for (Map.Entry<EdgeId, Instant> entry : later.entrySet()) {
+                if (!entry.getValue().equals(earlier.get(entry.getKey()))) {
+                    traversals.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return traversals;
+        }
+    }
+}
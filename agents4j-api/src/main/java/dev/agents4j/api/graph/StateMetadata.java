@@ -51,7 +51,17 @@ public record StateMetadata(
      * @return A new StateMetadata with incremented version and current timestamp
      */
     public StateMetadata advance() {
-        return new StateMetadata(version + 1, createdAt, Instant.now());
+        return advance(Instant.now());
+    }
+
+    /**
+     * Advances the version, recording the given modification time.
+     *
+     * @param modifiedAt The last modified timestamp
+     * @return A new StateMetadata with incremented version and the given timestamp
+     */
+    public StateMetadata advance(Instant modifiedAt) {
+        return new StateMetadata(version + 1, createdAt, modifiedAt);
     }
     
     /**
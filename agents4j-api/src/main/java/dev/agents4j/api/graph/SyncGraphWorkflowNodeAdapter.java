@@ -0,0 +1,169 @@
+package dev.agents4j.api.graph;
+
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Presents a blocking {@link GraphWorkflowNode} as an
+ * {@link AsyncGraphWorkflowNode}. The wrapped node runs its own lifecycle,
+ * either on the calling thread or on the given executor.
+ *
+ * @param <S> The type of the workflow state data
+ */
+final class SyncGraphWorkflowNodeAdapter<S> implements AsyncGraphWorkflowNode<S> {
+
+    private final GraphWorkflowNode<S> delegate;
+    private final Executor executor;
+
+    /**
+     * @param delegate The blocking node
+     * @param executor The executor to run the node on, or null to run it on the calling thread
+     */
+    SyncGraphWorkflowNodeAdapter(
+        GraphWorkflowNode<S> delegate,
+        Executor executor
+    ) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletionStage<
+        WorkflowResult<GraphCommand<S>, WorkflowError>
+    > processAsync(GraphWorkflowState<S> state) {
+        return supply(() -> delegate.process(state));
+    }
+
+    @Override
+    public WorkflowResult<GraphCommand<S>, WorkflowError> process(
+        GraphWorkflowState<S> state
+    ) {
+        return delegate.process(state);
+    }
+
+    @Override
+    public CompletionStage<
+        WorkflowResult<GraphCommand<S>, WorkflowError>
+    > processWithLifecycleAsync(GraphWorkflowState<S> state) {
+        return supply(() -> delegate.processWithLifecycle(state));
+    }
+
+    @Override
+    public WorkflowResult<GraphCommand<S>, WorkflowError> processWithLifecycle(
+        GraphWorkflowState<S> state
+    ) {
+        return delegate.processWithLifecycle(state);
+    }
+
+    private CompletionStage<
+        WorkflowResult<GraphCommand<S>, WorkflowError>
+    > supply(
+        Supplier<
+            WorkflowResult<GraphCommand<S>, WorkflowError>
+        > call
+    ) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(call.get());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    @Override
+    public NodeId getNodeId() {
+        return delegate.getNodeId();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public GraphNodeMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public Set<GraphEdge> getOutgoingEdges() {
+        return delegate.getOutgoingEdges();
+    }
+
+    @Override
+    public Set<GraphEdge> getIncomingEdges() {
+        return delegate.getIncomingEdges();
+    }
+
+    @Override
+    public WorkflowResult<GraphWorkflowState<S>, WorkflowError> validateState(
+        GraphWorkflowState<S> state
+    ) {
+        return delegate.validateState(state);
+    }
+
+    @Override
+    public boolean isEntryPoint() {
+        return delegate.isEntryPoint();
+    }
+
+    @Override
+    public boolean isExitPoint() {
+        return delegate.isExitPoint();
+    }
+
+    @Override
+    public boolean canSuspend() {
+        return delegate.canSuspend();
+    }
+
+    @Override
+    public Optional<Duration> getExpectedDuration() {
+        return delegate.getExpectedDuration();
+    }
+
+    @Override
+    public Set<NodeId> getAllowedTargets() {
+        return delegate.getAllowedTargets();
+    }
+
+    @Override
+    public void onBeforeExecution(GraphWorkflowState<S> state) {
+        delegate.onBeforeExecution(state);
+    }
+
+    @Override
+    public void onAfterExecution(
+        GraphWorkflowState<S> state,
+        GraphCommand<S> command
+    ) {
+        delegate.onAfterExecution(state, command);
+    }
+
+    @Override
+    public void onExecutionError(
+        GraphWorkflowState<S> state,
+        WorkflowError error
+    ) {
+        delegate.onExecutionError(state, error);
+    }
+
+    @Override
+    public String toString() {
+        return "SyncGraphWorkflowNodeAdapter{" + delegate + "}";
+    }
+}
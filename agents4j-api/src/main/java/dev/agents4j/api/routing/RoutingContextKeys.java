@@ -0,0 +1,34 @@
+package dev.agents4j.api.routing;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ContextKeyRegistry;
+
+/**
+ * Default context keys returned by {@link RoutingStrategy}. The keys are
+ * created once and registered with {@link ContextKeyRegistry} so that routing
+ * results are stored in the array-backed part of the context.
+ */
+final class RoutingContextKeys {
+
+    static final ContextKey<Double> CONFIDENCE = ContextKeyRegistry.register(
+        ContextKey.of("routing.confidence", Double.class)
+    ).key();
+
+    static final ContextKey<String> REASONING = ContextKeyRegistry.register(
+        ContextKey.stringKey("routing.reasoning")
+    ).key();
+
+    static final ContextKey<Object> AVAILABLE_ROUTES = ContextKeyRegistry.register(
+        ContextKey.of("routing.available_routes", Object.class)
+    ).key();
+
+    static final ContextKey<String> SELECTED_ROUTE = ContextKeyRegistry.register(
+        ContextKey.stringKey("routing.selected_route")
+    ).key();
+
+    static final ContextKey<Long> PROCESSING_TIME = ContextKeyRegistry.register(
+        ContextKey.of("routing.processing_time_ms", Long.class)
+    ).key();
+
+    private RoutingContextKeys() {}
+}
@@ -107,7 +107,7 @@ public interface RoutingStrategy {
      * @return Context key for routing confidence values
      */
     default ContextKey<Double> getConfidenceContextKey() {
-        return ContextKey.of("routing.confidence", Double.class);
+        return RoutingContextKeys.CONFIDENCE;
     }
     
     /**
@@ -116,7 +116,7 @@ public interface RoutingStrategy {
      * @return Context key for routing reasoning text
      */
     default ContextKey<String> getReasoningContextKey() {
-        return ContextKey.stringKey("routing.reasoning");
+        return RoutingContextKeys.REASONING;
     }
     
     /**
@@ -125,7 +125,7 @@ public interface RoutingStrategy {
      * @return Context key for available routes set
      */
     default ContextKey<Object> getRoutesContextKey() {
-        return ContextKey.of("routing.available_routes", Object.class);
+        return RoutingContextKeys.AVAILABLE_ROUTES;
     }
     
     /**
@@ -134,7 +134,7 @@ public interface RoutingStrategy {
      * @return Context key for selected route string
      */
     default ContextKey<String> getSelectedRouteContextKey() {
-        return ContextKey.stringKey("routing.selected_route");
+        return RoutingContextKeys.SELECTED_ROUTE;
     }
     
     /**
@@ -143,7 +143,7 @@ public interface RoutingStrategy {
      * @return Context key for processing time in milliseconds
      */
     default ContextKey<Long> getProcessingTimeContextKey() {
-        return ContextKey.of("routing.processing_time_ms", Long.class);
+        return RoutingContextKeys.PROCESSING_TIME;
     }
     
     /**
@@ -0,0 +1,59 @@
+package dev.agents4j.api.serialization;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Leading fields of a serialized workflow state, readable without decoding
+ * the state data or context. Used to route, expire or migrate stored states
+ * while scanning them.
+ *
+ * <p>Only {@code workflowVersion} is always present; the other fields are
+ * null when the format or the serializer does not record them.</p>
+ */
+public record StateHeader(
+    String workflowVersion,
+    String schemaVersion,
+    String stateDataType,
+    String workflowId,
+    String currentNode,
+    Instant serializedAt
+) {
+    public StateHeader {
+        Objects.requireNonNull(
+            workflowVersion,
+            "Workflow version cannot be null"
+        );
+    }
+
+    /**
+     * Creates a header that only carries the workflow version.
+     *
+     * @param workflowVersion The workflow version
+     * @return A new StateHeader
+     */
+    public static StateHeader ofVersion(String workflowVersion) {
+        return new StateHeader(workflowVersion, null, null, null, null, null);
+    }
+
+    /**
+     * Gets the node the workflow was at when serialized.
+     *
+     * @return The node ID, or empty if not recorded
+     */
+    public Optional<String> currentNodeId() {
+        return Optional.ofNullable(currentNode);
+    }
+
+    /**
+     * Checks whether the state was serialized before a cutoff.
+     *
+     * @param cutoff The cutoff instant
+     * @return true if the serialization time is known and before the cutoff
+     */
+    public boolean serializedBefore(Instant cutoff) {
+        Objects.requireNonNull(cutoff, "Cutoff cannot be null");
+        return serializedAt != null && serializedAt.isBefore(cutoff);
+    }
+}
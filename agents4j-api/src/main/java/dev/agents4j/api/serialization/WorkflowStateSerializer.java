@@ -1,5 +1,13 @@
 package dev.agents4j.api.serialization;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
 
@@ -34,6 +42,205 @@ public interface WorkflowStateSerializer<S> {
     S deserialize(String serializedState, String expectedVersion)
         throws DeserializationException, VersionMismatchException;
 
+    /**
+     * Serializes a workflow state to bytes. The default encodes the string
+     * form as UTF-8; binary formats override it to skip the text step.
+     *
+     * @param state The workflow state to serialize
+     * @param workflowVersion The current workflow version
+     * @return Serialized state as bytes
+     * @throws SerializationException if serialization fails
+     */
+    default byte[] serializeToBytes(S state, String workflowVersion)
+        throws SerializationException {
+        return serialize(state, workflowVersion).getBytes(
+            StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Serializes a workflow state into a buffer ready to be read or written
+     * to a channel.
+     *
+     * @param state The workflow state to serialize
+     * @param workflowVersion The current workflow version
+     * @return A buffer positioned at the start of the serialized state
+     * @throws SerializationException if serialization fails
+     */
+    default ByteBuffer serializeToBuffer(S state, String workflowVersion)
+        throws SerializationException {
+        return ByteBuffer.wrap(serializeToBytes(state, workflowVersion));
+    }
+
+    /**
+     * Deserializes a workflow state from bytes produced by
+     * {@link #serializeToBytes(Object, String)}.
+     *
+     * @param serializedState The serialized state bytes
+     * @param expectedVersion The expected workflow version
+     * @return The deserialized workflow state
+     * @throws DeserializationException if deserialization fails
+     * @throws VersionMismatchException if version is incompatible
+     */
+    default S deserialize(byte[] serializedState, String expectedVersion)
+        throws DeserializationException, VersionMismatchException {
+        return deserialize(
+            new String(serializedState, StandardCharsets.UTF_8),
+            expectedVersion
+        );
+    }
+
+    /**
+     * Deserializes a workflow state from the remaining bytes of a buffer,
+     * advancing its position past the state. Works with heap, direct and
+     * memory-mapped buffers.
+     *
+     * @param serializedState The buffer holding the serialized state
+     * @param expectedVersion The expected workflow version
+     * @return The deserialized workflow state
+     * @throws DeserializationException if deserialization fails
+     * @throws VersionMismatchException if version is incompatible
+     */
+    default S deserialize(ByteBuffer serializedState, String expectedVersion)
+        throws DeserializationException, VersionMismatchException {
+        byte[] bytes = new byte[serializedState.remaining()];
+        serializedState.get(bytes);
+        return deserialize(bytes, expectedVersion);
+    }
+
+    /**
+     * Serializes a workflow state directly to a stream. The default writes
+     * the result of {@link #serializeToBytes(Object, String)}; streaming
+     * formats override it to avoid holding the whole state in memory.
+     * The stream is flushed but not closed.
+     *
+     * @param state The workflow state to serialize
+     * @param workflowVersion The current workflow version
+     * @param output The stream to write to
+     * @throws SerializationException if serialization or writing fails
+     */
+    default void serialize(
+        S state,
+        String workflowVersion,
+        OutputStream output
+    ) throws SerializationException {
+        byte[] bytes = serializeToBytes(state, workflowVersion);
+        try {
+            output.write(bytes);
+            output.flush();
+        } catch (IOException e) {
+            throw new SerializationException(
+                "Failed to write serialized state",
+                e
+            );
+        }
+    }
+
+    /**
+     * Serializes a workflow state directly to a channel, such as a
+     * {@link java.nio.channels.FileChannel} or socket. The channel is not
+     * closed.
+     *
+     * @param state The workflow state to serialize
+     * @param workflowVersion The current workflow version
+     * @param output The channel to write to
+     * @throws SerializationException if serialization or writing fails
+     */
+    default void serialize(
+        S state,
+        String workflowVersion,
+        WritableByteChannel output
+    ) throws SerializationException {
+        serialize(state, workflowVersion, Channels.newOutputStream(output));
+    }
+
+    /**
+     * Deserializes a workflow state from a stream. The default reads the
+     * remaining bytes and delegates to {@link #deserialize(byte[], String)};
+     * streaming formats override it to decode while reading. The stream is
+     * not closed.
+     *
+     * @param input The stream holding the serialized state
+     * @param expectedVersion The expected workflow version
+     * @return The deserialized workflow state
+     * @throws DeserializationException if reading or deserialization fails
+     * @throws VersionMismatchException if version is incompatible
+     */
+    default S deserialize(InputStream input, String expectedVersion)
+        throws DeserializationException, VersionMismatchException {
+        byte[] bytes;
+        try {
+            bytes = input.readAllBytes();
+        } catch (IOException e) {
+            throw new DeserializationException(
+                "Failed to read serialized state",
+                e
+            );
+        }
+        return deserialize(bytes, expectedVersion);
+    }
+
+    /**
+     * Deserializes a workflow state from a channel. The channel is not
+     * closed.
+     *
+     * @param input The channel holding the serialized state
+     * @param expectedVersion The expected workflow version
+     * @return The deserialized workflow state
+     * @throws DeserializationException if reading or deserialization fails
+     * @throws VersionMismatchException if version is incompatible
+     */
+    default S deserialize(ReadableByteChannel input, String expectedVersion)
+        throws DeserializationException, VersionMismatchException {
+        return deserialize(Channels.newInputStream(input), expectedVersion);
+    }
+
+    /**
+     * Checks whether {@link #serializeDelta(Object, Object, String)} encodes
+     * only the changes from the base state. Callers use it to decide whether
+     * keeping a base state around pays off.
+     *
+     * @return true if deltas are smaller than full states
+     */
+    default boolean supportsDeltas() {
+        return false;
+    }
+
+    /**
+     * Serializes a workflow state relative to an earlier version of it. The
+     * result can only be read back with
+     * {@link #applyDelta(Object, byte[], String)} given the same base. The
+     * default writes the full state, which is a valid delta from any base.
+     *
+     * @param base The earlier state the delta applies to
+     * @param state The workflow state to serialize
+     * @param workflowVersion The current workflow version
+     * @return The serialized delta
+     * @throws SerializationException if serialization fails
+     */
+    default byte[] serializeDelta(S base, S state, String workflowVersion)
+        throws SerializationException {
+        return serializeToBytes(state, workflowVersion);
+    }
+
+    /**
+     * Rebuilds a workflow state from its base and a delta produced by
+     * {@link #serializeDelta(Object, Object, String)}. The default reads the
+     * delta as a full state.
+     *
+     * @param base The state the delta was taken from
+     * @param serializedDelta The serialized delta
+     * @param expectedVersion The expected workflow version
+     * @return The rebuilt workflow state
+     * @throws DeserializationException if the delta cannot be read or does
+     *     not apply to the base
+     * @throws VersionMismatchException if version is incompatible
+     */
+    default S applyDelta(S base, byte[] serializedDelta, String expectedVersion)
+        throws DeserializationException, VersionMismatchException {
+        return deserialize(serializedDelta, expectedVersion);
+    }
+
     /**
      * Checks if a serialized version is compatible with the current version.
      *
@@ -108,6 +315,55 @@ public interface WorkflowStateSerializer<S> {
         }
     }
 
+    /**
+     * Reads the header of a serialized state without decoding its data or
+     * context. The default only recovers the version through
+     * {@link #extractVersion(String)}; serializers override it to read all
+     * header fields and stop before the body.
+     *
+     * @param serializedState The serialized state
+     * @return The state header
+     * @throws DeserializationException if no header can be read
+     */
+    default StateHeader peekHeader(String serializedState)
+        throws DeserializationException {
+        String version = extractVersion(serializedState);
+        if (version == null || version.isEmpty()) {
+            throw new DeserializationException("No version information found");
+        }
+        return StateHeader.ofVersion(version);
+    }
+
+    /**
+     * Reads the header of a state produced by
+     * {@link #serializeToBytes(Object, String)}.
+     *
+     * @param serializedState The serialized state bytes
+     * @return The state header
+     * @throws DeserializationException if no header can be read
+     */
+    default StateHeader peekHeader(byte[] serializedState)
+        throws DeserializationException {
+        return peekHeader(new String(serializedState, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the header of the state held in the remaining bytes of a buffer.
+     * Unlike {@link #deserialize(ByteBuffer, String)}, the buffer's position
+     * is left unchanged.
+     *
+     * @param serializedState The buffer holding the serialized state
+     * @return The state header
+     * @throws DeserializationException if no header can be read
+     */
+    default StateHeader peekHeader(ByteBuffer serializedState)
+        throws DeserializationException {
+        ByteBuffer view = serializedState.duplicate();
+        byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        return peekHeader(bytes);
+    }
+
     /**
      * Extracts version information from serialized state without full deserialization.
      *
@@ -0,0 +1,136 @@
+package dev.agents4j.api.suspension;
+
+import dev.agents4j.api.graph.WorkflowId;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A suspended workflow as kept by a {@link WorkflowStateStore}: the
+ * serialized state together with the fields the store indexes on.
+ *
+ * <p>The state bytes are whatever the workflow's
+ * {@link dev.agents4j.api.serialization.WorkflowStateSerializer} produced, so
+ * stores never need to decode them. {@code expiresAt} is null when the
+ * suspension has no timeout.</p>
+ */
+public record StoredSuspension(
+    WorkflowId workflowId,
+    String suspensionId,
+    String workflowVersion,
+    String reason,
+    Instant suspendedAt,
+    Instant expiresAt,
+    byte[] state
+) {
+    public StoredSuspension {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Objects.requireNonNull(suspensionId, "Suspension ID cannot be null");
+        Objects.requireNonNull(
+            workflowVersion,
+            "Workflow version cannot be null"
+        );
+        Objects.requireNonNull(reason, "Reason cannot be null");
+        Objects.requireNonNull(suspendedAt, "Suspended at cannot be null");
+        Objects.requireNonNull(state, "State cannot be null");
+    }
+
+    /**
+     * Creates a stored suspension from a workflow suspension and its
+     * serialized state. The expiry is derived from the suspension timeout.
+     *
+     * @param workflowId The ID of the suspended workflow
+     * @param suspension The suspension
+     * @param workflowVersion The version the state was serialized with
+     * @param state The serialized state
+     * @return A new StoredSuspension
+     */
+    public static StoredSuspension of(
+        WorkflowId workflowId,
+        WorkflowSuspension<?> suspension,
+        String workflowVersion,
+        byte[] state
+    ) {
+        Objects.requireNonNull(suspension, "Suspension cannot be null");
+        Instant suspendedAt = suspension.getSuspendedAt();
+        return new StoredSuspension(
+            workflowId,
+            suspension.getSuspensionId(),
+            workflowVersion,
+            suspension.getReason(),
+            suspendedAt,
+            suspension.getTimeout().map(suspendedAt::plus).orElse(null),
+            state
+        );
+    }
+
+    /**
+     * Gets the instant after which the suspension may no longer be resumed.
+     *
+     * @return The expiry, or empty if the suspension has no timeout
+     */
+    public Optional<Instant> expiry() {
+        return Optional.ofNullable(expiresAt);
+    }
+
+    /**
+     * Gets the timeout the suspension was created with.
+     *
+     * @return The timeout, or empty if the suspension has no timeout
+     */
+    public Optional<Duration> timeout() {
+        return expiry().map(expiry -> Duration.between(suspendedAt, expiry));
+    }
+
+    /**
+     * Checks whether the suspension has expired at the given instant.
+     *
+     * @param now The instant to check against
+     * @return true if the suspension has a timeout that is not after now
+     */
+    public boolean isExpired(Instant now) {
+        Objects.requireNonNull(now, "Now cannot be null");
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StoredSuspension other)) return false;
+        return (
+            workflowId.equals(other.workflowId) &&
+            suspensionId.equals(other.suspensionId) &&
+            workflowVersion.equals(other.workflowVersion) &&
+            reason.equals(other.reason) &&
+            suspendedAt.equals(other.suspendedAt) &&
+            Objects.equals(expiresAt, other.expiresAt) &&
+            Arrays.equals(state, other.state)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(workflowId, suspensionId, suspendedAt);
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "StoredSuspension{workflowId=" +
+            workflowId.value() +
+            ", suspensionId=" +
+            suspensionId +
+            ", workflowVersion=" +
+            workflowVersion +
+            ", suspendedAt=" +
+            suspendedAt +
+            ", expiresAt=" +
+            expiresAt +
+            ", stateBytes=" +
+            state.length +
+            "}"
+        );
+    }
+}
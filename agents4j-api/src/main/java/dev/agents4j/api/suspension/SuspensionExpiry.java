@@ -0,0 +1,42 @@
+package dev.agents4j.api.suspension;
+
+import dev.agents4j.api.graph.WorkflowId;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * The expiry of a stored suspension, without its state. Lets schedulers
+ * track every pending timeout without loading the serialized states.
+ */
+public record SuspensionExpiry(
+    WorkflowId workflowId,
+    String suspensionId,
+    Instant expiresAt
+) {
+    public SuspensionExpiry {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Objects.requireNonNull(suspensionId, "Suspension ID cannot be null");
+        Objects.requireNonNull(expiresAt, "Expires at cannot be null");
+    }
+
+    /**
+     * Gets the expiry of a stored suspension.
+     *
+     * @param suspension The stored suspension
+     * @return The expiry
+     * @throws IllegalArgumentException if the suspension has no timeout
+     */
+    public static SuspensionExpiry of(StoredSuspension suspension) {
+        Objects.requireNonNull(suspension, "Suspension cannot be null");
+        if (suspension.expiresAt() == null) {
+            throw new IllegalArgumentException(
+                "Suspension has no timeout: " + suspension.suspensionId()
+            );
+        }
+        return new SuspensionExpiry(
+            suspension.workflowId(),
+            suspension.suspensionId(),
+            suspension.expiresAt()
+        );
+    }
+}
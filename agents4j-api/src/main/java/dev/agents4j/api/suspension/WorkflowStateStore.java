@@ -0,0 +1,130 @@
+package dev.agents4j.api.suspension;
+
+import dev.agents4j.api.graph.WorkflowId;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for suspended workflows. A workflow configured with a store
+ * persists its state when it suspends and can be resumed by workflow ID
+ * alone; see {@link dev.agents4j.api.GraphWorkflow#resume(WorkflowId)}.
+ *
+ * <p>A store holds at most one suspension per workflow: putting a
+ * suspension replaces the previous one for the same workflow. Suspension
+ * IDs are expected to be unique across workflows. Implementations must be
+ * safe for concurrent use.</p>
+ */
+public interface WorkflowStateStore extends AutoCloseable {
+    /**
+     * Stores a suspension, replacing any suspension of the same workflow.
+     *
+     * @param suspension The suspension to store
+     * @throws StoreException if the suspension cannot be stored
+     */
+    void put(StoredSuspension suspension);
+
+    /**
+     * Gets the suspension of a workflow.
+     *
+     * @param workflowId The workflow ID
+     * @return The stored suspension, or empty if the workflow is not suspended
+     * @throws StoreException if the store cannot be read
+     */
+    Optional<StoredSuspension> get(WorkflowId workflowId);
+
+    /**
+     * Gets a suspension by its suspension ID.
+     *
+     * @param suspensionId The suspension ID
+     * @return The stored suspension, or empty if none has this ID
+     * @throws StoreException if the store cannot be read
+     */
+    Optional<StoredSuspension> findBySuspensionId(String suspensionId);
+
+    /**
+     * Removes the suspension of a workflow.
+     *
+     * @param workflowId The workflow ID
+     * @return true if a suspension was removed
+     * @throws StoreException if the removal cannot be recorded
+     */
+    boolean delete(WorkflowId workflowId);
+
+    /**
+     * Removes the suspension of a workflow only if it is still the given
+     * suspension. Callers use this to claim a suspension, for example when
+     * it expires, without racing a resume that replaced or removed it.
+     *
+     * <p>The default checks and deletes in two steps; implementations
+     * should override it to do so atomically.</p>
+     *
+     * @param workflowId The workflow ID
+     * @param suspensionId The expected suspension ID
+     * @return true if the suspension was removed
+     * @throws StoreException if the removal cannot be recorded
+     */
+    default boolean delete(WorkflowId workflowId, String suspensionId) {
+        return (
+            get(workflowId)
+                .filter(stored -> stored.suspensionId().equals(suspensionId))
+                .isPresent() &&
+            delete(workflowId)
+        );
+    }
+
+    /**
+     * Lists suspensions that have expired at the given instant, earliest
+     * expiry first. The suspensions stay in the store.
+     *
+     * @param now The instant to compare expiries against
+     * @param limit The maximum number of suspensions to return
+     * @return The expired suspensions
+     * @throws StoreException if the store cannot be read
+     */
+    List<StoredSuspension> scanExpired(Instant now, int limit);
+
+    /**
+     * Lists the expiries of all suspensions that have a timeout, earliest
+     * first, without their states. The default scans every suspension;
+     * implementations with an expiry index should override it.
+     *
+     * @return The pending expiries
+     * @throws StoreException if the store cannot be read
+     */
+    default List<SuspensionExpiry> listExpiries() {
+        return scanExpired(Instant.MAX, Integer.MAX_VALUE)
+            .stream()
+            .map(SuspensionExpiry::of)
+            .toList();
+    }
+
+    /**
+     * Gets the number of stored suspensions.
+     *
+     * @return The number of suspensions
+     */
+    int size();
+
+    /**
+     * Releases the resources held by the store. The default does nothing.
+     */
+    @Override
+    default void close() {}
+
+    /**
+     * Exception thrown when a store cannot read or write its storage.
+     */
+    class StoreException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public StoreException(String message) {
+            super(message);
+        }
+
+        public StoreException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package dev.agents4j.api.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.ExecutionError;
+import dev.agents4j.api.result.error.WorkflowError;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class WorkflowBatchTest {
+
+    private static List<Integer> inputs(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Starter that completes each execution after a delay that decreases with
+     * the input, so that later inputs tend to finish first.
+     */
+    private static Function<
+        Integer,
+        CompletionStage<WorkflowResult<String, WorkflowError>>
+    > delayedStarter(AtomicInteger inFlight, AtomicInteger maxInFlight) {
+        return input -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    inFlight.decrementAndGet();
+                    return WorkflowResult.success("out-" + input);
+                },
+                CompletableFuture.delayedExecutor(
+                    20 - (input % 10) * 2,
+                    TimeUnit.MILLISECONDS
+                )
+            );
+        };
+    }
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should cap outstanding executions")
+        void shouldCapOutstandingExecutions() {
+            // Arrange
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                inputs(200).iterator(),
+                BatchOptions.withMaxConcurrency(8),
+                delayedStarter(inFlight, maxInFlight)
+            );
+
+            // Act
+            List<BatchItemResult<Integer, String>> results = batch
+                .stream()
+                .collect(Collectors.toList());
+
+            // Assert
+            assertEquals(200, results.size());
+            assertTrue(results.stream().allMatch(BatchItemResult::isSuccess));
+            assertTrue(
+                maxInFlight.get() <= 8,
+                "At most 8 in flight, saw " + maxInFlight.get()
+            );
+        }
+
+        @Test
+        @DisplayName("Should pull inputs lazily")
+        void shouldPullInputsLazily() {
+            // Arrange
+            AtomicInteger pulled = new AtomicInteger();
+            Iterator<Integer> source = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public Integer next() {
+                    return pulled.getAndIncrement();
+                }
+            };
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                source,
+                BatchOptions.withMaxConcurrency(4),
+                input -> new CompletableFuture<>()
+            );
+            RecordingSubscriber subscriber = new RecordingSubscriber(0);
+
+            // Act
+            batch.subscribe(subscriber);
+
+            // Assert
+            assertEquals(4, pulled.get());
+            subscriber.subscription.cancel();
+        }
+
+        @Test
+        @DisplayName("Should hold back executions for a slow subscriber")
+        void shouldHoldBackExecutionsForSlowSubscriber() {
+            // Arrange
+            AtomicInteger started = new AtomicInteger();
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                inputs(100).iterator(),
+                BatchOptions.withMaxConcurrency(5),
+                input -> {
+                    started.incrementAndGet();
+                    return CompletableFuture.completedFuture(
+                        WorkflowResult.success("out-" + input)
+                    );
+                }
+            );
+            RecordingSubscriber subscriber = new RecordingSubscriber(2);
+
+            // Act
+            batch.subscribe(subscriber);
+
+            // Assert
+            assertEquals(2, subscriber.items.size());
+            assertEquals(7, started.get());
+
+            // Act
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            // Assert
+            assertEquals(100, subscriber.items.size());
+            assertTrue(subscriber.completed);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering Tests")
+    class OrderingTests {
+
+        @Test
+        @DisplayName("Should emit results in input order when requested")
+        void shouldEmitResultsInInputOrder() {
+            // Arrange
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                inputs(50).iterator(),
+                BatchOptions.builder()
+                    .maxConcurrency(10)
+                    .preserveInputOrder()
+                    .build(),
+                delayedStarter(new AtomicInteger(), new AtomicInteger())
+            );
+
+            // Act
+            List<Long> indexes = batch
+                .stream()
+                .map(BatchItemResult::index)
+                .collect(Collectors.toList());
+
+            // Assert
+            assertEquals(
+                IntStream.range(0, 50).mapToObj(i -> (long) i).toList(),
+                indexes
+            );
+        }
+
+        @Test
+        @DisplayName("Should emit every result in completion order")
+        void shouldEmitEveryResultInCompletionOrder() {
+            // Arrange
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                inputs(50).iterator(),
+                BatchOptions.withMaxConcurrency(10),
+                delayedStarter(new AtomicInteger(), new AtomicInteger())
+            );
+
+            // Act
+            List<BatchItemResult<Integer, String>> results = batch
+                .stream()
+                .collect(Collectors.toList());
+
+            // Assert
+            assertEquals(50, results.size());
+            for (BatchItemResult<Integer, String> item : results) {
+                assertEquals("out-" + item.input(), item.result().getValue().get());
+                assertEquals((long) item.input(), item.index());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure Tests")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should report item failures without aborting the batch")
+        void shouldReportItemFailuresWithoutAborting() {
+            // Arrange
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                inputs(10).iterator(),
+                BatchOptions.builder().maxConcurrency(3).preserveInputOrder().build(),
+                input -> {
+                    if (input == 3) {
+                        throw new IllegalStateException("boom");
+                    }
+                    if (input == 5) {
+                        return CompletableFuture.failedFuture(
+                            new IllegalArgumentException("bad input")
+                        );
+                    }
+                    if (input == 7) {
+                        return CompletableFuture.completedFuture(
+                            WorkflowResult.failure(
+                                ExecutionError.of("NODE_FAILED", "failed", "node")
+                            )
+                        );
+                    }
+                    return CompletableFuture.completedFuture(
+                        WorkflowResult.success("out-" + input)
+                    );
+                }
+            );
+
+            // Act
+            List<BatchItemResult<Integer, String>> results = batch
+                .stream()
+                .collect(Collectors.toList());
+
+            // Assert
+            assertEquals(10, results.size());
+            assertEquals(
+                "BATCH_ITEM_ERROR",
+                results.get(3).result().getError().get().code()
+            );
+            assertTrue(
+                results.get(5).result().getError().get().message().contains("bad input")
+            );
+            assertEquals(
+                "NODE_FAILED",
+                results.get(7).result().getError().get().code()
+            );
+            assertEquals(
+                7,
+                results.stream().filter(BatchItemResult::isSuccess).count()
+            );
+        }
+
+        @Test
+        @DisplayName("Should end the stream when the source fails")
+        void shouldEndStreamWhenSourceFails() {
+            // Arrange
+            Iterator<Integer> source = new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next == 3) {
+                        throw new IllegalStateException("source broken");
+                    }
+                    return true;
+                }
+
+                @Override
+                public Integer next() {
+                    return next++;
+                }
+            };
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                source,
+                BatchOptions.withMaxConcurrency(2),
+                input -> CompletableFuture.completedFuture(
+                    WorkflowResult.success("out-" + input)
+                )
+            );
+
+            // Act & Assert
+            CompletionException error = assertThrows(
+                CompletionException.class,
+                () -> batch.stream().collect(Collectors.toList())
+            );
+            assertEquals("source broken", error.getCause().getMessage());
+        }
+
+        @Test
+        @DisplayName("Should reject a second subscriber")
+        void shouldRejectSecondSubscriber() {
+            // Arrange
+            WorkflowBatch<Integer, String> batch = new WorkflowBatch<>(
+                inputs(1).iterator(),
+                BatchOptions.defaults(),
+                input -> CompletableFuture.completedFuture(
+                    WorkflowResult.success("out")
+                )
+            );
+            batch.subscribe(new RecordingSubscriber(Long.MAX_VALUE));
+            RecordingSubscriber second = new RecordingSubscriber(1);
+
+            // Act
+            batch.subscribe(second);
+
+            // Assert
+            assertTrue(second.error instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * Subscriber that records signals and makes an initial request.
+     */
+    private static class RecordingSubscriber
+        implements Flow.Subscriber<BatchItemResult<Integer, String>> {
+
+        private final long initialRequest;
+        private final List<BatchItemResult<Integer, String>> items =
+            new CopyOnWriteArrayList<>();
+        private Flow.Subscription subscription;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(BatchItemResult<Integer, String> item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
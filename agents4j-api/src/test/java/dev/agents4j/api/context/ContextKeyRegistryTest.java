@@ -0,0 +1,152 @@
+package dev.agents4j.api.context;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ContextKeyRegistryTest {
+
+    @Nested
+    @DisplayName("Registration Tests")
+    class RegistrationTests {
+
+        @Test
+        @DisplayName("Should assign stable slots and intern keys")
+        void shouldAssignStableSlotsAndInternKeys() {
+            var key = ContextKey.stringKey("registry.test.stable");
+
+            var slot = ContextKeyRegistry.register(key);
+            var again = ContextKeyRegistry.register(
+                ContextKey.stringKey("registry.test.stable")
+            );
+
+            assertSame(slot, again);
+            assertEquals(slot.index(), ContextKeyRegistry.slotOf(key));
+            assertSame(
+                slot.key(),
+                ContextKeyRegistry.intern(
+                    ContextKey.stringKey("registry.test.stable")
+                )
+            );
+        }
+
+        @Test
+        @DisplayName("Should assign dense slots to distinct keys")
+        void shouldAssignDenseSlotsToDistinctKeys() {
+            var first = ContextKeyRegistry.register(
+                ContextKey.stringKey("registry.test.dense.1")
+            );
+            var second = ContextKeyRegistry.register(
+                ContextKey.stringKey("registry.test.dense.2")
+            );
+
+            assertEquals(first.index() + 1, second.index());
+            assertTrue(second.index() < ContextKeyRegistry.size());
+        }
+
+        @Test
+        @DisplayName("Should not register unknown keys")
+        void shouldNotRegisterUnknownKeys() {
+            var key = ContextKey.stringKey("registry.test.unknown");
+
+            assertEquals(-1, ContextKeyRegistry.slotOf(key));
+            assertSame(key, ContextKeyRegistry.intern(key));
+        }
+    }
+
+    @Nested
+    @DisplayName("Slot Access Tests")
+    class SlotAccessTests {
+
+        private final ContextSlot<Integer> countSlot = ContextKeyRegistry.register(
+            ContextKey.intKey("registry.test.count")
+        );
+        private final ContextKey<String> adHocKey = ContextKey.stringKey(
+            "registry.test.adhoc"
+        );
+
+        @Test
+        @DisplayName("Should read registered values through slots and keys")
+        void shouldReadRegisteredValuesThroughSlotsAndKeys() {
+            var context = WorkflowContext.empty()
+                .withSlot(countSlot, 3)
+                .with(adHocKey, "value");
+
+            assertEquals(3, context.getSlotOrDefault(countSlot, 0));
+            assertEquals(Optional.of(3), context.get(countSlot.key()));
+            assertEquals(2, context.size());
+            assertEquals(Set.of(countSlot.key(), adHocKey), context.keys());
+        }
+
+        @Test
+        @DisplayName("Should store registered keys written through the key API in slots")
+        void shouldStoreRegisteredKeysWrittenThroughKeyApi() {
+            var context = WorkflowContext.empty()
+                .with(ContextKey.intKey("registry.test.count"), 7);
+
+            assertEquals(7, context.getSlotOrDefault(countSlot, 0));
+            assertTrue(context.contains(countSlot.key()));
+        }
+
+        @Test
+        @DisplayName("Should distinguish null values from absent slots")
+        void shouldDistinguishNullValuesFromAbsentSlots() {
+            var context = WorkflowContext.empty().withSlot(countSlot, null);
+
+            assertTrue(context.contains(countSlot.key()));
+            assertEquals(-1, context.getSlotOrDefault(countSlot, -1));
+            assertEquals(Optional.empty(), context.get(countSlot.key()));
+            assertEquals(1, context.size());
+            assertEquals(0, context.without(countSlot.key()).size());
+        }
+
+        @Test
+        @DisplayName("Should find keys stored before they were registered")
+        void shouldFindKeysStoredBeforeRegistration() {
+            var key = ContextKey.stringKey("registry.test.late");
+            var before = WorkflowContext.empty().with(key, "early");
+
+            var slot = ContextKeyRegistry.register(key);
+            var updated = before.with(key, "late");
+
+            assertEquals("early", before.getSlotOrDefault(slot, null));
+            assertEquals(Optional.of("early"), before.get(key));
+            assertEquals("late", updated.getSlotOrDefault(slot, null));
+            assertEquals(1, updated.size());
+        }
+
+        @Test
+        @DisplayName("Should merge slot and trie entries with other side winning")
+        void shouldMergeSlotAndTrieEntries() {
+            var left = WorkflowContext.empty()
+                .withSlot(countSlot, 1)
+                .with(adHocKey, "left");
+            var right = WorkflowContext.empty().withSlot(countSlot, 2);
+
+            var merged = left.merge(right);
+
+            assertEquals(2, merged.getSlotOrDefault(countSlot, 0));
+            assertEquals(Optional.of("left"), merged.get(adHocKey));
+            assertEquals(2, merged.size());
+            assertEquals(
+                WorkflowContext.empty().with(adHocKey, "left").withSlot(countSlot, 2),
+                merged
+            );
+        }
+
+        @Test
+        @DisplayName("Equal contexts should have equal hash codes")
+        void equalContextsShouldHaveEqualHashCodes() {
+            var viaSlot = WorkflowContext.empty().withSlot(countSlot, 5);
+            var viaKey = WorkflowContext.empty()
+                .with(ContextKey.intKey("registry.test.count"), 5);
+
+            assertEquals(viaSlot, viaKey);
+            assertEquals(viaSlot.hashCode(), viaKey.hashCode());
+        }
+    }
+}
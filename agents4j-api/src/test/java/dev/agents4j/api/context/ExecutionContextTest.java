@@ -456,4 +456,182 @@ class ExecutionContextTest {
                 keys.add(ContextKey.stringKey("another")));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Structural Sharing Tests")
+    class StructuralSharingTests {
+
+        @Test
+        @DisplayName("Should behave like a map under random updates")
+        void shouldBehaveLikeMapUnderRandomUpdates() {
+            var random = new java.util.Random(42);
+            var expected = new java.util.HashMap<ContextKey<?>, Object>();
+            WorkflowContext context = ExecutionContext.empty();
+
+            for (int i = 0; i < 5_000; i++) {
+                var key = ContextKey.intKey("key-" + random.nextInt(300));
+                if (random.nextInt(4) == 0) {
+                    expected.remove(key);
+                    context = context.without(key);
+                } else {
+                    Integer value = random.nextInt(10) == 0 ? null : i;
+                    expected.put(key, value);
+                    context = context.with(key, value);
+                }
+            }
+
+            assertEquals(expected.size(), context.size());
+            assertEquals(expected.keySet(), context.keys());
+            for (var entry : expected.entrySet()) {
+                assertTrue(context.contains(entry.getKey()));
+                assertEquals(
+                    Optional.ofNullable(entry.getValue()),
+                    context.get(entry.getKey())
+                );
+            }
+            assertEquals(ExecutionContext.from(expected), context);
+            assertEquals(
+                ExecutionContext.from(expected).hashCode(),
+                context.hashCode()
+            );
+        }
+
+        @Test
+        @DisplayName("Should handle keys with colliding hash codes")
+        void shouldHandleCollidingKeys() {
+            // "Aa" and "BB" share a String hash code
+            var first = ContextKey.stringKey("Aa");
+            var second = ContextKey.stringKey("BB");
+
+            var context = ExecutionContext.empty()
+                .with(first, "first")
+                .with(second, "second");
+
+            assertEquals(2, context.size());
+            assertEquals(Optional.of("first"), context.get(first));
+            assertEquals(Optional.of("second"), context.get(second));
+
+            var removed = context.without(first);
+            assertEquals(1, removed.size());
+            assertFalse(removed.contains(first));
+            assertEquals(Optional.of("second"), removed.get(second));
+        }
+
+        @Test
+        @DisplayName("Should leave previous versions untouched")
+        void shouldLeavePreviousVersionsUntouched() {
+            var key = ContextKey.stringKey("shared");
+            var base = ExecutionContext.empty();
+            for (int i = 0; i < 100; i++) {
+                base = (ExecutionContext) base.with(ContextKey.intKey("k" + i), i);
+            }
+
+            var updated = base.with(key, "value");
+            var removed = base.without(ContextKey.intKey("k5"));
+
+            assertEquals(100, base.size());
+            assertFalse(base.contains(key));
+            assertEquals(101, updated.size());
+            assertEquals(99, removed.size());
+            assertEquals(Optional.of(5), base.get(ContextKey.intKey("k5")));
+        }
+
+        @Test
+        @DisplayName("Merge should let the other side win regardless of size")
+        void mergeShouldLetOtherSideWinRegardlessOfSize() {
+            var shared = ContextKey.stringKey("shared");
+            var large = ExecutionContext.empty().with(shared, "large");
+            for (int i = 0; i < 50; i++) {
+                large = large.with(ContextKey.intKey("k" + i), i);
+            }
+            var small = ExecutionContext.of(shared, "small");
+
+            var smallIntoLarge = large.merge(small);
+            var largeIntoSmall = small.merge(large);
+
+            assertEquals(51, smallIntoLarge.size());
+            assertEquals(Optional.of("small"), smallIntoLarge.get(shared));
+            assertEquals(51, largeIntoSmall.size());
+            assertEquals(Optional.of("large"), largeIntoSmall.get(shared));
+        }
+    }
+
+    @Nested
+    @DisplayName("Builder Tests")
+    class BuilderTests {
+
+        @Test
+        @DisplayName("Should build the same context as repeated with calls")
+        void shouldBuildSameContextAsRepeatedWith() {
+            var builder = ExecutionContext.builder();
+            WorkflowContext incremental = ExecutionContext.empty();
+            for (int i = 0; i < 2000; i++) {
+                var key = ContextKey.intKey("k" + i);
+                builder.put(key, i);
+                incremental = incremental.with(key, i);
+            }
+            // Colliding hash codes and null values
+            builder.put(ContextKey.stringKey("Aa"), "first");
+            builder.put(ContextKey.stringKey("BB"), null);
+            incremental = incremental
+                .with(ContextKey.stringKey("Aa"), "first")
+                .with(ContextKey.stringKey("BB"), null);
+
+            var built = builder.build();
+
+            assertEquals(incremental, built);
+            assertEquals(built, incremental);
+            assertEquals(incremental.hashCode(), built.hashCode());
+            assertEquals(incremental.keys(), built.keys());
+            assertEquals(Optional.of(1234), built.get(ContextKey.intKey("k1234")));
+            assertTrue(built.contains(ContextKey.stringKey("BB")));
+            assertEquals(2001, built.without(ContextKey.stringKey("Aa")).size());
+        }
+
+        @Test
+        @DisplayName("Should keep the last value for a repeated key")
+        void shouldKeepLastValueForRepeatedKey() {
+            var key = ContextKey.stringKey("status");
+
+            var context = ExecutionContext.builder()
+                .put(key, "draft")
+                .put(key, "final")
+                .build();
+
+            assertEquals(1, context.size());
+            assertEquals(Optional.of("final"), context.get(key));
+        }
+
+        @Test
+        @DisplayName("Should store registered keys in their slots")
+        void shouldStoreRegisteredKeysInSlots() {
+            var registered = ContextKey.stringKey("builder.registered");
+            var slot = ContextKeyRegistry.register(registered);
+            var adHoc = ContextKey.intKey("builder.adHoc");
+
+            var context = ExecutionContext.builder()
+                .put(registered, "slotted")
+                .put(adHoc, 7)
+                .build();
+
+            assertEquals(2, context.size());
+            assertEquals("slotted", context.getSlotOrDefault(slot, "missing"));
+            assertEquals(
+                ExecutionContext.empty().with(registered, "slotted").with(adHoc, 7),
+                context
+            );
+        }
+
+        @Test
+        @DisplayName("Should reject values that do not match the key type")
+        void shouldRejectMismatchedValues() {
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            ContextKey<Object> key = (ContextKey) ContextKey.intKey("count");
+
+            assertThrows(IllegalArgumentException.class, () ->
+                ExecutionContext.builder().put(key, "not a number")
+            );
+            assertSame(ExecutionContext.empty(), ExecutionContext.builder().build());
+        }
+    }
+}
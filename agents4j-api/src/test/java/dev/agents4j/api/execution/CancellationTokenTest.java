@@ -0,0 +1,218 @@
+package dev.agents4j.api.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CancellationTokenTest {
+
+    @Nested
+    @DisplayName("Deadline Tests")
+    class DeadlineTests {
+
+        @Test
+        @DisplayName("Should expire after its timeout")
+        void shouldExpireAfterTimeout() throws Exception {
+            // Arrange
+            CancellationToken token = CancellationToken.withTimeout(
+                Duration.ofMillis(50)
+            );
+            CountDownLatch fired = new CountDownLatch(1);
+            token.onCancel(fired::countDown);
+
+            // Act & Assert
+            assertFalse(token.isCancelled());
+            assertTrue(token.hasDeadline());
+            assertTrue(token.remaining().isPresent());
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+            assertTrue(token.isCancelled());
+            assertEquals(
+                CancellationToken.Reason.DEADLINE_EXCEEDED,
+                token.reason().get()
+            );
+            assertEquals(0L, token.remainingNanos());
+        }
+
+        @Test
+        @DisplayName("Should be cancelled immediately for a non-positive timeout")
+        void shouldBeCancelledForNonPositiveTimeout() {
+            // Act
+            CancellationToken token = CancellationToken.withTimeout(
+                Duration.ZERO
+            );
+
+            // Assert
+            assertTrue(token.isCancelled());
+            assertThrows(CancellationException.class, token::throwIfCancelled);
+        }
+
+        @Test
+        @DisplayName("Should not expire after release")
+        void shouldNotExpireAfterRelease() throws Exception {
+            // Arrange
+            CancellationToken token = CancellationToken.withTimeout(
+                Duration.ofMillis(30)
+            );
+            AtomicBoolean fired = new AtomicBoolean();
+            token.onCancel(() -> fired.set(true));
+
+            // Act
+            token.release();
+            Thread.sleep(100);
+
+            // Assert
+            assertFalse(fired.get());
+            // The deadline itself still applies when the token is checked
+            assertTrue(token.isCancelled());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation Tests")
+    class CancellationTests {
+
+        @Test
+        @DisplayName("Should run callbacks once")
+        void shouldRunCallbacksOnce() {
+            // Arrange
+            CancellationToken token = CancellationToken.create();
+            AtomicInteger calls = new AtomicInteger();
+            token.onCancel(calls::incrementAndGet);
+            CancellationToken.Registration removed = token.onCancel(
+                calls::incrementAndGet
+            );
+            removed.remove();
+
+            // Act
+            token.cancel();
+            token.cancel();
+
+            // Assert
+            assertEquals(1, calls.get());
+            assertEquals(CancellationToken.Reason.CANCELLED, token.reason().get());
+            assertFalse(token.hasDeadline());
+            assertEquals(Long.MAX_VALUE, token.remainingNanos());
+        }
+
+        @Test
+        @DisplayName("Should run late callbacks immediately")
+        void shouldRunLateCallbacksImmediately() {
+            // Arrange
+            CancellationToken token = CancellationToken.create();
+            token.cancel();
+            AtomicBoolean ran = new AtomicBoolean();
+
+            // Act
+            token.onCancel(() -> ran.set(true));
+
+            // Assert
+            assertTrue(ran.get());
+        }
+
+        @Test
+        @DisplayName("None token should ignore cancellation")
+        void noneTokenShouldIgnoreCancellation() {
+            // Act
+            CancellationToken.none().cancel();
+
+            // Assert
+            assertFalse(CancellationToken.none().isCancelled());
+            assertTrue(CancellationToken.none().reason().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Child should follow its parent but not cancel it")
+        void childShouldFollowParent() {
+            // Arrange
+            CancellationToken parent = CancellationToken.withTimeout(
+                Duration.ofMinutes(1)
+            );
+            CancellationToken first = parent.child();
+            CancellationToken second = parent.child();
+
+            // Act
+            first.cancel();
+
+            // Assert
+            assertTrue(first.isCancelled());
+            assertFalse(parent.isCancelled());
+            assertFalse(second.isCancelled());
+            assertTrue(second.hasDeadline());
+
+            // Act
+            parent.cancel();
+
+            // Assert
+            assertEquals(CancellationToken.Reason.CANCELLED, second.reason().get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Scope Tests")
+    class ScopeTests {
+
+        @Test
+        @DisplayName("Should bind the token to the current thread")
+        void shouldBindTokenToCurrentThread() {
+            // Arrange
+            CancellationToken outer = CancellationToken.create();
+            CancellationToken inner = CancellationToken.create();
+
+            // Act & Assert
+            assertSame(CancellationToken.none(), CancellationToken.current());
+            try (CancellationToken.Scope outerScope = outer.enter()) {
+                assertSame(outer, CancellationToken.current());
+                try (CancellationToken.Scope innerScope = inner.enter()) {
+                    assertSame(inner, CancellationToken.current());
+                }
+                assertSame(outer, CancellationToken.current());
+            }
+            assertSame(CancellationToken.none(), CancellationToken.current());
+        }
+
+        @Test
+        @DisplayName("Should interrupt bound threads and clear the interrupt on exit")
+        void shouldInterruptBoundThreads() {
+            // Arrange
+            CancellationToken token = CancellationToken.withTimeout(
+                Duration.ofMillis(50)
+            );
+            boolean interrupted = false;
+
+            // Act
+            try (CancellationToken.Scope scope = token.enter()) {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+
+            // Assert
+            assertTrue(interrupted);
+            assertTrue(token.isCancelled());
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+
+        @Test
+        @DisplayName("Should keep interrupts the token did not raise")
+        void shouldKeepForeignInterrupts() {
+            // Arrange
+            CancellationToken token = CancellationToken.create();
+
+            // Act
+            try (CancellationToken.Scope scope = token.enter()) {
+                Thread.currentThread().interrupt();
+            }
+
+            // Assert
+            assertTrue(Thread.interrupted());
+        }
+    }
+}
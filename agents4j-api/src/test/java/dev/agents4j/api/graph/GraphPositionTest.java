@@ -506,4 +506,83 @@ class GraphPositionTest {
             assertTrue(position.hasCycle());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Structural Sharing")
+    class StructuralSharingTests {
+
+        @Test
+        @DisplayName("Should keep diverging positions independent")
+        void shouldKeepDivergingPositionsIndependent() {
+            var shared = GraphPosition.at(nodeA).traverseEdge(edgeAB, nodeB);
+
+            var viaC = shared.traverseEdge(edgeBC, nodeC);
+            var backToA = shared.moveTo(nodeA);
+
+            assertEquals(List.of(nodeA, nodeB), shared.visitedNodes());
+            assertEquals(List.of(nodeA, nodeB, nodeC), viaC.visitedNodes());
+            assertEquals(List.of(nodeA, nodeB, nodeA), backToA.visitedNodes());
+            assertTrue(viaC.hasTraversedEdge(edgeBC));
+            assertFalse(backToA.hasTraversedEdge(edgeBC));
+            assertFalse(shared.hasTraversedEdge(edgeBC));
+            assertTrue(backToA.hasCycle());
+            assertFalse(viaC.hasCycle());
+            assertEquals(1, viaC.getVisitCount(nodeA));
+            assertEquals(2, backToA.getVisitCount(nodeA));
+        }
+
+        @Test
+        @DisplayName("Should report latest traversal time per edge")
+        void shouldReportLatestTraversalTimePerEdge() {
+            var position = GraphPosition.at(nodeA)
+                .traverseEdge(edgeAB, nodeB)
+                .traverseEdge(edgeBC, nodeC);
+            Instant first = position.getEdgeTraversalTime(edgeAB).get();
+
+            var again = position.moveTo(nodeA).traverseEdge(edgeAB, nodeB);
+
+            assertEquals(2, again.edgeTraversalHistory().size());
+            assertFalse(
+                again.getEdgeTraversalTime(edgeAB).get().isBefore(first)
+            );
+            assertEquals(
+                Map.of(
+                    edgeAB,
+                    again.getEdgeTraversalTime(edgeAB).get(),
+                    edgeBC,
+                    again.getEdgeTraversalTime(edgeBC).get()
+                ),
+                again.edgeTraversalHistory()
+            );
+        }
+
+        @Test
+        @DisplayName("Should handle long paths without copying")
+        void shouldHandleLongPaths() {
+            var position = GraphPosition.at(nodeA);
+            for (int i = 0; i < 100_000; i++) {
+                position = position.moveTo(i % 2 == 0 ? nodeB : nodeC);
+            }
+
+            assertEquals(100_001, position.getPath().size());
+            assertEquals(50_000, position.getVisitCount(nodeB));
+            assertEquals(50_000, position.getVisitCount(nodeC));
+            assertEquals(1, position.getVisitCount(nodeA));
+            assertTrue(position.hasCycle());
+            assertEquals(nodeB, position.getPath().get(99_999));
+        }
+
+        @Test
+        @DisplayName("Should expose immutable collections")
+        void shouldExposeImmutableCollections() {
+            var position = GraphPosition.at(nodeA).traverseEdge(edgeAB, nodeB);
+
+            assertThrows(UnsupportedOperationException.class, () ->
+                position.visitedNodes().add(nodeC)
+            );
+            assertThrows(UnsupportedOperationException.class, () ->
+                position.edgeTraversalHistory().clear()
+            );
+        }
+    }
+}
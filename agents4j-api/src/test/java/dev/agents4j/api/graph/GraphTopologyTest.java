@@ -0,0 +1,130 @@
+package dev.agents4j.api.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test suite for the compiled GraphTopology adjacency index.
+ */
+class GraphTopologyTest {
+
+    private NodeId nodeA;
+    private NodeId nodeB;
+    private NodeId nodeC;
+    private NodeId nodeD;
+    private GraphEdge edgeAB;
+    private GraphEdge edgeAC;
+    private GraphEdge edgeBC;
+    private GraphTopology topology;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = NodeId.of("nodeA");
+        nodeB = NodeId.of("nodeB");
+        nodeC = NodeId.of("nodeC");
+        nodeD = NodeId.of("nodeD");
+        edgeAB = GraphEdge.between(nodeA, nodeB);
+        edgeAC = GraphEdge.between(nodeA, nodeC);
+        edgeBC = GraphEdge.between(nodeB, nodeC);
+        topology = GraphTopology.of(List.of(edgeBC, edgeAC, edgeAB));
+    }
+
+    @Nested
+    @DisplayName("Edge Lookup")
+    class EdgeLookupTests {
+
+        @Test
+        @DisplayName("Should find edge between connected nodes")
+        void shouldFindEdgeBetweenConnectedNodes() {
+            assertEquals(edgeAB, topology.edgeBetween(nodeA, nodeB).get());
+            assertEquals(edgeBC, topology.edgeBetween(nodeB, nodeC).get());
+        }
+
+        @Test
+        @DisplayName("Should return empty for unconnected nodes")
+        void shouldReturnEmptyForUnconnectedNodes() {
+            assertTrue(topology.edgeBetween(nodeB, nodeA).isEmpty());
+            assertTrue(topology.edgeBetween(nodeD, nodeA).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should prefer lowest edge ID for parallel edges")
+        void shouldPreferLowestEdgeIdForParallelEdges() {
+            GraphEdge named = new GraphEdge(
+                EdgeId.of("a-first"),
+                nodeA,
+                nodeB,
+                EdgeCondition.always(),
+                GraphEdge.EdgeMetadata.simple()
+            );
+            GraphTopology withParallel = GraphTopology.of(
+                List.of(edgeAB, named)
+            );
+
+            assertEquals(named, withParallel.edgeBetween(nodeA, nodeB).get());
+            assertEquals(2, withParallel.edgesFrom(nodeA).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Adjacency")
+    class AdjacencyTests {
+
+        @Test
+        @DisplayName("Should return outgoing edges ordered by edge ID")
+        void shouldReturnOutgoingEdgesOrdered() {
+            assertEquals(
+                List.of(edgeAB, edgeAC),
+                List.copyOf(topology.edgesFrom(nodeA))
+            );
+            assertTrue(topology.edgesFrom(nodeC).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should return immutable views")
+        void shouldReturnImmutableViews() {
+            assertThrows(UnsupportedOperationException.class, () ->
+                topology.edgesFrom(nodeA).clear()
+            );
+            assertThrows(UnsupportedOperationException.class, () ->
+                topology.targetsOf(nodeA).clear()
+            );
+        }
+
+        @Test
+        @DisplayName("Should expose direct targets")
+        void shouldExposeDirectTargets() {
+            assertEquals(Set.of(nodeB, nodeC), topology.targetsOf(nodeA));
+            assertTrue(topology.hasOutgoingEdges(nodeB));
+            assertFalse(topology.hasOutgoingEdges(nodeC));
+            assertEquals(3, topology.edgeCount());
+        }
+
+        @Test
+        @DisplayName("Should find reachable nodes")
+        void shouldFindReachableNodes() {
+            assertEquals(
+                Set.of(nodeB, nodeC),
+                topology.reachableFrom(List.of(nodeB))
+            );
+            assertEquals(
+                Set.of(nodeA, nodeB, nodeC, nodeD),
+                topology.reachableFrom(List.of(nodeA, nodeD))
+            );
+        }
+
+        @Test
+        @DisplayName("Empty topology should have no edges")
+        void emptyTopologyShouldHaveNoEdges() {
+            assertSame(GraphTopology.empty(), GraphTopology.of(List.of()));
+            assertEquals(0, GraphTopology.empty().edgeCount());
+            assertTrue(GraphTopology.empty().edgesFrom(nodeA).isEmpty());
+        }
+    }
+}
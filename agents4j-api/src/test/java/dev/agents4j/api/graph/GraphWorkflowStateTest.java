@@ -391,6 +391,34 @@ class GraphWorkflowStateTest {
             );
         }
 
+        @Test
+        @DisplayName("Should traverse edge with data and context in one step")
+        void shouldTraverseEdgeWithDataAndContextInOneStep() {
+            var state = GraphWorkflowState.create(workflowId, initialData, nodeA);
+            WorkflowContext newContext = ExecutionContext.empty().with(userKey, "bob");
+
+            var traversedState = state.traverseEdge(
+                edgeAB,
+                nodeB,
+                "updated",
+                newContext
+            );
+            var chainedState = state
+                .withContext(newContext)
+                .withData("updated")
+                .traverseEdge(edgeAB, nodeB);
+
+            assertEquals("updated", traversedState.data());
+            assertSame(newContext, traversedState.context());
+            assertEquals(chainedState.currentNode(), traversedState.currentNode());
+            assertEquals(chainedState.getPath(), traversedState.getPath());
+            assertTrue(traversedState.position().hasTraversedEdge(edgeAB));
+            assertEquals(state.getVersion() + 1, traversedState.getVersion());
+            assertThrows(NullPointerException.class, () ->
+                state.traverseEdge(edgeAB, nodeB, "updated", null)
+            );
+        }
+
         @Test
         @DisplayName("Should reset to node correctly")
         void shouldResetToNodeCorrectly() {
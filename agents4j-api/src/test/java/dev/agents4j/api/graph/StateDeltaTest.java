@@ -0,0 +1,130 @@
+package dev.agents4j.api.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class StateDeltaTest {
+
+    private static final WorkflowId WORKFLOW_ID = WorkflowId.of("wf-delta");
+    private static final NodeId NODE_A = NodeId.of("nodeA");
+    private static final NodeId NODE_B = NodeId.of("nodeB");
+    private static final NodeId NODE_C = NodeId.of("nodeC");
+    private static final ContextKey<String> USER = ContextKey.stringKey("user");
+    private static final ContextKey<Integer> COUNT = ContextKey.intKey("count");
+
+    private static GraphWorkflowState<String> initialState() {
+        return GraphWorkflowState.create(
+            WORKFLOW_ID,
+            "draft",
+            NODE_A,
+            ExecutionContext.builder().put(USER, "alice").put(COUNT, 1).build()
+        );
+    }
+
+    @Nested
+    @DisplayName("Diff and Patch Tests")
+    class DiffAndPatchTests {
+
+        @Test
+        @DisplayName("Should rebuild the target state from its base")
+        void shouldRebuildTargetState() {
+            // Arrange
+            var base = initialState();
+            var target = base
+                .traverseEdge(
+                    EdgeId.of("a-b"),
+                    NODE_B,
+                    "revised",
+                    ExecutionContext.of(COUNT, 2)
+                )
+                .traverseEdge(EdgeId.of("b-c"), NODE_C);
+
+            // Act
+            var delta = StateDelta.between(base, target);
+
+            // Assert
+            assertEquals(target, delta.applyTo(base));
+            assertTrue(delta.dataReplaced());
+            assertEquals(List.of(COUNT), List.copyOf(delta.contextUpdates().keys()));
+            assertEquals(Set.of(USER), delta.contextRemovals());
+            assertEquals(1, delta.position().retainedPath());
+            assertEquals(List.of(NODE_B, NODE_C), delta.position().pathSuffix());
+            assertTrue(delta.position().edgesRetained());
+            assertEquals(2, delta.position().edgeTraversals().size());
+        }
+
+        @Test
+        @DisplayName("Should leave unchanged data out of the delta")
+        void shouldOmitUnchangedData() {
+            // Arrange
+            var base = initialState();
+            var target = base.withContext(USER, "bob");
+
+            // Act
+            var delta = StateDelta.between(base, target);
+
+            // Assert
+            assertFalse(delta.dataReplaced());
+            assertNull(delta.data());
+            assertTrue(delta.contextRemovals().isEmpty());
+            assertEquals(target, delta.applyTo(base));
+        }
+
+        @Test
+        @DisplayName("Should capture a path that does not extend its base")
+        void shouldCaptureResetPath() {
+            // Arrange
+            var base = initialState().traverseEdge(EdgeId.of("a-b"), NODE_B);
+            var target = new GraphWorkflowState<>(
+                WORKFLOW_ID,
+                base.data(),
+                base.context(),
+                Optional.of(NODE_C),
+                GraphPosition.at(NODE_C),
+                base.metadata().advance()
+            );
+
+            // Act
+            var delta = StateDelta.between(base, target);
+
+            // Assert
+            assertEquals(target, delta.applyTo(base));
+            assertEquals(0, delta.position().retainedPath());
+            assertFalse(delta.position().edgesRetained());
+        }
+
+        @Test
+        @DisplayName("Should reject a state at another version")
+        void shouldRejectWrongBaseVersion() {
+            // Arrange
+            var base = initialState();
+            var middle = base.traverseEdge(EdgeId.of("a-b"), NODE_B);
+            var target = middle.traverseEdge(EdgeId.of("b-c"), NODE_C);
+            var delta = StateDelta.between(middle, target);
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> delta.applyTo(base));
+        }
+
+        @Test
+        @DisplayName("Should reject a target that is not newer than its base")
+        void shouldRejectStaleTarget() {
+            // Arrange
+            var base = initialState();
+
+            // Act & Assert
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> StateDelta.between(base, base)
+            );
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.agents4j.benchmarks;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.context.WorkflowContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of the persistent {@link ExecutionContext} operations the executor
+ * performs on every step: adding an entry, replacing an entry, reading an
+ * entry and merging command updates into the state's context.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ContextBenchmark {
+
+    @Param({ "8", "64", "512" })
+    public int size;
+
+    private WorkflowContext context;
+    private WorkflowContext updates;
+    private WorkflowContext sameSize;
+    private ContextKey<String> newKey;
+    private ContextKey<String> existingKey;
+
+    @Setup
+    public void setUp() {
+        context = contextOf("key-", size);
+        // A typical command carries a handful of updates, half of them new
+        updates = contextOf("key-", 4).merge(contextOf("update-", 4));
+        sameSize = contextOf("other-", size);
+        newKey = ContextKey.stringKey("new-key");
+        existingKey = ContextKey.stringKey("key-" + (size / 2));
+    }
+
+    @Benchmark
+    public WorkflowContext withNewKey() {
+        return context.with(newKey, "value");
+    }
+
+    @Benchmark
+    public WorkflowContext withExistingKey() {
+        return context.with(existingKey, "replacement");
+    }
+
+    @Benchmark
+    public Object get() {
+        return context.get(existingKey);
+    }
+
+    @Benchmark
+    public WorkflowContext mergeUpdates() {
+        return context.merge(updates);
+    }
+
+    @Benchmark
+    public WorkflowContext mergeSameSize() {
+        return context.merge(sameSize);
+    }
+
+    private static WorkflowContext contextOf(String prefix, int entries) {
+        WorkflowContext result = ExecutionContext.empty();
+        for (int i = 0; i < entries; i++) {
+            result = result.with(ContextKey.stringKey(prefix + i), "value-" + i);
+        }
+        return result;
+    }
+}
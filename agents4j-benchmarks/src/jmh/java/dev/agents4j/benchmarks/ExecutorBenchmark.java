@@ -0,0 +1,217 @@
+package dev.agents4j.benchmarks;
+
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphEdge;
+import dev.agents4j.api.graph.GraphTopology;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.config.WorkflowConfiguration;
+import dev.agents4j.workflow.execution.GraphWorkflowExecutor;
+import dev.agents4j.workflow.monitor.NoOpWorkflowMonitor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-step overhead of {@link GraphWorkflowExecutor} with no-op nodes, so the
+ * measurement is dominated by the executor itself: limit checks, monitor
+ * calls, edge lookup and state transitions.
+ *
+ * <ul>
+ *   <li>{@code LINEAR}: a chain of {@code depth} nodes</li>
+ *   <li>{@code BRANCHING}: a ladder of {@code depth} levels with two nodes
+ *   each, every node choosing one of the two nodes of the next level</li>
+ *   <li>{@code LOOPING}: one node traversing back to itself {@code depth}
+ *   times</li>
+ * </ul>
+ *
+ * <p>{@code recordEdgeContext=false} measures the traversal fast path that
+ * skips writing the last edge into the context.</p>
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutorBenchmark {
+
+    public enum Shape {
+        LINEAR,
+        BRANCHING,
+        LOOPING,
+    }
+
+    @Param({ "LINEAR", "BRANCHING", "LOOPING" })
+    public Shape shape;
+
+    @Param({ "4", "32", "256" })
+    public int depth;
+
+    @Param({ "true", "false" })
+    public boolean recordEdgeContext;
+
+    private GraphWorkflowExecutor<Integer, Integer> executor;
+    private GraphWorkflowState<Integer> initialState;
+
+    @Setup
+    public void setUp() {
+        Map<NodeId, GraphWorkflowNode<Integer>> nodes = new HashMap<>();
+        List<GraphEdge> edges = new ArrayList<>();
+        NodeId entry = switch (shape) {
+            case LINEAR -> linear(nodes, edges);
+            case BRANCHING -> branching(nodes, edges);
+            case LOOPING -> looping(nodes, edges);
+        };
+
+        WorkflowConfiguration configuration = WorkflowConfiguration.builder()
+            .maxExecutionSteps(depth * 2 + 10)
+            .detectCycles(shape != Shape.LOOPING)
+            .allowCycles(shape == Shape.LOOPING)
+            .recordEdgeContext(recordEdgeContext)
+            .build();
+        executor = new GraphWorkflowExecutor<>(
+            "benchmark",
+            nodes,
+            GraphTopology.of(edges),
+            state -> state.data(),
+            configuration,
+            NoOpWorkflowMonitor.INSTANCE,
+            ForkJoinPool.commonPool()
+        );
+        initialState = GraphWorkflowState.create(
+            WorkflowId.generate(),
+            0,
+            entry
+        );
+    }
+
+    @Benchmark
+    public WorkflowResult<Integer, WorkflowError> execute() {
+        return executor.executeWorkflow(initialState);
+    }
+
+    private NodeId linear(
+        Map<NodeId, GraphWorkflowNode<Integer>> nodes,
+        List<GraphEdge> edges
+    ) {
+        for (int i = 0; i < depth; i++) {
+            NodeId id = NodeId.of("n" + i);
+            if (i == depth - 1) {
+                nodes.put(id, new NoOpNode(id, complete()));
+            } else {
+                NodeId next = NodeId.of("n" + (i + 1));
+                GraphCommand<Integer> command = GraphCommandTraverse.to(next);
+                nodes.put(id, new NoOpNode(id, state -> command));
+                edges.add(GraphEdge.between(id, next));
+            }
+        }
+        return NodeId.of("n0");
+    }
+
+    private NodeId branching(
+        Map<NodeId, GraphWorkflowNode<Integer>> nodes,
+        List<GraphEdge> edges
+    ) {
+        for (int level = 0; level < depth; level++) {
+            for (String side : new String[] { "a", "b" }) {
+                NodeId id = NodeId.of(side + level);
+                if (level == depth - 1) {
+                    nodes.put(id, new NoOpNode(id, complete()));
+                    continue;
+                }
+                NodeId left = NodeId.of("a" + (level + 1));
+                NodeId right = NodeId.of("b" + (level + 1));
+                GraphCommand<Integer> toLeft = GraphCommandTraverse.to(left);
+                GraphCommand<Integer> toRight = GraphCommandTraverse.to(right);
+                int salt = level;
+                nodes.put(
+                    id,
+                    new NoOpNode(id, state ->
+                        ((state.data() + salt) & 1) == 0 ? toLeft : toRight
+                    )
+                );
+                edges.add(GraphEdge.between(id, left));
+                edges.add(GraphEdge.between(id, right));
+            }
+        }
+        return NodeId.of("a0");
+    }
+
+    private NodeId looping(
+        Map<NodeId, GraphWorkflowNode<Integer>> nodes,
+        List<GraphEdge> edges
+    ) {
+        NodeId loop = NodeId.of("loop");
+        NodeId exit = NodeId.of("exit");
+        nodes.put(
+            loop,
+            new NoOpNode(loop, state ->
+                state.data() < depth
+                    ? GraphCommandTraverse.toWithData(loop, state.data() + 1)
+                    : GraphCommandTraverse.to(exit)
+            )
+        );
+        nodes.put(exit, new NoOpNode(exit, complete()));
+        edges.add(GraphEdge.between(loop, loop));
+        edges.add(GraphEdge.between(loop, exit));
+        return loop;
+    }
+
+    private static Function<
+        GraphWorkflowState<Integer>,
+        GraphCommand<Integer>
+    > complete() {
+        GraphCommand<Integer> command = GraphCommandComplete.withResult(0);
+        return state -> command;
+    }
+
+    /**
+     * Node that does no work beyond choosing its command.
+     */
+    private static final class NoOpNode implements GraphWorkflowNode<Integer> {
+
+        private final NodeId nodeId;
+        private final Function<
+            GraphWorkflowState<Integer>,
+            GraphCommand<Integer>
+        > commandFunction;
+
+        private NoOpNode(
+            NodeId nodeId,
+            Function<GraphWorkflowState<Integer>, GraphCommand<Integer>> commandFunction
+        ) {
+            this.nodeId = nodeId;
+            this.commandFunction = commandFunction;
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<Integer>, WorkflowError> process(
+            GraphWorkflowState<Integer> state
+        ) {
+            return WorkflowResult.success(commandFunction.apply(state));
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.agents4j.benchmarks;
+
+import dev.agents4j.api.graph.EdgeId;
+import dev.agents4j.api.graph.GraphPosition;
+import dev.agents4j.api.graph.NodeId;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of moving a {@link GraphPosition} one step further along an already
+ * long path. With persistent path and edge history this should not grow with
+ * the path length.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PositionBenchmark {
+
+    @Param({ "16", "1024", "16384" })
+    public int pathLength;
+
+    private GraphPosition position;
+    private EdgeId edgeId;
+    private NodeId target;
+
+    @Setup
+    public void setUp() {
+        // Alternate between a few nodes, as a looping workflow does
+        NodeId[] nodes = new NodeId[8];
+        EdgeId[] edges = new EdgeId[8];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = NodeId.of("node-" + i);
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            edges[i] = EdgeId.between(nodes[i], nodes[(i + 1) % nodes.length]);
+        }
+        position = GraphPosition.at(nodes[0]);
+        for (int i = 1; i < pathLength; i++) {
+            position = position.traverseEdge(
+                edges[(i - 1) % edges.length],
+                nodes[i % nodes.length]
+            );
+        }
+        int last = (pathLength - 1) % nodes.length;
+        edgeId = edges[last];
+        target = nodes[(last + 1) % nodes.length];
+    }
+
+    @Benchmark
+    public GraphPosition traverseEdge() {
+        return position.traverseEdge(edgeId, target);
+    }
+
+    @Benchmark
+    public GraphPosition moveTo() {
+        return position.moveTo(target);
+    }
+
+    @Benchmark
+    public boolean hasCycle() {
+        return position.traverseEdge(edgeId, target).hasCycle();
+    }
+}
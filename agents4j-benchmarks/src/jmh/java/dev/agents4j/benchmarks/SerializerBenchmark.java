@@ -0,0 +1,125 @@
+package dev.agents4j.benchmarks;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.graph.EdgeId;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.serialization.WorkflowStateSerializer;
+import dev.agents4j.workflow.serialization.BinaryGraphWorkflowStateSerializer;
+import dev.agents4j.workflow.serialization.JsonGraphWorkflowStateSerializer;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serialization of a suspended workflow state with the JSON and binary
+ * serializers side by side, at growing context sizes. Both go through the
+ * byte-oriented API, plus the stream API as used when writing to a file or
+ * socket; the encoded size of each combination is printed during setup.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializerBenchmark {
+
+    private static final String VERSION = "1.0.0";
+
+    public enum Format {
+        JSON,
+        BINARY,
+    }
+
+    @Param({ "JSON", "BINARY" })
+    public Format format;
+
+    @Param({ "4", "64", "512" })
+    public int contextSize;
+
+    private WorkflowStateSerializer<GraphWorkflowState<String>> serializer;
+    private GraphWorkflowState<String> state;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws Exception {
+        serializer = switch (format) {
+            case JSON -> new JsonGraphWorkflowStateSerializer<>(String.class);
+            case BINARY -> new BinaryGraphWorkflowStateSerializer<>(String.class);
+        };
+
+        WorkflowContext context = ExecutionContext.empty();
+        for (int i = 0; i < contextSize; i++) {
+            // Mix the value types the serializer handles
+            context = switch (i % 3) {
+                case 0 -> context.with(
+                    ContextKey.stringKey("string-" + i),
+                    "value-" + i
+                );
+                case 1 -> context.with(ContextKey.intKey("int-" + i), i);
+                default -> context.with(
+                    ContextKey.booleanKey("flag-" + i),
+                    i % 2 == 0
+                );
+            };
+        }
+
+        // A review loop, so node and edge IDs repeat along the path
+        NodeId start = NodeId.of("start");
+        NodeId review = NodeId.of("review");
+        NodeId revise = NodeId.of("revise");
+        GraphWorkflowState<String> current = GraphWorkflowState.create(
+            WorkflowId.generate(),
+            "Please summarise the attached document",
+            start,
+            context
+        ).traverseEdge(EdgeId.between(start, review), review);
+        for (int i = 0; i < 4; i++) {
+            current = current
+                .traverseEdge(EdgeId.between(review, revise), revise)
+                .traverseEdge(EdgeId.between(revise, review), review);
+        }
+        state = current;
+        serialized = serializer.serializeToBytes(state, VERSION);
+        System.out.println(
+            format + " contextSize=" + contextSize + " bytes=" + serialized.length
+        );
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return serializer.serializeToBytes(state, VERSION);
+    }
+
+    @Benchmark
+    public GraphWorkflowState<String> deserialize() throws Exception {
+        return serializer.deserialize(serialized, VERSION);
+    }
+
+    @Benchmark
+    public void serializeToStream() throws Exception {
+        serializer.serialize(state, VERSION, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public GraphWorkflowState<String> deserializeFromStream() throws Exception {
+        return serializer.deserialize(
+            new ByteArrayInputStream(serialized),
+            VERSION
+        );
+    }
+
+    @Benchmark
+    public GraphWorkflowState<String> roundTrip() throws Exception {
+        return serializer.deserialize(
+            serializer.serializeToBytes(state, VERSION),
+            VERSION
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package dev.agents4j.benchmarks;
+
+import dev.agents4j.api.graph.GraphEdge;
+import dev.agents4j.api.graph.GraphTopology;
+import dev.agents4j.api.graph.NodeId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Edge lookup through the compiled {@link GraphTopology} against the linear
+ * scan over all edges it replaced. The indexed lookup should stay flat as the
+ * number of edges grows.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TopologyBenchmark {
+
+    @Param({ "16", "256", "4096" })
+    public int edgeCount;
+
+    private List<GraphEdge> edges;
+    private GraphTopology topology;
+    private NodeId from;
+    private NodeId to;
+
+    @Setup
+    public void setUp() {
+        edges = new ArrayList<>(edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            edges.add(
+                GraphEdge.between(NodeId.of("n" + i), NodeId.of("n" + (i + 1)))
+            );
+        }
+        topology = GraphTopology.of(edges);
+        // Look up an edge in the middle of the graph
+        from = NodeId.of("n" + (edgeCount / 2));
+        to = NodeId.of("n" + (edgeCount / 2 + 1));
+    }
+
+    @Benchmark
+    public Optional<GraphEdge> indexedLookup() {
+        return topology.edgeBetween(from, to);
+    }
+
+    @Benchmark
+    public Optional<GraphEdge> linearScan() {
+        return edges
+            .stream()
+            .filter(edge -> edge.fromNode().equals(from) && edge.toNode().equals(to))
+            .findFirst();
+    }
+}
@@ -0,0 +1,95 @@
+package dev.agents4j.events;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of publishing a node event through {@link DefaultWorkflowEventPublisher}
+ * and {@link AsyncWorkflowEventPublisher}. {@code publish} is what the
+ * workflow pays per event: synchronous dispatch for the default publisher and
+ * a fire-and-forget hand-off for the async one. {@code publishAndWait} waits
+ * for every listener, so it shows the full per-event cost of asynchronous
+ * dispatch. Lives in the events package because the event types are
+ * package-private.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventPublisherBenchmark {
+
+    public enum Publisher {
+        DEFAULT,
+        ASYNC,
+    }
+
+    @Param({ "DEFAULT", "ASYNC" })
+    public Publisher publisher;
+
+    @Param({ "1", "8" })
+    public int listeners;
+
+    private WorkflowEventPublisher eventPublisher;
+    private final LongAdder received = new LongAdder();
+    private final Map<String, Object> metadata = Map.of("step", 1);
+
+    @Setup
+    public void setUp() {
+        eventPublisher = publisher == Publisher.DEFAULT
+            ? new DefaultWorkflowEventPublisher()
+            : new AsyncWorkflowEventPublisher();
+        for (int i = 0; i < listeners; i++) {
+            eventPublisher.addListener(
+                new WorkflowEventListener() {
+                    @Override
+                    public void onNodeExecuted(NodeExecutionEvent event) {
+                        received.increment();
+                    }
+                }
+            );
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (eventPublisher instanceof DefaultWorkflowEventPublisher defaultPublisher) {
+            defaultPublisher.shutdown();
+        } else if (
+            eventPublisher instanceof AsyncWorkflowEventPublisher asyncPublisher
+        ) {
+            asyncPublisher.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void publish() {
+        eventPublisher.publishNodeExecuted(
+            "benchmark",
+            "node",
+            "input",
+            "output",
+            1L,
+            metadata
+        );
+    }
+
+    @Benchmark
+    public void publishAndWait() {
+        eventPublisher.publishAsync(
+            new NodeExecutionEvent(
+                "benchmark",
+                "node",
+                "input",
+                "output",
+                1L,
+                metadata
+            )
+        ).join();
+    }
+}
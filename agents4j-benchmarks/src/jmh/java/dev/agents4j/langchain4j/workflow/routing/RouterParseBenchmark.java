@@ -0,0 +1,81 @@
+package dev.agents4j.langchain4j.workflow.routing;
+
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.routing.RoutingDecision;
+import dev.langchain4j.model.chat.ChatModel;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of turning a model response into a {@link RoutingDecision} with
+ * {@link GraphLLMContentRouter#parseResponse}, excluding the model call.
+ * Lives in the router's package because the parser is package-private.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RouterParseBenchmark {
+
+    @Param({ "4", "64" })
+    public int routes;
+
+    private GraphLLMContentRouter<String> router;
+    private Set<NodeId> availableRoutes;
+    private String minimalResponse;
+    private String fullResponse;
+
+    @Setup
+    public void setUp() {
+        router = GraphLLMContentRouter.<String>builder()
+            .nodeId("router")
+            // The model is never called
+            .model(new ChatModel() {})
+            .includeConfidenceScoring(true)
+            .includeAlternatives(true)
+            .includeReasoning(true)
+            .maxAlternatives(3)
+            .build();
+
+        availableRoutes = new LinkedHashSet<>();
+        for (int i = 0; i < routes; i++) {
+            availableRoutes.add(NodeId.of("route-" + i));
+        }
+        String selected = "route-" + (routes - 1);
+        minimalResponse = "{ \"route\": \"" + selected + "\" }";
+        fullResponse = "Here is my analysis.\n" +
+            "{\n" +
+            "  \"route\": \"" + selected + "\",\n" +
+            "  \"confidence\": 0.87,\n" +
+            "  \"reasoning\": \"The request asks for a refund of a duplicate charge\",\n" +
+            "  \"alternatives\": [\n" +
+            "    { \"route\": \"route-0\", \"score\": 0.42 },\n" +
+            "    { \"route\": \"route-1\", \"score\": 0.21 },\n" +
+            "    { \"route\": \"unknown\", \"score\": 0.05 }\n" +
+            "  ]\n" +
+            "}\n";
+    }
+
+    @Benchmark
+    public RoutingDecision parseMinimal() {
+        return router.parseResponse(
+            minimalResponse,
+            availableRoutes,
+            System.currentTimeMillis()
+        );
+    }
+
+    @Benchmark
+    public RoutingDecision parseFull() {
+        return router.parseResponse(
+            fullResponse,
+            availableRoutes,
+            System.currentTimeMillis()
+        );
+    }
+}
@@ -3,7 +3,9 @@
  */
 package dev.agents4j.events;
 
+import dev.agents4j.workflow.execution.VirtualThreads;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -17,11 +19,46 @@ import java.util.concurrent.Executors;
 public class DefaultWorkflowEventPublisher implements WorkflowEventPublisher {
 
     private final List<WorkflowEventListener> listeners = new CopyOnWriteArrayList<>();
-    private final ExecutorService asyncExecutor = Executors.newCachedThreadPool(r -> {
-        Thread thread = new Thread(r, "workflow-event-publisher");
-        thread.setDaemon(true);
-        return thread;
-    });
+    private final ExecutorService asyncExecutor;
+
+    /**
+     * Creates a publisher that dispatches asynchronous events on a cached
+     * pool of daemon threads.
+     */
+    public DefaultWorkflowEventPublisher() {
+        this(Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "workflow-event-publisher");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Creates a publisher that dispatches asynchronous events on the given
+     * executor. The publisher takes ownership of the executor and shuts it
+     * down in {@link #shutdown()}.
+     *
+     * @param asyncExecutor The executor for asynchronous dispatch
+     */
+    public DefaultWorkflowEventPublisher(ExecutorService asyncExecutor) {
+        this.asyncExecutor = Objects.requireNonNull(
+            asyncExecutor,
+            "Async executor cannot be null"
+        );
+    }
+
+    /**
+     * Creates a publisher that dispatches each asynchronous event on its own
+     * virtual thread, falling back to the default pool on JVMs without
+     * virtual threads.
+     *
+     * @return A new publisher
+     */
+    public static DefaultWorkflowEventPublisher withVirtualThreads() {
+        return VirtualThreads.isAvailable()
+            ? new DefaultWorkflowEventPublisher(VirtualThreads.newExecutor("workflow-event-publisher-"))
+            : new DefaultWorkflowEventPublisher();
+    }
 
     @Override
     public void addListener(WorkflowEventListener listener) {
@@ -18,6 +18,11 @@ import java.util.Optional;
  */
 public class GraphWorkflowFactory {
 
+    private static final ContextKey<Object> RESPONSE_KEY = ContextKey.of(
+        "response",
+        Object.class
+    );
+
     /**
      * Creates a simple output extractor that extracts the LLM response from the context.
      * This implementation prioritizes the last interaction in the processing history,
@@ -49,7 +54,7 @@ public class GraphWorkflowFactory {
             } else {
                 Object response = state
                     .context()
-                    .get(ContextKey.of("response", Object.class))
+                    .get(RESPONSE_KEY)
                     .orElse("");
                 return response.toString();
             }
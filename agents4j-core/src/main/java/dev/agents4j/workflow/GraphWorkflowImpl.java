@@ -1,34 +1,48 @@
 package dev.agents4j.workflow;
 
 import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.batch.BatchOptions;
+import dev.agents4j.api.batch.WorkflowBatch;
 import dev.agents4j.api.context.WorkflowContext;
 import dev.agents4j.api.graph.EdgeId;
 import dev.agents4j.api.graph.GraphEdge;
+import dev.agents4j.api.graph.GraphTopology;
 import dev.agents4j.api.graph.GraphWorkflowNode;
 import dev.agents4j.api.graph.GraphWorkflowState;
 import dev.agents4j.api.graph.NodeId;
 import dev.agents4j.api.graph.WorkflowId;
 import dev.agents4j.api.result.WorkflowResult;
 import dev.agents4j.api.result.error.SystemError;
+import dev.agents4j.api.result.error.ValidationError;
 import dev.agents4j.api.result.error.WorkflowError;
 import dev.agents4j.api.serialization.WorkflowStateSerializer;
 import dev.agents4j.api.suspension.ResumeOptions;
+import dev.agents4j.api.suspension.StoredSuspension;
+import dev.agents4j.api.suspension.WorkflowStateStore;
 import dev.agents4j.api.suspension.WorkflowSuspension;
 import dev.agents4j.api.validation.ValidationResult;
 import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import dev.agents4j.workflow.checkpoint.Checkpoint;
+import dev.agents4j.workflow.checkpoint.CheckpointStore;
+import dev.agents4j.workflow.checkpoint.Checkpointer;
 import dev.agents4j.workflow.config.WorkflowConfiguration;
 import dev.agents4j.workflow.context.WorkflowContextKeys;
 import dev.agents4j.workflow.execution.GraphWorkflowExecutor;
+import dev.agents4j.workflow.journal.StateJournaler;
+import dev.agents4j.workflow.journal.WorkflowJournal;
 import dev.agents4j.workflow.monitor.WorkflowMonitor;
 import dev.agents4j.workflow.output.OutputExtractor;
 import dev.agents4j.workflow.serialization.JsonGraphWorkflowStateSerializer;
 import dev.agents4j.workflow.validation.GraphWorkflowValidator;
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
@@ -53,13 +67,16 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
     private final Class<I> inputType;
     private final Map<NodeId, GraphWorkflowNode<I>> nodes;
     private final Map<EdgeId, GraphEdge> edges;
+    private final GraphTopology topology;
     private final Set<NodeId> entryPointIds;
     private final NodeId defaultEntryPointId;
     private final WorkflowMonitor monitor;
     private final Executor asyncExecutor;
-    private WorkflowStateSerializer<
+    private final WorkflowStateSerializer<
         GraphWorkflowState<I>
     > stateSerializer;
+    private final WorkflowStateStore stateStore;
+    private final Checkpointer<I> checkpointer;
 
     /**
      * Creates a new workflow instance with the given components.
@@ -88,53 +105,22 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         WorkflowMonitor monitor,
         Executor asyncExecutor
     ) {
-        this.name = Objects.requireNonNull(name, "Name cannot be null");
-        this.version = Objects.requireNonNull(
+        this(
+            name,
             version,
-            "Version cannot be null"
-        );
-        this.inputType = Objects.requireNonNull(
             inputType,
-            "Input type cannot be null"
-        );
-        this.nodes = Objects.requireNonNull(nodes, "Nodes cannot be null");
-        this.edges = Objects.requireNonNull(edges, "Edges cannot be null");
-        this.entryPointIds = Objects.requireNonNull(
-            entryPointIds,
-            "Entry point IDs cannot be null"
-        );
-        this.defaultEntryPointId = defaultEntryPointId;
-        this.monitor = Objects.requireNonNull(
-            monitor,
-            "Monitor cannot be null"
-        );
-        this.asyncExecutor = Objects.requireNonNull(
-            asyncExecutor,
-            "Async executor cannot be null"
-        );
-
-        // Initialize components
-        this.executor = new GraphWorkflowExecutor<>(
-            name,
-            nodes,
-            edges,
-            outputExtractor,
-            configuration,
-            monitor
-        );
-
-        this.validator = new GraphWorkflowValidator<>(
-            name,
             nodes,
             edges,
             entryPointIds,
             defaultEntryPointId,
-            outputExtractor
-        );
-
-        this.stateSerializer = new JsonGraphWorkflowStateSerializer<>(
-            inputType,
-            version
+            outputExtractor,
+            configuration,
+            monitor,
+            asyncExecutor,
+            new JsonGraphWorkflowStateSerializer<>(
+                Objects.requireNonNull(inputType, "Input type cannot be null"),
+                Objects.requireNonNull(version, "Version cannot be null")
+            )
         );
     }
 
@@ -166,13 +152,117 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
             outputExtractor,
             configuration,
             monitor,
-            asyncExecutor
+            asyncExecutor,
+            customSerializer,
+            new Persistence<>(null, null, null)
+        );
+    }
+
+    /**
+     * Creates a new enhanced workflow instance with custom serializer that
+     * persists its executions to the given stores: suspended states,
+     * checkpoints of running executions, as decided by the configuration's
+     * checkpoint policy, and a journal. Checkpoints are written on the async
+     * executor. The journal holds a snapshot of the state each execution
+     * starts from and the state delta of every step, with a new snapshot
+     * after the configuration's journal snapshot interval.
+     *
+     * @param persistence The stores to persist executions to
+     */
+    public GraphWorkflowImpl(
+        String name,
+        String version,
+        Class<I> inputType,
+        Map<NodeId, GraphWorkflowNode<I>> nodes,
+        Map<EdgeId, GraphEdge> edges,
+        Set<NodeId> entryPointIds,
+        NodeId defaultEntryPointId,
+        OutputExtractor<I, O> outputExtractor,
+        WorkflowConfiguration configuration,
+        WorkflowMonitor monitor,
+        Executor asyncExecutor,
+        WorkflowStateSerializer<GraphWorkflowState<I>> customSerializer,
+        Persistence<I> persistence
+    ) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+        this.version = Objects.requireNonNull(
+            version,
+            "Version cannot be null"
+        );
+        this.inputType = Objects.requireNonNull(
+            inputType,
+            "Input type cannot be null"
+        );
+        this.nodes = Objects.requireNonNull(nodes, "Nodes cannot be null");
+        this.edges = Objects.requireNonNull(edges, "Edges cannot be null");
+        this.entryPointIds = Objects.requireNonNull(
+            entryPointIds,
+            "Entry point IDs cannot be null"
+        );
+        this.defaultEntryPointId = defaultEntryPointId;
+        this.monitor = Objects.requireNonNull(
+            monitor,
+            "Monitor cannot be null"
+        );
+        this.asyncExecutor = Objects.requireNonNull(
+            asyncExecutor,
+            "Async executor cannot be null"
         );
-        
         this.stateSerializer = Objects.requireNonNull(
             customSerializer,
             "Custom serializer cannot be null"
         );
+        Objects.requireNonNull(persistence, "Persistence cannot be null");
+
+        // Compile the adjacency index once for execution and validation
+        this.topology = GraphTopology.of(this.edges.values());
+
+        this.stateStore = persistence.stateStore();
+        this.checkpointer = persistence.checkpointStore() == null
+            ? null
+            : new Checkpointer<>(
+                name,
+                version,
+                configuration.getCheckpointPolicy(),
+                persistence.checkpointStore(),
+                customSerializer,
+                asyncExecutor,
+                configuration.getMaxCheckpointDeltas()
+            );
+
+        // Initialize components
+        GraphWorkflowExecutor<I, O> workflowExecutor = new GraphWorkflowExecutor<>(
+            name,
+            nodes,
+            topology,
+            outputExtractor,
+            configuration,
+            monitor,
+            asyncExecutor
+        ).withWorkflowVersion(version);
+        if (checkpointer != null) {
+            workflowExecutor = workflowExecutor.withCheckpointer(checkpointer);
+        }
+        if (persistence.journal() != null) {
+            workflowExecutor = workflowExecutor.withJournaler(
+                new StateJournaler<>(
+                    persistence.journal(),
+                    configuration.getJournalSnapshotInterval(),
+                    configuration.isDeleteCompletedJournals()
+                )
+            );
+        }
+        this.executor = workflowExecutor;
+
+        this.validator = new GraphWorkflowValidator<>(
+            name,
+            nodes,
+            edges,
+            topology,
+            entryPointIds,
+            defaultEntryPointId,
+            outputExtractor
+        );
     }
 
     @Override
@@ -190,6 +280,11 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         return stateSerializer;
     }
 
+    @Override
+    public Optional<WorkflowStateStore> getStateStore() {
+        return Optional.ofNullable(stateStore);
+    }
+
     /**
      * Gets a node by its ID.
      */
@@ -214,11 +309,7 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
 
     @Override
     public Set<GraphEdge> getEdgesFrom(NodeId nodeId) {
-        return edges
-            .values()
-            .stream()
-            .filter(edge -> edge.fromNode().equals(nodeId))
-            .collect(java.util.stream.Collectors.toSet());
+        return topology.edgesFrom(nodeId);
     }
 
     @Override
@@ -287,6 +378,32 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         WorkflowId workflowId,
         I input,
         WorkflowContext context
+    ) {
+        GraphWorkflowState<I> initialState = createInitialState(
+            workflowId,
+            input,
+            context
+        );
+
+        monitor.onWorkflowStarted(workflowId, name, initialState);
+
+        try {
+            return wrapSuspension(
+                storeOutcome(workflowId, executor.executeWorkflow(initialState))
+            );
+        } catch (Exception e) {
+            return startFailed(initialState, e);
+        }
+    }
+
+    /**
+     * Creates the initial state for a new execution, adding the workflow
+     * metadata to the context and determining the entry point.
+     */
+    private GraphWorkflowState<I> createInitialState(
+        WorkflowId workflowId,
+        I input,
+        WorkflowContext context
     ) {
         // Create initial context if not provided
         WorkflowContext initialContext = context != null
@@ -303,37 +420,135 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         NodeId entryPoint = determineEntryPoint(input, initialContext);
 
         // Create initial state
-        GraphWorkflowState<I> initialState = GraphWorkflowState.create(
+        return GraphWorkflowState.create(
             workflowId,
             input,
             entryPoint,
             initialContext
         );
+    }
 
-        monitor.onWorkflowStarted(workflowId, name, initialState);
+    /**
+     * If the result is suspended, wraps it in a type-safe suspension.
+     */
+    private WorkflowResult<O, WorkflowError> wrapSuspension(
+        WorkflowResult<O, WorkflowError> result
+    ) {
+        if (result.isSuspended()) {
+            Optional<
+                WorkflowSuspension<GraphWorkflowState<I>>
+            > typedSuspension = extractTypedSuspension(result);
+
+            if (typedSuspension.isPresent()) {
+                return createEnhancedSuspendedResult(typedSuspension.get());
+            }
+        }
+        return result;
+    }
+
+    private WorkflowResult<O, WorkflowError> startFailed(
+        GraphWorkflowState<I> initialState,
+        Exception e
+    ) {
+        WorkflowError error = SystemError.of(
+            "WORKFLOW_EXECUTION_ERROR",
+            "Unexpected error during workflow execution: " + e.getMessage(),
+            name
+        );
+        monitor.onWorkflowError(initialState.workflowId(), error, initialState, e);
+        return WorkflowResult.failure(error);
+    }
 
+    private WorkflowResult<O, WorkflowError> storeOutcome(
+        WorkflowId workflowId,
+        WorkflowResult<O, WorkflowError> result
+    ) {
+        return storeOutcome(workflowId, result, null);
+    }
+
+    /**
+     * Keeps the state store in step with an execution result: a suspended
+     * state is stored, replacing any earlier suspension of the workflow, and
+     * any other result removes it. An execution resumed from a claimed
+     * suspension has already removed it, so it leaves the store alone
+     * unless it fails recoverably, in which case the claimed suspension is
+     * put back if the workflow has not been suspended again meanwhile.
+     * Store failures are logged rather than failing the execution, since a
+     * suspended result still carries its state.
+     */
+    private WorkflowResult<O, WorkflowError> storeOutcome(
+        WorkflowId workflowId,
+        WorkflowResult<O, WorkflowError> result,
+        StoredSuspension claimed
+    ) {
+        if (stateStore == null) {
+            return result;
+        }
         try {
-            var result = executor.executeWorkflow(initialState);
-            // If suspended, wrap in type-safe suspension
-            if (result.isSuspended()) {
-                Optional<
-                    WorkflowSuspension<GraphWorkflowState<I>>
-                > typedSuspension = extractTypedSuspension(result);
-
-                if (typedSuspension.isPresent()) {
-                    return createEnhancedSuspendedResult(typedSuspension.get());
+            Optional<WorkflowSuspension<?>> suspension =
+                result.getWorkflowSuspension();
+            if (suspension.isEmpty()) {
+                if (claimed == null) {
+                    stateStore.delete(workflowId);
+                } else if (isRecoverableFailure(result)) {
+                    restore(claimed);
                 }
+                return result;
             }
-            return result;
+            @SuppressWarnings("unchecked")
+            GraphWorkflowState<I> state = (GraphWorkflowState<
+                    I
+                >) suspension.get().getSuspendedState();
+            stateStore.put(
+                StoredSuspension.of(
+                    workflowId,
+                    suspension.get(),
+                    version,
+                    stateSerializer.serializeToBytes(state, version)
+                )
+            );
         } catch (Exception e) {
-            WorkflowError error = SystemError.of(
-                "WORKFLOW_EXECUTION_ERROR",
-                "Unexpected error during workflow execution: " + e.getMessage(),
-                name
+            LOGGER.warning(
+                "Failed to update state store for workflow " +
+                workflowId.value() +
+                ": " +
+                e.getMessage()
             );
-            monitor.onWorkflowError(workflowId, error, initialState, e);
-            return WorkflowResult.failure(error);
         }
+        return result;
+    }
+
+    /**
+     * Puts a claimed suspension back unless the workflow has been suspended
+     * again since it was claimed.
+     */
+    private void restore(StoredSuspension claimed) {
+        if (stateStore == null) {
+            return;
+        }
+        try {
+            if (stateStore.get(claimed.workflowId()).isEmpty()) {
+                stateStore.put(claimed);
+            }
+        } catch (Exception e) {
+            LOGGER.warning(
+                "Failed to restore suspension " +
+                claimed.suspensionId() +
+                " of workflow " +
+                claimed.workflowId().value() +
+                ": " +
+                e.getMessage()
+            );
+        }
+    }
+
+    private static boolean isRecoverableFailure(
+        WorkflowResult<?, WorkflowError> result
+    ) {
+        return result
+            .getError()
+            .filter(WorkflowError::isRecoverable)
+            .isPresent();
     }
 
     /**
@@ -343,11 +558,7 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
     private WorkflowResult<O, WorkflowError> createEnhancedSuspendedResult(
         WorkflowSuspension<GraphWorkflowState<I>> suspension
     ) {
-        return WorkflowResult.suspended(
-            suspension.getSuspensionId(),
-            suspension.getSuspendedState(),
-            suspension.getReason()
-        );
+        return WorkflowResult.suspended(suspension);
     }
 
     @Override
@@ -388,45 +599,122 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         GraphWorkflowState<I> state,
         WorkflowContext contextUpdates,
         ResumeOptions options
+    ) {
+        return resumeWithOptions(state, contextUpdates, options, null);
+    }
+
+    /**
+     * Resumes a suspension claimed from the state store. Completing or
+     * suspending again leaves any suspension stored by another execution
+     * in place; a recoverable failure, or a state that fails validation,
+     * puts the claimed suspension back.
+     */
+    @Override
+    public WorkflowResult<O, WorkflowError> resumeClaimed(
+        StoredSuspension suspension,
+        GraphWorkflowState<I> state,
+        WorkflowContext contextUpdates,
+        ResumeOptions options
+    ) {
+        Objects.requireNonNull(suspension, "Suspension cannot be null");
+        return resumeWithOptions(state, contextUpdates, options, suspension);
+    }
+
+    private WorkflowResult<O, WorkflowError> resumeWithOptions(
+        GraphWorkflowState<I> state,
+        WorkflowContext contextUpdates,
+        ResumeOptions options,
+        StoredSuspension claimed
+    ) {
+        Optional<WorkflowError> invalid = checkResumable(state, options);
+        if (invalid.isPresent()) {
+            if (claimed != null) {
+                restore(claimed);
+            }
+            return WorkflowResult.failure(invalid.get());
+        }
+
+        GraphWorkflowState<I> updatedState = mergeContextUpdates(
+            state,
+            contextUpdates
+        );
+
+        monitor.onWorkflowResumed(state.workflowId(), updatedState);
+
+        try {
+            return storeOutcome(
+                updatedState.workflowId(),
+                executor.executeWorkflow(updatedState),
+                claimed
+            );
+        } catch (Exception e) {
+            WorkflowResult<O, WorkflowError> failed = resumeFailed(
+                updatedState,
+                e
+            );
+            return claimed == null
+                ? failed
+                : storeOutcome(updatedState.workflowId(), failed, claimed);
+        }
+    }
+
+    private Optional<WorkflowError> checkResumable(
+        GraphWorkflowState<I> state,
+        ResumeOptions options
     ) {
         if (options.shouldValidateState()) {
             StateValidationResult validation = validateState(state);
             if (!validation.isValid()) {
-                return WorkflowResult.failure(
+                return Optional.of(
                     createValidationError(validation.getMessage())
                 );
             }
         }
+        return Optional.empty();
+    }
 
+    private GraphWorkflowState<I> mergeContextUpdates(
+        GraphWorkflowState<I> state,
+        WorkflowContext contextUpdates
+    ) {
         // Merge context if provided
-        GraphWorkflowState<I> updatedState = state;
         if (contextUpdates != null && !contextUpdates.isEmpty()) {
             WorkflowContext mergedContext = state
                 .context()
                 .merge(contextUpdates);
-            updatedState = state.withContext(mergedContext);
+            return state.withContext(mergedContext);
         }
+        return state;
+    }
 
-        monitor.onWorkflowResumed(state.workflowId(), updatedState);
-
-        try {
-            return executor.executeWorkflow(updatedState);
-        } catch (Exception e) {
-            WorkflowError error = SystemError.of(
-                "WORKFLOW_RESUME_ERROR",
-                "Unexpected error during workflow resume: " + e.getMessage(),
-                name
-            );
-            monitor.onWorkflowError(state.workflowId(), error, updatedState, e);
-            return WorkflowResult.failure(error);
-        }
+    private WorkflowResult<O, WorkflowError> resumeFailed(
+        GraphWorkflowState<I> updatedState,
+        Exception e
+    ) {
+        WorkflowError error = SystemError.of(
+            "WORKFLOW_RESUME_ERROR",
+            "Unexpected error during workflow resume: " + e.getMessage(),
+            name
+        );
+        monitor.onWorkflowError(
+            updatedState.workflowId(),
+            error,
+            updatedState,
+            e
+        );
+        return WorkflowResult.failure(error);
     }
 
+    /**
+     * Starts the workflow without blocking. Steps are chained on the
+     * completion of {@link dev.agents4j.api.graph.AsyncGraphWorkflowNode}s, so
+     * a workflow waiting on I/O does not hold an executor thread.
+     */
     @Override
     public CompletableFuture<WorkflowResult<O, WorkflowError>> startAsync(
         I input
     ) {
-        return CompletableFuture.supplyAsync(() -> start(input), asyncExecutor);
+        return startAsync(input, WorkflowContext.empty());
     }
 
     @Override
@@ -434,12 +722,69 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         I input,
         WorkflowContext context
     ) {
-        return CompletableFuture.supplyAsync(
-            () -> start(input, context),
-            asyncExecutor
+        WorkflowId workflowId = WorkflowId.generate();
+        GraphWorkflowState<I> initialState;
+        try {
+            initialState = createInitialState(workflowId, input, context);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return startAsync(initialState);
+    }
+
+    private CompletableFuture<WorkflowResult<O, WorkflowError>> startAsync(
+        GraphWorkflowState<I> initialState
+    ) {
+        monitor.onWorkflowStarted(initialState.workflowId(), name, initialState);
+
+        CompletableFuture<WorkflowResult<O, WorkflowError>> execution =
+            executor.executeWorkflowAsync(initialState);
+        return cancelling(
+            execution,
+            execution
+                .thenApply(result ->
+                    storeOutcome(initialState.workflowId(), result)
+                )
+                .thenApply(this::wrapSuspension)
+                .exceptionally(e -> startFailed(initialState, asException(e)))
         );
     }
 
+    /**
+     * Starts a batch of executions. The entry point and the shared part of
+     * the initial context are resolved once for the whole batch; each item
+     * only adds its workflow ID and start time.
+     */
+    @Override
+    public WorkflowBatch<I, O> startBatch(
+        Iterable<I> inputs,
+        BatchOptions options
+    ) {
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        Objects.requireNonNull(options, "Batch options cannot be null");
+
+        WorkflowContext batchContext = options
+            .getContext()
+            .with(WorkflowContextKeys.WORKFLOW_NAME, name);
+        // The entry point does not depend on the input
+        NodeId entryPoint = determineEntryPoint(null, batchContext);
+
+        return new WorkflowBatch<>(inputs.iterator(), options, input -> {
+            WorkflowId workflowId = WorkflowId.generate();
+            WorkflowContext initialContext = batchContext
+                .with(WorkflowContextKeys.WORKFLOW_ID, workflowId.value())
+                .with(WorkflowContextKeys.WORKFLOW_START_TIME, Instant.now());
+            return startAsync(
+                GraphWorkflowState.create(
+                    workflowId,
+                    input,
+                    entryPoint,
+                    initialContext
+                )
+            );
+        });
+    }
+
     public CompletableFuture<WorkflowResult<O, WorkflowError>> resumeAsync(
         GraphWorkflowState<I> state
     ) {
@@ -466,10 +811,7 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         GraphWorkflowState<I> state,
         ResumeOptions options
     ) {
-        return CompletableFuture.supplyAsync(
-            () -> resumeWithOptions(state, options),
-            asyncExecutor
-        );
+        return resumeWithOptionsAsync(state, WorkflowContext.empty(), options);
     }
 
     /**
@@ -482,12 +824,59 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         WorkflowContext contextUpdates,
         ResumeOptions options
     ) {
-        return CompletableFuture.supplyAsync(
-            () -> resumeWithOptions(state, contextUpdates, options),
-            asyncExecutor
+        GraphWorkflowState<I> updatedState;
+        try {
+            Optional<WorkflowError> invalid = checkResumable(state, options);
+            if (invalid.isPresent()) {
+                return CompletableFuture.completedFuture(
+                    WorkflowResult.failure(invalid.get())
+                );
+            }
+            updatedState = mergeContextUpdates(state, contextUpdates);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        monitor.onWorkflowResumed(state.workflowId(), updatedState);
+
+        CompletableFuture<WorkflowResult<O, WorkflowError>> execution =
+            executor.executeWorkflowAsync(updatedState);
+        return cancelling(
+            execution,
+            execution
+                .thenApply(result ->
+                    storeOutcome(updatedState.workflowId(), result)
+                )
+                .exceptionally(e -> resumeFailed(updatedState, asException(e)))
         );
     }
 
+    /**
+     * Makes cancelling the future handed to the caller cancel the execution
+     * it was derived from, which stops the workflow.
+     */
+    private static <T> CompletableFuture<T> cancelling(
+        CompletableFuture<?> execution,
+        CompletableFuture<T> result
+    ) {
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static Exception asException(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException &&
+            throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+        return cause instanceof Exception exception
+            ? exception
+            : new CompletionException(cause);
+    }
+
     /**
      * Extracts type-safe suspension with proper error handling.
      */
@@ -515,6 +904,22 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
                 return Optional.of(typedSuspension);
             }
 
+            // The executor's suspension already carries this workflow's
+            // version and the suspension timeout
+            WorkflowSuspension<?> executorSuspension = suspension.suspension();
+            if (
+                executorSuspension.getSuspendedState() instanceof
+                GraphWorkflowState<?> &&
+                version.equals(executorSuspension.getWorkflowVersion())
+            ) {
+                @SuppressWarnings("unchecked")
+                WorkflowSuspension<GraphWorkflowState<I>> typedSuspension =
+                    (WorkflowSuspension<
+                            GraphWorkflowState<I>
+                        >) executorSuspension;
+                return Optional.of(typedSuspension);
+            }
+
             // Otherwise, extract from raw suspension state
             @SuppressWarnings("unchecked")
             GraphWorkflowState<I> state = (GraphWorkflowState<
@@ -606,6 +1011,90 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
         );
     }
 
+    /**
+     * Lists the checkpoints of executions of this workflow that never
+     * completed, suspended or failed, such as executions lost to a crash.
+     * Executions still running in this process are not included.
+     *
+     * @return The incomplete checkpoints, empty without a checkpoint store
+     */
+    public List<Checkpoint> findIncompleteCheckpoints() {
+        if (checkpointer == null) {
+            return List.of();
+        }
+        return checkpointer
+            .store()
+            .list()
+            .stream()
+            .filter(checkpoint -> checkpoint.workflowName().equals(name))
+            .filter(checkpoint -> !checkpointer.isRunning(checkpoint.workflowId()))
+            .toList();
+    }
+
+    /**
+     * Resumes an execution from its latest checkpoint. Nodes completed
+     * before the checkpoint are not run again.
+     *
+     * @param workflowId The workflow ID
+     * @return The result of the resumed execution
+     */
+    public WorkflowResult<O, WorkflowError> recover(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Optional<Checkpoint> checkpoint = checkpointer == null
+            ? Optional.empty()
+            : checkpointer.store().get(workflowId);
+        if (checkpoint.isEmpty()) {
+            return WorkflowResult.failure(
+                ValidationError.of(
+                    "CHECKPOINT_NOT_FOUND",
+                    "No checkpoint for workflow: " + workflowId.value(),
+                    "checkpoint",
+                    workflowId.value()
+                )
+            );
+        }
+
+        GraphWorkflowState<I> state;
+        try {
+            state = checkpointer.restore(checkpoint.get());
+        } catch (Exception e) {
+            return WorkflowResult.failure(
+                ValidationError.of(
+                    "CHECKPOINT_UNREADABLE",
+                    "Cannot restore checkpoint of workflow " +
+                    workflowId.value() +
+                    ": " +
+                    e.getMessage(),
+                    "checkpoint",
+                    workflowId.value()
+                )
+            );
+        }
+        LOGGER.info(
+            "Recovering workflow " + workflowId.value() + " at node " +
+            checkpoint.get().nodeId() + " after step " + checkpoint.get().step()
+        );
+        return resumeWithOptions(state, ResumeOptions.permissive());
+    }
+
+    /**
+     * Resumes every incomplete execution of this workflow from its latest
+     * checkpoint, one after another.
+     *
+     * @return The result of each recovered execution by workflow ID
+     */
+    public Map<WorkflowId, WorkflowResult<O, WorkflowError>> recoverAll() {
+        Map<WorkflowId, WorkflowResult<O, WorkflowError>> results =
+            new LinkedHashMap<>();
+        for (Checkpoint checkpoint : findIncompleteCheckpoints()) {
+            results.put(
+                checkpoint.workflowId(),
+                recover(checkpoint.workflowId())
+            );
+        }
+        return results;
+    }
+
     /**
      * Creates validation error.
      */
@@ -637,4 +1126,19 @@ public class GraphWorkflowImpl<I, O> implements GraphWorkflow<I, O> {
     public static <I, O> GraphWorkflowBuilder<I, O> builder() {
         return new GraphWorkflowBuilder<>();
     }
+
+    /**
+     * The stores a workflow persists its executions to. Each store is
+     * optional.
+     *
+     * @param stateStore The store for suspended states, or null for none
+     * @param checkpointStore The store for checkpoints, or null for none
+     * @param journal The journal to record executions in, or null for none
+     * @param <I> The input type for the workflow
+     */
+    public record Persistence<I>(
+        WorkflowStateStore stateStore,
+        CheckpointStore checkpointStore,
+        WorkflowJournal<I> journal
+    ) {}
 }
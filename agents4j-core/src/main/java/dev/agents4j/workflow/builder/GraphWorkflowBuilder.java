@@ -7,11 +7,16 @@ import dev.agents4j.api.graph.GraphEdge;
 import dev.agents4j.api.graph.GraphWorkflowNode;
 import dev.agents4j.api.graph.NodeId;
 import dev.agents4j.api.serialization.WorkflowStateSerializer;
+import dev.agents4j.api.suspension.WorkflowStateStore;
 import dev.agents4j.workflow.GraphWorkflowImpl;
+import dev.agents4j.workflow.checkpoint.CheckpointStore;
 import dev.agents4j.workflow.config.WorkflowConfiguration;
+import dev.agents4j.workflow.execution.VirtualThreads;
+import dev.agents4j.workflow.journal.WorkflowJournal;
 import dev.agents4j.workflow.monitor.NoOpWorkflowMonitor;
 import dev.agents4j.workflow.monitor.WorkflowMonitor;
 import dev.agents4j.workflow.output.OutputExtractor;
+import dev.agents4j.workflow.serialization.JsonGraphWorkflowStateSerializer;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -19,6 +24,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
 
 /**
  * Builder for creating enhanced GraphWorkflow instances with type safety.
@@ -30,6 +36,10 @@ import java.util.concurrent.ForkJoinPool;
  */
 public class GraphWorkflowBuilder<I, O> {
 
+    private static final Logger LOGGER = Logger.getLogger(
+        GraphWorkflowBuilder.class.getName()
+    );
+
     private String name;
     private String version = "1.0.0";
     private Class<I> inputType;
@@ -44,6 +54,9 @@ public class GraphWorkflowBuilder<I, O> {
     private Executor asyncExecutor = ForkJoinPool.commonPool();
 
     private WorkflowStateSerializer<GraphWorkflowState<I>> customSerializer;
+    private WorkflowStateStore stateStore;
+    private CheckpointStore checkpointStore;
+    private WorkflowJournal<I> journal;
 
     /**
      * Creates a new builder with the specified input type for enhanced type safety.
@@ -112,6 +125,60 @@ public class GraphWorkflowBuilder<I, O> {
         return this;
     }
 
+    /**
+     * Sets the store suspended states are persisted to. Suspended
+     * executions can then be resumed by workflow ID.
+     *
+     * @param stateStore The state store
+     * @return This builder
+     */
+    public GraphWorkflowBuilder<I, O> stateStore(
+        WorkflowStateStore stateStore
+    ) {
+        this.stateStore = Objects.requireNonNull(
+            stateStore,
+            "State store cannot be null"
+        );
+        return this;
+    }
+
+    /**
+     * Sets the store running executions are checkpointed to, after the
+     * steps selected by the configuration's
+     * {@link WorkflowConfiguration#getCheckpointPolicy() checkpoint policy}.
+     * Incomplete executions can then be recovered with
+     * {@link GraphWorkflowImpl#recoverAll()}.
+     *
+     * @param checkpointStore The checkpoint store
+     * @return This builder
+     */
+    public GraphWorkflowBuilder<I, O> checkpointStore(
+        CheckpointStore checkpointStore
+    ) {
+        this.checkpointStore = Objects.requireNonNull(
+            checkpointStore,
+            "Checkpoint store cannot be null"
+        );
+        return this;
+    }
+
+    /**
+     * Sets the journal executions are recorded in. Each execution is
+     * journaled as a snapshot of the state it starts from followed by the
+     * delta of every step, so any of its states can be rebuilt with
+     * {@link WorkflowJournal#replay(dev.agents4j.api.graph.WorkflowId)}.
+     *
+     * @param journal The workflow journal
+     * @return This builder
+     */
+    public GraphWorkflowBuilder<I, O> journal(WorkflowJournal<I> journal) {
+        this.journal = Objects.requireNonNull(
+            journal,
+            "Journal cannot be null"
+        );
+        return this;
+    }
+
     /**
      * Adds a node to the workflow.
      *
@@ -216,6 +283,28 @@ public class GraphWorkflowBuilder<I, O> {
         return this;
     }
 
+    /**
+     * Runs asynchronous starts and resumes, and parallel fork branches, on
+     * virtual threads. Blocking nodes then park a virtual thread instead of
+     * starving the common pool. Virtual threads are detected at runtime; on
+     * JVMs older than Java 21 the current executor is kept and a warning is
+     * logged.
+     *
+     * @return This builder
+     */
+    public GraphWorkflowBuilder<I, O> virtualThreads() {
+        if (VirtualThreads.isAvailable()) {
+            this.asyncExecutor = VirtualThreads.shared();
+        } else {
+            LOGGER.warning(
+                "Virtual threads are not available on Java " +
+                Runtime.version().feature() +
+                "; keeping the configured async executor"
+            );
+        }
+        return this;
+    }
+
     /**
      * Builds an enhanced workflow instance with type safety.
      *
@@ -230,23 +319,6 @@ public class GraphWorkflowBuilder<I, O> {
             );
         }
 
-        if (customSerializer != null) {
-            return new GraphWorkflowImpl<>(
-                name,
-                version,
-                inputType,
-                Map.copyOf(nodes),
-                Map.copyOf(edges),
-                Set.copyOf(entryPointIds),
-                defaultEntryPointId,
-                outputExtractor,
-                configuration,
-                monitor,
-                asyncExecutor,
-                customSerializer
-            );
-        }
-
         return new GraphWorkflowImpl<>(
             name,
             version,
@@ -258,7 +330,11 @@ public class GraphWorkflowBuilder<I, O> {
             outputExtractor,
             configuration,
             monitor,
-            asyncExecutor
+            asyncExecutor,
+            customSerializer != null
+                ? customSerializer
+                : new JsonGraphWorkflowStateSerializer<>(inputType, version),
+            new GraphWorkflowImpl.Persistence<>(stateStore, checkpointStore, journal)
         );
     }
 
@@ -0,0 +1,168 @@
+package dev.agents4j.workflow.checkpoint;
+
+import dev.agents4j.api.graph.WorkflowId;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The state of a running workflow as written by a checkpoint, positioned at
+ * the node the workflow was about to run.
+ *
+ * <p>The state bytes are whatever the workflow's serializer produced, so
+ * stores never need to decode them. A checkpoint may hold a full state
+ * followed by the deltas written since, in order; the node, step and
+ * creation time are those of the latest delta. Stores fold long delta
+ * chains back into a full state with
+ * {@link CheckpointStore#compact(WorkflowId, int, java.util.function.Function)}.</p>
+ */
+public record Checkpoint(
+    WorkflowId workflowId,
+    String workflowName,
+    String workflowVersion,
+    String nodeId,
+    long step,
+    Instant createdAt,
+    byte[] state,
+    List<byte[]> deltas
+) {
+    public Checkpoint {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Objects.requireNonNull(workflowName, "Workflow name cannot be null");
+        Objects.requireNonNull(
+            workflowVersion,
+            "Workflow version cannot be null"
+        );
+        Objects.requireNonNull(nodeId, "Node ID cannot be null");
+        Objects.requireNonNull(createdAt, "Created at cannot be null");
+        Objects.requireNonNull(state, "State cannot be null");
+        Objects.requireNonNull(deltas, "Deltas cannot be null");
+        deltas = List.copyOf(deltas);
+    }
+
+    /**
+     * Creates a checkpoint holding a full state.
+     */
+    public Checkpoint(
+        WorkflowId workflowId,
+        String workflowName,
+        String workflowVersion,
+        String nodeId,
+        long step,
+        Instant createdAt,
+        byte[] state
+    ) {
+        this(
+            workflowId,
+            workflowName,
+            workflowVersion,
+            nodeId,
+            step,
+            createdAt,
+            state,
+            List.of()
+        );
+    }
+
+    /**
+     * Creates a copy of this checkpoint moved to a later step by a delta.
+     *
+     * @param nodeId The node the workflow is about to run
+     * @param step The step the delta was written after
+     * @param createdAt The time the delta was written
+     * @param delta The serialized delta from the previous step
+     * @return The extended checkpoint
+     */
+    public Checkpoint withDelta(
+        String nodeId,
+        long step,
+        Instant createdAt,
+        byte[] delta
+    ) {
+        Objects.requireNonNull(delta, "Delta cannot be null");
+        List<byte[]> extended = new ArrayList<>(deltas.size() + 1);
+        extended.addAll(deltas);
+        extended.add(delta);
+        return new Checkpoint(
+            workflowId,
+            workflowName,
+            workflowVersion,
+            nodeId,
+            step,
+            createdAt,
+            state,
+            extended
+        );
+    }
+
+    /**
+     * Creates a copy of this checkpoint holding the given full state in
+     * place of its state and deltas.
+     *
+     * @param fullState The serialized state with all deltas applied
+     * @return The compacted checkpoint
+     */
+    public Checkpoint compacted(byte[] fullState) {
+        return new Checkpoint(
+            workflowId,
+            workflowName,
+            workflowVersion,
+            nodeId,
+            step,
+            createdAt,
+            fullState
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Checkpoint other)) return false;
+        if (
+            step != other.step ||
+            !workflowId.equals(other.workflowId) ||
+            !workflowName.equals(other.workflowName) ||
+            !workflowVersion.equals(other.workflowVersion) ||
+            !nodeId.equals(other.nodeId) ||
+            !createdAt.equals(other.createdAt) ||
+            !Arrays.equals(state, other.state) ||
+            deltas.size() != other.deltas.size()
+        ) {
+            return false;
+        }
+        for (int i = 0; i < deltas.size(); i++) {
+            if (!Arrays.equals(deltas.get(i), other.deltas.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(workflowId, workflowName, step);
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "Checkpoint{workflowId=" +
+            workflowId.value() +
+            ", workflowName='" +
+            workflowName +
+            "', nodeId='" +
+            nodeId +
+            "', step=" +
+            step +
+            ", createdAt=" +
+            createdAt +
+            ", stateBytes=" +
+            state.length +
+            ", deltas=" +
+            deltas.size() +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,105 @@
+package dev.agents4j.workflow.checkpoint;
+
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides after which steps a running workflow writes a checkpoint.
+ *
+ * <p>The policy is consulted after every node that moves the workflow on
+ * to another node, with the node that just completed and the progress
+ * since the last checkpoint of that execution. Checkpoints are written off
+ * the executing thread, so a policy only decides how much work a crash can
+ * cost, not how fast the workflow runs.</p>
+ */
+@FunctionalInterface
+public interface CheckpointPolicy {
+    /**
+     * Decides whether to checkpoint after a step.
+     *
+     * @param completedNode The node that just completed
+     * @param stepsSinceCheckpoint The steps completed since the last
+     *     checkpoint, including this one
+     * @param sinceCheckpoint The time since the last checkpoint, or since
+     *     the execution started
+     * @return true to checkpoint the state after this step
+     */
+    boolean shouldCheckpoint(
+        GraphWorkflowNode<?> completedNode,
+        int stepsSinceCheckpoint,
+        Duration sinceCheckpoint
+    );
+
+    /**
+     * Combines this policy with another; a checkpoint is written when
+     * either asks for one.
+     *
+     * @param other The other policy
+     * @return The combined policy
+     */
+    default CheckpointPolicy or(CheckpointPolicy other) {
+        Objects.requireNonNull(other, "Other policy cannot be null");
+        return (node, steps, elapsed) ->
+            shouldCheckpoint(node, steps, elapsed) ||
+            other.shouldCheckpoint(node, steps, elapsed);
+    }
+
+    /**
+     * Never checkpoints. This is the default.
+     *
+     * @return The policy
+     */
+    static CheckpointPolicy never() {
+        return (node, steps, elapsed) -> false;
+    }
+
+    /**
+     * Checkpoints after every given number of steps.
+     *
+     * @param steps The number of steps between checkpoints
+     * @return The policy
+     */
+    static CheckpointPolicy everySteps(int steps) {
+        if (steps <= 0) {
+            throw new IllegalArgumentException("Steps must be positive");
+        }
+        return (node, sinceCheckpoint, elapsed) -> sinceCheckpoint >= steps;
+    }
+
+    /**
+     * Checkpoints after nodes carrying the given tag.
+     *
+     * @param tag The node tag
+     * @return The policy
+     */
+    static CheckpointPolicy afterTaggedNodes(String tag) {
+        Objects.requireNonNull(tag, "Tag cannot be null");
+        return (node, steps, elapsed) -> node.getTags().contains(tag);
+    }
+
+    /**
+     * Checkpoints after nodes tagged
+     * {@link GraphWorkflowNode#EXPENSIVE_TAG}, such as LLM calls, so a
+     * restart does not pay for them again.
+     *
+     * @return The policy
+     */
+    static CheckpointPolicy afterExpensiveNodes() {
+        return afterTaggedNodes(GraphWorkflowNode.EXPENSIVE_TAG);
+    }
+
+    /**
+     * Checkpoints once the given time has passed since the last checkpoint.
+     *
+     * @param interval The minimum time between checkpoints
+     * @return The policy
+     */
+    static CheckpointPolicy every(Duration interval) {
+        Objects.requireNonNull(interval, "Interval cannot be null");
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("Interval cannot be negative");
+        }
+        return (node, steps, elapsed) -> elapsed.compareTo(interval) >= 0;
+    }
+}
@@ -0,0 +1,136 @@
+package dev.agents4j.workflow.checkpoint;
+
+import dev.agents4j.api.graph.WorkflowId;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Storage for the checkpoints of running workflows. A store holds the
+ * latest checkpoint of each workflow execution; the checkpoint is removed
+ * when the execution completes, suspends or fails, so whatever is left
+ * after a restart belongs to executions that never finished.
+ *
+ * <p>A checkpoint may be extended with deltas rather than rewritten, and
+ * folded back into a full state once its delta chain grows too long. The
+ * checkpoints of one workflow execution are written by a single writer at a
+ * time, so these read-modify-write defaults do not race with each other.</p>
+ *
+ * <p>Implementations must be safe for concurrent use.</p>
+ */
+public interface CheckpointStore extends AutoCloseable {
+    /**
+     * Stores a checkpoint, replacing any checkpoint of the same workflow.
+     *
+     * @param checkpoint The checkpoint
+     * @throws CheckpointStoreException if the checkpoint cannot be stored
+     */
+    void save(Checkpoint checkpoint);
+
+    /**
+     * Extends the checkpoint of a workflow with a delta, moving it to a later
+     * step. The default saves the checkpoint again with the delta added;
+     * stores override it to write only the delta.
+     *
+     * @param workflowId The workflow ID
+     * @param nodeId The node the workflow is about to run
+     * @param step The step the delta was written after
+     * @param createdAt The time the delta was written
+     * @param delta The serialized delta from the checkpoint's latest state
+     * @return true if the delta was added, false if the workflow has no
+     *     checkpoint to extend
+     * @throws CheckpointStoreException if the delta cannot be stored
+     */
+    default boolean appendDelta(
+        WorkflowId workflowId,
+        String nodeId,
+        long step,
+        Instant createdAt,
+        byte[] delta
+    ) {
+        Optional<Checkpoint> checkpoint = get(workflowId);
+        if (checkpoint.isEmpty()) {
+            return false;
+        }
+        save(checkpoint.get().withDelta(nodeId, step, createdAt, delta));
+        return true;
+    }
+
+    /**
+     * Folds the deltas of a workflow's checkpoint into a full state once it
+     * holds more than the given number of them. The store cannot decode
+     * states, so the caller supplies the folding.
+     *
+     * @param workflowId The workflow ID
+     * @param maxDeltas The number of deltas the checkpoint may keep
+     * @param folder Serializes the full state of a checkpoint, with all of
+     *     its deltas applied
+     * @return true if the checkpoint was compacted
+     * @throws CheckpointStoreException if the compacted checkpoint cannot be
+     *     stored
+     */
+    default boolean compact(
+        WorkflowId workflowId,
+        int maxDeltas,
+        Function<Checkpoint, byte[]> folder
+    ) {
+        Optional<Checkpoint> checkpoint = get(workflowId);
+        if (
+            checkpoint.isEmpty() ||
+            checkpoint.get().deltas().size() <= maxDeltas
+        ) {
+            return false;
+        }
+        save(checkpoint.get().compacted(folder.apply(checkpoint.get())));
+        return true;
+    }
+
+    /**
+     * Gets the checkpoint of a workflow.
+     *
+     * @param workflowId The workflow ID
+     * @return The checkpoint, or empty if there is none
+     * @throws CheckpointStoreException if the store cannot be read
+     */
+    Optional<Checkpoint> get(WorkflowId workflowId);
+
+    /**
+     * Removes the checkpoint of a workflow.
+     *
+     * @param workflowId The workflow ID
+     * @return true if a checkpoint was removed
+     * @throws CheckpointStoreException if the removal cannot be recorded
+     */
+    boolean delete(WorkflowId workflowId);
+
+    /**
+     * Lists all checkpoints in the store.
+     *
+     * @return The checkpoints
+     * @throws CheckpointStoreException if the store cannot be read
+     */
+    List<Checkpoint> list();
+
+    /**
+     * Releases the resources held by the store. The default does nothing.
+     */
+    @Override
+    default void close() {}
+
+    /**
+     * Exception thrown when a store cannot read or write its storage.
+     */
+    class CheckpointStoreException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public CheckpointStoreException(String message) {
+            super(message);
+        }
+
+        public CheckpointStoreException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package dev.agents4j.workflow.checkpoint;
+
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.serialization.WorkflowStateSerializer;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.DeserializationException;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.VersionMismatchException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the checkpoints of a workflow's executions, as decided by a
+ * {@link CheckpointPolicy}, without blocking the executing thread.
+ *
+ * <p>Each workflow execution has a lane holding at most one pending
+ * checkpoint. A step that asks for a checkpoint replaces the pending one
+ * and only schedules a writer when none is running, so a fast chain of
+ * nodes produces one write for its latest state rather than one per step.
+ * The writer drains the lane in order, so a stale checkpoint never
+ * overwrites a newer one and the deletion on completion always comes last.
+ * Serialization and deletion happen on the writer as well, outside the
+ * lane's lock.</p>
+ *
+ * <p>With a serializer that {@link WorkflowStateSerializer#supportsDeltas()
+ * supports deltas}, only the first checkpoint of an execution is written in
+ * full. Later ones are appended as the delta from the previous checkpoint,
+ * and once more than {@code maxDeltas} have piled up the store folds them
+ * back into a full state.</p>
+ *
+ * @param <I> The workflow input type
+ */
+public final class Checkpointer<I> {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        Checkpointer.class.getName()
+    );
+
+    private final String workflowName;
+    private final String workflowVersion;
+    private final CheckpointPolicy policy;
+    private final CheckpointStore store;
+    private final WorkflowStateSerializer<GraphWorkflowState<I>> serializer;
+    private final Executor writer;
+    private final int maxDeltas;
+    private final Clock clock;
+    private final ConcurrentMap<WorkflowId, Lane<I>> lanes =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Creates a checkpointer that writes every checkpoint in full.
+     *
+     * @param workflowName The workflow name recorded with each checkpoint
+     * @param workflowVersion The version states are serialized with
+     * @param policy The checkpoint policy
+     * @param store The checkpoint store
+     * @param serializer The state serializer
+     * @param writer The executor checkpoints are written on
+     */
+    public Checkpointer(
+        String workflowName,
+        String workflowVersion,
+        CheckpointPolicy policy,
+        CheckpointStore store,
+        WorkflowStateSerializer<GraphWorkflowState<I>> serializer,
+        Executor writer
+    ) {
+        this(workflowName, workflowVersion, policy, store, serializer, writer, 0);
+    }
+
+    /**
+     * Creates a checkpointer.
+     *
+     * @param workflowName The workflow name recorded with each checkpoint
+     * @param workflowVersion The version states are serialized with
+     * @param policy The checkpoint policy
+     * @param store The checkpoint store
+     * @param serializer The state serializer
+     * @param writer The executor checkpoints are written on
+     * @param maxDeltas The number of deltas a checkpoint may hold before it
+     *     is compacted, 0 to write every checkpoint in full
+     */
+    public Checkpointer(
+        String workflowName,
+        String workflowVersion,
+        CheckpointPolicy policy,
+        CheckpointStore store,
+        WorkflowStateSerializer<GraphWorkflowState<I>> serializer,
+        Executor writer,
+        int maxDeltas
+    ) {
+        this.workflowName = Objects.requireNonNull(
+            workflowName,
+            "Workflow name cannot be null"
+        );
+        this.workflowVersion = Objects.requireNonNull(
+            workflowVersion,
+            "Workflow version cannot be null"
+        );
+        this.policy = Objects.requireNonNull(policy, "Policy cannot be null");
+        this.store = Objects.requireNonNull(store, "Store cannot be null");
+        this.serializer = Objects.requireNonNull(
+            serializer,
+            "Serializer cannot be null"
+        );
+        this.writer = Objects.requireNonNull(writer, "Writer cannot be null");
+        if (maxDeltas < 0) {
+            throw new IllegalArgumentException(
+                "Max deltas cannot be negative"
+            );
+        }
+        this.maxDeltas = serializer.supportsDeltas() ? maxDeltas : 0;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Gets the store checkpoints are written to.
+     *
+     * @return The checkpoint store
+     */
+    public CheckpointStore store() {
+        return store;
+    }
+
+    /**
+     * Checks whether an execution of the workflow is running in this
+     * process, or still has checkpoint writes outstanding.
+     *
+     * @param workflowId The workflow ID
+     * @return true if the execution has not finished here
+     */
+    public boolean isRunning(WorkflowId workflowId) {
+        return lanes.containsKey(workflowId);
+    }
+
+    /**
+     * Rebuilds the state held by a checkpoint by applying its deltas to its
+     * full state.
+     *
+     * @param checkpoint The checkpoint
+     * @return The checkpointed state
+     * @throws DeserializationException if the state or a delta cannot be read
+     * @throws VersionMismatchException if the state was written by an
+     *     incompatible workflow version
+     */
+    public GraphWorkflowState<I> restore(Checkpoint checkpoint)
+        throws DeserializationException, VersionMismatchException {
+        GraphWorkflowState<I> state = serializer.deserialize(
+            checkpoint.state(),
+            workflowVersion
+        );
+        for (byte[] delta : checkpoint.deltas()) {
+            state = serializer.applyDelta(state, delta, workflowVersion);
+        }
+        return state;
+    }
+
+    /**
+     * Records a completed step of the main walk and schedules a checkpoint
+     * of the next state if the policy asks for one.
+     *
+     * @param completedNode The node that just completed
+     * @param nextState The state positioned at the next node
+     */
+    public void afterStep(
+        GraphWorkflowNode<I> completedNode,
+        GraphWorkflowState<I> nextState
+    ) {
+        while (true) {
+            Lane<I> lane = laneOf(nextState.workflowId());
+            boolean schedule;
+            synchronized (lane) {
+                if (lane.retired) {
+                    continue;
+                }
+                if (lane.finished) {
+                    // A new execution of the ID while the last one drains
+                    lane.finished = false;
+                    lane.steps = 0;
+                    lane.stepsSinceCheckpoint = 0;
+                }
+                lane.steps++;
+                lane.stepsSinceCheckpoint++;
+                Duration sinceCheckpoint = Duration.ofNanos(
+                    System.nanoTime() - lane.lastCheckpointNanos
+                );
+                if (
+                    !policy.shouldCheckpoint(
+                        completedNode,
+                        lane.stepsSinceCheckpoint,
+                        sinceCheckpoint
+                    )
+                ) {
+                    return;
+                }
+                lane.stepsSinceCheckpoint = 0;
+                lane.lastCheckpointNanos = System.nanoTime();
+                lane.pending = nextState;
+                lane.pendingStep = lane.steps;
+                schedule = !lane.draining;
+                lane.draining = true;
+            }
+            if (schedule) {
+                submit(nextState.workflowId(), lane);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Discards any pending checkpoint of an execution that completed,
+     * suspended or failed for good, and removes its stored checkpoint.
+     *
+     * @param workflowId The workflow ID
+     */
+    public void finish(WorkflowId workflowId) {
+        end(workflowId, true);
+    }
+
+    /**
+     * Stops tracking an execution that failed with a recoverable error,
+     * such as a rate-limited model call. Its pending checkpoint is still
+     * written and its stored checkpoint is kept, so the execution can be
+     * recovered from it.
+     *
+     * @param workflowId The workflow ID
+     */
+    public void release(WorkflowId workflowId) {
+        end(workflowId, false);
+    }
+
+    private void end(WorkflowId workflowId, boolean deleteStored) {
+        while (true) {
+            // Go through the lane even if nothing was checkpointed here: a
+            // recovered execution still has a checkpoint to remove
+            Lane<I> lane = laneOf(workflowId);
+            boolean schedule;
+            synchronized (lane) {
+                if (lane.retired) {
+                    continue;
+                }
+                if (deleteStored) {
+                    lane.pending = null;
+                    lane.delete = true;
+                }
+                lane.finished = true;
+                schedule = !lane.draining;
+                lane.draining = true;
+            }
+            if (schedule) {
+                submit(workflowId, lane);
+            }
+            return;
+        }
+    }
+
+    private Lane<I> laneOf(WorkflowId workflowId) {
+        return lanes.computeIfAbsent(workflowId, id ->
+            new Lane<>(System.nanoTime())
+        );
+    }
+
+    private void submit(WorkflowId workflowId, Lane<I> lane) {
+        try {
+            writer.execute(() -> drain(workflowId, lane));
+        } catch (RuntimeException e) {
+            // A rejected writer must not stop the workflow
+            drain(workflowId, lane);
+        }
+    }
+
+    /**
+     * Writes the lane's pending work until it is empty. Only one drain runs
+     * per lane at a time.
+     */
+    private void drain(WorkflowId workflowId, Lane<I> lane) {
+        while (true) {
+            GraphWorkflowState<I> state;
+            long step;
+            boolean delete;
+            synchronized (lane) {
+                state = lane.pending;
+                step = lane.pendingStep;
+                delete = lane.delete;
+                lane.pending = null;
+                lane.delete = false;
+                if (state == null && !delete) {
+                    if (lane.finished) {
+                        lane.retired = true;
+                        lanes.remove(workflowId, lane);
+                    }
+                    lane.draining = false;
+                    return;
+                }
+            }
+            // A new execution of this ID only checkpoints through this
+            // drain, so its first write cannot land before the deletion
+            if (delete) {
+                delete(workflowId);
+                lane.written = null;
+            }
+            if (state != null) {
+                write(lane, state, step);
+            }
+        }
+    }
+
+    /**
+     * Writes a checkpoint, as a delta from the lane's last written state
+     * when possible. A failed write leaves no base, so the next checkpoint
+     * is written in full.
+     */
+    private void write(Lane<I> lane, GraphWorkflowState<I> state, long step) {
+        GraphWorkflowState<I> base = lane.written;
+        String nodeId = state.currentNode().map(NodeId::value).orElse("unknown");
+        try {
+            if (base != null && maxDeltas > 0) {
+                byte[] delta = serializer.serializeDelta(
+                    base,
+                    state,
+                    workflowVersion
+                );
+                if (
+                    store.appendDelta(
+                        state.workflowId(),
+                        nodeId,
+                        step,
+                        clock.instant(),
+                        delta
+                    )
+                ) {
+                    lane.written = state;
+                    if (++lane.deltas > maxDeltas) {
+                        store.compact(state.workflowId(), maxDeltas, this::fold);
+                        lane.deltas = 0;
+                    }
+                    return;
+                }
+            }
+            store.save(
+                new Checkpoint(
+                    state.workflowId(),
+                    workflowName,
+                    workflowVersion,
+                    nodeId,
+                    step,
+                    clock.instant(),
+                    serializer.serializeToBytes(state, workflowVersion)
+                )
+            );
+            lane.written = state;
+            lane.deltas = 0;
+        } catch (Exception e) {
+            lane.written = null;
+            LOGGER.log(
+                Level.WARNING,
+                "Failed to checkpoint workflow " + state.workflowId().value(),
+                e
+            );
+        }
+    }
+
+    private byte[] fold(Checkpoint checkpoint) {
+        try {
+            return serializer.serializeToBytes(
+                restore(checkpoint),
+                workflowVersion
+            );
+        } catch (Exception e) {
+            throw new CheckpointStore.CheckpointStoreException(
+                "Cannot fold deltas of checkpoint of workflow " +
+                checkpoint.workflowId().value(),
+                e
+            );
+        }
+    }
+
+    private void delete(WorkflowId workflowId) {
+        try {
+            store.delete(workflowId);
+        } catch (RuntimeException e) {
+            LOGGER.log(
+                Level.WARNING,
+                "Failed to delete checkpoint of workflow " + workflowId.value(),
+                e
+            );
+        }
+    }
+
+    /**
+     * Checkpoint progress and pending work of one workflow execution.
+     */
+    private static final class Lane<I> {
+
+        private long steps;
+        private int stepsSinceCheckpoint;
+        private long lastCheckpointNanos;
+        private GraphWorkflowState<I> pending;
+        private long pendingStep;
+        private GraphWorkflowState<I> written;
+        private int deltas;
+        private boolean delete;
+        private boolean finished;
+        private boolean draining;
+        private boolean retired;
+
+        private Lane(long startNanos) {
+            this.lastCheckpointNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package dev.agents4j.workflow.checkpoint;
+
+import dev.agents4j.api.graph.WorkflowId;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Checkpoint store that keeps one file per workflow in a directory.
+ *
+ * <p>Each checkpoint is written to a temporary file that then atomically
+ * replaces the workflow's checkpoint file, so a crash mid-write leaves the
+ * previous checkpoint intact. Files carry a checksum; damaged or foreign
+ * files are skipped by {@link #list()} and reported as absent by
+ * {@link #get(WorkflowId)}.</p>
+ *
+ * <p>Deltas are appended to the file as separately checksummed records
+ * without rewriting the full state before them. A delta torn by a crash
+ * ends the chain, leaving the checkpoint at the last intact delta.</p>
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        FileCheckpointStore.class.getName()
+    );
+
+    private static final int MAGIC = 0x41344350; // "A4CP"
+    private static final int FORMAT_VERSION = 2;
+    /** First format version, without deltas. */
+    private static final int FORMAT_VERSION_1 = 1;
+    private static final String SUFFIX = ".ckpt";
+
+    private final Path directory;
+    private final boolean syncOnWrite;
+
+    /**
+     * Creates a store in the given directory that syncs every write.
+     *
+     * @param directory The directory, created if missing
+     */
+    public FileCheckpointStore(Path directory) {
+        this(directory, true);
+    }
+
+    /**
+     * Creates a store in the given directory.
+     *
+     * @param directory The directory, created if missing
+     * @param syncOnWrite true to force each checkpoint to disk before it
+     *     replaces the previous one
+     */
+    public FileCheckpointStore(Path directory, boolean syncOnWrite) {
+        this.directory = Objects.requireNonNull(
+            directory,
+            "Directory cannot be null"
+        );
+        this.syncOnWrite = syncOnWrite;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new CheckpointStoreException(
+                "Cannot create checkpoint directory " + directory,
+                e
+            );
+        }
+    }
+
+    @Override
+    public void save(Checkpoint checkpoint) {
+        Objects.requireNonNull(checkpoint, "Checkpoint cannot be null");
+        Path target = fileOf(checkpoint.workflowId());
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "checkpoint-", ".tmp");
+            try (
+                FileChannel channel = FileChannel.open(
+                    temp,
+                    StandardOpenOption.WRITE
+                )
+            ) {
+                ByteBuffer buffer = ByteBuffer.wrap(encode(checkpoint));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (syncOnWrite) {
+                    channel.force(true);
+                }
+            }
+            Files.move(
+                temp,
+                target,
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING
+            );
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new CheckpointStoreException(
+                "Cannot write checkpoint of workflow " +
+                checkpoint.workflowId().value(),
+                e
+            );
+        }
+    }
+
+    @Override
+    public boolean appendDelta(
+        WorkflowId workflowId,
+        String nodeId,
+        long step,
+        Instant createdAt,
+        byte[] delta
+    ) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        try (
+            FileChannel channel = FileChannel.open(
+                fileOf(workflowId),
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+            )
+        ) {
+            ByteBuffer buffer = ByteBuffer.wrap(
+                encodeDelta(nodeId, step, createdAt, delta)
+            );
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (syncOnWrite) {
+                channel.force(true);
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new CheckpointStoreException(
+                "Cannot append delta to checkpoint of workflow " +
+                workflowId.value(),
+                e
+            );
+        }
+    }
+
+    @Override
+    public Optional<Checkpoint> get(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return read(fileOf(workflowId));
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        try {
+            return Files.deleteIfExists(fileOf(workflowId));
+        } catch (IOException e) {
+            throw new CheckpointStoreException(
+                "Cannot delete checkpoint of workflow " + workflowId.value(),
+                e
+            );
+        }
+    }
+
+    @Override
+    public List<Checkpoint> list() {
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        try (
+            DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory,
+                "*" + SUFFIX
+            )
+        ) {
+            for (Path file : files) {
+                read(file).ifPresent(checkpoints::add);
+            }
+        } catch (IOException e) {
+            throw new CheckpointStoreException(
+                "Cannot list checkpoints in " + directory,
+                e
+            );
+        }
+        return checkpoints;
+    }
+
+    private Path fileOf(WorkflowId workflowId) {
+        // Workflow IDs are free-form; encode them into safe file names
+        return directory.resolve(
+            Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(
+                    workflowId.value().getBytes(StandardCharsets.UTF_8)
+                ) +
+            SUFFIX
+        );
+    }
+
+    private Optional<Checkpoint> read(Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new CheckpointStoreException(
+                "Cannot read checkpoint " + file,
+                e
+            );
+        }
+        try {
+            return Optional.of(decode(file, bytes));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(
+                "Skipping damaged checkpoint " + file + ": " + e.getMessage()
+            );
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] encode(Checkpoint checkpoint) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+            checkpoint.state().length + 256
+        );
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(checkpoint.workflowId().value());
+            out.writeUTF(checkpoint.workflowName());
+            out.writeUTF(checkpoint.workflowVersion());
+            out.writeUTF(checkpoint.nodeId());
+            out.writeLong(checkpoint.step());
+            out.writeLong(checkpoint.createdAt().getEpochSecond());
+            out.writeInt(checkpoint.createdAt().getNano());
+            out.writeInt(checkpoint.state().length);
+            out.write(checkpoint.state());
+            CRC32C crc = new CRC32C();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+            // A reader takes the node and step of the last delta, so the
+            // deltas saved with the state all carry the latest ones
+            for (byte[] delta : checkpoint.deltas()) {
+                out.write(
+                    encodeDelta(
+                        checkpoint.nodeId(),
+                        checkpoint.step(),
+                        checkpoint.createdAt(),
+                        delta
+                    )
+                );
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a delta record: the payload length, the payload holding the
+     * node, step, creation time and delta bytes, and the payload checksum.
+     */
+    private static byte[] encodeDelta(
+        String nodeId,
+        long step,
+        Instant createdAt,
+        byte[] delta
+    ) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(
+            delta.length + 64
+        );
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeUTF(nodeId);
+            out.writeLong(step);
+            out.writeLong(createdAt.getEpochSecond());
+            out.writeInt(createdAt.getNano());
+            out.write(delta);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = payload.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return ByteBuffer.allocate(bytes.length + Integer.BYTES * 2)
+            .putInt(bytes.length)
+            .put(bytes)
+            .putInt((int) crc.getValue())
+            .array();
+    }
+
+    private static Checkpoint decode(Path file, byte[] bytes)
+        throws IOException {
+        if (bytes.length < Integer.BYTES * 2) {
+            throw new IOException("Truncated checkpoint");
+        }
+        ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a checkpoint file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != FORMAT_VERSION && version != FORMAT_VERSION_1) {
+            throw new IOException("Unsupported checkpoint format " + version);
+        }
+        WorkflowId workflowId = WorkflowId.of(in.readUTF());
+        String workflowName = in.readUTF();
+        String workflowVersion = in.readUTF();
+        String nodeId = in.readUTF();
+        long step = in.readLong();
+        Instant createdAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+        byte[] state = new byte[in.readInt()];
+        in.readFully(state);
+
+        int headerEnd = bytes.length - stream.available();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, headerEnd);
+        if ((int) crc.getValue() != in.readInt()) {
+            throw new IOException("Checksum mismatch");
+        }
+
+        ByteBuffer records = ByteBuffer.wrap(bytes);
+        records.position(headerEnd + Integer.BYTES);
+        List<byte[]> deltas = new ArrayList<>();
+        while (records.hasRemaining()) {
+            if (records.remaining() < Integer.BYTES * 2) {
+                LOGGER.warning("Ignoring torn delta at the end of " + file);
+                break;
+            }
+            int length = records.getInt();
+            if (length < 0 || length > records.remaining() - Integer.BYTES) {
+                LOGGER.warning("Ignoring torn delta at the end of " + file);
+                break;
+            }
+            int offset = records.position();
+            crc.reset();
+            crc.update(bytes, offset, length);
+            if ((int) crc.getValue() != records.getInt(offset + length)) {
+                LOGGER.warning("Ignoring damaged delta at the end of " + file);
+                break;
+            }
+            DataInputStream delta = new DataInputStream(
+                new ByteArrayInputStream(bytes, offset, length)
+            );
+            nodeId = delta.readUTF();
+            step = delta.readLong();
+            createdAt = Instant.ofEpochSecond(delta.readLong(), delta.readInt());
+            deltas.add(delta.readAllBytes());
+            records.position(offset + length + Integer.BYTES);
+        }
+        return new Checkpoint(
+            workflowId,
+            workflowName,
+            workflowVersion,
+            nodeId,
+            step,
+            createdAt,
+            state,
+            deltas
+        );
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // The temporary file is left behind; it never matches *.ckpt
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.agents4j.workflow.checkpoint;
+
+import dev.agents4j.api.graph.WorkflowId;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Checkpoint store that keeps checkpoints in memory. Checkpoints do not
+ * survive a restart, so this store is meant for tests and for recovering
+ * executions abandoned within the same process.
+ */
+public class InMemoryCheckpointStore implements CheckpointStore {
+
+    private final ConcurrentMap<WorkflowId, Checkpoint> checkpoints =
+        new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Checkpoint checkpoint) {
+        Objects.requireNonNull(checkpoint, "Checkpoint cannot be null");
+        checkpoints.put(checkpoint.workflowId(), checkpoint);
+    }
+
+    @Override
+    public boolean appendDelta(
+        WorkflowId workflowId,
+        String nodeId,
+        long step,
+        Instant createdAt,
+        byte[] delta
+    ) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return (
+            checkpoints.computeIfPresent(workflowId, (id, checkpoint) ->
+                checkpoint.withDelta(nodeId, step, createdAt, delta)
+            ) !=
+            null
+        );
+    }
+
+    @Override
+    public Optional<Checkpoint> get(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return Optional.ofNullable(checkpoints.get(workflowId));
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return checkpoints.remove(workflowId) != null;
+    }
+
+    @Override
+    public List<Checkpoint> list() {
+        return List.copyOf(checkpoints.values());
+    }
+}
@@ -1,7 +1,9 @@
 package dev.agents4j.workflow.config;
 
+import dev.agents4j.workflow.checkpoint.CheckpointPolicy;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Configuration for workflow execution.
@@ -12,12 +14,24 @@ public class WorkflowConfiguration {
     private final Duration maxExecutionTime;
     private final boolean detectCycles;
     private final boolean allowCycles;
+    private final boolean recordEdgeContext;
+    private final CheckpointPolicy checkpointPolicy;
+    private final int journalSnapshotInterval;
+    private final boolean deleteCompletedJournals;
+    private final int maxCheckpointDeltas;
+    private final Duration joinTimeout;
 
     private WorkflowConfiguration(Builder builder) {
         this.maxExecutionSteps = builder.maxExecutionSteps;
         this.maxExecutionTime = builder.maxExecutionTime;
         this.detectCycles = builder.detectCycles;
         this.allowCycles = builder.allowCycles;
+        this.recordEdgeContext = builder.recordEdgeContext;
+        this.checkpointPolicy = builder.checkpointPolicy;
+        this.journalSnapshotInterval = builder.journalSnapshotInterval;
+        this.deleteCompletedJournals = builder.deleteCompletedJournals;
+        this.maxCheckpointDeltas = builder.maxCheckpointDeltas;
+        this.joinTimeout = builder.joinTimeout;
     }
 
     /**
@@ -56,6 +70,67 @@ public class WorkflowConfiguration {
         return allowCycles;
     }
 
+    /**
+     * Checks if traversed edges are recorded in the workflow context.
+     *
+     * @return true if the last edge ID and time are written to the context
+     */
+    public boolean isRecordEdgeContext() {
+        return recordEdgeContext;
+    }
+
+    /**
+     * Gets the policy deciding after which steps running executions are
+     * checkpointed. Checkpoints are only written by workflows built with a
+     * checkpoint store.
+     *
+     * @return The checkpoint policy
+     */
+    public CheckpointPolicy getCheckpointPolicy() {
+        return checkpointPolicy;
+    }
+
+    /**
+     * Gets the number of journal entries recorded between two snapshots of
+     * a running execution. Only used by workflows built with a journal.
+     *
+     * @return The snapshot interval in steps
+     */
+    public int getJournalSnapshotInterval() {
+        return journalSnapshotInterval;
+    }
+
+    /**
+     * Checks if the journal of an execution is deleted when it completes.
+     * Suspended and failed executions keep their journal either way.
+     *
+     * @return true if completed executions' journals are deleted
+     */
+    public boolean isDeleteCompletedJournals() {
+        return deleteCompletedJournals;
+    }
+
+    /**
+     * Gets the number of deltas a checkpoint may hold before its store folds
+     * them into a full state.
+     *
+     * @return The maximum number of checkpoint deltas, 0 for full states only
+     */
+    public int getMaxCheckpointDeltas() {
+        return maxCheckpointDeltas;
+    }
+
+    /**
+     * Gets the time fork branches have to satisfy their join, counted from
+     * the fork.
+     *
+     * @return The join timeout, or empty if joins are bounded only by the
+     *     maximum execution time and the timeouts of join commands
+     */
+    public Optional<Duration> getJoinTimeout() {
+        return Optional.ofNullable(joinTimeout);
+    }
+
     /**
      * Creates a default configuration.
      *
@@ -87,6 +162,12 @@ public class WorkflowConfiguration {
         private Duration maxExecutionTime = Duration.ofMinutes(5);
         private boolean detectCycles = true;
         private boolean allowCycles = false;
+        private boolean recordEdgeContext = true;
+        private CheckpointPolicy checkpointPolicy = CheckpointPolicy.never();
+        private int journalSnapshotInterval = 64;
+        private boolean deleteCompletedJournals = false;
+        private int maxCheckpointDeltas = 16;
+        private Duration joinTimeout;
 
         /**
          * Sets the maximum execution steps.
@@ -132,6 +213,98 @@ public class WorkflowConfiguration {
             return this;
         }
 
+        /**
+         * Sets whether to record each traversed edge in the workflow context
+         * under {@code workflow.lastEdgeId} and {@code workflow.lastEdgeTime}.
+         * Disabling it saves a context update per step when nothing reads
+         * those keys.
+         *
+         * @param recordEdgeContext true to record traversed edges
+         * @return This builder instance
+         */
+        public Builder recordEdgeContext(boolean recordEdgeContext) {
+            this.recordEdgeContext = recordEdgeContext;
+            return this;
+        }
+
+        /**
+         * Sets the policy deciding after which steps running executions are
+         * checkpointed, so they can be recovered after a crash without
+         * running the completed nodes again. Defaults to never.
+         *
+         * @param checkpointPolicy The checkpoint policy
+         * @return This builder instance
+         */
+        public Builder checkpointPolicy(CheckpointPolicy checkpointPolicy) {
+            this.checkpointPolicy = Objects.requireNonNull(checkpointPolicy, "Checkpoint policy cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets how many journal entries are recorded before the next step
+         * is written as a full snapshot instead, bounding the number of
+         * entries a replay applies. Defaults to 64.
+         *
+         * @param journalSnapshotInterval The snapshot interval in steps
+         * @return This builder instance
+         */
+        public Builder journalSnapshotInterval(int journalSnapshotInterval) {
+            if (journalSnapshotInterval < 1) {
+                throw new IllegalArgumentException("Journal snapshot interval must be positive");
+            }
+            this.journalSnapshotInterval = journalSnapshotInterval;
+            return this;
+        }
+
+        /**
+         * Sets whether the journal of an execution is deleted when it
+         * completes, like its checkpoint. Journals are kept by default, so
+         * finished executions can still be replayed; suspended and failed
+         * executions always keep theirs.
+         *
+         * @param deleteCompletedJournals true to delete completed journals
+         * @return This builder instance
+         */
+        public Builder deleteCompletedJournals(boolean deleteCompletedJournals) {
+            this.deleteCompletedJournals = deleteCompletedJournals;
+            return this;
+        }
+
+        /**
+         * Sets how many deltas a checkpoint may hold before its store folds
+         * them into a full state. With a serializer that supports deltas,
+         * each checkpoint after the first is written as the change since the
+         * previous one. Defaults to 16; 0 writes every checkpoint in full.
+         *
+         * @param maxCheckpointDeltas The maximum number of checkpoint deltas
+         * @return This builder instance
+         */
+        public Builder maxCheckpointDeltas(int maxCheckpointDeltas) {
+            if (maxCheckpointDeltas < 0) {
+                throw new IllegalArgumentException("Max checkpoint deltas cannot be negative");
+            }
+            this.maxCheckpointDeltas = maxCheckpointDeltas;
+            return this;
+        }
+
+        /**
+         * Sets the time fork branches have to satisfy their join, counted
+         * from the fork, so that branches which never reach the join do not
+         * hold the workflow until its deadline. A join command with a
+         * shorter timeout still applies. Unset by default.
+         *
+         * @param joinTimeout The join timeout
+         * @return This builder instance
+         */
+        public Builder joinTimeout(Duration joinTimeout) {
+            Objects.requireNonNull(joinTimeout, "Join timeout cannot be null");
+            if (joinTimeout.isNegative() || joinTimeout.isZero()) {
+                throw new IllegalArgumentException("Join timeout must be positive");
+            }
+            this.joinTimeout = joinTimeout;
+            return this;
+        }
+
         /**
          * Builds a new WorkflowConfiguration.
          *
@@ -1,11 +1,15 @@
 package dev.agents4j.workflow.context;
 
 import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ContextKeyRegistry;
+import dev.agents4j.api.context.ContextSlot;
 import java.time.Instant;
 
 /**
  * Context keys used by the workflow implementation.
  * These keys are used to store and retrieve values from the workflow context.
+ * All of them are registered with {@link ContextKeyRegistry}; the matching
+ * slots give array-backed access on hot paths.
  */
 public class WorkflowContextKeys {
 
@@ -51,6 +55,60 @@ public class WorkflowContextKeys {
     public static final ContextKey<Instant> LAST_EDGE_TIME =
         ContextKey.of("workflow.lastEdgeTime", Instant.class);
 
+    /**
+     * The ID of the suspension whose timeout resumed the workflow.
+     */
+    public static final ContextKey<String> TIMED_OUT_SUSPENSION_ID =
+        ContextKey.of("workflow.timedOutSuspensionId", String.class);
+
+    /**
+     * Slot of {@link #WORKFLOW_ID}.
+     */
+    public static final ContextSlot<String> WORKFLOW_ID_SLOT =
+        ContextKeyRegistry.register(WORKFLOW_ID);
+
+    /**
+     * Slot of {@link #WORKFLOW_NAME}.
+     */
+    public static final ContextSlot<String> WORKFLOW_NAME_SLOT =
+        ContextKeyRegistry.register(WORKFLOW_NAME);
+
+    /**
+     * Slot of {@link #WORKFLOW_START_TIME}.
+     */
+    public static final ContextSlot<Instant> WORKFLOW_START_TIME_SLOT =
+        ContextKeyRegistry.register(WORKFLOW_START_TIME);
+
+    /**
+     * Slot of {@link #WORKFLOW_RESUMED_TIME}.
+     */
+    public static final ContextSlot<Instant> WORKFLOW_RESUMED_TIME_SLOT =
+        ContextKeyRegistry.register(WORKFLOW_RESUMED_TIME);
+
+    /**
+     * Slot of {@link #WORKFLOW_RESUMED_COUNT}.
+     */
+    public static final ContextSlot<Integer> WORKFLOW_RESUMED_COUNT_SLOT =
+        ContextKeyRegistry.register(WORKFLOW_RESUMED_COUNT);
+
+    /**
+     * Slot of {@link #LAST_EDGE_ID}.
+     */
+    public static final ContextSlot<String> LAST_EDGE_ID_SLOT =
+        ContextKeyRegistry.register(LAST_EDGE_ID);
+
+    /**
+     * Slot of {@link #LAST_EDGE_TIME}.
+     */
+    public static final ContextSlot<Instant> LAST_EDGE_TIME_SLOT =
+        ContextKeyRegistry.register(LAST_EDGE_TIME);
+
+    /**
+     * Slot of {@link #TIMED_OUT_SUSPENSION_ID}.
+     */
+    public static final ContextSlot<String> TIMED_OUT_SUSPENSION_ID_SLOT =
+        ContextKeyRegistry.register(TIMED_OUT_SUSPENSION_ID);
+
     // Private constructor to prevent instantiation
     private WorkflowContextKeys() {}
 }
\ No newline at end of file
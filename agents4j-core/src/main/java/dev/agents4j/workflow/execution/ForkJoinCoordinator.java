@@ -0,0 +1,435 @@
+package dev.agents4j.workflow.execution;
+
+import dev.agents4j.api.execution.CancellationToken;
+import dev.agents4j.api.graph.GraphCommandJoin;
+import dev.agents4j.api.graph.GraphCommandJoin.JoinStrategy;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.result.error.SystemError;
+import dev.agents4j.api.result.error.WorkflowError;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the branches of a single fork and decides when the join is satisfied.
+ * The join strategy and timeout are taken from the first branch that reaches a
+ * {@link GraphCommandJoin}; branches that complete without a join count as
+ * successful and default to {@link JoinStrategy#WAIT_ALL} semantics.
+ *
+ * <p>Join timeouts are measured from the fork. A default timeout given at
+ * construction runs from the start, so a fork whose branches all hang
+ * before reaching the join still fails with {@code JOIN_TIMEOUT}. Once the
+ * join is resolved, the outstanding branch tasks are cancelled and their
+ * cancellation tokens are signalled, which stops the nodes still running
+ * in them. Pending timeouts are cancelled too, so a resolved fork is not
+ * kept reachable by its timer until the timeout would have elapsed.</p>
+ *
+ * <p>State is guarded by a {@link ReentrantLock} rather than a monitor, and
+ * the join outcome is completed after the lock is released: completing it
+ * runs the workflow continuation, which may block on node I/O and must not
+ * pin a virtual thread's carrier or hold up other branches.</p>
+ *
+ * @param <I> The workflow state data type
+ */
+final class ForkJoinCoordinator<I> {
+
+    private final String workflowName;
+    private final int branchCount;
+    private final long forkStartNanos;
+    private final List<Future<?>> tasks = new ArrayList<>();
+    private final List<CancellationToken> branchTokens = new ArrayList<>();
+    private final List<ScheduledFuture<?>> timeouts = new ArrayList<>();
+    private final List<BranchResult<I>> successes = new ArrayList<>();
+    private final List<WorkflowError> failures = new ArrayList<>();
+    private final CompletableFuture<JoinOutcome<I>> outcome =
+        new CompletableFuture<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean resolved;
+    private JoinStrategy strategy;
+    private NodeId joinNode;
+
+    /**
+     * Creates a coordinator for a fork that starts now.
+     *
+     * @param workflowName The workflow name, for errors
+     * @param branchCount The number of branches forked
+     * @param timeout The default join timeout, counted from now; a join
+     *     command with a shorter timeout resolves the join earlier
+     */
+    ForkJoinCoordinator(
+        String workflowName,
+        int branchCount,
+        Optional<Duration> timeout
+    ) {
+        this.workflowName = workflowName;
+        this.branchCount = branchCount;
+        this.forkStartNanos = System.nanoTime();
+        timeout.ifPresent(this::scheduleTimeout);
+    }
+
+    /**
+     * Registers a running branch task so that it can be cancelled once the
+     * join is resolved.
+     *
+     * @param task The branch task
+     */
+    void register(Future<?> task) {
+        lock.lock();
+        try {
+            if (!resolved) {
+                tasks.add(task);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        task.cancel(true);
+    }
+
+    /**
+     * Registers the cancellation token of a branch so that the nodes still
+     * running in it are signalled once the join is resolved.
+     *
+     * @param branchToken The branch's token
+     */
+    void register(CancellationToken branchToken) {
+        lock.lock();
+        try {
+            if (!resolved) {
+                branchTokens.add(branchToken);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        branchToken.cancel();
+    }
+
+    /**
+     * Checks whether the join has already been decided. Branches use this to
+     * stop early once their result can no longer matter.
+     *
+     * @return true if the join is resolved
+     */
+    boolean isResolved() {
+        return resolved;
+    }
+
+    /**
+     * Gets the future that completes when the join is resolved.
+     *
+     * @return The join outcome future
+     */
+    CompletableFuture<JoinOutcome<I>> outcome() {
+        return outcome;
+    }
+
+    /**
+     * Records a branch that reached a join or completed.
+     *
+     * @param branch The branch entry node
+     * @param state The branch state at the point it finished
+     * @param join The join command, if the branch ended with one
+     */
+    void onBranchSucceeded(
+        NodeId branch,
+        GraphWorkflowState<I> state,
+        Optional<GraphCommandJoin<I>> join
+    ) {
+        JoinOutcome<I> resolution;
+        lock.lock();
+        try {
+            resolution = recordSuccess(branch, state, join);
+        } finally {
+            lock.unlock();
+        }
+        publish(resolution);
+    }
+
+    private JoinOutcome<I> recordSuccess(
+        NodeId branch,
+        GraphWorkflowState<I> state,
+        Optional<GraphCommandJoin<I>> join
+    ) {
+        if (resolved) {
+            return null;
+        }
+        if (join.isPresent()) {
+            GraphCommandJoin<I> command = join.get();
+            if (joinNode == null) {
+                joinNode = command.joinNode();
+                strategy = command.strategy();
+                command.timeout().ifPresent(this::scheduleTimeout);
+            } else if (!joinNode.equals(command.joinNode())) {
+                return resolve(
+                    JoinOutcome.failed(
+                        SystemError.of(
+                            "JOIN_NODE_MISMATCH",
+                            "Branch " +
+                            branch.value() +
+                            " joins at " +
+                            command.joinNode().value() +
+                            " but other branches join at " +
+                            joinNode.value(),
+                            workflowName
+                        )
+                    )
+                );
+            }
+        }
+        successes.add(new BranchResult<>(branch, state));
+        return evaluate();
+    }
+
+    /**
+     * Records a branch that failed, suspended or was otherwise unable to reach the join.
+     *
+     * @param branch The branch entry node
+     * @param error The branch error
+     */
+    void onBranchFailed(NodeId branch, WorkflowError error) {
+        JoinOutcome<I> resolution = null;
+        lock.lock();
+        try {
+            if (!resolved) {
+                failures.add(error);
+                resolution = evaluate();
+            }
+        } finally {
+            lock.unlock();
+        }
+        publish(resolution);
+    }
+
+    /**
+     * Abandons the join, cancelling every branch that is still running.
+     *
+     * @param error The error to resolve the join with
+     */
+    void fail(WorkflowError error) {
+        JoinOutcome<I> resolution = null;
+        lock.lock();
+        try {
+            if (!resolved) {
+                resolution = resolve(JoinOutcome.failed(error));
+            }
+        } finally {
+            lock.unlock();
+        }
+        publish(resolution);
+    }
+
+    /**
+     * Decides whether the join is resolved by the branches finished so far.
+     *
+     * @return The resolution to publish, or null if the join is still open
+     */
+    private JoinOutcome<I> evaluate() {
+        int finished = successes.size() + failures.size();
+        int remaining = branchCount - finished;
+        JoinStrategy effective = strategy != null
+            ? strategy
+            : JoinStrategy.WAIT_ALL;
+        int required = requiredBranches(effective);
+
+        if (strategy != null && successes.size() >= required) {
+            return resolve(
+                JoinOutcome.joined(joinNode, List.copyOf(successes))
+            );
+        } else if (remaining == 0) {
+            if (successes.size() >= required) {
+                return resolve(
+                    JoinOutcome.joined(joinNode, List.copyOf(successes))
+                );
+            }
+            return resolve(
+                JoinOutcome.failed(joinFailure(effective, required))
+            );
+        } else if (
+            strategy != null && successes.size() + remaining < required
+        ) {
+            return resolve(
+                JoinOutcome.failed(joinFailure(effective, required))
+            );
+        }
+        return null;
+    }
+
+    private int requiredBranches(JoinStrategy joinStrategy) {
+        return switch (joinStrategy) {
+            case WAIT_ALL -> branchCount;
+            case WAIT_ANY -> 1;
+            case WAIT_MAJORITY -> branchCount / 2 + 1;
+        };
+    }
+
+    private WorkflowError joinFailure(JoinStrategy joinStrategy, int required) {
+        if (failures.size() == 1 && required == branchCount) {
+            return failures.get(0);
+        }
+        return SystemError.of(
+            "JOIN_FAILED",
+            String.format(
+                "%s join could not be satisfied: %d of %d branches succeeded, %d required%s",
+                joinStrategy,
+                successes.size(),
+                branchCount,
+                required,
+                failures.isEmpty()
+                    ? ""
+                    : " (first failure: " + failures.get(0).message() + ")"
+            ),
+            workflowName
+        );
+    }
+
+    private void scheduleTimeout(Duration timeout) {
+        if (resolved) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - forkStartNanos;
+        long remainingNanos = timeout.toNanos() - elapsedNanos;
+        if (remainingNanos <= 0) {
+            // Called with the lock held; publish once the caller releases it
+            CompletableFuture.runAsync(() -> onTimeout(timeout));
+            return;
+        }
+        // The timer thread only hands off; publishing runs the continuation
+        timeouts.add(
+            JoinTimer.EXECUTOR.schedule(
+                () -> CompletableFuture.runAsync(() -> onTimeout(timeout)),
+                remainingNanos,
+                TimeUnit.NANOSECONDS
+            )
+        );
+    }
+
+    private void onTimeout(Duration timeout) {
+        JoinOutcome<I> resolution = null;
+        lock.lock();
+        try {
+            if (!resolved) {
+                resolution = resolve(
+                    JoinOutcome.failed(
+                        SystemError.of(
+                            "JOIN_TIMEOUT",
+                            String.format(
+                                "Join at %s timed out after %s with %d of %d branches finished",
+                                joinNode != null ? joinNode.value() : "(unknown)",
+                                timeout,
+                                successes.size() + failures.size(),
+                                branchCount
+                            ),
+                            workflowName
+                        )
+                    )
+                );
+            }
+        } finally {
+            lock.unlock();
+        }
+        publish(resolution);
+    }
+
+    /**
+     * Marks the join as resolved. Must be called with the lock held; the
+     * result is published by {@link #publish} after the lock is released.
+     */
+    private JoinOutcome<I> resolve(JoinOutcome<I> result) {
+        resolved = true;
+        return result;
+    }
+
+    /**
+     * Cancels the outstanding branches and completes the outcome. Only the
+     * thread that resolved the join gets a non-null resolution, and no task
+     * or token is registered once the join is resolved. Tokens of branches
+     * that already finished are cancelled too, which only detaches them from
+     * the execution's token.
+     */
+    private void publish(JoinOutcome<I> resolution) {
+        if (resolution == null) {
+            return;
+        }
+        for (CancellationToken branchToken : branchTokens) {
+            branchToken.cancel();
+        }
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+        for (ScheduledFuture<?> timer : timeouts) {
+            timer.cancel(false);
+        }
+        outcome.complete(resolution);
+    }
+
+    /**
+     * Schedules join timeouts on a single daemon thread shared by all forks.
+     */
+    private static final class JoinTimer {
+
+        private static final ScheduledThreadPoolExecutor EXECUTOR =
+            createExecutor();
+
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            ScheduledThreadPoolExecutor executor =
+                new ScheduledThreadPoolExecutor(1, runnable -> {
+                    Thread thread = new Thread(
+                        runnable,
+                        "agents4j-join-timer"
+                    );
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            // Resolved joins must not linger in the queue until their timeout
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    /**
+     * The final state of a branch that reached the join.
+     *
+     * @param branch The branch entry node
+     * @param state The branch state
+     * @param <I> The workflow state data type
+     */
+    record BranchResult<I>(NodeId branch, GraphWorkflowState<I> state) {}
+
+    /**
+     * Result of a join: either the successful branches in completion order or an error.
+     *
+     * @param joinNode The node to continue at, or null if all branches completed
+     * @param branches The successful branches in completion order
+     * @param error The error if the join could not be satisfied
+     * @param <I> The workflow state data type
+     */
+    record JoinOutcome<I>(
+        NodeId joinNode,
+        List<BranchResult<I>> branches,
+        WorkflowError error
+    ) {
+        static <I> JoinOutcome<I> joined(
+            NodeId joinNode,
+            List<BranchResult<I>> branches
+        ) {
+            return new JoinOutcome<>(joinNode, branches, null);
+        }
+
+        static <I> JoinOutcome<I> failed(WorkflowError error) {
+            return new JoinOutcome<>(null, List.of(), error);
+        }
+
+        boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
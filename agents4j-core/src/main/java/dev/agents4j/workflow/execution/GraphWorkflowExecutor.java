@@ -1,6 +1,8 @@
 package dev.agents4j.workflow.execution;
 
+import dev.agents4j.api.context.ContextKey;
 import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.execution.CancellationToken;
 import dev.agents4j.api.graph.*;
 import dev.agents4j.api.graph.EdgeId;
 import dev.agents4j.api.graph.GraphCommand;
@@ -8,39 +10,82 @@ import dev.agents4j.api.graph.GraphEdge;
 import dev.agents4j.api.graph.GraphWorkflowNode;
 import dev.agents4j.api.graph.GraphWorkflowState;
 import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.StateDelta;
 import dev.agents4j.api.result.WorkflowResult;
 import dev.agents4j.api.result.error.SystemError;
 import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.api.suspension.WorkflowSuspension;
+import dev.agents4j.workflow.checkpoint.Checkpointer;
 import dev.agents4j.workflow.config.WorkflowConfiguration;
 import dev.agents4j.workflow.context.WorkflowContextKeys;
+import dev.agents4j.workflow.execution.ForkJoinCoordinator.BranchResult;
+import dev.agents4j.workflow.execution.ForkJoinCoordinator.JoinOutcome;
+import dev.agents4j.workflow.journal.StateJournaler;
 import dev.agents4j.workflow.monitor.WorkflowMonitor;
 import dev.agents4j.workflow.output.OutputExtractor;
-import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Executor for graph workflows.
  * Handles the execution of workflow nodes and transitions between them.
+ * Fork commands run their branches on the configured branch executor and
+ * resume at the join node once the join strategy is satisfied.
+ *
+ * <p>{@link #executeWorkflowAsync} runs the same walk without blocking on
+ * {@link AsyncGraphWorkflowNode}s: each step is chained as a continuation of
+ * the node's stage, so workflows waiting on I/O do not hold a thread. Plain
+ * nodes run inline on the thread driving the walk.</p>
+ *
+ * <p>Each execution carries a {@link CancellationToken} bounded by the
+ * configured maximum execution time. The token is bound to the thread while a
+ * node is processed, so nodes can size their own timeouts to the remaining
+ * budget; when it fires, the node's thread is interrupted, a pending async
+ * node is abandoned and the workflow fails. Cancelling the future returned by
+ * {@link #executeWorkflowAsync} cancels the token.</p>
  *
  * @param <I> The input type for the workflow
  * @param <O> The output type for the workflow
  */
 public class GraphWorkflowExecutor<I, O> {
 
+    private static final String UNKNOWN_VERSION = "unknown";
+
     private final String workflowName;
     private final Map<NodeId, GraphWorkflowNode<I>> nodes;
-    private final Map<EdgeId, GraphEdge> edges;
+    private final GraphTopology topology;
     private final OutputExtractor<I, O> outputExtractor;
     private final WorkflowConfiguration configuration;
     private final WorkflowMonitor monitor;
+    private final Executor branchExecutor;
+    private final Executor continuationExecutor;
+    private final Checkpointer<I> checkpointer;
+    private final StateJournaler<I> journaler;
+    private final String workflowVersion;
 
     /**
      * Creates a new executor for the given workflow components.
+     * Fork branches run on the common fork-join pool.
      *
      * @param workflowName The workflow name
      * @param nodes The workflow nodes
@@ -56,13 +101,185 @@ public class GraphWorkflowExecutor<I, O> {
         OutputExtractor<I, O> outputExtractor,
         WorkflowConfiguration configuration,
         WorkflowMonitor monitor
+    ) {
+        this(
+            workflowName,
+            nodes,
+            edges,
+            outputExtractor,
+            configuration,
+            monitor,
+            ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Creates a new executor for the given workflow components.
+     * The adjacency index is compiled from the given edges.
+     *
+     * @param workflowName The workflow name
+     * @param nodes The workflow nodes
+     * @param edges The workflow edges
+     * @param outputExtractor The output extractor
+     * @param configuration The workflow configuration
+     * @param monitor The workflow monitor
+     * @param branchExecutor The executor used to run parallel fork branches
+     */
+    public GraphWorkflowExecutor(
+        String workflowName,
+        Map<NodeId, GraphWorkflowNode<I>> nodes,
+        Map<EdgeId, GraphEdge> edges,
+        OutputExtractor<I, O> outputExtractor,
+        WorkflowConfiguration configuration,
+        WorkflowMonitor monitor,
+        Executor branchExecutor
+    ) {
+        this(
+            workflowName,
+            nodes,
+            GraphTopology.of(edges.values()),
+            outputExtractor,
+            configuration,
+            monitor,
+            branchExecutor
+        );
+    }
+
+    /**
+     * Creates a new executor for the given workflow components.
+     *
+     * @param workflowName The workflow name
+     * @param nodes The workflow nodes
+     * @param topology The compiled adjacency index of the workflow edges
+     * @param outputExtractor The output extractor
+     * @param configuration The workflow configuration
+     * @param monitor The workflow monitor
+     * @param branchExecutor The executor used to run parallel fork branches
+     */
+    public GraphWorkflowExecutor(
+        String workflowName,
+        Map<NodeId, GraphWorkflowNode<I>> nodes,
+        GraphTopology topology,
+        OutputExtractor<I, O> outputExtractor,
+        WorkflowConfiguration configuration,
+        WorkflowMonitor monitor,
+        Executor branchExecutor
+    ) {
+        this(
+            workflowName,
+            nodes,
+            topology,
+            outputExtractor,
+            configuration,
+            monitor,
+            branchExecutor,
+            null,
+            null,
+            UNKNOWN_VERSION
+        );
+    }
+
+    private GraphWorkflowExecutor(
+        String workflowName,
+        Map<NodeId, GraphWorkflowNode<I>> nodes,
+        GraphTopology topology,
+        OutputExtractor<I, O> outputExtractor,
+        WorkflowConfiguration configuration,
+        WorkflowMonitor monitor,
+        Executor branchExecutor,
+        Checkpointer<I> checkpointer,
+        StateJournaler<I> journaler,
+        String workflowVersion
     ) {
         this.workflowName = workflowName;
         this.nodes = nodes;
-        this.edges = edges;
+        this.topology = topology;
         this.outputExtractor = outputExtractor;
         this.configuration = configuration;
         this.monitor = monitor;
+        this.branchExecutor = branchExecutor;
+        this.continuationExecutor = task -> {
+            try {
+                branchExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Saturated executor: continue on the completing thread instead
+                task.run();
+            }
+        };
+        this.checkpointer = checkpointer;
+        this.journaler = journaler;
+        this.workflowVersion = workflowVersion;
+    }
+
+    /**
+     * Creates a copy of this executor that checkpoints the main walk of
+     * each execution after the steps its policy selects, and discards the
+     * checkpoint once the execution completes, suspends or fails.
+     *
+     * @param checkpointer The checkpointer
+     * @return A new executor
+     */
+    public GraphWorkflowExecutor<I, O> withCheckpointer(
+        Checkpointer<I> checkpointer
+    ) {
+        return new GraphWorkflowExecutor<>(
+            workflowName,
+            nodes,
+            topology,
+            outputExtractor,
+            configuration,
+            monitor,
+            branchExecutor,
+            Objects.requireNonNull(checkpointer, "Checkpointer cannot be null"),
+            journaler,
+            workflowVersion
+        );
+    }
+
+    /**
+     * Creates a copy of this executor that records the main walk of each
+     * execution in a journal: a snapshot of the state it starts from, then
+     * the command and state delta of every step.
+     *
+     * @param journaler The journaler
+     * @return A new executor
+     */
+    public GraphWorkflowExecutor<I, O> withJournaler(StateJournaler<I> journaler) {
+        return new GraphWorkflowExecutor<>(
+            workflowName,
+            nodes,
+            topology,
+            outputExtractor,
+            configuration,
+            monitor,
+            branchExecutor,
+            checkpointer,
+            Objects.requireNonNull(journaler, "Journaler cannot be null"),
+            workflowVersion
+        );
+    }
+
+    /**
+     * Creates a copy of this executor that records the given workflow
+     * version on the suspensions it returns. Executors created without a
+     * version record {@code "unknown"}.
+     *
+     * @param workflowVersion The workflow version
+     * @return A new executor
+     */
+    public GraphWorkflowExecutor<I, O> withWorkflowVersion(String workflowVersion) {
+        return new GraphWorkflowExecutor<>(
+            workflowName,
+            nodes,
+            topology,
+            outputExtractor,
+            configuration,
+            monitor,
+            branchExecutor,
+            checkpointer,
+            journaler,
+            Objects.requireNonNull(workflowVersion, "Workflow version cannot be null")
+        );
     }
 
     /**
@@ -74,96 +291,165 @@ public class GraphWorkflowExecutor<I, O> {
     public WorkflowResult<O, WorkflowError> executeWorkflow(
         GraphWorkflowState<I> state
     ) {
-        Instant startTime = Instant.now();
-        int stepCount = 0;
-        Set<String> visitedNodes = new HashSet<>();
-        GraphWorkflowState<I> currentState = state;
+        ExecutionRun run = newRun();
+        beginJournal(state);
+        StepOutcome<I> outcome;
+        try {
+            outcome = executeSteps(run, state, new HashSet<>(), null);
+        } finally {
+            run.token.release();
+        }
+        return toWorkflowResult(outcome);
+    }
 
-        while (true) {
-            // Check step count limit
-            if (stepCount >= configuration.getMaxExecutionSteps()) {
-                WorkflowError error = SystemError.of(
-                    "MAX_STEPS_EXCEEDED",
-                    "Workflow execution exceeded maximum allowed steps: " +
-                    configuration.getMaxExecutionSteps(),
-                    workflowName
-                );
-                monitor.onWorkflowError(
-                    currentState.workflowId(),
-                    error,
-                    currentState,
-                    null
-                );
-                return WorkflowResult.failure(error);
+    /**
+     * Executes a workflow from the given state without blocking on async
+     * nodes. The walk starts on the branch executor and the returned future
+     * completes when the workflow completes, suspends or fails. Cancelling
+     * the returned future stops the walk and abandons the node it is waiting
+     * on.
+     *
+     * @param state The workflow state to execute from
+     * @return A future completing with the workflow execution result
+     */
+    public CompletableFuture<
+        WorkflowResult<O, WorkflowError>
+    > executeWorkflowAsync(GraphWorkflowState<I> state) {
+        ExecutionRun run = newRun();
+        beginJournal(state);
+        AsyncWalk walk = new AsyncWalk(run, new HashSet<>(), null);
+        CancellationToken.Registration abandon = run.token.onCancel(() ->
+            continuationExecutor.execute(walk::abandon)
+        );
+        continuationExecutor.execute(() -> walk.start(state));
+
+        CompletableFuture<WorkflowResult<O, WorkflowError>> result = walk
+            .outcome()
+            .thenApply(this::toWorkflowResult);
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                run.token.cancel();
+            } else {
+                abandon.remove();
+                run.token.release();
             }
+        });
+        return result;
+    }
 
-            stepCount++;
+    private ExecutionRun newRun() {
+        return new ExecutionRun(
+            CancellationToken.withTimeout(configuration.getMaxExecutionTime())
+        );
+    }
 
-            // Check execution timeout
-            Duration elapsed = Duration.between(startTime, Instant.now());
-            if (elapsed.compareTo(configuration.getMaxExecutionTime()) > 0) {
-                WorkflowError error = SystemError.of(
-                    "EXECUTION_TIMEOUT",
-                    "Workflow execution exceeded maximum allowed time of " +
-                    configuration.getMaxExecutionTime(),
-                    workflowName
-                );
-                monitor.onWorkflowError(
-                    currentState.workflowId(),
-                    error,
-                    currentState,
-                    null
-                );
-                return WorkflowResult.failure(error);
-            }
+    /**
+     * Converts the outcome of a top-level walk into a workflow result,
+     * reporting it to the monitor.
+     */
+    private WorkflowResult<O, WorkflowError> toWorkflowResult(
+        StepOutcome<I> outcome
+    ) {
+        if (outcome instanceof Completed<I> completed) {
+            GraphWorkflowState<I> finalState = completed.state();
+            finishExecution(finalState, true, false);
+            monitor.onWorkflowCompleted(finalState.workflowId(), finalState);
+
+            O output = outputExtractor.extract(finalState);
+            return WorkflowResult.success(output, finalState.context());
+        }
+
+        if (outcome instanceof Suspended<I> suspended) {
+            GraphWorkflowState<I> suspendedState = suspended.state();
+            finishExecution(suspendedState, false, false);
+            monitor.onWorkflowSuspended(
+                suspendedState.workflowId(),
+                suspendedState
+            );
 
-            // Get current node
-            NodeId currentNodeId = currentState
-                .currentNode()
-                .orElseThrow(() ->
-                    new IllegalStateException(
-                        "No current node in workflow state"
+            // Use the suspension ID, reason and timeout from the command
+            GraphCommandSuspend<I> command = suspended.command();
+            if (command.timeout().isPresent()) {
+                return WorkflowResult.suspended(
+                    WorkflowSuspension.withTimeout(
+                        command.suspensionId(),
+                        suspendedState,
+                        command.reason(),
+                        command.timeout().get(),
+                        workflowVersion
                     )
                 );
+            }
+            return WorkflowResult.suspended(
+                WorkflowSuspension.of(
+                    command.suspensionId(),
+                    suspendedState,
+                    command.reason(),
+                    workflowVersion
+                )
+            );
+        }
+
+        Failed<I> failed = (Failed<I>) outcome;
+        finishExecution(
+            failed.state(),
+            false,
+            failed.error().isRecoverable()
+        );
+        if (failed.reportToMonitor()) {
+            monitor.onWorkflowError(
+                failed.state().workflowId(),
+                failed.error(),
+                failed.state(),
+                null
+            );
+        }
 
+        if (failed.extractOutput()) {
+            // Try to extract output even from error state
+            O output = outputExtractor.extractFromError(
+                failed.state(),
+                failed.error()
+            );
+            if (output != null) {
+                return WorkflowResult.failure(failed.error(), output);
+            }
+        }
+        return WorkflowResult.failure(failed.error());
+    }
+
+    /**
+     * Walks the graph from the given state until the workflow completes,
+     * suspends or fails, or - when running as a fork branch - until a node
+     * returns a join command.
+     *
+     * @param run The execution run shared by all branches of this execution
+     * @param state The state to start from
+     * @param visitedNodes Node keys visited on this walk, for cycle detection
+     * @param branchOf The fork this walk is a branch of, or null for the main walk
+     * @return The outcome of the walk
+     */
+    private StepOutcome<I> executeSteps(
+        ExecutionRun run,
+        GraphWorkflowState<I> state,
+        Set<String> visitedNodes,
+        ForkJoinCoordinator<I> branchOf
+    ) {
+        GraphWorkflowState<I> currentState = state;
+
+        while (true) {
+            NodeId currentNodeId = currentNodeOf(currentState);
             GraphWorkflowNode<I> currentNode = nodes.get(currentNodeId);
-            if (currentNode == null) {
-                WorkflowError error = SystemError.of(
-                    "NODE_NOT_FOUND",
-                    "Node not found: " + currentNodeId.value(),
-                    workflowName
-                );
-                monitor.onWorkflowError(
-                    currentState.workflowId(),
-                    error,
-                    currentState,
-                    null
-                );
-                return WorkflowResult.failure(error);
-            }
-
-            // Check for cycles if configured
-            if (configuration.isDetectCycles()) {
-                String nodeKey = currentNodeId.value();
-                if (
-                    visitedNodes.contains(nodeKey) &&
-                    !configuration.isAllowCycles()
-                ) {
-                    WorkflowError error = SystemError.of(
-                        "CYCLE_DETECTED",
-                        "Cycle detected in workflow execution at node: " +
-                        currentNodeId.value(),
-                        workflowName
-                    );
-                    monitor.onWorkflowError(
-                        currentState.workflowId(),
-                        error,
-                        currentState,
-                        null
-                    );
-                    return WorkflowResult.failure(error);
-                }
-                visitedNodes.add(nodeKey);
+            StepOutcome<I> rejected = checkStep(
+                run,
+                currentState,
+                currentNodeId,
+                currentNode,
+                visitedNodes,
+                branchOf
+            );
+            if (rejected != null) {
+                return rejected;
             }
 
             // Monitor node start
@@ -172,220 +458,824 @@ public class GraphWorkflowExecutor<I, O> {
                 currentNodeId,
                 currentState
             );
-            Instant nodeStartTime = Instant.now();
+            long nodeStartNanos = System.nanoTime();
 
             // Process node with lifecycle management
             WorkflowResult<GraphCommand<I>, WorkflowError> commandResult;
             try {
-                commandResult = currentNode.processWithLifecycle(currentState);
+                commandResult = processBound(run, currentNode, currentState);
             } catch (Exception e) {
+                if (run.token.isCancelled()) {
+                    return cancelled(run, currentState);
+                }
+                return nodeExecutionFailed(currentState, currentNodeId, e);
+            }
+            if (run.token.isCancelled()) {
+                // The node overran the deadline; its result no longer counts
+                return cancelled(run, currentState);
+            }
+
+            StepOutcome<I> next = afterNode(
+                currentState,
+                currentNodeId,
+                nodeStartNanos,
+                commandResult,
+                branchOf
+            );
+            if (next instanceof Forked<I> forked) {
+                next = executeFork(
+                    run,
+                    forked.state(),
+                    currentNodeId,
+                    forked.command(),
+                    visitedNodes
+                );
+            }
+            if (branchOf == null) {
+                afterMainStep(currentNode, commandResult, currentState, next);
+            }
+            if (!(next instanceof Continue<I> continued)) {
+                return next;
+            }
+            currentState = continued.state();
+        }
+    }
+
+    /**
+     * Gets the node the state is positioned at.
+     */
+    private NodeId currentNodeOf(GraphWorkflowState<I> state) {
+        return state
+            .currentNode()
+            .orElseThrow(() ->
+                new IllegalStateException("No current node in workflow state")
+            );
+    }
+
+    /**
+     * Checks the execution limits before a node is processed.
+     *
+     * @return {@link Failed} if the step must not run, or null to run it
+     */
+    private StepOutcome<I> checkStep(
+        ExecutionRun run,
+        GraphWorkflowState<I> currentState,
+        NodeId currentNodeId,
+        GraphWorkflowNode<I> currentNode,
+        Set<String> visitedNodes,
+        ForkJoinCoordinator<I> branchOf
+    ) {
+        // Stop branches whose join has already been decided
+        if (branchOf != null && branchOf.isResolved()) {
+            return new Failed<>(
+                SystemError.of(
+                    "BRANCH_CANCELLED",
+                    "Branch cancelled after join was resolved",
+                    workflowName
+                ),
+                currentState,
+                false,
+                false
+            );
+        }
+
+        // Check step count limit
+        if (run.stepCount.incrementAndGet() > configuration.getMaxExecutionSteps()) {
+            WorkflowError error = SystemError.of(
+                "MAX_STEPS_EXCEEDED",
+                "Workflow execution exceeded maximum allowed steps: " +
+                configuration.getMaxExecutionSteps(),
+                workflowName
+            );
+            return new Failed<>(error, currentState, true, false);
+        }
+
+        // Check execution deadline and cancellation
+        if (run.token.isCancelled()) {
+            return cancelled(run, currentState);
+        }
+
+        if (currentNode == null) {
+            WorkflowError error = SystemError.of(
+                "NODE_NOT_FOUND",
+                "Node not found: " + currentNodeId.value(),
+                workflowName
+            );
+            return new Failed<>(error, currentState, true, false);
+        }
+
+        // Check for cycles if configured
+        if (configuration.isDetectCycles()) {
+            String nodeKey = currentNodeId.value();
+            if (
+                visitedNodes.contains(nodeKey) &&
+                !configuration.isAllowCycles()
+            ) {
                 WorkflowError error = SystemError.of(
-                    "NODE_EXECUTION_ERROR",
-                    "Error executing node " +
-                    currentNodeId.value() +
-                    ": " +
-                    e.getMessage(),
+                    "CYCLE_DETECTED",
+                    "Cycle detected in workflow execution at node: " +
+                    currentNodeId.value(),
                     workflowName
                 );
-                monitor.onNodeError(
-                    currentState.workflowId(),
-                    currentNodeId,
-                    error,
+                return new Failed<>(error, currentState, true, false);
+            }
+            visitedNodes.add(nodeKey);
+        }
+        return null;
+    }
+
+    /**
+     * Reports a node that threw instead of returning a result.
+     */
+    private StepOutcome<I> nodeExecutionFailed(
+        GraphWorkflowState<I> currentState,
+        NodeId currentNodeId,
+        Exception e
+    ) {
+        WorkflowError error = SystemError.of(
+            "NODE_EXECUTION_ERROR",
+            "Error executing node " + currentNodeId.value() + ": " + e.getMessage(),
+            workflowName
+        );
+        monitor.onNodeError(
+            currentState.workflowId(),
+            currentNodeId,
+            error,
+            currentState,
+            e
+        );
+        return new Failed<>(error, currentState, false, false);
+    }
+
+    /**
+     * Handles the result of a processed node.
+     *
+     * @return {@link Continue} with the next state, {@link Forked} if the node
+     *     forked, or the outcome that ends the walk
+     */
+    private StepOutcome<I> afterNode(
+        GraphWorkflowState<I> currentState,
+        NodeId currentNodeId,
+        long nodeStartNanos,
+        WorkflowResult<GraphCommand<I>, WorkflowError> commandResult,
+        ForkJoinCoordinator<I> branchOf
+    ) {
+        // Monitor node completion
+        long processingTime = TimeUnit.NANOSECONDS.toMillis(
+            System.nanoTime() - nodeStartNanos
+        );
+        monitor.onNodeCompleted(
+            currentState.workflowId(),
+            currentNodeId,
+            currentState,
+            processingTime
+        );
+
+        // Handle node execution result
+        if (commandResult.isFailure()) {
+            // Node execution failed
+            WorkflowError error = commandResult
+                .getError()
+                .orElseThrow(() -> new RuntimeException("Unexpected error"));
+            return new Failed<>(error, currentState, true, true);
+        }
+
+        // Process the command from the node
+        GraphCommand<I> command = commandResult.getOrThrow();
+        if (command instanceof GraphCommandComplete) {
+            // Workflow is complete
+            return new Completed<>(applyUpdates(currentState, command));
+        } else if (command instanceof GraphCommandSuspend<I> suspendCommand) {
+            // Workflow is suspended
+            return new Suspended<>(
+                applyUpdates(currentState, command),
+                suspendCommand
+            );
+        } else if (command instanceof GraphCommandTraverse<I> traverseCommand) {
+            // Transition to another node
+            return new Continue<>(
+                traverse(
                     currentState,
-                    e
+                    currentNodeId,
+                    traverseCommand.targetNode(),
+                    command
+                )
+            );
+        } else if (command instanceof GraphCommandJoin<I> joinCommand) {
+            if (branchOf != null) {
+                // This branch is done; the fork decides how to continue
+                return new Joined<>(
+                    applyUpdates(currentState, command),
+                    joinCommand
                 );
-                return WorkflowResult.failure(error);
             }
+            // A join outside of a fork is trivially satisfied
+            return new Continue<>(
+                traverse(
+                    currentState,
+                    currentNodeId,
+                    joinCommand.joinNode(),
+                    command
+                )
+            );
+        } else if (command instanceof GraphCommandFork<I> forkCommand) {
+            return new Forked<>(currentState, forkCommand);
+        }
+
+        // No next node specified, but not complete or suspended
+        WorkflowError error = SystemError.of(
+            "INVALID_COMMAND",
+            "Node " +
+            currentNodeId.value() +
+            " returned invalid command: " +
+            "not complete, not suspended, and no next node specified",
+            workflowName
+        );
+        return new Failed<>(error, currentState, true, false);
+    }
+
+    /**
+     * Moves the state to the target node, applying the command's updates and
+     * recording the traversed edge.
+     */
+    private GraphWorkflowState<I> traverse(
+        GraphWorkflowState<I> currentState,
+        NodeId currentNodeId,
+        NodeId targetNodeId,
+        GraphCommand<I> command
+    ) {
+        // Find edge between current node and target node
+        Optional<GraphEdge> edge = findEdgeBetween(
+            currentNodeId,
+            targetNodeId
+        );
+
+        // Update state with new node and context updates
+        GraphWorkflowState<I> nextState;
+        if (edge.isPresent()) {
+            EdgeId edgeId = edge.get().edgeId();
+            WorkflowContext contextUpdates = command
+                .getContextUpdates()
+                .orElse(null);
+            // One clock read for the edge context and the state's timestamps
+            Instant traversedAt = Instant.now();
 
-            // Monitor node completion
-            long processingTime = Duration.between(
-                nodeStartTime,
-                Instant.now()
-            ).toMillis();
-            monitor.onNodeCompleted(
+            WorkflowContext nextContext;
+            if (configuration.isRecordEdgeContext()) {
+                // Add edge information to context
+                WorkflowContext edgeContext = WorkflowContext.empty()
+                    .withSlot(WorkflowContextKeys.LAST_EDGE_ID_SLOT, edgeId.value())
+                    .withSlot(WorkflowContextKeys.LAST_EDGE_TIME_SLOT, traversedAt);
+
+                // Combine edge context with command context updates if present
+                nextContext = contextUpdates != null
+                    ? contextUpdates.merge(edgeContext)
+                    : edgeContext;
+            } else {
+                nextContext = contextUpdates != null
+                    ? contextUpdates
+                    : WorkflowContext.empty();
+            }
+
+            // Apply the updates and traverse the edge in a single state
+            nextState = currentState.traverseEdge(
+                edgeId,
+                targetNodeId,
+                command.getStateData().orElse(currentState.data()),
+                nextContext,
+                traversedAt
+            );
+
+            // Monitor the transition
+            monitor.onNodeTransition(
                 currentState.workflowId(),
+                edgeId,
                 currentNodeId,
+                targetNodeId,
+                nextState
+            );
+        } else {
+            // No explicit edge, just move to the node
+            GraphWorkflowState<I> stateWithUpdates = applyUpdates(
                 currentState,
-                processingTime
-            );
-
-            // Handle node execution result
-            if (commandResult.isFailure()) {
-                // Node execution failed
-                WorkflowError error = commandResult
-                    .getError()
-                    .orElseThrow(() -> new RuntimeException("Unexpected error")
-                    );
-                monitor.onWorkflowError(
-                    currentState.workflowId(),
-                    error,
-                    currentState,
-                    null
-                );
+                command
+            );
 
-                // Try to extract output even from error state
-                O output = outputExtractor.extractFromError(
-                    currentState,
-                    error
-                );
-                if (output != null) {
-                    return WorkflowResult.failure(error, output);
-                }
-                return WorkflowResult.failure(error);
-            }
-
-            // Process the command from the node
-            GraphCommand<I> command = commandResult.getOrThrow();
-            if (command instanceof GraphCommandComplete) {
-                // Workflow is complete
-                GraphCommandComplete<I> completeCommand = (GraphCommandComplete<I>) command;
-                
-                // Apply any context updates if present
-                GraphWorkflowState<I> updatedState = currentState;
-                if (completeCommand.getContextUpdates().isPresent()) {
-                    updatedState = updatedState.withContext(completeCommand.getContextUpdates().get());
-                }
-                
-                // Apply any data updates if present
-                if (completeCommand.getStateData().isPresent()) {
-                    updatedState = updatedState.withData(completeCommand.getStateData().get());
-                }
-                
-                monitor.onWorkflowCompleted(
-                    updatedState.workflowId(),
-                    updatedState
+            // Move to the target node
+            nextState = stateWithUpdates.moveToNode(targetNodeId);
+
+            // Log a warning about missing edge
+            monitor.onWarning(
+                currentState.workflowId(),
+                "No explicit edge found for transition from " +
+                currentNodeId.value() +
+                " to " +
+                targetNodeId.value(),
+                nextState
+            );
+        }
+        return nextState;
+    }
+
+    /**
+     * Applies the context and data updates carried by a command.
+     */
+    private GraphWorkflowState<I> applyUpdates(
+        GraphWorkflowState<I> state,
+        GraphCommand<I> command
+    ) {
+        GraphWorkflowState<I> updatedState = state;
+
+        // Apply context updates if present
+        if (command.getContextUpdates().isPresent()) {
+            updatedState = updatedState.withContext(
+                command.getContextUpdates().get()
+            );
+        }
+
+        // Apply data updates if present
+        if (command.getStateData().isPresent()) {
+            updatedState = updatedState.withData(command.getStateData().get());
+        }
+        return updatedState;
+    }
+
+    /**
+     * Runs the branches of a fork according to its strategy and waits for the
+     * join to be satisfied.
+     *
+     * @return {@link Continue} at the join node, {@link Completed} if every
+     *     branch completed without a join, or {@link Failed}
+     */
+    private StepOutcome<I> executeFork(
+        ExecutionRun run,
+        GraphWorkflowState<I> currentState,
+        NodeId forkNodeId,
+        GraphCommandFork<I> fork,
+        Set<String> visitedNodes
+    ) {
+        GraphWorkflowState<I> forkState = applyUpdates(currentState, fork);
+        List<NodeId> branches = selectBranches(forkState, forkNodeId, fork);
+        if (branches.isEmpty()) {
+            return noBranchesSelected(forkState, forkNodeId);
+        }
+
+        ForkJoinCoordinator<I> coordinator = new ForkJoinCoordinator<>(
+            workflowName,
+            branches.size(),
+            configuration.getJoinTimeout()
+        );
+
+        for (NodeId branch : branches) {
+            GraphWorkflowState<I> branchState = traverse(
+                forkState,
+                forkNodeId,
+                branch,
+                fork
+            );
+            Set<String> branchVisited = new HashSet<>(visitedNodes);
+            ExecutionRun branchRun = run.branch();
+            coordinator.register(branchRun.token);
+            Runnable branchTask = () ->
+                runBranch(
+                    branchRun,
+                    coordinator,
+                    branch,
+                    branchState,
+                    branchVisited
                 );
-                
-                O output = outputExtractor.extract(updatedState);
-                return WorkflowResult.success(output, updatedState.context());
-            } else if (command instanceof GraphCommandSuspend) {
-                // Workflow is suspended
-                GraphCommandSuspend<I> suspendCommand = (GraphCommandSuspend<I>) command;
-                
-                // Apply any context updates if present
-                GraphWorkflowState<I> updatedState = currentState;
-                if (suspendCommand.getContextUpdates().isPresent()) {
-                    updatedState = updatedState.withContext(suspendCommand.getContextUpdates().get());
+
+            if (fork.strategy() == GraphCommandFork.ForkStrategy.SEQUENTIAL) {
+                if (coordinator.isResolved()) {
+                    break;
                 }
-                
-                // Apply any data updates if present
-                if (suspendCommand.getStateData().isPresent()) {
-                    updatedState = updatedState.withData(suspendCommand.getStateData().get());
+                branchTask.run();
+            } else {
+                FutureTask<Void> task = new FutureTask<>(branchTask, null);
+                coordinator.register(task);
+                try {
+                    branchExecutor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    // Saturated executor: run the branch on the caller instead
+                    task.run();
                 }
-                
-                monitor.onWorkflowSuspended(
-                    updatedState.workflowId(),
-                    updatedState
+            }
+        }
+
+        return afterJoin(forkState, awaitJoin(run, coordinator));
+    }
+
+    /**
+     * Runs the branches of a fork as asynchronous walks. Parallel branches
+     * start on the branch executor; sequential branches start when the
+     * previous one finishes.
+     *
+     * @return A future completing with the same outcomes as {@link #executeFork}
+     */
+    private CompletableFuture<StepOutcome<I>> executeForkAsync(
+        ExecutionRun run,
+        GraphWorkflowState<I> currentState,
+        NodeId forkNodeId,
+        GraphCommandFork<I> fork,
+        Set<String> visitedNodes
+    ) {
+        GraphWorkflowState<I> forkState = applyUpdates(currentState, fork);
+        List<NodeId> branches = selectBranches(forkState, forkNodeId, fork);
+        if (branches.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                noBranchesSelected(forkState, forkNodeId)
+            );
+        }
+
+        ForkJoinCoordinator<I> coordinator = new ForkJoinCoordinator<>(
+            workflowName,
+            branches.size(),
+            configuration.getJoinTimeout()
+        );
+
+        CompletableFuture<Void> previous = CompletableFuture.completedFuture(
+            null
+        );
+        for (NodeId branch : branches) {
+            GraphWorkflowState<I> branchState = traverse(
+                forkState,
+                forkNodeId,
+                branch,
+                fork
+            );
+            Set<String> branchVisited = new HashSet<>(visitedNodes);
+
+            if (fork.strategy() == GraphCommandFork.ForkStrategy.SEQUENTIAL) {
+                previous = previous.thenCompose(ignored ->
+                    coordinator.isResolved()
+                        ? CompletableFuture.completedFuture(null)
+                        : startBranch(
+                            run,
+                            coordinator,
+                            branch,
+                            branchState,
+                            branchVisited,
+                            null
+                        )
                 );
-                
-                // Use the suspension ID and reason from the command if available
-                String suspensionId = suspendCommand.suspensionId();
-                String reason = suspendCommand.reason();
-                
-                return WorkflowResult.suspended(
-                    suspensionId,
-                    updatedState,
-                    reason
+            } else {
+                startBranch(
+                    run,
+                    coordinator,
+                    branch,
+                    branchState,
+                    branchVisited,
+                    continuationExecutor
                 );
-            } else if (command instanceof GraphCommandTraverse) {
-                // Transition to another node
-                NodeId targetNodeId =
-                    ((GraphCommandTraverse) command).targetNode();
+            }
+        }
 
-                // Find edge between current node and target node
-                Optional<GraphEdge> edge = findEdgeBetween(
-                    currentNodeId,
-                    targetNodeId
-                );
+        // Bound the join by the workflow deadline
+        CancellationToken.Registration deadline = run.token.onCancel(() ->
+            continuationExecutor.execute(() ->
+                coordinator.fail(cancellationError(run.token))
+            )
+        );
+        return coordinator
+            .outcome()
+            .thenApply(joined -> {
+                deadline.remove();
+                return afterJoin(forkState, joined);
+            });
+    }
 
-                // Update state with new node and context updates
-                GraphWorkflowState<I> nextState;
-                if (edge.isPresent()) {
-                    EdgeId edgeId = edge.get().edgeId();
-
-                    // Add edge information to context
-                    WorkflowContext edgeContext = WorkflowContext.empty()
-                        .with(WorkflowContextKeys.LAST_EDGE_ID, edgeId.value())
-                        .with(
-                            WorkflowContextKeys.LAST_EDGE_TIME,
-                            Instant.now()
-                        );
-
-                    // Combine edge context with command context updates if present
-                    WorkflowContext combinedUpdates = command
-                        .getContextUpdates()
-                        .map(ctx -> ctx.merge(edgeContext))
-                        .orElse(edgeContext);
-
-                    // Create new state with edge traversal
-                    GraphWorkflowState<I> stateWithUpdates = currentState.withContext(combinedUpdates);
-                    
-                    // Apply data updates if present
-                    stateWithUpdates = command.getStateData()
-                        .map(stateWithUpdates::withData)
-                        .orElse(stateWithUpdates);
-                        
-                    // Traverse the edge
-                    nextState = stateWithUpdates.traverseEdge(edgeId, targetNodeId);
-
-                    // Monitor the transition
-                    monitor.onNodeTransition(
-                        currentState.workflowId(),
-                        edgeId,
-                        currentNodeId,
-                        targetNodeId,
-                        nextState
-                    );
-                } else {
-                    // No explicit edge, just move to the node
-                    // Start with current state
-                    GraphWorkflowState<I> stateWithUpdates = currentState;
-                    
-                    // Apply context updates if present
-                    stateWithUpdates = command.getContextUpdates()
-                        .map(stateWithUpdates::withContext)
-                        .orElse(stateWithUpdates);
-                    
-                    // Apply data updates if present
-                    stateWithUpdates = command.getStateData()
-                        .map(stateWithUpdates::withData)
-                        .orElse(stateWithUpdates);
-                    
-                    // Move to the target node
-                    nextState = stateWithUpdates.moveToNode(targetNodeId);
-
-                    // Log a warning about missing edge
-                    monitor.onWarning(
-                        currentState.workflowId(),
-                        "No explicit edge found for transition from " +
-                        currentNodeId.value() +
-                        " to " +
-                        targetNodeId.value(),
-                        nextState
-                    );
+    /**
+     * Starts one fork branch as an asynchronous walk and reports its outcome
+     * to the coordinator.
+     *
+     * @param executor The executor to start the walk on, or null to start it on the calling thread
+     */
+    private CompletableFuture<Void> startBranch(
+        ExecutionRun run,
+        ForkJoinCoordinator<I> coordinator,
+        NodeId branch,
+        GraphWorkflowState<I> branchState,
+        Set<String> visitedNodes,
+        Executor executor
+    ) {
+        ExecutionRun branchRun = run.branch();
+        AsyncWalk walk = new AsyncWalk(branchRun, visitedNodes, coordinator);
+        // Losing branches stop waiting on their node once the join resolves
+        branchRun.token.onCancel(() -> continuationExecutor.execute(walk::abandon));
+        coordinator.register(branchRun.token);
+        CompletableFuture<Void> reported = walk
+            .outcome()
+            .handle((outcome, throwable) -> {
+                reportBranch(coordinator, branch, outcome, throwable);
+                return null;
+            });
+        coordinator.register(walk.outcome());
+        if (executor == null) {
+            walk.start(branchState);
+        } else {
+            executor.execute(() -> walk.start(branchState));
+        }
+        return reported;
+    }
+
+    private StepOutcome<I> noBranchesSelected(
+        GraphWorkflowState<I> forkState,
+        NodeId forkNodeId
+    ) {
+        WorkflowError error = SystemError.of(
+            "FORK_NO_BRANCHES",
+            "Fork at node " +
+            forkNodeId.value() +
+            " has no branch whose condition is satisfied",
+            workflowName
+        );
+        return new Failed<>(error, forkState, true, false);
+    }
+
+    /**
+     * Continues after a resolved join: at the join node, as completed if every
+     * branch completed without a join, or as failed.
+     */
+    private StepOutcome<I> afterJoin(
+        GraphWorkflowState<I> forkState,
+        JoinOutcome<I> joined
+    ) {
+        if (!joined.isSuccess()) {
+            return new Failed<>(joined.error(), forkState, true, false);
+        }
+
+        GraphWorkflowState<I> mergedState = mergeBranches(
+            forkState,
+            joined.branches()
+        );
+        if (joined.joinNode() == null) {
+            return new Completed<>(mergedState);
+        }
+        return new Continue<>(mergedState.moveToNode(joined.joinNode()));
+    }
+
+    /**
+     * Chooses the branches to run. Conditional forks only run the targets whose
+     * edge from the fork node is satisfied by the current state.
+     */
+    private List<NodeId> selectBranches(
+        GraphWorkflowState<I> forkState,
+        NodeId forkNodeId,
+        GraphCommandFork<I> fork
+    ) {
+        List<NodeId> branches = new ArrayList<>();
+        for (NodeId target : fork.targetNodes()) {
+            if (fork.strategy() == GraphCommandFork.ForkStrategy.CONDITIONAL) {
+                Optional<GraphEdge> edge = findEdgeBetween(forkNodeId, target);
+                if (edge.isPresent() && !edge.get().canTraverse(forkState)) {
+                    continue;
                 }
+            }
+            branches.add(target);
+        }
+        // Target nodes are a set; keep sequential execution deterministic
+        branches.sort(Comparator.comparing(NodeId::value));
+        return branches;
+    }
 
-                // Update current state for next iteration
-                currentState = nextState;
-            } else {
-                // No next node specified, but not complete or suspended
-                WorkflowError error = SystemError.of(
-                    "INVALID_COMMAND",
-                    "Node " +
-                    currentNodeId.value() +
-                    " returned invalid command: " +
-                    "not complete, not suspended, and no next node specified",
+    /**
+     * Executes one fork branch and reports its outcome to the coordinator.
+     */
+    private void runBranch(
+        ExecutionRun run,
+        ForkJoinCoordinator<I> coordinator,
+        NodeId branch,
+        GraphWorkflowState<I> branchState,
+        Set<String> visitedNodes
+    ) {
+        StepOutcome<I> outcome = null;
+        Throwable failure = null;
+        try {
+            outcome = executeSteps(run, branchState, visitedNodes, coordinator);
+        } catch (Exception e) {
+            failure = e;
+        }
+        reportBranch(coordinator, branch, outcome, failure);
+    }
+
+    /**
+     * Reports the outcome of a fork branch to the coordinator.
+     *
+     * @param outcome The outcome of the branch walk, or null if it threw
+     * @param failure The exception thrown by the branch walk, or null
+     */
+    private void reportBranch(
+        ForkJoinCoordinator<I> coordinator,
+        NodeId branch,
+        StepOutcome<I> outcome,
+        Throwable failure
+    ) {
+        if (failure != null) {
+            Throwable cause = unwrap(failure);
+            coordinator.onBranchFailed(
+                branch,
+                SystemError.of(
+                    "BRANCH_EXECUTION_ERROR",
+                    "Error executing fork branch " +
+                    branch.value() +
+                    ": " +
+                    cause.getMessage(),
                     workflowName
-                );
-                monitor.onWorkflowError(
-                    currentState.workflowId(),
-                    error,
-                    currentState,
-                    null
-                );
-                return WorkflowResult.failure(error);
+                )
+            );
+        } else if (outcome instanceof Joined<I> joined) {
+            coordinator.onBranchSucceeded(
+                branch,
+                joined.state(),
+                Optional.of(joined.command())
+            );
+        } else if (outcome instanceof Completed<I> completed) {
+            coordinator.onBranchSucceeded(
+                branch,
+                completed.state(),
+                Optional.empty()
+            );
+        } else if (outcome instanceof Suspended<I>) {
+            coordinator.onBranchFailed(
+                branch,
+                SystemError.of(
+                    "BRANCH_SUSPENDED",
+                    "Fork branch " +
+                    branch.value() +
+                    " attempted to suspend; suspension is not supported inside a fork",
+                    workflowName
+                )
+            );
+        } else if (outcome instanceof Failed<I> failed) {
+            coordinator.onBranchFailed(branch, failed.error());
+        }
+    }
+
+    /**
+     * Waits for the join, bounded by the workflow deadline.
+     */
+    private JoinOutcome<I> awaitJoin(
+        ExecutionRun run,
+        ForkJoinCoordinator<I> coordinator
+    ) {
+        try {
+            return coordinator
+                .outcome()
+                .get(run.token.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            coordinator.fail(cancellationError(run.token));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            coordinator.fail(
+                SystemError.of(
+                    "FORK_INTERRUPTED",
+                    "Interrupted while waiting for fork branches",
+                    workflowName
+                )
+            );
+        } catch (ExecutionException e) {
+            coordinator.fail(
+                SystemError.of(
+                    "FORK_ERROR",
+                    "Error waiting for fork branches: " + e.getMessage(),
+                    workflowName
+                )
+            );
+        }
+        return coordinator.outcome().join();
+    }
+
+    /**
+     * Applies what each branch changed since the fork to the fork state, in
+     * branch ID order so the result does not depend on which branch finished
+     * first. Keys a branch did not touch keep the values other branches gave
+     * them; of the branches that replaced the data, the last in ID order wins.
+     */
+    private GraphWorkflowState<I> mergeBranches(
+        GraphWorkflowState<I> forkState,
+        List<BranchResult<I>> branches
+    ) {
+        List<BranchResult<I>> ordered = new ArrayList<>(branches);
+        ordered.sort(Comparator.comparing(branch -> branch.branch().value()));
+
+        WorkflowContext mergedContext = forkState.context();
+        I data = forkState.data();
+        for (BranchResult<I> branch : ordered) {
+            StateDelta<I> delta = StateDelta.between(forkState, branch.state());
+            for (ContextKey<?> key : delta.contextRemovals()) {
+                mergedContext = mergedContext.without(key);
+            }
+            mergedContext = mergedContext.merge(delta.contextUpdates());
+            if (delta.dataReplaced()) {
+                data = delta.data();
             }
         }
+        return forkState.withContext(mergedContext).withData(data);
+    }
+
+    /**
+     * Fails the walk because the execution's token was cancelled.
+     */
+    private StepOutcome<I> cancelled(
+        ExecutionRun run,
+        GraphWorkflowState<I> currentState
+    ) {
+        return new Failed<>(
+            cancellationError(run.token),
+            currentState,
+            true,
+            false
+        );
+    }
+
+    private WorkflowError cancellationError(CancellationToken token) {
+        if (
+            token.reason().orElse(CancellationToken.Reason.DEADLINE_EXCEEDED) ==
+            CancellationToken.Reason.CANCELLED
+        ) {
+            return SystemError.of(
+                "WORKFLOW_CANCELLED",
+                "Workflow execution was cancelled",
+                workflowName
+            );
+        }
+        return SystemError.of(
+            "EXECUTION_TIMEOUT",
+            "Workflow execution exceeded maximum allowed time of " +
+            configuration.getMaxExecutionTime(),
+            workflowName
+        );
+    }
+
+    /**
+     * Records the start of a top-level execution in the journal, if any.
+     */
+    private void beginJournal(GraphWorkflowState<I> state) {
+        if (journaler != null) {
+            journaler.begin(state);
+        }
+    }
+
+    /**
+     * Hands a step of the main walk to the checkpointer and the journaler,
+     * if any.
+     *
+     * @param completedNode The node that ran
+     * @param commandResult The result the node returned
+     * @param previousState The state the node ran on
+     * @param next The outcome of the step
+     */
+    private void afterMainStep(
+        GraphWorkflowNode<I> completedNode,
+        WorkflowResult<GraphCommand<I>, WorkflowError> commandResult,
+        GraphWorkflowState<I> previousState,
+        StepOutcome<I> next
+    ) {
+        if (checkpointer != null && next instanceof Continue<I> continued) {
+            checkpointer.afterStep(completedNode, continued.state());
+        }
+        if (journaler == null || commandResult.isFailure()) {
+            return;
+        }
+        GraphWorkflowState<I> nextState;
+        if (next instanceof Continue<I> continued) {
+            nextState = continued.state();
+        } else if (next instanceof Completed<I> completed) {
+            nextState = completed.state();
+        } else if (next instanceof Suspended<I> suspended) {
+            nextState = suspended.state();
+        } else {
+            return;
+        }
+        journaler.record(
+            completedNode.getNodeId(),
+            commandResult.getOrThrow(),
+            previousState,
+            nextState
+        );
+    }
+
+    /**
+     * Discards the checkpoints of an execution that ended and stops
+     * journaling it. An execution that failed recoverably keeps its
+     * checkpoint so it can be recovered.
+     *
+     * @param completed true if the execution completed
+     * @param keepCheckpoint true to keep the stored checkpoint
+     */
+    private void finishExecution(
+        GraphWorkflowState<I> state,
+        boolean completed,
+        boolean keepCheckpoint
+    ) {
+        if (checkpointer != null && keepCheckpoint) {
+            checkpointer.release(state.workflowId());
+        } else if (checkpointer != null) {
+            checkpointer.finish(state.workflowId());
+        }
+        if (journaler != null) {
+            journaler.end(state.workflowId(), completed);
+        }
     }
 
     /**
@@ -399,14 +1289,380 @@ public class GraphWorkflowExecutor<I, O> {
         NodeId fromNodeId,
         NodeId toNodeId
     ) {
-        return edges
-            .values()
-            .stream()
-            .filter(
-                edge ->
-                    edge.fromNode().equals(fromNodeId) &&
-                    edge.toNode().equals(toNodeId)
-            )
-            .findFirst();
+        return topology.edgeBetween(fromNodeId, toNodeId);
     }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (
+            (throwable instanceof CompletionException ||
+                throwable instanceof ExecutionException) &&
+            throwable.getCause() != null
+        ) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * A walk of the graph driven by node completions rather than a blocking
+     * loop. Steps whose node has already completed run in a loop on the
+     * current thread; a pending node parks the walk until its stage completes.
+     */
+    private final class AsyncWalk {
+
+        private final ExecutionRun run;
+        private final Set<String> visitedNodes;
+        private final ForkJoinCoordinator<I> branchOf;
+        private final CompletableFuture<StepOutcome<I>> outcome =
+            new CompletableFuture<>();
+        // The state and node stage the walk is waiting on, for abandonment
+        private volatile GraphWorkflowState<I> lastState;
+        private volatile CompletableFuture<?> pendingNode;
+
+        private AsyncWalk(
+            ExecutionRun run,
+            Set<String> visitedNodes,
+            ForkJoinCoordinator<I> branchOf
+        ) {
+            this.run = run;
+            this.visitedNodes = visitedNodes;
+            this.branchOf = branchOf;
+        }
+
+        CompletableFuture<StepOutcome<I>> outcome() {
+            return outcome;
+        }
+
+        void start(GraphWorkflowState<I> state) {
+            drive(() -> state);
+        }
+
+        /**
+         * Ends the walk after its token was cancelled, without waiting for
+         * the node in progress.
+         */
+        void abandon() {
+            CompletableFuture<?> pending = pendingNode;
+            if (pending != null) {
+                pending.cancel(true);
+            }
+            GraphWorkflowState<I> state = lastState;
+            if (state != null && !outcome.isDone()) {
+                outcome.complete(cancelled(run, state));
+            }
+        }
+
+        /**
+         * Runs steps on the current thread until the walk ends or parks.
+         *
+         * @param firstStep Produces the state to continue from, or null if
+         *     there is nothing to run on this thread
+         */
+        private void drive(Supplier<GraphWorkflowState<I>> firstStep) {
+            try {
+                GraphWorkflowState<I> currentState = firstStep.get();
+                while (currentState != null) {
+                    currentState = step(currentState);
+                }
+            } catch (Exception e) {
+                outcome.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Starts processing the current node.
+         *
+         * @return The next state if the node completed immediately, or null
+         */
+        private GraphWorkflowState<I> step(GraphWorkflowState<I> currentState) {
+            lastState = currentState;
+            NodeId currentNodeId = currentNodeOf(currentState);
+            GraphWorkflowNode<I> currentNode = nodes.get(currentNodeId);
+            StepOutcome<I> rejected = checkStep(
+                run,
+                currentState,
+                currentNodeId,
+                currentNode,
+                visitedNodes,
+                branchOf
+            );
+            if (rejected != null) {
+                outcome.complete(rejected);
+                return null;
+            }
+
+            // Monitor node start
+            monitor.onNodeStarted(
+                currentState.workflowId(),
+                currentNodeId,
+                currentState
+            );
+            long nodeStartNanos = System.nanoTime();
+
+            CompletableFuture<
+                WorkflowResult<GraphCommand<I>, WorkflowError>
+            > pending;
+            try {
+                pending = startBound(run, currentNode, currentState);
+            } catch (Exception e) {
+                outcome.complete(
+                    run.token.isCancelled()
+                        ? cancelled(run, currentState)
+                        : nodeExecutionFailed(currentState, currentNodeId, e)
+                );
+                return null;
+            }
+
+            if (!pending.isDone()) {
+                // Park until the node completes; resume on the branch executor
+                pendingNode = pending;
+                if (run.token.isCancelled()) {
+                    abandon();
+                    return null;
+                }
+                pending.whenCompleteAsync(
+                    (result, throwable) ->
+                        drive(() ->
+                            onNodeDone(
+                                currentState,
+                                currentNodeId,
+                                nodeStartNanos,
+                                pending
+                            )
+                        ),
+                    continuationExecutor
+                );
+                return null;
+            }
+            return onNodeDone(
+                currentState,
+                currentNodeId,
+                nodeStartNanos,
+                pending
+            );
+        }
+
+        /**
+         * Handles a completed node.
+         *
+         * @return The next state to continue with on this thread, or null
+         */
+        private GraphWorkflowState<I> onNodeDone(
+            GraphWorkflowState<I> currentState,
+            NodeId currentNodeId,
+            long nodeStartNanos,
+            CompletableFuture<
+                WorkflowResult<GraphCommand<I>, WorkflowError>
+            > completed
+        ) {
+            pendingNode = null;
+            if (run.token.isCancelled()) {
+                // The node overran the deadline; its result no longer counts
+                outcome.complete(cancelled(run, currentState));
+                return null;
+            }
+            WorkflowResult<GraphCommand<I>, WorkflowError> commandResult;
+            try {
+                commandResult = completed.join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = unwrap(e);
+                outcome.complete(
+                    nodeExecutionFailed(
+                        currentState,
+                        currentNodeId,
+                        cause instanceof Exception exception
+                            ? exception
+                            : new CompletionException(cause)
+                    )
+                );
+                return null;
+            }
+
+            StepOutcome<I> next = afterNode(
+                currentState,
+                currentNodeId,
+                nodeStartNanos,
+                commandResult,
+                branchOf
+            );
+            if (next instanceof Forked<I> forked) {
+                executeForkAsync(
+                    run,
+                    forked.state(),
+                    currentNodeId,
+                    forked.command(),
+                    visitedNodes
+                ).whenComplete((forkOutcome, throwable) ->
+                    drive(() ->
+                        afterFork(
+                            currentState,
+                            currentNodeId,
+                            commandResult,
+                            forkOutcome,
+                            throwable
+                        )
+                    )
+                );
+                return null;
+            }
+            if (branchOf == null) {
+                afterMainStep(
+                    nodes.get(currentNodeId),
+                    commandResult,
+                    currentState,
+                    next
+                );
+            }
+            return continueOrFinish(next);
+        }
+
+        private GraphWorkflowState<I> afterFork(
+            GraphWorkflowState<I> forkState,
+            NodeId forkNodeId,
+            WorkflowResult<GraphCommand<I>, WorkflowError> commandResult,
+            StepOutcome<I> forkOutcome,
+            Throwable throwable
+        ) {
+            if (throwable != null) {
+                outcome.completeExceptionally(unwrap(throwable));
+                return null;
+            }
+            if (branchOf == null) {
+                afterMainStep(
+                    nodes.get(forkNodeId),
+                    commandResult,
+                    forkState,
+                    forkOutcome
+                );
+            }
+            return continueOrFinish(forkOutcome);
+        }
+
+        private GraphWorkflowState<I> continueOrFinish(StepOutcome<I> next) {
+            if (next instanceof Continue<I> continued) {
+                return continued.state();
+            }
+            outcome.complete(next);
+            return null;
+        }
+    }
+
+    /**
+     * Processes a node with the execution's token bound to the current thread.
+     * Async nodes are waited on until the token is cancelled, which abandons
+     * their stage: waiting on a future ignores the token's interrupt.
+     */
+    private WorkflowResult<GraphCommand<I>, WorkflowError> processBound(
+        ExecutionRun run,
+        GraphWorkflowNode<I> node,
+        GraphWorkflowState<I> state
+    ) {
+        if (node instanceof AsyncGraphWorkflowNode<I>) {
+            CompletableFuture<
+                WorkflowResult<GraphCommand<I>, WorkflowError>
+            > stage = startBound(run, node, state);
+            CancellationToken.Registration abandon = run.token.onCancel(() ->
+                stage.cancel(true)
+            );
+            try {
+                return stage.join();
+            } finally {
+                abandon.remove();
+            }
+        }
+        CancellationToken.Scope scope = run.token.enter();
+        try {
+            return node.processWithLifecycle(state);
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Starts a node with the execution's token bound to the current thread.
+     * Async nodes return their pending stage; other nodes are processed on
+     * the current thread.
+     */
+    private CompletableFuture<
+        WorkflowResult<GraphCommand<I>, WorkflowError>
+    > startBound(
+        ExecutionRun run,
+        GraphWorkflowNode<I> node,
+        GraphWorkflowState<I> state
+    ) {
+        CancellationToken.Scope scope = run.token.enter();
+        try {
+            return node instanceof AsyncGraphWorkflowNode<I> asyncNode
+                ? asyncNode
+                    .processWithLifecycleAsync(state)
+                    .toCompletableFuture()
+                : CompletableFuture.completedFuture(
+                    node.processWithLifecycle(state)
+                );
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Bookkeeping of one execution. Fork branches share the step count of
+     * the execution but get a child token, so a resolved join can stop its
+     * losing branches without cancelling the execution.
+     */
+    private static final class ExecutionRun {
+
+        private final CancellationToken token;
+        private final AtomicInteger stepCount;
+
+        private ExecutionRun(CancellationToken token) {
+            this(token, new AtomicInteger());
+        }
+
+        private ExecutionRun(CancellationToken token, AtomicInteger stepCount) {
+            this.token = token;
+            this.stepCount = stepCount;
+        }
+
+        private ExecutionRun branch() {
+            return new ExecutionRun(token.child(), stepCount);
+        }
+    }
+
+    /**
+     * Result of walking the graph.
+     */
+    private sealed interface StepOutcome<I>
+        permits Completed, Suspended, Joined, Continue, Forked, Failed {}
+
+    private record Completed<I>(GraphWorkflowState<I> state)
+        implements StepOutcome<I> {}
+
+    private record Suspended<I>(
+        GraphWorkflowState<I> state,
+        GraphCommandSuspend<I> command
+    )
+        implements StepOutcome<I> {}
+
+    private record Joined<I>(
+        GraphWorkflowState<I> state,
+        GraphCommandJoin<I> command
+    )
+        implements StepOutcome<I> {}
+
+    private record Continue<I>(GraphWorkflowState<I> state)
+        implements StepOutcome<I> {}
+
+    private record Forked<I>(
+        GraphWorkflowState<I> state,
+        GraphCommandFork<I> command
+    )
+        implements StepOutcome<I> {}
+
+    private record Failed<I>(
+        WorkflowError error,
+        GraphWorkflowState<I> state,
+        boolean reportToMonitor,
+        boolean extractOutput
+    )
+        implements StepOutcome<I> {}
 }
@@ -0,0 +1,141 @@
+package dev.agents4j.workflow.execution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Access to virtual threads without compiling against JDK 21. The library
+ * targets Java 17, so virtual-thread support is detected at runtime and the
+ * executors are created reflectively when the running JVM provides them.
+ *
+ * <p>Virtual-thread executors start one thread per task. Workflows that
+ * block in nodes, such as synchronous {@code ChatModel} calls, then park a
+ * virtual thread instead of occupying a platform thread.</p>
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        VirtualThreads.class.getName()
+    );
+
+    /** Thread.ofVirtual(), or null when virtual threads are unavailable. */
+    private static final MethodHandle OF_VIRTUAL;
+    /** Thread.Builder.name(String, long). */
+    private static final MethodHandle NAME;
+    /** Thread.Builder.factory(). */
+    private static final MethodHandle FACTORY;
+    /** Executors.newThreadPerTaskExecutor(ThreadFactory). */
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newExecutor = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderType = Class.forName(
+                "java.lang.Thread$Builder$OfVirtual"
+            );
+            ofVirtual = lookup.findStatic(
+                Thread.class,
+                "ofVirtual",
+                MethodType.methodType(virtualBuilderType)
+            );
+            name = lookup.findVirtual(
+                builderType,
+                "name",
+                MethodType.methodType(builderType, String.class, long.class)
+            );
+            factory = lookup.findVirtual(
+                builderType,
+                "factory",
+                MethodType.methodType(ThreadFactory.class)
+            );
+            newExecutor = lookup.findStatic(
+                Executors.class,
+                "newThreadPerTaskExecutor",
+                MethodType.methodType(ExecutorService.class, ThreadFactory.class)
+            );
+            // Preview builds expose the API but refuse to create threads
+            ofVirtual.invoke();
+        } catch (Throwable e) {
+            LOGGER.log(Level.FINE, "Virtual threads are not available", e);
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newExecutor;
+    }
+
+    private static volatile ExecutorService shared;
+
+    private VirtualThreads() {}
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return true if virtual-thread executors can be created
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @param namePrefix The prefix for thread names, followed by a counter
+     * @return A new virtual-thread executor
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutorService newExecutor(String namePrefix) {
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException(
+                "Virtual threads require Java 21 or later"
+            );
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(), namePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) FACTORY.invoke(
+                builder
+            );
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(
+                threadFactory
+            );
+        } catch (Throwable e) {
+            throw new IllegalStateException(
+                "Failed to create virtual-thread executor",
+                e
+            );
+        }
+    }
+
+    /**
+     * Gets the JVM-wide virtual-thread executor used by workflows built with
+     * virtual threads enabled. Like the common pool, it is never shut down.
+     *
+     * @return The shared virtual-thread executor
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutorService shared() {
+        ExecutorService executor = shared;
+        if (executor == null) {
+            synchronized (VirtualThreads.class) {
+                executor = shared;
+                if (executor == null) {
+                    executor = newExecutor("agents4j-workflow-");
+                    shared = executor;
+                }
+            }
+        }
+        return executor;
+    }
+}
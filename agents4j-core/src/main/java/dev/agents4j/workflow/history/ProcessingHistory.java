@@ -1,32 +1,82 @@
 package dev.agents4j.workflow.history;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ContextKeyRegistry;
+import dev.agents4j.api.context.ContextSlot;
 import dev.agents4j.api.graph.NodeId;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Tracks the history of node interactions in a workflow.
  * Maintains an ordered list of all node interactions.
+ *
+ * <p>Nodes should record interactions with {@link #withInteraction(NodeInteraction)}
+ * and store the returned history in the context: state deltas, journals and
+ * checkpoints only see a history that was replaced, not one changed in place.</p>
  */
 public class ProcessingHistory {
     
     public static final ContextKey<ProcessingHistory> HISTORY_KEY = 
         ContextKey.of("processing_history", ProcessingHistory.class);
+
+    /**
+     * Slot of {@link #HISTORY_KEY} for array-backed context access.
+     */
+    public static final ContextSlot<ProcessingHistory> HISTORY_SLOT =
+        ContextKeyRegistry.register(HISTORY_KEY);
     
-    private final List<NodeInteraction> interactions = new ArrayList<>();
+    private final List<NodeInteraction> interactions;
+
+    /**
+     * Creates an empty history.
+     */
+    public ProcessingHistory() {
+        this.interactions = new ArrayList<>();
+    }
+
+    @JsonCreator
+    private ProcessingHistory(
+        @JsonProperty("allInteractions") List<NodeInteraction> interactions
+    ) {
+        this.interactions = interactions != null
+            ? new ArrayList<>(interactions)
+            : new ArrayList<>();
+    }
     
     /**
-     * Adds a new interaction to the history.
+     * Adds a new interaction to the history in place.
      * 
      * @param interaction The interaction to add
+     * @deprecated A history changed in place looks unchanged to state deltas,
+     *     so journals and delta checkpoints miss the interaction. Use
+     *     {@link #withInteraction(NodeInteraction)} instead.
      */
+    @Deprecated
     public void addInteraction(NodeInteraction interaction) {
         interactions.add(interaction);
     }
+
+    /**
+     * Creates a copy of this history with an interaction appended. This
+     * history is left unchanged.
+     *
+     * @param interaction The interaction to append
+     * @return The new history
+     */
+    public ProcessingHistory withInteraction(NodeInteraction interaction) {
+        Objects.requireNonNull(interaction, "Interaction cannot be null");
+        List<NodeInteraction> appended = new ArrayList<>(interactions.size() + 1);
+        appended.addAll(interactions);
+        appended.add(interaction);
+        return new ProcessingHistory(appended);
+    }
     
     /**
      * Gets all interactions in the history.
@@ -52,4 +102,20 @@ public class ProcessingHistory {
         }
         return Optional.empty();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProcessingHistory other)) {
+            return false;
+        }
+        return interactions.equals(other.interactions);
+    }
+
+    @Override
+    public int hashCode() {
+        return interactions.hashCode();
+    }
+}
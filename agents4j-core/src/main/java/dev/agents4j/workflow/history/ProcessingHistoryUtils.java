@@ -18,8 +18,10 @@ public class ProcessingHistoryUtils {
      * @return The processing history
      */
     public static ProcessingHistory getOrCreateHistory(GraphWorkflowState<?> state) {
-        return state.context().get(ProcessingHistory.HISTORY_KEY)
-            .orElse(new ProcessingHistory());
+        ProcessingHistory history = state
+            .context()
+            .getSlotOrDefault(ProcessingHistory.HISTORY_SLOT, null);
+        return history != null ? history : new ProcessingHistory();
     }
     
     /**
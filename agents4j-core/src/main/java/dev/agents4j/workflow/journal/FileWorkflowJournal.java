@@ -0,0 +1,491 @@
+package dev.agents4j.workflow.journal;
+
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.DeserializationException;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.SerializationException;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.VersionMismatchException;
+import dev.agents4j.workflow.journal.JournalEntry.CommandType;
+import dev.agents4j.workflow.serialization.BinaryGraphWorkflowStateSerializer;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Workflow journal that keeps one append-only file per workflow in a
+ * directory, encoded with a {@link BinaryGraphWorkflowStateSerializer}.
+ *
+ * <p>A snapshot atomically replaces the workflow's file with a new one that
+ * starts with the snapshot; entries are appended to it. Every record carries
+ * a checksum, and a record torn by a crash mid-append ends the journal
+ * rather than failing the read, so replay yields the last fully written
+ * state.</p>
+ *
+ * <p>A workflow's file is held open for appends while its execution runs,
+ * and closed when the execution ends and the journal is
+ * {@linkplain #release released}. Files are kept until they are deleted;
+ * set {@code deleteCompletedJournals} in the workflow configuration to
+ * delete the journal of every execution that completes.</p>
+ *
+ * @param <S> The type of the workflow state data
+ */
+public class FileWorkflowJournal<S> implements WorkflowJournal<S> {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        FileWorkflowJournal.class.getName()
+    );
+
+    private static final int MAGIC = 0x41344a4c; // "A4JL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + 1;
+    private static final byte SNAPSHOT = 1;
+    private static final byte ENTRY = 2;
+    // Kind and length before the payload, checksum after it
+    private static final int RECORD_OVERHEAD = 1 + Integer.BYTES * 2;
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final BinaryGraphWorkflowStateSerializer<S> serializer;
+    private final String workflowVersion;
+    private final boolean syncOnAppend;
+    private final ConcurrentMap<WorkflowId, Handle> handles =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Creates a journal in the given directory that does not sync appends.
+     *
+     * @param directory The directory, created if missing
+     * @param serializer The serializer for snapshots and deltas
+     * @param workflowVersion The version snapshots are serialized with
+     */
+    public FileWorkflowJournal(
+        Path directory,
+        BinaryGraphWorkflowStateSerializer<S> serializer,
+        String workflowVersion
+    ) {
+        this(directory, serializer, workflowVersion, false);
+    }
+
+    /**
+     * Creates a journal in the given directory.
+     *
+     * @param directory The directory, created if missing
+     * @param serializer The serializer for snapshots and deltas
+     * @param workflowVersion The version snapshots are serialized with
+     * @param syncOnAppend true to force each record to disk before the
+     *     call returns
+     */
+    public FileWorkflowJournal(
+        Path directory,
+        BinaryGraphWorkflowStateSerializer<S> serializer,
+        String workflowVersion,
+        boolean syncOnAppend
+    ) {
+        this.directory = Objects.requireNonNull(
+            directory,
+            "Directory cannot be null"
+        );
+        this.serializer = Objects.requireNonNull(
+            serializer,
+            "Serializer cannot be null"
+        );
+        this.workflowVersion = Objects.requireNonNull(
+            workflowVersion,
+            "Workflow version cannot be null"
+        );
+        this.syncOnAppend = syncOnAppend;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new JournalException(
+                "Cannot create journal directory " + directory,
+                e
+            );
+        }
+    }
+
+    @Override
+    public void snapshot(GraphWorkflowState<S> state) {
+        Objects.requireNonNull(state, "State cannot be null");
+        byte[] payload;
+        try {
+            payload = serializer.serializeToBytes(state, workflowVersion);
+        } catch (SerializationException e) {
+            throw new JournalException(
+                "Cannot serialize snapshot of workflow " +
+                state.workflowId().value(),
+                e
+            );
+        }
+        ByteBuffer file = ByteBuffer.allocate(
+            HEADER_SIZE + RECORD_OVERHEAD + payload.length
+        );
+        file.putInt(MAGIC).put((byte) FORMAT_VERSION);
+        putRecord(file, SNAPSHOT, payload);
+        file.flip();
+
+        Handle handle = acquire(state.workflowId());
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "journal-", ".tmp");
+            try (
+                FileChannel channel = FileChannel.open(
+                    temp,
+                    StandardOpenOption.WRITE
+                )
+            ) {
+                writeFully(channel, file);
+                if (syncOnAppend) {
+                    channel.force(true);
+                }
+            }
+            // Appends must go to the new file from now on
+            handle.closeChannel();
+            Files.move(
+                temp,
+                fileOf(state.workflowId()),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING
+            );
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new JournalException(
+                "Cannot write snapshot of workflow " +
+                state.workflowId().value(),
+                e
+            );
+        } finally {
+            handle.lock.unlock();
+        }
+    }
+
+    @Override
+    public void append(JournalEntry<S> entry) {
+        Objects.requireNonNull(entry, "Journal entry cannot be null");
+        byte[] payload = encode(entry);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length);
+        putRecord(record, ENTRY, payload);
+        record.flip();
+
+        Handle handle = acquire(entry.workflowId());
+        try {
+            if (handle.channel == null) {
+                handle.channel = FileChannel.open(
+                    fileOf(entry.workflowId()),
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND
+                );
+            }
+            writeFully(handle.channel, record);
+            if (syncOnAppend) {
+                handle.channel.force(false);
+            }
+        } catch (NoSuchFileException e) {
+            throw new JournalException(
+                "No snapshot recorded for workflow " +
+                entry.workflowId().value(),
+                e
+            );
+        } catch (IOException e) {
+            handle.closeChannel();
+            throw new JournalException(
+                "Cannot append to journal of workflow " +
+                entry.workflowId().value(),
+                e
+            );
+        } finally {
+            handle.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<JournalSegment<S>> read(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Path file = fileOf(workflowId);
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new JournalException("Cannot read journal " + file, e);
+        }
+        if (
+            buffer.remaining() < HEADER_SIZE ||
+            buffer.getInt() != MAGIC ||
+            buffer.get() != FORMAT_VERSION
+        ) {
+            throw new JournalException("Not a workflow journal: " + file);
+        }
+
+        GraphWorkflowState<S> snapshot = null;
+        List<JournalEntry<S>> entries = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            ByteBuffer payload = nextRecord(buffer);
+            if (payload == null) {
+                // Written up to a crash; everything before it is intact
+                LOGGER.warning(
+                    "Ignoring torn record at offset " + start + " of " + file
+                );
+                break;
+            }
+            byte kind = buffer.get(start);
+            if (kind == SNAPSHOT) {
+                snapshot = decodeSnapshot(payload, file);
+                entries.clear();
+            } else if (kind == ENTRY && snapshot != null) {
+                entries.add(decodeEntry(payload, file));
+            } else {
+                throw new JournalException(
+                    "Unexpected record at offset " + start + " of " + file
+                );
+            }
+        }
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new JournalSegment<>(snapshot, entries));
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Handle handle = acquire(workflowId);
+        try {
+            retire(workflowId, handle);
+            return Files.deleteIfExists(fileOf(workflowId));
+        } catch (IOException e) {
+            throw new JournalException(
+                "Cannot delete journal of workflow " + workflowId.value(),
+                e
+            );
+        } finally {
+            handle.lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the workflow's append channel and forgets its handle; the
+     * next snapshot or append opens the file again.
+     */
+    @Override
+    public void release(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Handle handle = handles.get(workflowId);
+        if (handle == null) {
+            return;
+        }
+        handle.lock.lock();
+        try {
+            if (!handle.retired) {
+                retire(workflowId, handle);
+            }
+        } finally {
+            handle.lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Map.Entry<WorkflowId, Handle> entry : handles.entrySet()) {
+            Handle handle = entry.getValue();
+            handle.lock.lock();
+            try {
+                if (!handle.retired) {
+                    retire(entry.getKey(), handle);
+                }
+            } finally {
+                handle.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Locks the workflow's handle. A handle retired while the caller waited
+     * for it is no longer in the map, so the caller retries with a new one.
+     */
+    private Handle acquire(WorkflowId workflowId) {
+        while (true) {
+            Handle handle = handles.computeIfAbsent(workflowId, id -> new Handle());
+            handle.lock.lock();
+            if (!handle.retired) {
+                return handle;
+            }
+            handle.lock.unlock();
+        }
+    }
+
+    /**
+     * Closes a handle and removes it from the map. Must be called with the
+     * handle's lock held.
+     */
+    private void retire(WorkflowId workflowId, Handle handle) {
+        handle.closeChannel();
+        handle.retired = true;
+        handles.remove(workflowId, handle);
+    }
+
+    private Path fileOf(WorkflowId workflowId) {
+        // Workflow IDs are free-form; encode them into safe file names
+        return directory.resolve(
+            Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(
+                    workflowId.value().getBytes(StandardCharsets.UTF_8)
+                ) +
+            SUFFIX
+        );
+    }
+
+    private byte[] encode(JournalEntry<S> entry) {
+        try {
+            byte[] delta = serializer.serializeDelta(entry.delta());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                delta.length + 32
+            );
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                byte[] nodeId = entry
+                    .nodeId()
+                    .value()
+                    .getBytes(StandardCharsets.UTF_8);
+                out.writeLong(entry.sequence());
+                out.writeInt(nodeId.length);
+                out.write(nodeId);
+                out.writeByte(entry.command().ordinal());
+                out.write(delta);
+            }
+            return bytes.toByteArray();
+        } catch (SerializationException e) {
+            throw new JournalException(
+                "Cannot serialize journal entry of workflow " +
+                entry.workflowId().value(),
+                e
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private GraphWorkflowState<S> decodeSnapshot(ByteBuffer payload, Path file) {
+        try {
+            return serializer.deserialize(payload, workflowVersion);
+        } catch (DeserializationException | VersionMismatchException e) {
+            throw new JournalException("Cannot read snapshot in " + file, e);
+        }
+    }
+
+    private JournalEntry<S> decodeEntry(ByteBuffer payload, Path file) {
+        try {
+            long sequence = payload.getLong();
+            byte[] nodeId = new byte[payload.getInt()];
+            payload.get(nodeId);
+            CommandType command = CommandType.values()[payload.get()];
+            return new JournalEntry<>(
+                sequence,
+                NodeId.of(new String(nodeId, StandardCharsets.UTF_8)),
+                command,
+                serializer.deserializeDelta(payload)
+            );
+        } catch (DeserializationException | RuntimeException e) {
+            throw new JournalException("Cannot read journal entry in " + file, e);
+        }
+    }
+
+    private static void putRecord(ByteBuffer target, byte kind, byte[] payload) {
+        int start = target.position();
+        target.put(kind).putInt(payload.length).put(payload);
+        CRC32C crc = new CRC32C();
+        crc.update(target.array(), start, target.position() - start);
+        target.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Reads the record at the buffer's position.
+     *
+     * @return The record's payload, or null if the record is incomplete or
+     *     damaged
+     */
+    private static ByteBuffer nextRecord(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_OVERHEAD) {
+            return null;
+        }
+        int length = buffer.getInt(start + 1);
+        if (length < 0 || length > buffer.remaining() - RECORD_OVERHEAD) {
+            return null;
+        }
+        int end = start + 1 + Integer.BYTES + length;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), start, end - start);
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            return null;
+        }
+        buffer.position(end + Integer.BYTES);
+        return ByteBuffer.wrap(buffer.array(), start + 1 + Integer.BYTES, length)
+            .slice();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // The temporary file is left behind; it never matches *.journal
+        }
+    }
+
+    /**
+     * Serializes access to one workflow's file and holds its append channel.
+     * A lock rather than a monitor, so file I/O does not pin a virtual
+     * thread's carrier.
+     */
+    private static final class Handle {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private FileChannel channel;
+        private boolean retired;
+
+        private void closeChannel() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warning("Failed to close journal channel: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+}
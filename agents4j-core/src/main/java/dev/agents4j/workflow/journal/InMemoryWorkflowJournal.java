@@ -0,0 +1,75 @@
+package dev.agents4j.workflow.journal;
+
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.WorkflowId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Workflow journal that keeps the latest segment of each workflow in memory.
+ * States and deltas are held as objects, so nothing is serialized.
+ *
+ * @param <S> The type of the workflow state data
+ */
+public class InMemoryWorkflowJournal<S> implements WorkflowJournal<S> {
+
+    private final ConcurrentMap<WorkflowId, Segment<S>> segments =
+        new ConcurrentHashMap<>();
+
+    @Override
+    public void snapshot(GraphWorkflowState<S> state) {
+        Objects.requireNonNull(state, "State cannot be null");
+        segments.put(state.workflowId(), new Segment<>(state));
+    }
+
+    @Override
+    public void append(JournalEntry<S> entry) {
+        Objects.requireNonNull(entry, "Journal entry cannot be null");
+        Segment<S> segment = segments.get(entry.workflowId());
+        if (segment == null) {
+            throw new JournalException(
+                "No snapshot recorded for workflow " + entry.workflowId().value()
+            );
+        }
+        synchronized (segment) {
+            segment.entries.add(entry);
+        }
+    }
+
+    @Override
+    public Optional<JournalSegment<S>> read(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Segment<S> segment = segments.get(workflowId);
+        if (segment == null) {
+            return Optional.empty();
+        }
+        synchronized (segment) {
+            return Optional.of(
+                new JournalSegment<>(segment.snapshot, segment.entries)
+            );
+        }
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return segments.remove(workflowId) != null;
+    }
+
+    /**
+     * A snapshot and the entries appended after it.
+     */
+    private static final class Segment<S> {
+
+        private final GraphWorkflowState<S> snapshot;
+        private final List<JournalEntry<S>> entries = new ArrayList<>();
+
+        private Segment(GraphWorkflowState<S> snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package dev.agents4j.workflow.journal;
+
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandFork;
+import dev.agents4j.api.graph.GraphCommandJoin;
+import dev.agents4j.api.graph.GraphCommandSuspend;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.StateDelta;
+import dev.agents4j.api.graph.WorkflowId;
+import java.util.Objects;
+
+/**
+ * One step of a workflow's main walk as recorded in a {@link WorkflowJournal}:
+ * the node that ran, the kind of command it returned and the resulting change
+ * of the workflow state.
+ *
+ * @param sequence The position of the step in the workflow's journal
+ * @param nodeId The node that returned the command
+ * @param command The kind of command the node returned
+ * @param delta The change of the state caused by the command
+ * @param <S> The type of the workflow state data
+ */
+public record JournalEntry<S>(
+    long sequence,
+    NodeId nodeId,
+    CommandType command,
+    StateDelta<S> delta
+) {
+    public JournalEntry {
+        Objects.requireNonNull(nodeId, "Node ID cannot be null");
+        Objects.requireNonNull(command, "Command type cannot be null");
+        Objects.requireNonNull(delta, "State delta cannot be null");
+    }
+
+    /**
+     * Gets the workflow the entry belongs to.
+     *
+     * @return The workflow ID
+     */
+    public WorkflowId workflowId() {
+        return delta.workflowId();
+    }
+
+    /**
+     * The kinds of {@link GraphCommand} a node can return.
+     */
+    public enum CommandType {
+        TRAVERSE,
+        COMPLETE,
+        SUSPEND,
+        FORK,
+        JOIN;
+
+        /**
+         * Gets the kind of a command.
+         *
+         * @param command The command
+         * @return The command type
+         * @throws IllegalArgumentException for an unknown command class
+         */
+        public static CommandType of(GraphCommand<?> command) {
+            if (command instanceof GraphCommandTraverse) {
+                return TRAVERSE;
+            } else if (command instanceof GraphCommandComplete) {
+                return COMPLETE;
+            } else if (command instanceof GraphCommandSuspend) {
+                return SUSPEND;
+            } else if (command instanceof GraphCommandFork) {
+                return FORK;
+            } else if (command instanceof GraphCommandJoin) {
+                return JOIN;
+            }
+            throw new IllegalArgumentException(
+                "Unknown command: " + command.getClass().getName()
+            );
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dev.agents4j.workflow.journal;
+
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.workflow.journal.WorkflowJournal.JournalException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The tail of a workflow's journal: its latest snapshot and the entries
+ * recorded after it.
+ *
+ * @param snapshot The latest full state
+ * @param entries The entries recorded after the snapshot, in order
+ * @param <S> The type of the workflow state data
+ */
+public record JournalSegment<S>(
+    GraphWorkflowState<S> snapshot,
+    List<JournalEntry<S>> entries
+) {
+    public JournalSegment {
+        Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+        Objects.requireNonNull(entries, "Entries cannot be null");
+        entries = List.copyOf(entries);
+    }
+
+    /**
+     * Rebuilds the latest state by applying the entries to the snapshot in
+     * order. Replay only reads recorded values, so it yields the same state
+     * every time.
+     *
+     * @return The latest recorded state
+     * @throws JournalException if an entry does not apply to the state
+     *     before it
+     */
+    public GraphWorkflowState<S> replay() {
+        GraphWorkflowState<S> state = snapshot;
+        for (JournalEntry<S> entry : entries) {
+            if (entry.delta().baseVersion() != state.getVersion()) {
+                throw new JournalException(
+                    "Journal of workflow " +
+                    state.workflowId().value() +
+                    " has a gap: entry " +
+                    entry.sequence() +
+                    " applies to version " +
+                    entry.delta().baseVersion() +
+                    ", replayed state is at version " +
+                    state.getVersion()
+                );
+            }
+            state = entry.delta().applyTo(state);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,196 @@
+package dev.agents4j.workflow.journal;
+
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.StateDelta;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.workflow.journal.JournalEntry.CommandType;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records the main walk of a workflow's executions in a
+ * {@link WorkflowJournal}.
+ *
+ * <p>Each execution starts with a snapshot of the state it runs from. Every
+ * step after that is appended as the command the node returned together
+ * with the {@link StateDelta} it caused, until {@code snapshotInterval}
+ * entries have been written and the next step is snapshotted instead. A
+ * failed write does not stop the workflow; the step after it is
+ * snapshotted, so the journal never has a gap a replay would run into.</p>
+ *
+ * <p>When an execution ends the journal is released, closing what it holds
+ * open for the workflow. The journal of a completed execution is deleted
+ * instead if the journaler was created to do so.</p>
+ *
+ * @param <I> The workflow input type
+ */
+public final class StateJournaler<I> {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        StateJournaler.class.getName()
+    );
+
+    private final WorkflowJournal<I> journal;
+    private final int snapshotInterval;
+    private final boolean deleteOnCompletion;
+    private final ConcurrentMap<WorkflowId, Cursor> cursors =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Creates a journaler that keeps the journals of completed executions.
+     *
+     * @param journal The journal to record to
+     * @param snapshotInterval The number of entries between snapshots
+     */
+    public StateJournaler(WorkflowJournal<I> journal, int snapshotInterval) {
+        this(journal, snapshotInterval, false);
+    }
+
+    /**
+     * Creates a journaler.
+     *
+     * @param journal The journal to record to
+     * @param snapshotInterval The number of entries between snapshots
+     * @param deleteOnCompletion true to delete the journal of an execution
+     *     that completes
+     */
+    public StateJournaler(
+        WorkflowJournal<I> journal,
+        int snapshotInterval,
+        boolean deleteOnCompletion
+    ) {
+        this.journal = Objects.requireNonNull(journal, "Journal cannot be null");
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException(
+                "Snapshot interval must be positive"
+            );
+        }
+        this.snapshotInterval = snapshotInterval;
+        this.deleteOnCompletion = deleteOnCompletion;
+    }
+
+    /**
+     * Gets the journal steps are recorded to.
+     *
+     * @return The workflow journal
+     */
+    public WorkflowJournal<I> journal() {
+        return journal;
+    }
+
+    /**
+     * Starts recording an execution with a snapshot of the state it runs
+     * from.
+     *
+     * @param state The state the execution starts or resumes from
+     */
+    public void begin(GraphWorkflowState<I> state) {
+        Cursor cursor = new Cursor();
+        cursors.put(state.workflowId(), cursor);
+        snapshot(state, cursor);
+    }
+
+    /**
+     * Records a step of the main walk. A step that left the state unchanged,
+     * such as a completion without updates, has nothing to record.
+     *
+     * @param nodeId The node that ran
+     * @param command The command the node returned
+     * @param previous The state the node ran on
+     * @param next The state after the command was applied
+     */
+    public void record(
+        NodeId nodeId,
+        GraphCommand<I> command,
+        GraphWorkflowState<I> previous,
+        GraphWorkflowState<I> next
+    ) {
+        if (next.getVersion() == previous.getVersion()) {
+            return;
+        }
+        Cursor cursor = cursors.computeIfAbsent(next.workflowId(), id -> {
+            Cursor missed = new Cursor();
+            missed.needsSnapshot = true;
+            return missed;
+        });
+        cursor.sequence++;
+        if (cursor.needsSnapshot || cursor.sinceSnapshot >= snapshotInterval) {
+            snapshot(next, cursor);
+            return;
+        }
+        try {
+            journal.append(
+                new JournalEntry<>(
+                    cursor.sequence,
+                    nodeId,
+                    CommandType.of(command),
+                    StateDelta.between(previous, next)
+                )
+            );
+            cursor.sinceSnapshot++;
+        } catch (RuntimeException e) {
+            LOGGER.log(
+                Level.WARNING,
+                "Failed to journal step of workflow " + next.workflowId().value(),
+                e
+            );
+            cursor.needsSnapshot = true;
+        }
+    }
+
+    /**
+     * Stops tracking an execution that ended. Its journal is released, or
+     * deleted if the execution completed and completed journals are not
+     * kept.
+     *
+     * @param workflowId The workflow ID
+     * @param completed true if the execution completed
+     */
+    public void end(WorkflowId workflowId, boolean completed) {
+        cursors.remove(workflowId);
+        try {
+            if (completed && deleteOnCompletion) {
+                journal.delete(workflowId);
+            } else {
+                journal.release(workflowId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(
+                Level.WARNING,
+                "Failed to release journal of workflow " + workflowId.value(),
+                e
+            );
+        }
+    }
+
+    private void snapshot(GraphWorkflowState<I> state, Cursor cursor) {
+        try {
+            journal.snapshot(state);
+            cursor.sinceSnapshot = 0;
+            cursor.needsSnapshot = false;
+        } catch (RuntimeException e) {
+            LOGGER.log(
+                Level.WARNING,
+                "Failed to snapshot workflow " + state.workflowId().value(),
+                e
+            );
+            cursor.needsSnapshot = true;
+        }
+    }
+
+    /**
+     * Journal position of one running execution. Only the execution's main
+     * walk touches it, one step at a time.
+     */
+    private static final class Cursor {
+
+        private long sequence;
+        private int sinceSnapshot;
+        private boolean needsSnapshot;
+    }
+}
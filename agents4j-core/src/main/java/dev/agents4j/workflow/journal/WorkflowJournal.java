@@ -0,0 +1,94 @@
+package dev.agents4j.workflow.journal;
+
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.WorkflowId;
+import java.util.Optional;
+
+/**
+ * Append-only journal of workflow states. Each workflow's journal starts
+ * with a full snapshot followed by one {@link JournalEntry} per step, so a
+ * step costs the size of its change rather than the size of the state.
+ * Replaying the entries onto the snapshot rebuilds the latest state.
+ *
+ * <p>A new snapshot supersedes everything recorded before it; stores may
+ * discard older records when it is written.</p>
+ *
+ * @param <S> The type of the workflow state data
+ */
+public interface WorkflowJournal<S> extends AutoCloseable {
+    /**
+     * Records a full state, superseding the workflow's earlier records.
+     *
+     * @param state The state
+     * @throws JournalException if the snapshot cannot be written
+     */
+    void snapshot(GraphWorkflowState<S> state);
+
+    /**
+     * Appends a step to the workflow's journal.
+     *
+     * @param entry The journal entry
+     * @throws JournalException if the entry cannot be written
+     */
+    void append(JournalEntry<S> entry);
+
+    /**
+     * Reads the latest snapshot of a workflow and the entries after it.
+     *
+     * @param workflowId The workflow ID
+     * @return The journal segment, or empty if nothing was recorded
+     * @throws JournalException if the journal cannot be read
+     */
+    Optional<JournalSegment<S>> read(WorkflowId workflowId);
+
+    /**
+     * Removes a workflow's journal.
+     *
+     * @param workflowId The workflow ID
+     * @return true if a journal was removed
+     * @throws JournalException if the journal cannot be removed
+     */
+    boolean delete(WorkflowId workflowId);
+
+    /**
+     * Releases what the journal holds open for a workflow whose execution
+     * ended, such as an append channel. The journal itself is kept; a later
+     * execution writes to it again.
+     *
+     * @param workflowId The workflow ID
+     */
+    default void release(WorkflowId workflowId) {}
+
+    /**
+     * Rebuilds the latest recorded state of a workflow.
+     *
+     * @param workflowId The workflow ID
+     * @return The replayed state, or empty if nothing was recorded
+     * @throws JournalException if the journal cannot be read or replayed
+     */
+    default Optional<GraphWorkflowState<S>> replay(WorkflowId workflowId) {
+        return read(workflowId).map(JournalSegment::replay);
+    }
+
+    /**
+     * Releases the resources held by the journal.
+     */
+    @Override
+    default void close() {}
+
+    /**
+     * Exception thrown when a journal cannot be written, read or replayed.
+     */
+    class JournalException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public JournalException(String message) {
+            super(message);
+        }
+
+        public JournalException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -146,4 +146,19 @@ public interface WorkflowMonitor {
         String message, 
         GraphWorkflowState<?> state
     );
+
+    /**
+     * Called when a node produces partial output while it is still
+     * processing, such as tokens streamed from a model. Does nothing by
+     * default.
+     *
+     * @param workflowId The workflow ID
+     * @param nodeId The node ID
+     * @param partialOutput The output produced since the previous call
+     */
+    default void onNodeOutput(
+        WorkflowId workflowId,
+        NodeId nodeId,
+        String partialOutput
+    ) {}
 }
\ No newline at end of file
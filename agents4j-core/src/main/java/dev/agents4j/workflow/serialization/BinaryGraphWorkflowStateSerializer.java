@@ -0,0 +1,848 @@
+package dev.agents4j.workflow.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.graph.EdgeId;
+import dev.agents4j.api.graph.GraphPosition;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.StateDelta;
+import dev.agents4j.api.graph.StateDelta.PositionDelta;
+import dev.agents4j.api.graph.StateMetadata;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.serialization.StateHeader;
+import dev.agents4j.api.serialization.WorkflowStateSerializer;
+import dev.agents4j.workflow.serialization.ContextTypeRegistry.ContextType;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compact binary serializer for GraphWorkflowState, intended for storing
+ * suspended states. Unlike the JSON serializer it restores the full graph
+ * position and state metadata.
+ *
+ * <p>The encoding starts with a header holding the magic bytes, the format
+ * version, the workflow and schema versions, the state data type and the
+ * serialization time, so the version can be checked without decoding the
+ * body. The body starts with the workflow ID and current node, which
+ * {@link #peekHeader(ByteBuffer)} reads as well. The body uses varints for
+ * numbers, a per-message string table for node IDs, edge IDs, key names and
+ * type names, and a one-byte tag per value. Strings, numbers, booleans,
+ * instants and byte arrays have dedicated tags; other values are embedded as
+ * JSON together with their type name. Type names are resolved through a
+ * {@link ContextTypeRegistry}.</p>
+ *
+ * <p>The {@link #serialize(GraphWorkflowState, String) String} form is the
+ * Base64 encoding of the bytes; prefer the byte and {@link ByteBuffer}
+ * overloads when the storage can hold binary data.</p>
+ *
+ * <p>{@link #serializeDelta(StateDelta)} encodes the {@link StateDelta}
+ * between two versions of a state in the same body format, for storage
+ * that keeps a full state and the changes made since. The serializer
+ * therefore {@link #supportsDeltas() supports deltas}: the
+ * {@link #serializeDelta(GraphWorkflowState, GraphWorkflowState, String)}
+ * overload writes a state relative to its base version.</p>
+ */
+public class BinaryGraphWorkflowStateSerializer<S>
+    implements WorkflowStateSerializer<GraphWorkflowState<S>> {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        BinaryGraphWorkflowStateSerializer.class.getName()
+    );
+
+    private static final byte[] MAGIC = { 'A', '4', 'J', 'S' };
+    private static final byte[] DELTA_MAGIC = { 'A', '4', 'J', 'D' };
+    private static final int DELTA_FORMAT_VERSION = 1;
+    private static final int FORMAT_VERSION = 2;
+    /** First format version, without the serialization time in the header. */
+    private static final int FORMAT_VERSION_1 = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_INTEGER = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_DOUBLE = 4;
+    private static final int TAG_TRUE = 5;
+    private static final int TAG_FALSE = 6;
+    private static final int TAG_INSTANT = 7;
+    private static final int TAG_BYTES = 8;
+    private static final int TAG_JSON = 9;
+
+    private final ObjectMapper objectMapper;
+    private final Class<S> stateDataType;
+    private final String schemaVersion;
+    private final ContextTypeRegistry contextTypes;
+
+    public BinaryGraphWorkflowStateSerializer(Class<S> stateDataType) {
+        this(stateDataType, "1.0.0");
+    }
+
+    public BinaryGraphWorkflowStateSerializer(
+        Class<S> stateDataType,
+        String schemaVersion
+    ) {
+        this(stateDataType, schemaVersion, ContextTypeRegistry.defaults());
+    }
+
+    /**
+     * Creates a serializer that restores context values through the given
+     * type registry.
+     *
+     * @param stateDataType The state data class
+     * @param schemaVersion The schema version written with each state
+     * @param contextTypes The registry resolving context value types
+     */
+    public BinaryGraphWorkflowStateSerializer(
+        Class<S> stateDataType,
+        String schemaVersion,
+        ContextTypeRegistry contextTypes
+    ) {
+        this.stateDataType = stateDataType;
+        this.schemaVersion = schemaVersion;
+        this.contextTypes = Objects.requireNonNull(
+            contextTypes,
+            "Context type registry cannot be null"
+        );
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Override
+    public String serialize(
+        GraphWorkflowState<S> state,
+        String workflowVersion
+    ) throws SerializationException {
+        return Base64.getEncoder().encodeToString(
+            serializeToBytes(state, workflowVersion)
+        );
+    }
+
+    @Override
+    public byte[] serializeToBytes(
+        GraphWorkflowState<S> state,
+        String workflowVersion
+    ) throws SerializationException {
+        try {
+            BinaryStateWriter writer = new BinaryStateWriter(256);
+            writeHeader(writer, workflowVersion);
+            writer.writeSymbol(state.workflowId().value());
+            writer.writeSymbol(state.currentNode().map(NodeId::value).orElse(null));
+            writeValue(writer, state.data());
+            writeContext(writer, state.context());
+            writePosition(writer, state.position());
+            writeMetadata(writer, state.metadata());
+            return writer.toByteArray();
+        } catch (Exception e) {
+            throw new SerializationException(
+                "Failed to serialize GraphWorkflowState",
+                e
+            );
+        }
+    }
+
+    @Override
+    public GraphWorkflowState<S> deserialize(
+        String serializedState,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        return deserialize(decodeBase64(serializedState), expectedVersion);
+    }
+
+    @Override
+    public GraphWorkflowState<S> deserialize(
+        byte[] serializedState,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        return deserialize(ByteBuffer.wrap(serializedState), expectedVersion);
+    }
+
+    @Override
+    public GraphWorkflowState<S> deserialize(
+        ByteBuffer serializedState,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        try {
+            BinaryStateReader reader = new BinaryStateReader(serializedState);
+            Header header = readHeader(reader);
+
+            // Validate version compatibility
+            if (!isCompatible(header.workflowVersion(), expectedVersion)) {
+                throw new VersionMismatchException(
+                    header.workflowVersion(),
+                    expectedVersion
+                );
+            }
+
+            // Validate state data type
+            if (!stateDataType.getName().equals(header.stateDataType())) {
+                throw new DeserializationException(
+                    String.format(
+                        "State data type mismatch: expected %s, found %s",
+                        stateDataType.getName(),
+                        header.stateDataType()
+                    )
+                );
+            }
+
+            WorkflowId workflowId = WorkflowId.of(reader.readSymbol());
+            Optional<NodeId> currentNode = Optional.ofNullable(
+                reader.readSymbol()
+            ).map(NodeId::of);
+            S stateData = stateDataType.cast(readValue(reader));
+            WorkflowContext context = readContext(reader);
+            GraphPosition position = readPosition(reader);
+            StateMetadata metadata = readMetadata(reader);
+
+            return new GraphWorkflowState<>(
+                workflowId,
+                stateData,
+                context,
+                currentNode,
+                position,
+                metadata
+            );
+        } catch (VersionMismatchException | DeserializationException e) {
+            throw e;
+        } catch (BufferUnderflowException e) {
+            throw new DeserializationException("Truncated binary state", e);
+        } catch (Exception e) {
+            throw new DeserializationException(
+                "Failed to deserialize GraphWorkflowState",
+                e
+            );
+        }
+    }
+
+    /**
+     * Serializes the delta between two versions of a state. The encoding
+     * carries the state data type but no workflow version; it is meant to be
+     * stored next to the full state it applies to.
+     *
+     * @param delta The state delta
+     * @return The serialized delta
+     * @throws SerializationException if a value cannot be serialized
+     */
+    public byte[] serializeDelta(StateDelta<S> delta)
+        throws SerializationException {
+        try {
+            BinaryStateWriter writer = new BinaryStateWriter(128);
+            writer.writeRaw(DELTA_MAGIC);
+            writer.writeByte(DELTA_FORMAT_VERSION);
+            writer.writeString(stateDataType.getName());
+            writer.writeSymbol(delta.workflowId().value());
+            writer.writeVarLong(delta.baseVersion());
+            writeMetadata(writer, delta.metadata());
+            writer.writeSymbol(delta.currentNode().map(NodeId::value).orElse(null));
+            if (delta.dataReplaced()) {
+                writer.writeByte(TAG_TRUE);
+                writeValue(writer, delta.data());
+            } else {
+                writer.writeByte(TAG_FALSE);
+            }
+            writeContext(writer, delta.contextUpdates());
+            writer.writeVarInt(delta.contextRemovals().size());
+            for (ContextKey<?> key : delta.contextRemovals()) {
+                writer.writeSymbol(key.name());
+                writer.writeSymbol(key.type().getName());
+            }
+            writePositionDelta(writer, delta.position());
+            return writer.toByteArray();
+        } catch (Exception e) {
+            throw new SerializationException(
+                "Failed to serialize state delta",
+                e
+            );
+        }
+    }
+
+    /**
+     * Deserializes a state delta written by {@link #serializeDelta}.
+     *
+     * @param serializedDelta The serialized delta
+     * @return The state delta
+     * @throws DeserializationException if the bytes are not a delta of this
+     *     serializer's state data type
+     */
+    public StateDelta<S> deserializeDelta(ByteBuffer serializedDelta)
+        throws DeserializationException {
+        try {
+            BinaryStateReader reader = new BinaryStateReader(serializedDelta);
+            for (byte expected : DELTA_MAGIC) {
+                if (reader.readByte() != expected) {
+                    throw new DeserializationException("Not a binary state delta");
+                }
+            }
+            int formatVersion = reader.readByte();
+            if (formatVersion != DELTA_FORMAT_VERSION) {
+                throw new DeserializationException(
+                    "Unsupported delta format version: " + formatVersion
+                );
+            }
+            String dataType = reader.readString();
+            if (!stateDataType.getName().equals(dataType)) {
+                throw new DeserializationException(
+                    String.format(
+                        "State data type mismatch: expected %s, found %s",
+                        stateDataType.getName(),
+                        dataType
+                    )
+                );
+            }
+
+            WorkflowId workflowId = WorkflowId.of(reader.readSymbol());
+            long baseVersion = reader.readVarLong();
+            StateMetadata metadata = readMetadata(reader);
+            Optional<NodeId> currentNode = Optional.ofNullable(
+                reader.readSymbol()
+            ).map(NodeId::of);
+            boolean dataReplaced = reader.readByte() == TAG_TRUE;
+            S data = dataReplaced ? stateDataType.cast(readValue(reader)) : null;
+            WorkflowContext contextUpdates = readContext(reader);
+            int removalCount = reader.readVarInt();
+            Set<ContextKey<?>> contextRemovals = new LinkedHashSet<>();
+            for (int i = 0; i < removalCount; i++) {
+                String name = reader.readSymbol();
+                // A key of an unknown type cannot be in a restored context
+                contextTypes
+                    .resolve(reader.readSymbol())
+                    .ifPresent(type -> contextRemovals.add(type.key(name)));
+            }
+            return new StateDelta<>(
+                workflowId,
+                baseVersion,
+                metadata,
+                currentNode,
+                dataReplaced,
+                data,
+                contextUpdates,
+                contextRemovals,
+                readPositionDelta(reader)
+            );
+        } catch (DeserializationException e) {
+            throw e;
+        } catch (BufferUnderflowException e) {
+            throw new DeserializationException("Truncated state delta", e);
+        } catch (Exception e) {
+            throw new DeserializationException(
+                "Failed to deserialize state delta",
+                e
+            );
+        }
+    }
+
+    @Override
+    public boolean supportsDeltas() {
+        return true;
+    }
+
+    /**
+     * Serializes the {@link StateDelta} from the base state. A state that is
+     * not a later version of the same workflow is written in full instead;
+     * {@link #applyDelta} accepts either.
+     */
+    @Override
+    public byte[] serializeDelta(
+        GraphWorkflowState<S> base,
+        GraphWorkflowState<S> state,
+        String workflowVersion
+    ) throws SerializationException {
+        if (
+            !base.workflowId().equals(state.workflowId()) ||
+            state.getVersion() <= base.getVersion()
+        ) {
+            return serializeToBytes(state, workflowVersion);
+        }
+        return serializeDelta(StateDelta.between(base, state));
+    }
+
+    @Override
+    public GraphWorkflowState<S> applyDelta(
+        GraphWorkflowState<S> base,
+        byte[] serializedDelta,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        if (!isDelta(serializedDelta)) {
+            return deserialize(serializedDelta, expectedVersion);
+        }
+        StateDelta<S> delta = deserializeDelta(ByteBuffer.wrap(serializedDelta));
+        try {
+            return delta.applyTo(base);
+        } catch (IllegalArgumentException e) {
+            throw new DeserializationException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isCompatible(
+        String serializedVersion,
+        String currentVersion
+    ) {
+        if (serializedVersion == null || currentVersion == null) {
+            return false;
+        }
+
+        // Simple semantic versioning compatibility check
+        String[] serializedParts = serializedVersion.split("\\.");
+        String[] currentParts = currentVersion.split("\\.");
+
+        if (serializedParts.length < 2 || currentParts.length < 2) {
+            return serializedVersion.equals(currentVersion);
+        }
+
+        // Major version must match, minor version can be different
+        return serializedParts[0].equals(currentParts[0]);
+    }
+
+    @Override
+    public Optional<String> migrate(
+        String serializedState,
+        String fromVersion,
+        String toVersion
+    ) throws MigrationException {
+        if (!isCompatible(fromVersion, toVersion)) {
+            return Optional.empty();
+        }
+        try {
+            // Rewrite the header and keep the body as-is
+            ByteBuffer buffer = ByteBuffer.wrap(decodeBase64(serializedState));
+            Header header = readHeader(new BinaryStateReader(buffer));
+            BinaryStateWriter writer = new BinaryStateWriter(
+                buffer.capacity() + toVersion.length()
+            );
+            writeHeader(
+                writer,
+                toVersion,
+                header.schemaVersion(),
+                header.stateDataType(),
+                header.serializedAt() != null ? header.serializedAt() : Instant.now()
+            );
+            byte[] body = new byte[buffer.remaining()];
+            buffer.get(body);
+            writer.writeRaw(body);
+            return Optional.of(
+                Base64.getEncoder().encodeToString(writer.toByteArray())
+            );
+        } catch (Exception e) {
+            throw new MigrationException("Failed to migrate state", e);
+        }
+    }
+
+    @Override
+    public String extractVersion(String serializedState) {
+        try {
+            return readHeader(
+                new BinaryStateReader(
+                    ByteBuffer.wrap(decodeBase64(serializedState))
+                )
+            ).workflowVersion();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public StateHeader peekHeader(String serializedState)
+        throws DeserializationException {
+        return peekHeader(decodeBase64(serializedState));
+    }
+
+    @Override
+    public StateHeader peekHeader(byte[] serializedState)
+        throws DeserializationException {
+        return peekHeader(ByteBuffer.wrap(serializedState));
+    }
+
+    @Override
+    public StateHeader peekHeader(ByteBuffer serializedState)
+        throws DeserializationException {
+        try {
+            BinaryStateReader reader = new BinaryStateReader(
+                serializedState.duplicate()
+            );
+            Header header = readHeader(reader);
+            // The workflow ID and current node are the first body symbols
+            return new StateHeader(
+                header.workflowVersion(),
+                header.schemaVersion(),
+                header.stateDataType(),
+                reader.readSymbol(),
+                reader.readSymbol(),
+                header.serializedAt()
+            );
+        } catch (DeserializationException e) {
+            throw e;
+        } catch (BufferUnderflowException e) {
+            throw new DeserializationException("Truncated binary state", e);
+        } catch (RuntimeException e) {
+            throw new DeserializationException("Failed to read state header", e);
+        }
+    }
+
+    @Override
+    public String getFormat() {
+        return "binary";
+    }
+
+    @Override
+    public Map<String, Object> getMetadata() {
+        Map<String, Object> metadata = new HashMap<>(
+            WorkflowStateSerializer.super.getMetadata()
+        );
+        metadata.put("stateDataType", stateDataType.getName());
+        metadata.put("schemaVersion", schemaVersion);
+        metadata.put("formatVersion", FORMAT_VERSION);
+        return metadata;
+    }
+
+    private void writeHeader(BinaryStateWriter writer, String workflowVersion) {
+        writeHeader(
+            writer,
+            workflowVersion,
+            schemaVersion,
+            stateDataType.getName(),
+            Instant.now()
+        );
+    }
+
+    private static void writeHeader(
+        BinaryStateWriter writer,
+        String workflowVersion,
+        String schemaVersion,
+        String stateDataType,
+        Instant serializedAt
+    ) {
+        writer.writeRaw(MAGIC);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeString(workflowVersion);
+        writer.writeString(schemaVersion);
+        writer.writeString(stateDataType);
+        writeInstant(writer, serializedAt);
+    }
+
+    private static Header readHeader(BinaryStateReader reader)
+        throws DeserializationException {
+        for (byte expected : MAGIC) {
+            if (reader.readByte() != expected) {
+                throw new DeserializationException("Not a binary workflow state");
+            }
+        }
+        int formatVersion = reader.readByte();
+        if (formatVersion != FORMAT_VERSION && formatVersion != FORMAT_VERSION_1) {
+            throw new DeserializationException(
+                "Unsupported binary format version: " + formatVersion
+            );
+        }
+        return new Header(
+            reader.readString(),
+            reader.readString(),
+            reader.readString(),
+            formatVersion == FORMAT_VERSION_1 ? null : readInstant(reader)
+        );
+    }
+
+    private void writeContext(BinaryStateWriter writer, WorkflowContext context) {
+        List<ContextKey<?>> keys = new ArrayList<>(context.size());
+        for (ContextKey<?> key : context.keys()) {
+            if (context.get(key).isPresent()) {
+                keys.add(key);
+            }
+        }
+        writer.writeVarInt(keys.size());
+        for (ContextKey<?> key : keys) {
+            writer.writeSymbol(key.name());
+            writer.writeSymbol(key.type().getName());
+            writeValue(writer, context.get(key).get());
+        }
+    }
+
+    private WorkflowContext readContext(BinaryStateReader reader) {
+        int count = reader.readVarInt();
+        ExecutionContext.Builder context = ExecutionContext.builder();
+        for (int i = 0; i < count; i++) {
+            String name = reader.readSymbol();
+            String typeName = reader.readSymbol();
+            try {
+                Object value = readValue(reader);
+                putValue(context, name, resolve(typeName), value);
+            } catch (IllegalArgumentException e) {
+                // Skip entries this classpath cannot restore, like the JSON format
+                LOGGER.log(
+                    Level.WARNING,
+                    "Failed to restore context key: " + name,
+                    e
+                );
+            }
+        }
+        return context.build();
+    }
+
+    private static <T> void putValue(
+        ExecutionContext.Builder context,
+        String name,
+        ContextType<T> type,
+        Object value
+    ) {
+        if (value == null || !type.type().isInstance(value)) {
+            throw new IllegalArgumentException(
+                "Value does not match key type " + type.type().getName()
+            );
+        }
+        context.put(type.key(name), type.type().cast(value));
+    }
+
+    private static void writePosition(
+        BinaryStateWriter writer,
+        GraphPosition position
+    ) {
+        writer.writeSymbol(position.currentNodeId().value());
+        writer.writeSymbol(
+            position.previousNodeId().map(NodeId::value).orElse(null)
+        );
+        writer.writeVarInt(position.depth());
+
+        List<NodeId> path = position.visitedNodes();
+        writer.writeVarInt(path.size());
+        for (NodeId nodeId : path) {
+            writer.writeSymbol(nodeId.value());
+        }
+
+        Map<EdgeId, Instant> edges = position.edgeTraversalHistory();
+        writer.writeVarInt(edges.size());
+        for (Map.Entry<EdgeId, Instant> entry : edges.entrySet()) {
+            writer.writeSymbol(entry.getKey().value());
+            writeInstant(writer, entry.getValue());
+        }
+    }
+
+    private static GraphPosition readPosition(BinaryStateReader reader) {
+        NodeId currentNodeId = NodeId.of(reader.readSymbol());
+        Optional<NodeId> previousNodeId = Optional.ofNullable(
+            reader.readSymbol()
+        ).map(NodeId::of);
+        int depth = reader.readVarInt();
+
+        int pathSize = reader.readVarInt();
+        List<NodeId> path = new ArrayList<>(pathSize);
+        for (int i = 0; i < pathSize; i++) {
+            path.add(NodeId.of(reader.readSymbol()));
+        }
+
+        int edgeCount = reader.readVarInt();
+        Map<EdgeId, Instant> edges = new LinkedHashMap<>();
+        for (int i = 0; i < edgeCount; i++) {
+            edges.put(EdgeId.of(reader.readSymbol()), readInstant(reader));
+        }
+
+        return new GraphPosition(
+            currentNodeId,
+            previousNodeId,
+            path,
+            edges,
+            depth
+        );
+    }
+
+    private static void writePositionDelta(
+        BinaryStateWriter writer,
+        PositionDelta position
+    ) {
+        writer.writeSymbol(position.currentNodeId().value());
+        writer.writeSymbol(
+            position.previousNodeId().map(NodeId::value).orElse(null)
+        );
+        writer.writeVarInt(position.depth());
+        writer.writeVarInt(position.retainedPath());
+        writer.writeVarInt(position.pathSuffix().size());
+        for (NodeId nodeId : position.pathSuffix()) {
+            writer.writeSymbol(nodeId.value());
+        }
+        writer.writeByte(position.edgesRetained() ? TAG_TRUE : TAG_FALSE);
+        writer.writeVarInt(position.edgeTraversals().size());
+        for (Map.Entry<EdgeId, Instant> entry : position.edgeTraversals().entrySet()) {
+            writer.writeSymbol(entry.getKey().value());
+            writeInstant(writer, entry.getValue());
+        }
+    }
+
+    private static PositionDelta readPositionDelta(BinaryStateReader reader) {
+        NodeId currentNodeId = NodeId.of(reader.readSymbol());
+        Optional<NodeId> previousNodeId = Optional.ofNullable(
+            reader.readSymbol()
+        ).map(NodeId::of);
+        int depth = reader.readVarInt();
+        int retainedPath = reader.readVarInt();
+
+        int suffixSize = reader.readVarInt();
+        List<NodeId> suffix = new ArrayList<>(suffixSize);
+        for (int i = 0; i < suffixSize; i++) {
+            suffix.add(NodeId.of(reader.readSymbol()));
+        }
+
+        boolean edgesRetained = reader.readByte() == TAG_TRUE;
+        int edgeCount = reader.readVarInt();
+        Map<EdgeId, Instant> edges = new LinkedHashMap<>();
+        for (int i = 0; i < edgeCount; i++) {
+            edges.put(EdgeId.of(reader.readSymbol()), readInstant(reader));
+        }
+
+        return new PositionDelta(
+            currentNodeId,
+            previousNodeId,
+            depth,
+            retainedPath,
+            suffix,
+            edgesRetained,
+            edges
+        );
+    }
+
+    private static void writeMetadata(
+        BinaryStateWriter writer,
+        StateMetadata metadata
+    ) {
+        writer.writeVarLong(metadata.version());
+        writeInstant(writer, metadata.createdAt());
+        writeInstant(writer, metadata.lastModified());
+    }
+
+    private static StateMetadata readMetadata(BinaryStateReader reader) {
+        return new StateMetadata(
+            reader.readVarLong(),
+            readInstant(reader),
+            readInstant(reader)
+        );
+    }
+
+    private static void writeInstant(BinaryStateWriter writer, Instant instant) {
+        writer.writeVarLong(instant.getEpochSecond());
+        writer.writeVarInt(instant.getNano());
+    }
+
+    private static Instant readInstant(BinaryStateReader reader) {
+        return Instant.ofEpochSecond(reader.readVarLong(), reader.readVarInt());
+    }
+
+    private void writeValue(BinaryStateWriter writer, Object value) {
+        if (value == null) {
+            writer.writeByte(TAG_NULL);
+        } else if (value instanceof String string) {
+            writer.writeByte(TAG_STRING);
+            writer.writeString(string);
+        } else if (value instanceof Integer integer) {
+            writer.writeByte(TAG_INTEGER);
+            writer.writeVarLong(integer);
+        } else if (value instanceof Long longValue) {
+            writer.writeByte(TAG_LONG);
+            writer.writeVarLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            writer.writeByte(TAG_DOUBLE);
+            writer.writeDouble(doubleValue);
+        } else if (value instanceof Boolean bool) {
+            writer.writeByte(bool ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Instant instant) {
+            writer.writeByte(TAG_INSTANT);
+            writeInstant(writer, instant);
+        } else if (value instanceof byte[] bytes) {
+            writer.writeByte(TAG_BYTES);
+            writer.writeBytes(bytes);
+        } else {
+            writer.writeByte(TAG_JSON);
+            writer.writeSymbol(value.getClass().getName());
+            try {
+                writer.writeBytes(objectMapper.writeValueAsBytes(value));
+            } catch (Exception e) {
+                throw new IllegalArgumentException(
+                    "Cannot serialize value of type " +
+                    value.getClass().getName(),
+                    e
+                );
+            }
+        }
+    }
+
+    private Object readValue(BinaryStateReader reader) {
+        int tag = reader.readByte();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> reader.readString();
+            case TAG_INTEGER -> (int) reader.readVarLong();
+            case TAG_LONG -> reader.readVarLong();
+            case TAG_DOUBLE -> reader.readDouble();
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_INSTANT -> readInstant(reader);
+            case TAG_BYTES -> reader.readBytes();
+            case TAG_JSON -> {
+                String typeName = reader.readSymbol();
+                byte[] json = reader.readBytes();
+                try {
+                    yield resolve(typeName).read(json);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(
+                        "Cannot read value of type " + typeName,
+                        e
+                    );
+                }
+            }
+            default -> throw new IllegalStateException(
+                "Unknown value tag: " + tag
+            );
+        };
+    }
+
+    private ContextType<?> resolve(String typeName) {
+        return contextTypes
+            .resolve(typeName)
+            .orElseThrow(() ->
+                new IllegalArgumentException("Unknown type: " + typeName)
+            );
+    }
+
+    private static byte[] decodeBase64(String serializedState)
+        throws DeserializationException {
+        try {
+            return Base64.getDecoder().decode(serializedState);
+        } catch (IllegalArgumentException e) {
+            throw new DeserializationException("Invalid Base64 state", e);
+        }
+    }
+
+    private static boolean isDelta(byte[] serialized) {
+        if (serialized.length < DELTA_MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < DELTA_MAGIC.length; i++) {
+            if (serialized[i] != DELTA_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Header fields readable without decoding the body.
+     */
+    private record Header(
+        String workflowVersion,
+        String schemaVersion,
+        String stateDataType,
+        Instant serializedAt
+    ) {}
+}
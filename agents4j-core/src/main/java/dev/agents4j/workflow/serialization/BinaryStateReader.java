@@ -0,0 +1,108 @@
+package dev.agents4j.workflow.serialization;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the primitives written by {@link BinaryStateWriter} from a
+ * {@link ByteBuffer}, advancing its position. Truncated input surfaces as
+ * {@link java.nio.BufferUnderflowException}; malformed input as
+ * {@link IllegalStateException}.
+ */
+final class BinaryStateReader {
+
+    private final ByteBuffer buffer;
+    private final List<String> symbols = new ArrayList<>();
+
+    BinaryStateReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    byte[] readBytes() {
+        byte[] bytes = new byte[readLength()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    long readVarLong() {
+        long raw = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            long b = buffer.get();
+            raw |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (raw >>> 1) ^ -(raw & 1);
+            }
+        }
+        throw new IllegalStateException("Malformed varlong");
+    }
+
+    double readDouble() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (buffer.get() & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    String readString() {
+        int length = readLength();
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(
+                buffer.array(),
+                offset,
+                length,
+                StandardCharsets.UTF_8
+            );
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    String readSymbol() {
+        int tag = readVarInt();
+        if (tag == 0) {
+            return null;
+        }
+        if (tag == 1) {
+            String value = readString();
+            symbols.add(value);
+            return value;
+        }
+        int index = tag - 2;
+        if (index >= symbols.size()) {
+            throw new IllegalStateException(
+                "Unknown string table index: " + index
+            );
+        }
+        return symbols.get(index);
+    }
+
+    private int readLength() {
+        int length = readVarInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Invalid length: " + length);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,113 @@
+package dev.agents4j.workflow.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Growable byte sink for the binary state format. Integers are written as
+ * LEB128 varints and strings either inline or through a per-message string
+ * table, so repeated node IDs and key names cost one or two bytes after their
+ * first occurrence.
+ */
+final class BinaryStateWriter {
+
+    private byte[] buffer;
+    private int size;
+    private final Map<String, Integer> symbols = new HashMap<>();
+
+    BinaryStateWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes) {
+        writeVarInt(bytes.length);
+        writeRaw(bytes);
+    }
+
+    void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Writes a non-negative int in 1 to 5 bytes.
+     */
+    void writeVarInt(int value) {
+        ensureCapacity(5);
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[size++] = (byte) remaining;
+    }
+
+    /**
+     * Writes a long in 1 to 10 bytes, zigzag encoded so small negative
+     * values stay short.
+     */
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        long remaining = (value << 1) ^ (value >> 63);
+        while ((remaining & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[size++] = (byte) remaining;
+    }
+
+    void writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    /**
+     * Writes a string inline, for values that are unlikely to repeat.
+     */
+    void writeString(String value) {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a possibly null string through the string table: 0 for null,
+     * 1 followed by the string on first use, or 2 + its table index after.
+     */
+    void writeSymbol(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = symbols.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+        symbols.put(value, symbols.size());
+        writeVarInt(1);
+        writeString(value);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(
+                buffer,
+                Math.max(buffer.length * 2, size + extra)
+            );
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package dev.agents4j.workflow.serialization;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ContextKeyRegistry;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the type names stored alongside serialized context values to
+ * {@link ContextType}s that know how to read the value and which
+ * {@link ContextKey} to restore it under.
+ *
+ * <p>Registered types are bound once, together with a Jackson reader, so
+ * restoring a context does not look classes up by name or rebuild
+ * deserializers per value. Registering a key also pre-binds its
+ * {@link ContextKey} instance, including the canonical instance of keys
+ * registered with {@link ContextKeyRegistry}. Type names that are not
+ * registered are loaded by name through the class loader, with the result
+ * cached, unless {@link Builder#allowUnregisteredTypes(boolean)} is turned
+ * off.</p>
+ *
+ * <p>String, Integer, Long, Double and Boolean values are read directly from
+ * the parser; {@link Instant} is registered as well.</p>
+ */
+public final class ContextTypeRegistry {
+
+    private static final ContextTypeRegistry DEFAULTS = builder().build();
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, ContextType<?>> registered;
+    private final Map<String, ContextType<?>> resolved = new ConcurrentHashMap<>();
+    private final boolean allowUnregisteredTypes;
+
+    private ContextTypeRegistry(Builder builder) {
+        this.objectMapper = builder.objectMapper;
+        this.allowUnregisteredTypes = builder.allowUnregisteredTypes;
+        Map<String, ContextType<?>> types = new HashMap<>();
+        builder.types.forEach((typeName, type) ->
+            types.put(typeName, bind(type, builder.keys))
+        );
+        this.registered = Map.copyOf(types);
+    }
+
+    /**
+     * Gets the shared registry with the built-in types and reflective
+     * resolution of any other type.
+     *
+     * @return The default registry
+     */
+    public static ContextTypeRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Creates a builder with the built-in types already registered.
+     *
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Resolves a serialized type name.
+     *
+     * @param typeName The type name stored with the value
+     * @return The context type, or empty if the name is not registered and
+     *         cannot or may not be loaded
+     */
+    public Optional<ContextType<?>> resolve(String typeName) {
+        if (typeName == null) {
+            return Optional.empty();
+        }
+        ContextType<?> type = registered.get(typeName);
+        if (type != null) {
+            return Optional.of(type);
+        }
+        if (!allowUnregisteredTypes) {
+            return Optional.empty();
+        }
+        type = resolved.get(typeName);
+        if (type == null) {
+            try {
+                type = generic(
+                    Class.forName(
+                        typeName,
+                        false,
+                        ContextTypeRegistry.class.getClassLoader()
+                    ),
+                    Map.of()
+                );
+            } catch (ClassNotFoundException | LinkageError e) {
+                return Optional.empty();
+            }
+            resolved.putIfAbsent(typeName, type);
+        }
+        return Optional.of(type);
+    }
+
+    /**
+     * Checks whether a type name was registered explicitly or as a built-in.
+     *
+     * @param typeName The type name
+     * @return true if the name is registered
+     */
+    public boolean isRegistered(String typeName) {
+        return registered.containsKey(typeName);
+    }
+
+    private ContextType<?> bind(
+        Class<?> type,
+        Map<Class<?>, Map<String, ContextKey<?>>> keys
+    ) {
+        Map<String, ContextKey<?>> boundKeys = keys.getOrDefault(type, Map.of());
+        if (type == String.class) {
+            return scalar(String.class, boundKeys, parser ->
+                parser.currentToken() == JsonToken.VALUE_STRING
+                    ? parser.getText()
+                    : null
+            );
+        }
+        if (type == Integer.class) {
+            return scalar(Integer.class, boundKeys, parser ->
+                parser.currentToken() == JsonToken.VALUE_NUMBER_INT
+                    ? Integer.valueOf(parser.getIntValue())
+                    : null
+            );
+        }
+        if (type == Long.class) {
+            return scalar(Long.class, boundKeys, parser ->
+                parser.currentToken() == JsonToken.VALUE_NUMBER_INT
+                    ? Long.valueOf(parser.getLongValue())
+                    : null
+            );
+        }
+        if (type == Double.class) {
+            return scalar(Double.class, boundKeys, parser ->
+                parser.currentToken().isNumeric()
+                    ? Double.valueOf(parser.getDoubleValue())
+                    : null
+            );
+        }
+        if (type == Boolean.class) {
+            return scalar(Boolean.class, boundKeys, parser ->
+                parser.currentToken().isBoolean()
+                    ? Boolean.valueOf(parser.getBooleanValue())
+                    : null
+            );
+        }
+        return generic(type, boundKeys);
+    }
+
+    private <T> ContextType<T> scalar(
+        Class<T> type,
+        Map<String, ContextKey<?>> boundKeys,
+        ScalarReader<T> scalarReader
+    ) {
+        return new ContextType<>(
+            type,
+            boundKeys,
+            scalarReader,
+            objectMapper.readerFor(type)
+        );
+    }
+
+    private <T> ContextType<T> generic(
+        Class<T> type,
+        Map<String, ContextKey<?>> boundKeys
+    ) {
+        return new ContextType<>(
+            type,
+            boundKeys,
+            null,
+            objectMapper.readerFor(type)
+        );
+    }
+
+    /**
+     * A resolved context value type with its reader and pre-bound keys.
+     *
+     * @param <T> The value type
+     */
+    public static final class ContextType<T> {
+
+        private final Class<T> type;
+        private final Map<String, ContextKey<?>> boundKeys;
+        private final ScalarReader<T> scalarReader;
+        private final ObjectReader objectReader;
+
+        private ContextType(
+            Class<T> type,
+            Map<String, ContextKey<?>> boundKeys,
+            ScalarReader<T> scalarReader,
+            ObjectReader objectReader
+        ) {
+            this.type = type;
+            this.boundKeys = boundKeys;
+            this.scalarReader = scalarReader;
+            this.objectReader = objectReader;
+        }
+
+        /**
+         * Gets the value class.
+         *
+         * @return The value class
+         */
+        public Class<T> type() {
+            return type;
+        }
+
+        /**
+         * Gets the key to restore a value under: the pre-bound instance if
+         * the key was registered, otherwise a new key of this type.
+         *
+         * @param name The key name
+         * @return The context key
+         */
+        @SuppressWarnings("unchecked")
+        public ContextKey<T> key(String name) {
+            ContextKey<?> key = boundKeys.get(name);
+            return key != null ? (ContextKey<T>) key : ContextKey.of(name, type);
+        }
+
+        /**
+         * Reads the value under the parser's current token, leaving the
+         * parser on its last token.
+         *
+         * @param parser The parser, positioned on the value
+         * @return The value, or null for a JSON null
+         * @throws IllegalArgumentException if the value does not match this type;
+         *         the value has been consumed, so reading can continue
+         * @throws IOException if the input is malformed or cannot be read
+         */
+        public T read(JsonParser parser) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (scalarReader != null) {
+                T value = scalarReader.read(parser);
+                if (value == null) {
+                    parser.skipChildren();
+                    throw new IllegalArgumentException(
+                        "Value does not match type " + type.getName()
+                    );
+                }
+                return value;
+            }
+            try {
+                if (token.isScalarValue()) {
+                    // A failed scalar conversion leaves the parser on the value
+                    return objectReader.readValue(parser);
+                }
+                // Buffer structured values so a failed conversion skips only this value
+                JsonNode node = objectReader.readTree(parser);
+                return objectReader.readValue(node);
+            } catch (JsonParseException e) {
+                throw e;
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(
+                    "Value does not match type " + type.getName(),
+                    e
+                );
+            }
+        }
+
+        /**
+         * Reads a value from a standalone JSON document.
+         *
+         * @param json The UTF-8 JSON bytes
+         * @return The value
+         * @throws IllegalArgumentException if the value does not match this type
+         * @throws IOException if the input is malformed
+         */
+        public T read(byte[] json) throws IOException {
+            try {
+                return objectReader.readValue(json);
+            } catch (JsonParseException e) {
+                throw e;
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(
+                    "Value does not match type " + type.getName(),
+                    e
+                );
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ContextType{" + type.getName() + "}";
+        }
+    }
+
+    @FunctionalInterface
+    private interface ScalarReader<T> {
+        /** @return the value, or null if the current token does not match */
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Builder for {@link ContextTypeRegistry}.
+     */
+    public static final class Builder {
+
+        private final Map<String, Class<?>> types = new HashMap<>();
+        private final Map<Class<?>, Map<String, ContextKey<?>>> keys =
+            new HashMap<>();
+        private ObjectMapper objectMapper;
+        private boolean allowUnregisteredTypes = true;
+
+        private Builder() {
+            register(String.class);
+            register(Integer.class);
+            register(Long.class);
+            register(Double.class);
+            register(Boolean.class);
+            register(Instant.class);
+        }
+
+        /**
+         * Registers a type under its class name.
+         *
+         * @param type The value class
+         * @return This builder
+         */
+        public Builder register(Class<?> type) {
+            Objects.requireNonNull(type, "Type cannot be null");
+            return register(type.getName(), type);
+        }
+
+        /**
+         * Registers a type under an additional name, for example the former
+         * name of a class that was renamed after states were stored.
+         *
+         * @param typeName The serialized type name
+         * @param type The value class
+         * @return This builder
+         */
+        public Builder register(String typeName, Class<?> type) {
+            Objects.requireNonNull(typeName, "Type name cannot be null");
+            Objects.requireNonNull(type, "Type cannot be null");
+            types.put(typeName, type);
+            return this;
+        }
+
+        /**
+         * Registers a key's type and pre-binds the key, so restored values
+         * are stored under this instance.
+         *
+         * @param key The context key
+         * @return This builder
+         */
+        public Builder register(ContextKey<?> key) {
+            Objects.requireNonNull(key, "Context key cannot be null");
+            if (!types.containsKey(key.type().getName())) {
+                register(key.type());
+            }
+            keys
+                .computeIfAbsent(key.type(), type -> new HashMap<>())
+                .put(key.name(), ContextKeyRegistry.intern(key));
+            return this;
+        }
+
+        /**
+         * Sets whether type names that were not registered may be loaded by
+         * name. Turning this off restricts restored values to known types.
+         *
+         * @param allow true to load unregistered types (the default)
+         * @return This builder
+         */
+        public Builder allowUnregisteredTypes(boolean allow) {
+            this.allowUnregisteredTypes = allow;
+            return this;
+        }
+
+        /**
+         * Sets the mapper used to read values without a built-in reader.
+         * Defaults to a mapper with the Java time module.
+         *
+         * @param objectMapper The object mapper
+         * @return This builder
+         */
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = Objects.requireNonNull(
+                objectMapper,
+                "Object mapper cannot be null"
+            );
+            return this;
+        }
+
+        public ContextTypeRegistry build() {
+            if (objectMapper == null) {
+                objectMapper = new ObjectMapper();
+                objectMapper.registerModule(new JavaTimeModule());
+            }
+            return new ContextTypeRegistry(this);
+        }
+    }
+}
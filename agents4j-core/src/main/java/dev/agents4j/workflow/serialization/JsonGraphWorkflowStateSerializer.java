@@ -1,34 +1,72 @@
 package dev.agents4j.workflow.serialization;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
 import dev.agents4j.api.context.WorkflowContext;
 import dev.agents4j.api.graph.GraphPosition;
 import dev.agents4j.api.graph.GraphWorkflowState;
 import dev.agents4j.api.graph.NodeId;
 import dev.agents4j.api.graph.StateMetadata;
 import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.serialization.StateHeader;
 import dev.agents4j.api.serialization.WorkflowStateSerializer;
+import dev.agents4j.workflow.serialization.ContextTypeRegistry.ContextType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * JSON-based serializer for GraphWorkflowState that handles version compatibility
  * and provides safe serialization/deserialization with type preservation.
+ *
+ * <p>States are written and read with Jackson's streaming generator and
+ * parser, so the stream and channel overloads never hold a second copy of the
+ * document in memory. The header fields (versions, data type, workflow ID,
+ * current node and serialization time) are written first, which lets
+ * {@link #peekHeader(String)} stop before the body and
+ * {@link #deserialize(String, String)} reject an incompatible state before
+ * decoding its data, and each context entry carries its type ahead of its
+ * value so values are decoded straight into their target type. Type names
+ * are resolved through a {@link ContextTypeRegistry}.</p>
  */
 public class JsonGraphWorkflowStateSerializer<S>
     implements WorkflowStateSerializer<GraphWorkflowState<S>> {
 
+    private static final Logger LOGGER = Logger.getLogger(
+        JsonGraphWorkflowStateSerializer.class.getName()
+    );
+
+    /** Number of top-level fields read by {@link #peekHeader(String)}. */
+    private static final int HEADER_FIELDS = 6;
+
     private final ObjectMapper objectMapper;
+    private final ObjectWriter valueWriter;
     private final Class<S> stateDataType;
     private final String schemaVersion;
+    private final ContextTypeRegistry contextTypes;
 
     public JsonGraphWorkflowStateSerializer(Class<S> stateDataType) {
         this(stateDataType, "1.0.0");
@@ -37,11 +75,35 @@ public class JsonGraphWorkflowStateSerializer<S>
     public JsonGraphWorkflowStateSerializer(
         Class<S> stateDataType,
         String schemaVersion
+    ) {
+        this(stateDataType, schemaVersion, ContextTypeRegistry.defaults());
+    }
+
+    /**
+     * Creates a serializer that restores context values through the given
+     * type registry.
+     *
+     * @param stateDataType The state data class
+     * @param schemaVersion The schema version written with each state
+     * @param contextTypes The registry resolving context value types
+     */
+    public JsonGraphWorkflowStateSerializer(
+        Class<S> stateDataType,
+        String schemaVersion,
+        ContextTypeRegistry contextTypes
     ) {
         this.stateDataType = stateDataType;
         this.schemaVersion = schemaVersion;
+        this.contextTypes = Objects.requireNonNull(
+            contextTypes,
+            "Context type registry cannot be null"
+        );
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+        // Values are embedded in a larger document; flush once at the end
+        this.valueWriter = objectMapper
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Override
@@ -49,32 +111,35 @@ public class JsonGraphWorkflowStateSerializer<S>
         GraphWorkflowState<S> state,
         String workflowVersion
     ) throws SerializationException {
-        try {
-            SerializableWrapper wrapper = new SerializableWrapper(
-                workflowVersion,
-                schemaVersion,
-                state.workflowId().value(),
-                state.data(),
-                state.currentNode().map(NodeId::value).orElse(null),
-                convertContextToMap(state.context()),
-                convertPositionToMap(state.position()),
-                convertMetadataToMap(state.metadata()),
-                Instant.now(),
-                stateDataType.getName()
-            );
+        StringWriter writer = new StringWriter();
+        write(factory -> factory.createGenerator(writer), state, workflowVersion);
+        return writer.toString();
+    }
 
-            return objectMapper.writeValueAsString(wrapper);
-        } catch (JsonProcessingException e) {
-            throw new SerializationException(
-                "Failed to serialize GraphWorkflowState",
-                e
-            );
-        } catch (Exception e) {
-            throw new SerializationException(
-                "Unexpected error during serialization",
-                e
-            );
-        }
+    @Override
+    public byte[] serializeToBytes(
+        GraphWorkflowState<S> state,
+        String workflowVersion
+    ) throws SerializationException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+        serialize(state, workflowVersion, output);
+        return output.toByteArray();
+    }
+
+    @Override
+    public void serialize(
+        GraphWorkflowState<S> state,
+        String workflowVersion,
+        OutputStream output
+    ) throws SerializationException {
+        write(
+            factory ->
+                factory
+                    .createGenerator(output, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET),
+            state,
+            workflowVersion
+        );
     }
 
     @Override
@@ -82,68 +147,55 @@ public class JsonGraphWorkflowStateSerializer<S>
         String serializedState,
         String expectedVersion
     ) throws DeserializationException, VersionMismatchException {
-        try {
-            SerializableWrapper wrapper = objectMapper.readValue(
-                serializedState,
-                SerializableWrapper.class
-            );
-
-            // Validate version compatibility
-            if (!isCompatible(wrapper.workflowVersion(), expectedVersion)) {
-                throw new VersionMismatchException(
-                    wrapper.workflowVersion(),
-                    expectedVersion
-                );
-            }
-
-            // Validate state data type
-            if (!stateDataType.getName().equals(wrapper.stateDataType())) {
-                throw new DeserializationException(
-                    String.format(
-                        "State data type mismatch: expected %s, found %s",
-                        stateDataType.getName(),
-                        wrapper.stateDataType()
-                    )
-                );
-            }
+        return read(
+            factory -> factory.createParser(serializedState),
+            expectedVersion
+        );
+    }
 
-            // Reconstruct the state
-            WorkflowId workflowId = WorkflowId.of(wrapper.workflowId());
-            S stateData = objectMapper.convertValue(
-                wrapper.stateData(),
-                stateDataType
-            );
-            Optional<NodeId> currentNode = Optional.ofNullable(
-                wrapper.currentNode()
-            ).map(NodeId::of);
-            WorkflowContext context = convertMapToContext(
-                wrapper.contextData()
-            );
-            GraphPosition position = convertMapToPosition(
-                wrapper.positionData()
-            );
-            StateMetadata metadata = convertMapToMetadata(
-                wrapper.metadataData()
-            );
+    @Override
+    public GraphWorkflowState<S> deserialize(
+        byte[] serializedState,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        return read(
+            factory -> factory.createParser(serializedState),
+            expectedVersion
+        );
+    }
 
-            return new GraphWorkflowState<>(
-                workflowId,
-                stateData,
-                context,
-                currentNode,
-                position,
-                metadata
-            );
-        } catch (VersionMismatchException e) {
-            throw e; // Re-throw version mismatch exceptions
-        } catch (JsonProcessingException e) {
-            throw new DeserializationException("Failed to parse JSON", e);
-        } catch (Exception e) {
-            throw new DeserializationException(
-                "Failed to deserialize GraphWorkflowState",
-                e
+    @Override
+    public GraphWorkflowState<S> deserialize(
+        ByteBuffer serializedState,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        if (!serializedState.hasArray()) {
+            return WorkflowStateSerializer.super.deserialize(
+                serializedState,
+                expectedVersion
             );
         }
+        int offset = serializedState.arrayOffset() + serializedState.position();
+        int length = serializedState.remaining();
+        serializedState.position(serializedState.limit());
+        return read(
+            factory -> factory.createParser(serializedState.array(), offset, length),
+            expectedVersion
+        );
+    }
+
+    @Override
+    public GraphWorkflowState<S> deserialize(
+        InputStream input,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        return read(
+            factory ->
+                factory
+                    .createParser(input)
+                    .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE),
+            expectedVersion
+        );
     }
 
     @Override
@@ -174,32 +226,84 @@ public class JsonGraphWorkflowStateSerializer<S>
         String toVersion
     ) throws MigrationException {
         // Basic migration support - in practice, you'd implement version-specific migrations
-        if (isCompatible(fromVersion, toVersion)) {
-            try {
-                // Parse and re-serialize with new version
-                JsonNode node = objectMapper.readTree(serializedState);
-                if (node.isObject()) {
-                    ((ObjectNode) node).put("workflowVersion", toVersion);
-                    return Optional.of(objectMapper.writeValueAsString(node));
+        if (!isCompatible(fromVersion, toVersion)) {
+            return Optional.empty();
+        }
+        // Copy the document token by token, replacing the version field
+        StringWriter writer = new StringWriter();
+        try (
+            JsonParser parser = factory().createParser(serializedState);
+            JsonGenerator generator = factory().createGenerator(writer)
+        ) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            generator.writeStartObject();
+            boolean versionWritten = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if ("workflowVersion".equals(parser.currentName())) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                    generator.writeStringField("workflowVersion", toVersion);
+                    versionWritten = true;
+                } else {
+                    generator.copyCurrentStructure(parser);
                 }
-            } catch (JsonProcessingException e) {
-                throw new MigrationException("Failed to migrate state", e);
             }
+            if (!versionWritten) {
+                generator.writeStringField("workflowVersion", toVersion);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new MigrationException("Failed to migrate state", e);
         }
-        return Optional.empty();
+        return Optional.of(writer.toString());
     }
 
     @Override
     public String extractVersion(String serializedState) {
-        try {
-            JsonNode node = objectMapper.readTree(serializedState);
-            JsonNode versionNode = node.get("workflowVersion");
-            return versionNode != null ? versionNode.asText() : null;
-        } catch (JsonProcessingException e) {
+        // Scan the top-level fields only; nested values are skipped unread
+        try (JsonParser parser = factory().createParser(serializedState)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("workflowVersion".equals(field)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
             return null;
         }
     }
 
+    @Override
+    public StateHeader peekHeader(String serializedState)
+        throws DeserializationException {
+        return peek(factory -> factory.createParser(serializedState));
+    }
+
+    @Override
+    public StateHeader peekHeader(byte[] serializedState)
+        throws DeserializationException {
+        return peek(factory -> factory.createParser(serializedState));
+    }
+
+    @Override
+    public StateHeader peekHeader(ByteBuffer serializedState)
+        throws DeserializationException {
+        // Parse from a view so only the header is read and the position stays
+        return peek(factory ->
+            factory.createParser(
+                new ByteBufferBackedInputStream(serializedState.duplicate())
+            )
+        );
+    }
+
     @Override
     public String getFormat() {
         return "json";
@@ -213,6 +317,7 @@ public class JsonGraphWorkflowStateSerializer<S>
         metadata.put("stateDataType", stateDataType.getName());
         metadata.put("schemaVersion", schemaVersion);
         metadata.put("jacksonVersion", getJacksonVersion());
+        metadata.put("supportsStreaming", true);
         return metadata;
     }
 
@@ -224,182 +329,394 @@ public class JsonGraphWorkflowStateSerializer<S>
         }
     }
 
-    private Map<String, Object> convertContextToMap(WorkflowContext context) {
-        Map<String, Object> map = new HashMap<>();
-        Set<ContextKey<?>> keys = context.keys();
+    private JsonFactory factory() {
+        return objectMapper.getFactory();
+    }
 
-        for (ContextKey<?> key : keys) {
-            Object value = context.get(key).orElse(null);
-            if (value != null) {
-                // Store with type information for safe reconstruction
-                Map<String, Object> typedValue = Map.of(
-                    "value",
-                    value,
-                    "type",
-                    value.getClass().getName()
-                );
-                map.put(key.name(), typedValue);
+    private StateHeader peek(ParserSource source)
+        throws DeserializationException {
+        try (JsonParser parser = source.open(factory())) {
+            return readHeader(parser);
+        } catch (JsonProcessingException e) {
+            throw new DeserializationException("Failed to parse JSON", e);
+        } catch (IOException e) {
+            throw new DeserializationException(
+                "Failed to read serialized state",
+                e
+            );
+        } catch (RuntimeException e) {
+            throw new DeserializationException("Failed to read state header", e);
+        }
+    }
+
+    /**
+     * Reads the top-level header fields, stopping as soon as all of them have
+     * been seen. States written before the header fields were grouped at the
+     * front are still read, by skipping over the body.
+     */
+    private static StateHeader readHeader(JsonParser parser)
+        throws IOException, DeserializationException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new DeserializationException(
+                "Expected a JSON object at the start of the state"
+            );
+        }
+        String workflowVersion = null;
+        String schemaVersion = null;
+        String dataType = null;
+        String workflowId = null;
+        String currentNode = null;
+        Instant serializedAt = null;
+        int found = 0;
+        while (
+            found < HEADER_FIELDS && parser.nextToken() == JsonToken.FIELD_NAME
+        ) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "workflowVersion" -> workflowVersion = parser.getValueAsString();
+                case "schemaVersion" -> schemaVersion = parser.getValueAsString();
+                case "stateDataType" -> dataType = parser.getValueAsString();
+                case "workflowId" -> workflowId = parser.getValueAsString();
+                case "currentNode" -> currentNode = parser.getValueAsString();
+                case "serializedAt" -> serializedAt = readInstant(parser);
+                default -> {
+                    parser.skipChildren();
+                    continue;
+                }
             }
+            found++;
+        }
+        if (workflowVersion == null) {
+            throw new DeserializationException("No version information found");
+        }
+        return new StateHeader(
+            workflowVersion,
+            schemaVersion,
+            dataType,
+            workflowId,
+            currentNode,
+            serializedAt
+        );
+    }
+
+    /**
+     * Reads an instant written by the Java time module, either as decimal
+     * epoch seconds or as an ISO-8601 string.
+     */
+    private static Instant readInstant(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isNumeric()) {
+            BigDecimal value = parser.getDecimalValue();
+            long seconds = value.longValue();
+            int nanos = value
+                .subtract(BigDecimal.valueOf(seconds))
+                .movePointRight(9)
+                .intValue();
+            return Instant.ofEpochSecond(seconds, nanos);
         }
+        if (token == JsonToken.VALUE_STRING) {
+            return Instant.parse(parser.getText());
+        }
+        parser.skipChildren();
+        return null;
+    }
 
-        return map;
+    private void writeState(
+        JsonGenerator generator,
+        GraphWorkflowState<S> state,
+        String workflowVersion
+    ) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("workflowVersion", workflowVersion);
+        generator.writeStringField("schemaVersion", schemaVersion);
+        generator.writeStringField("stateDataType", stateDataType.getName());
+        generator.writeStringField("workflowId", state.workflowId().value());
+        generator.writeStringField(
+            "currentNode",
+            state.currentNode().map(NodeId::value).orElse(null)
+        );
+        generator.writeFieldName("serializedAt");
+        valueWriter.writeValue(generator, Instant.now());
+        // Header fields above, so peekHeader can stop here
+        generator.writeFieldName("stateData");
+        valueWriter.writeValue(generator, state.data());
+        writeContext(generator, state.context());
+        writePosition(generator, state.position());
+        writeMetadata(generator, state.metadata());
+        generator.writeEndObject();
     }
 
-    @SuppressWarnings("unchecked")
-    private WorkflowContext convertMapToContext(Map<String, Object> map) {
+    private GraphWorkflowState<S> readState(
+        JsonParser parser,
+        String expectedVersion
+    ) throws IOException, DeserializationException, VersionMismatchException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new DeserializationException(
+                "Expected a JSON object at the start of the state"
+            );
+        }
+
+        String workflowVersion = null;
+        String dataType = null;
+        String workflowId = null;
+        String currentNode = null;
+        S stateData = null;
         WorkflowContext context = WorkflowContext.empty();
 
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            try {
-                if (entry.getValue() instanceof Map<?, ?> typedValue) {
-                    Object value =
-                        ((Map<String, Object>) typedValue).get("value");
-                    String type = (String) ((Map<
-                                String,
-                                Object
-                            >) typedValue).get("type");
-
-                    // Reconstruct context key based on type
-                    if (value != null) {
-                        context = addTypedValueToContext(
-                            context,
-                            entry.getKey(),
-                            value,
-                            type
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "workflowVersion" -> {
+                    workflowVersion = parser.getValueAsString();
+                    // Fail before decoding the state data
+                    if (!isCompatible(workflowVersion, expectedVersion)) {
+                        throw new VersionMismatchException(
+                            workflowVersion,
+                            expectedVersion
                         );
                     }
                 }
-            } catch (Exception e) {
-                // Skip problematic entries rather than failing completely
-                System.err.println(
-                    "Failed to restore context key: " +
-                    entry.getKey() +
-                    ", error: " +
-                    e.getMessage()
+                case "stateDataType" -> {
+                    dataType = parser.getValueAsString();
+                    validateStateDataType(dataType);
+                }
+                case "workflowId" -> workflowId = parser.getValueAsString();
+                case "currentNode" -> currentNode = parser.getValueAsString();
+                case "stateData" -> stateData = objectMapper.readValue(
+                    parser,
+                    stateDataType
                 );
+                case "contextData" -> context = readContext(parser);
+                default -> parser.skipChildren();
             }
         }
 
-        return context;
+        // Validate version compatibility
+        if (!isCompatible(workflowVersion, expectedVersion)) {
+            throw new VersionMismatchException(workflowVersion, expectedVersion);
+        }
+
+        // Validate state data type
+        validateStateDataType(dataType);
+
+        if (workflowId == null) {
+            throw new DeserializationException("Missing workflowId");
+        }
+
+        return new GraphWorkflowState<>(
+            WorkflowId.of(workflowId),
+            stateData,
+            context,
+            Optional.ofNullable(currentNode).map(NodeId::of),
+            // Simplified reconstruction - the JSON format does not carry the
+            // edge history needed to rebuild the full GraphPosition
+            GraphPosition.at(NodeId.of("reconstructed-node")),
+            StateMetadata.initial()
+        );
     }
 
-    private WorkflowContext addTypedValueToContext(
-        WorkflowContext context,
-        String keyName,
-        Object value,
-        String type
-    ) {
-        try {
-            // Handle common types
-            switch (type) {
-                case "java.lang.String" -> {
-                    ContextKey<String> key = ContextKey.stringKey(keyName);
-                    return context.with(key, (String) value);
-                }
-                case "java.lang.Integer" -> {
-                    ContextKey<Integer> key = ContextKey.intKey(keyName);
-                    return context.with(key, (Integer) value);
-                }
-                case "java.lang.Boolean" -> {
-                    ContextKey<Boolean> key = ContextKey.booleanKey(keyName);
-                    return context.with(key, (Boolean) value);
-                }
-                case "java.lang.Long" -> {
-                    ContextKey<Long> key = ContextKey.of(keyName, Long.class);
-                    return context.with(key, (Long) value);
-                }
-                case "java.lang.Double" -> {
-                    ContextKey<Double> key = ContextKey.of(
-                        keyName,
-                        Double.class
-                    );
-                    return context.with(key, (Double) value);
+    private void validateStateDataType(String dataType)
+        throws DeserializationException {
+        if (!stateDataType.getName().equals(dataType)) {
+            throw new DeserializationException(
+                String.format(
+                    "State data type mismatch: expected %s, found %s",
+                    stateDataType.getName(),
+                    dataType
+                )
+            );
+        }
+    }
+
+    private void writeContext(JsonGenerator generator, WorkflowContext context)
+        throws IOException {
+        generator.writeObjectFieldStart("contextData");
+        for (ContextKey<?> key : context.keys()) {
+            Object value = context.get(key).orElse(null);
+            if (value != null) {
+                // Store with type information for safe reconstruction
+                generator.writeObjectFieldStart(key.name());
+                generator.writeStringField("type", value.getClass().getName());
+                generator.writeFieldName("value");
+                valueWriter.writeValue(generator, value);
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private WorkflowContext readContext(JsonParser parser) throws IOException {
+        ExecutionContext.Builder context = ExecutionContext.builder();
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return context.build();
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String keyName = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            String typeName = null;
+            JsonNode bufferedValue = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("type".equals(field)) {
+                    typeName = parser.getValueAsString();
+                } else if ("value".equals(field) && typeName != null) {
+                    readEntry(parser, context, keyName, typeName);
+                } else if ("value".equals(field)) {
+                    // Older states may list the value before its type
+                    bufferedValue = objectMapper.readTree(parser);
+                } else {
+                    parser.skipChildren();
                 }
-                default -> {
-                    // For other types, try to reconstruct using the original type
-                    Class<?> valueClass = Class.forName(type);
-                    Object convertedValue = objectMapper.convertValue(
-                        value,
-                        valueClass
-                    );
-                    @SuppressWarnings("unchecked")
-                    ContextKey<Object> key = (ContextKey<Object>) ContextKey.of(keyName, valueClass);
-                    return context.with(key, convertedValue);
+            }
+            if (bufferedValue != null && typeName != null) {
+                try (JsonParser buffered = objectMapper.treeAsTokens(bufferedValue)) {
+                    buffered.nextToken();
+                    readEntry(buffered, context, keyName, typeName);
                 }
             }
-        } catch (ClassNotFoundException e) {
-            System.err.println(
-                "Unknown type for context key " + keyName + ": " + type
+        }
+        return context.build();
+    }
+
+    /**
+     * Reads the value under the parser's current token into the context.
+     * Entries whose type is unknown or does not match the value are skipped,
+     * leaving the parser after the value.
+     */
+    private void readEntry(
+        JsonParser parser,
+        ExecutionContext.Builder context,
+        String keyName,
+        String typeName
+    ) throws IOException {
+        Optional<ContextType<?>> type = contextTypes.resolve(typeName);
+        if (type.isEmpty()) {
+            LOGGER.warning(
+                "Unknown type for context key " + keyName + ": " + typeName
+            );
+            parser.skipChildren();
+            return;
+        }
+        try {
+            putValue(parser, context, keyName, type.get());
+        } catch (IllegalArgumentException e) {
+            // Skip problematic entries rather than failing completely
+            LOGGER.log(
+                Level.WARNING,
+                "Failed to restore context key: " + keyName,
+                e
             );
-            return context;
         }
     }
 
-    private Map<String, Object> convertPositionToMap(GraphPosition position) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("depth", position.depth());
-        map.put(
-            "path",
-            position.getPath().stream().map(NodeId::value).toList()
-        );
-        map.put(
+    private static <T> void putValue(
+        JsonParser parser,
+        ExecutionContext.Builder context,
+        String keyName,
+        ContextType<T> type
+    ) throws IOException {
+        T value = type.read(parser);
+        if (value != null) {
+            context.put(type.key(keyName), value);
+        }
+    }
+
+    private static void writePosition(
+        JsonGenerator generator,
+        GraphPosition position
+    ) throws IOException {
+        generator.writeObjectFieldStart("positionData");
+        generator.writeNumberField("depth", position.depth());
+        generator.writeArrayFieldStart("path");
+        for (NodeId nodeId : position.getPath()) {
+            generator.writeString(nodeId.value());
+        }
+        generator.writeEndArray();
+        generator.writeStringField(
             "previousNode",
             position.previousNodeId().map(NodeId::value).orElse(null)
         );
-        return map;
+        generator.writeEndObject();
     }
 
-    private GraphPosition convertMapToPosition(Map<String, Object> map) {
-        // This is a simplified reconstruction - in practice you'd need to properly
-        // reconstruct the GraphPosition based on its internal structure
-        Integer depth = (Integer) map.get("depth");
-        if (depth == null) depth = 0;
-
-        // For now, create a minimal position - a real implementation would need
-        // access to GraphPosition factory methods or constructors
-        return GraphPosition.at(NodeId.of("reconstructed-node"));
+    private static void writeMetadata(
+        JsonGenerator generator,
+        StateMetadata metadata
+    ) throws IOException {
+        generator.writeObjectFieldStart("metadataData");
+        generator.writeNumberField("version", metadata.version());
+        generator.writeStringField(
+            "createdAt",
+            metadata.createdAt().toString()
+        );
+        generator.writeStringField(
+            "lastModified",
+            metadata.lastModified().toString()
+        );
+        generator.writeEndObject();
     }
 
-    private Map<String, Object> convertMetadataToMap(StateMetadata metadata) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("version", metadata.version());
-        map.put("createdAt", metadata.createdAt().toString());
-        map.put("lastModified", metadata.lastModified().toString());
-        return map;
+    private void write(
+        GeneratorSource source,
+        GraphWorkflowState<S> state,
+        String workflowVersion
+    ) throws SerializationException {
+        try (JsonGenerator generator = source.open(factory())) {
+            writeState(generator, state, workflowVersion);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException(
+                "Failed to serialize GraphWorkflowState",
+                e
+            );
+        } catch (IOException e) {
+            throw new SerializationException(
+                "Failed to write serialized state",
+                e
+            );
+        } catch (RuntimeException e) {
+            throw new SerializationException(
+                "Unexpected error during serialization",
+                e
+            );
+        }
     }
 
-    private StateMetadata convertMapToMetadata(Map<String, Object> map) {
-        // Simplified reconstruction - real implementation would depend on StateMetadata structure
-        Long version = map.get("version") instanceof Number num
-            ? num.longValue()
-            : 1L;
-        String createdAtStr = (String) map.get("createdAt");
-        String lastModifiedStr = (String) map.get("lastModified");
-
-        Instant createdAt = createdAtStr != null
-            ? Instant.parse(createdAtStr)
-            : Instant.now();
-        Instant lastModified = lastModifiedStr != null
-            ? Instant.parse(lastModifiedStr)
-            : Instant.now();
+    private GraphWorkflowState<S> read(
+        ParserSource source,
+        String expectedVersion
+    ) throws DeserializationException, VersionMismatchException {
+        try (JsonParser parser = source.open(factory())) {
+            return readState(parser, expectedVersion);
+        } catch (JsonProcessingException e) {
+            throw new DeserializationException("Failed to parse JSON", e);
+        } catch (IOException e) {
+            throw new DeserializationException(
+                "Failed to read serialized state",
+                e
+            );
+        } catch (RuntimeException e) {
+            throw new DeserializationException(
+                "Failed to deserialize GraphWorkflowState",
+                e
+            );
+        }
+    }
 
-        // This would need to match the actual StateMetadata constructor/factory
-        return StateMetadata.initial();
+    @FunctionalInterface
+    private interface GeneratorSource {
+        JsonGenerator open(JsonFactory factory) throws IOException;
     }
 
-    /**
-     * Wrapper class for serialization that includes version and type information.
-     */
-    record SerializableWrapper(
-        String workflowVersion,
-        String schemaVersion,
-        String workflowId,
-        Object stateData,
-        String currentNode,
-        Map<String, Object> contextData,
-        Map<String, Object> positionData,
-        Map<String, Object> metadataData,
-        Instant serializedAt,
-        String stateDataType
-    ) {}
+    @FunctionalInterface
+    private interface ParserSource {
+        JsonParser open(JsonFactory factory) throws IOException;
+    }
 }
@@ -0,0 +1,24 @@
+package dev.agents4j.workflow.store;
+
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.suspension.StoredSuspension;
+import java.time.Instant;
+
+/**
+ * Expiry index entry of a state store, ordered by expiry and then workflow
+ * ID.
+ */
+record ExpiryEntry(Instant expiresAt, WorkflowId workflowId)
+    implements Comparable<ExpiryEntry> {
+    static ExpiryEntry of(StoredSuspension suspension) {
+        return new ExpiryEntry(suspension.expiresAt(), suspension.workflowId());
+    }
+
+    @Override
+    public int compareTo(ExpiryEntry other) {
+        int byTime = expiresAt.compareTo(other.expiresAt);
+        return byTime != 0
+            ? byTime
+            : workflowId.value().compareTo(other.workflowId.value());
+    }
+}
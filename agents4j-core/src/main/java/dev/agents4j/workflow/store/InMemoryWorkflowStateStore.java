@@ -0,0 +1,149 @@
+package dev.agents4j.workflow.store;
+
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.suspension.StoredSuspension;
+import dev.agents4j.api.suspension.SuspensionExpiry;
+import dev.agents4j.api.suspension.WorkflowStateStore;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Workflow state store that keeps suspensions in memory. Suitable for tests
+ * and for single-process deployments where suspensions need not survive a
+ * restart.
+ *
+ * <p>Suspensions are kept in a concurrent map by workflow ID. Updates to
+ * one workflow are applied atomically together with its suspension ID and
+ * expiry index entries, so readers never see a suspension ID that points at
+ * a replaced suspension.</p>
+ */
+public class InMemoryWorkflowStateStore implements WorkflowStateStore {
+
+    private final ConcurrentMap<WorkflowId, StoredSuspension> byWorkflow =
+        new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, WorkflowId> bySuspension =
+        new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<ExpiryEntry> byExpiry =
+        new ConcurrentSkipListSet<>();
+
+    @Override
+    public void put(StoredSuspension suspension) {
+        Objects.requireNonNull(suspension, "Suspension cannot be null");
+        byWorkflow.compute(suspension.workflowId(), (workflowId, previous) -> {
+            if (previous != null) {
+                unindex(previous);
+            }
+            bySuspension.put(suspension.suspensionId(), workflowId);
+            if (suspension.expiresAt() != null) {
+                byExpiry.add(ExpiryEntry.of(suspension));
+            }
+            return suspension;
+        });
+    }
+
+    @Override
+    public Optional<StoredSuspension> get(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return Optional.ofNullable(byWorkflow.get(workflowId));
+    }
+
+    @Override
+    public Optional<StoredSuspension> findBySuspensionId(String suspensionId) {
+        Objects.requireNonNull(suspensionId, "Suspension ID cannot be null");
+        WorkflowId workflowId = bySuspension.get(suspensionId);
+        if (workflowId == null) {
+            return Optional.empty();
+        }
+        return get(workflowId).filter(suspension ->
+            suspension.suspensionId().equals(suspensionId)
+        );
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return remove(workflowId, null);
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId, String suspensionId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Objects.requireNonNull(suspensionId, "Suspension ID cannot be null");
+        return remove(workflowId, suspensionId);
+    }
+
+    @Override
+    public List<StoredSuspension> scanExpired(Instant now, int limit) {
+        Objects.requireNonNull(now, "Now cannot be null");
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        List<StoredSuspension> expired = new ArrayList<>();
+        for (ExpiryEntry entry : byExpiry) {
+            if (expired.size() >= limit || entry.expiresAt().isAfter(now)) {
+                break;
+            }
+            StoredSuspension suspension = byWorkflow.get(entry.workflowId());
+            // Skip entries of suspensions replaced since the iteration began
+            if (
+                suspension != null &&
+                entry.expiresAt().equals(suspension.expiresAt())
+            ) {
+                expired.add(suspension);
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public List<SuspensionExpiry> listExpiries() {
+        List<SuspensionExpiry> expiries = new ArrayList<>();
+        for (ExpiryEntry entry : byExpiry) {
+            StoredSuspension suspension = byWorkflow.get(entry.workflowId());
+            if (
+                suspension != null &&
+                entry.expiresAt().equals(suspension.expiresAt())
+            ) {
+                expiries.add(SuspensionExpiry.of(suspension));
+            }
+        }
+        return expiries;
+    }
+
+    @Override
+    public int size() {
+        return byWorkflow.size();
+    }
+
+    /**
+     * Removes a workflow's suspension, if its ID matches when one is given.
+     */
+    private boolean remove(WorkflowId workflowId, String suspensionId) {
+        boolean[] removed = new boolean[1];
+        byWorkflow.computeIfPresent(workflowId, (id, previous) -> {
+            if (
+                suspensionId != null &&
+                !previous.suspensionId().equals(suspensionId)
+            ) {
+                return previous;
+            }
+            unindex(previous);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private void unindex(StoredSuspension suspension) {
+        bySuspension.remove(suspension.suspensionId(), suspension.workflowId());
+        if (suspension.expiresAt() != null) {
+            byExpiry.remove(ExpiryEntry.of(suspension));
+        }
+    }
+}
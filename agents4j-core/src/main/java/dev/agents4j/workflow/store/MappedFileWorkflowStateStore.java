@@ -0,0 +1,771 @@
+package dev.agents4j.workflow.store;
+
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.suspension.StoredSuspension;
+import dev.agents4j.api.suspension.SuspensionExpiry;
+import dev.agents4j.api.suspension.WorkflowStateStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Workflow state store backed by a local, memory-mapped, append-only file.
+ *
+ * <p>Every put and delete appends a checksummed record to the log; the
+ * latest record for a workflow wins. An in-memory index maps workflow IDs,
+ * suspension IDs and expiries to record offsets, so reads decode a single
+ * record straight from the mapping. The index is rebuilt by replaying the
+ * log on open; a damaged record at the tail, as left by a crash during an
+ * append, ends the replay and is discarded.</p>
+ *
+ * <p>Replaced and deleted records stay in the file until it is compacted.
+ * Compaction copies the live records to a new file that atomically replaces
+ * the log. It runs automatically once the reclaimable bytes exceed both the
+ * live bytes and {@link Builder#minCompactionBytes(long)}, and can be
+ * triggered with {@link #compact()}.</p>
+ *
+ * <p>The file is locked while open, so only one store may use it at a
+ * time. Writes are serialized; reads run concurrently with each other.</p>
+ */
+public final class MappedFileWorkflowStateStore implements WorkflowStateStore {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        MappedFileWorkflowStateStore.class.getName()
+    );
+
+    private static final int MAGIC = 0x41345353; // "A4SS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // Type byte, payload length and payload checksum
+    private static final int RECORD_OVERHEAD = 9;
+    private static final long NO_EXPIRY = Long.MIN_VALUE;
+
+    private final Path path;
+    private final int initialCapacity;
+    private final boolean syncOnWrite;
+    private final long minCompactionBytes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<WorkflowId, IndexEntry> byWorkflow = new HashMap<>();
+    private final Map<String, WorkflowId> bySuspension = new HashMap<>();
+    private final TreeSet<ExpiryEntry> byExpiry = new TreeSet<>();
+
+    private FileChannel channel;
+    private FileLock fileLock;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long liveBytes;
+    private long deadBytes;
+    private boolean closed;
+
+    private MappedFileWorkflowStateStore(Builder builder) {
+        this.path = builder.path;
+        this.initialCapacity = builder.initialCapacity;
+        this.syncOnWrite = builder.syncOnWrite;
+        this.minCompactionBytes = builder.minCompactionBytes;
+        try {
+            open();
+        } catch (IOException e) {
+            closeQuietly();
+            throw new StoreException("Failed to open state store: " + path, e);
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the store at the given path with default settings, creating the
+     * file if it does not exist.
+     *
+     * @param path The store file
+     * @return The opened store
+     * @throws StoreException if the file cannot be opened or is not a store
+     */
+    public static MappedFileWorkflowStateStore open(Path path) {
+        return builder(path).build();
+    }
+
+    /**
+     * Creates a builder for a store at the given path.
+     *
+     * @param path The store file
+     * @return A new builder
+     */
+    public static Builder builder(Path path) {
+        return new Builder(path);
+    }
+
+    @Override
+    public void put(StoredSuspension suspension) {
+        Objects.requireNonNull(suspension, "Suspension cannot be null");
+        byte[] payload = encode(suspension);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            int offset = append(PUT, payload);
+            IndexEntry entry = new IndexEntry(
+                offset,
+                RECORD_OVERHEAD + payload.length,
+                suspension.suspensionId(),
+                suspension.expiresAt()
+            );
+            IndexEntry previous = byWorkflow.put(suspension.workflowId(), entry);
+            if (previous != null) {
+                unindex(suspension.workflowId(), previous);
+                liveBytes -= previous.length();
+                deadBytes += previous.length();
+            }
+            index(suspension.workflowId(), entry);
+            liveBytes += entry.length();
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredSuspension> get(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            IndexEntry entry = byWorkflow.get(workflowId);
+            return entry != null ? Optional.of(read(entry)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredSuspension> findBySuspensionId(String suspensionId) {
+        Objects.requireNonNull(suspensionId, "Suspension ID cannot be null");
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            WorkflowId workflowId = bySuspension.get(suspensionId);
+            return workflowId != null
+                ? Optional.of(read(byWorkflow.get(workflowId)))
+                : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        return remove(workflowId, null);
+    }
+
+    @Override
+    public boolean delete(WorkflowId workflowId, String suspensionId) {
+        Objects.requireNonNull(workflowId, "Workflow ID cannot be null");
+        Objects.requireNonNull(suspensionId, "Suspension ID cannot be null");
+        return remove(workflowId, suspensionId);
+    }
+
+    /**
+     * Removes a workflow's suspension, if its ID matches when one is given.
+     */
+    private boolean remove(WorkflowId workflowId, String suspensionId) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            IndexEntry previous = byWorkflow.get(workflowId);
+            if (
+                previous == null ||
+                (suspensionId != null &&
+                    !previous.suspensionId().equals(suspensionId))
+            ) {
+                return false;
+            }
+            byte[] payload = encodeDelete(workflowId);
+            append(DELETE, payload);
+            byWorkflow.remove(workflowId);
+            unindex(workflowId, previous);
+            liveBytes -= previous.length();
+            // The tombstone is only needed until the next compaction
+            deadBytes += previous.length() + RECORD_OVERHEAD + payload.length;
+            maybeCompact();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<StoredSuspension> scanExpired(Instant now, int limit) {
+        Objects.requireNonNull(now, "Now cannot be null");
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            List<StoredSuspension> expired = new ArrayList<>();
+            for (ExpiryEntry entry : byExpiry) {
+                if (expired.size() >= limit || entry.expiresAt().isAfter(now)) {
+                    break;
+                }
+                expired.add(read(byWorkflow.get(entry.workflowId())));
+            }
+            return expired;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<SuspensionExpiry> listExpiries() {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            List<SuspensionExpiry> expiries = new ArrayList<>(byExpiry.size());
+            for (ExpiryEntry entry : byExpiry) {
+                expiries.add(
+                    new SuspensionExpiry(
+                        entry.workflowId(),
+                        byWorkflow.get(entry.workflowId()).suspensionId(),
+                        entry.expiresAt()
+                    )
+                );
+            }
+            return expiries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byWorkflow.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of bytes taken by replaced and deleted records, which
+     * the next compaction reclaims.
+     *
+     * @return The reclaimable bytes
+     */
+    public long reclaimableBytes() {
+        lock.readLock().lock();
+        try {
+            return deadBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the file with only the live records.
+     *
+     * @throws StoreException if the compacted file cannot be written
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces written records to the storage device and closes the file.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.force();
+            closeQuietly();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            throw new StoreException("State store is already open: " + path);
+        }
+
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new StoreException("State store exceeds 2 GiB: " + path);
+        }
+        if (size == 0) {
+            buffer = channel.map(
+                FileChannel.MapMode.READ_WRITE,
+                0,
+                initialCapacity
+            );
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            writePosition = FILE_HEADER_BYTES;
+            return;
+        }
+
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (
+            size < FILE_HEADER_BYTES ||
+            buffer.getInt(0) != MAGIC ||
+            buffer.getInt(4) != FORMAT_VERSION
+        ) {
+            throw new StoreException("Not a workflow state store: " + path);
+        }
+        replay();
+        maybeCompact();
+    }
+
+    /**
+     * Rebuilds the index from the log and positions the write offset after
+     * the last intact record.
+     */
+    private void replay() {
+        int position = FILE_HEADER_BYTES;
+        int capacity = buffer.capacity();
+        while (position <= capacity - RECORD_OVERHEAD) {
+            byte type = buffer.get(position);
+            if (type == 0) {
+                break;
+            }
+            int length = buffer.getInt(position + 1);
+            if (
+                (type != PUT && type != DELETE) ||
+                length < 0 ||
+                length > capacity - position - RECORD_OVERHEAD ||
+                buffer.getInt(position + 5 + length) !=
+                checksum(buffer, position + 5, length)
+            ) {
+                LOGGER.warning(
+                    "Discarding damaged records at offset " +
+                    position +
+                    " of state store " +
+                    path
+                );
+                // Clear the damaged tail so later appends replay cleanly
+                for (int i = position; i < capacity; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                break;
+            }
+
+            int recordLength = RECORD_OVERHEAD + length;
+            ByteBuffer payload = payload(position, length);
+            WorkflowId workflowId = WorkflowId.of(readString(payload));
+            IndexEntry previous = byWorkflow.remove(workflowId);
+            if (previous != null) {
+                unindex(workflowId, previous);
+                liveBytes -= previous.length();
+                deadBytes += previous.length();
+            }
+            if (type == PUT) {
+                String suspensionId = readString(payload);
+                readString(payload); // workflow version
+                readString(payload); // reason
+                readInstant(payload); // suspended at
+                IndexEntry entry = new IndexEntry(
+                    position,
+                    recordLength,
+                    suspensionId,
+                    readInstant(payload)
+                );
+                byWorkflow.put(workflowId, entry);
+                index(workflowId, entry);
+                liveBytes += recordLength;
+            } else {
+                deadBytes += recordLength;
+            }
+            position += recordLength;
+        }
+        writePosition = position;
+    }
+
+    /**
+     * Appends a record, growing the mapping if needed.
+     *
+     * @return The offset of the record
+     */
+    private int append(byte type, byte[] payload) {
+        int recordLength = RECORD_OVERHEAD + payload.length;
+        ensureCapacity(recordLength);
+        int offset = writePosition;
+        buffer.putInt(offset + 1, payload.length);
+        buffer.put(offset + 5, payload);
+        buffer.putInt(
+            offset + 5 + payload.length,
+            checksum(ByteBuffer.wrap(payload), 0, payload.length)
+        );
+        // Written last, so a record torn before this point reads as the end of the log
+        buffer.put(offset, type);
+        if (syncOnWrite) {
+            buffer.force(offset, recordLength);
+        }
+        writePosition += recordLength;
+        return offset;
+    }
+
+    private void ensureCapacity(int recordLength) {
+        int capacity = buffer.capacity();
+        if (recordLength <= capacity - writePosition) {
+            return;
+        }
+        long required = (long) writePosition + recordLength;
+        if (required > Integer.MAX_VALUE) {
+            throw new StoreException("State store exceeds 2 GiB: " + path);
+        }
+        long grown = Math.max(required, (long) capacity * 2);
+        try {
+            buffer = channel.map(
+                FileChannel.MapMode.READ_WRITE,
+                0,
+                Math.min(grown, Integer.MAX_VALUE)
+            );
+        } catch (IOException e) {
+            throw new StoreException("Failed to grow state store: " + path, e);
+        }
+    }
+
+    private void maybeCompact() {
+        if (deadBytes < minCompactionBytes || deadBytes <= liveBytes) {
+            return;
+        }
+        try {
+            compactLocked();
+        } catch (StoreException e) {
+            // The log is still complete; compaction is retried on the next write
+            LOGGER.warning(
+                "Failed to compact state store " + path + ": " + e.getMessage()
+            );
+        }
+    }
+
+    private void compactLocked() {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        long required = FILE_HEADER_BYTES + liveBytes;
+        int capacity = (int) Math.min(
+            Integer.MAX_VALUE,
+            Math.max(initialCapacity, required * 2)
+        );
+
+        List<Map.Entry<WorkflowId, IndexEntry>> entries = new ArrayList<>(
+            byWorkflow.entrySet()
+        );
+        entries.sort(Comparator.comparingInt(entry -> entry.getValue().offset()));
+
+        FileChannel target = null;
+        try {
+            target = FileChannel.open(
+                compacted,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            );
+            MappedByteBuffer targetBuffer = target.map(
+                FileChannel.MapMode.READ_WRITE,
+                0,
+                capacity
+            );
+            targetBuffer.putInt(0, MAGIC);
+            targetBuffer.putInt(4, FORMAT_VERSION);
+            int position = FILE_HEADER_BYTES;
+            Map<WorkflowId, IndexEntry> moved = new HashMap<>();
+            for (Map.Entry<WorkflowId, IndexEntry> entry : entries) {
+                IndexEntry index = entry.getValue();
+                targetBuffer.put(position, buffer, index.offset(), index.length());
+                moved.put(entry.getKey(), index.withOffset(position));
+                position += index.length();
+            }
+            targetBuffer.force();
+            target.close();
+            target = null;
+
+            Files.move(
+                compacted,
+                path,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE
+            );
+            closeQuietly();
+            channel = FileChannel.open(
+                path,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+            );
+            fileLock = channel.tryLock();
+            buffer = targetBuffer;
+            writePosition = position;
+            byWorkflow.putAll(moved);
+            deadBytes = 0;
+        } catch (IOException e) {
+            try {
+                if (target != null) {
+                    target.close();
+                }
+                Files.deleteIfExists(compacted);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new StoreException("Failed to compact state store: " + path, e);
+        }
+    }
+
+    private StoredSuspension read(IndexEntry entry) {
+        ByteBuffer payload = payload(
+            entry.offset(),
+            entry.length() - RECORD_OVERHEAD
+        );
+        WorkflowId workflowId = WorkflowId.of(readString(payload));
+        String suspensionId = readString(payload);
+        String workflowVersion = readString(payload);
+        String reason = readString(payload);
+        Instant suspendedAt = readInstant(payload);
+        Instant expiresAt = readInstant(payload);
+        byte[] state = new byte[payload.getInt()];
+        payload.get(state);
+        return new StoredSuspension(
+            workflowId,
+            suspensionId,
+            workflowVersion,
+            reason,
+            suspendedAt,
+            expiresAt,
+            state
+        );
+    }
+
+    private ByteBuffer payload(int offset, int length) {
+        return buffer.duplicate().limit(offset + 5 + length).position(offset + 5);
+    }
+
+    private void index(WorkflowId workflowId, IndexEntry entry) {
+        bySuspension.put(entry.suspensionId(), workflowId);
+        if (entry.expiresAt() != null) {
+            byExpiry.add(new ExpiryEntry(entry.expiresAt(), workflowId));
+        }
+    }
+
+    private void unindex(WorkflowId workflowId, IndexEntry entry) {
+        bySuspension.remove(entry.suspensionId(), workflowId);
+        if (entry.expiresAt() != null) {
+            byExpiry.remove(new ExpiryEntry(entry.expiresAt(), workflowId));
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new StoreException("State store is closed: " + path);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (channel != null) {
+                // Closing the channel releases the file lock
+                channel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.warning(
+                "Failed to close state store " + path + ": " + e.getMessage()
+            );
+        }
+    }
+
+    private static byte[] encode(StoredSuspension suspension) {
+        byte[] workflowId = utf8(suspension.workflowId().value());
+        byte[] suspensionId = utf8(suspension.suspensionId());
+        byte[] workflowVersion = utf8(suspension.workflowVersion());
+        byte[] reason = utf8(suspension.reason());
+        byte[] state = suspension.state();
+        ByteBuffer payload = ByteBuffer.allocate(
+            16 +
+            workflowId.length +
+            suspensionId.length +
+            workflowVersion.length +
+            reason.length +
+            24 +
+            4 +
+            state.length
+        );
+        writeString(payload, workflowId);
+        writeString(payload, suspensionId);
+        writeString(payload, workflowVersion);
+        writeString(payload, reason);
+        writeInstant(payload, suspension.suspendedAt());
+        writeInstant(payload, suspension.expiresAt());
+        payload.putInt(state.length);
+        payload.put(state);
+        return payload.array();
+    }
+
+    private static byte[] encodeDelete(WorkflowId workflowId) {
+        byte[] id = utf8(workflowId.value());
+        ByteBuffer payload = ByteBuffer.allocate(4 + id.length);
+        writeString(payload, id);
+        return payload.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ByteBuffer payload, byte[] value) {
+        payload.putInt(value.length);
+        payload.put(value);
+    }
+
+    private static String readString(ByteBuffer payload) {
+        byte[] value = new byte[payload.getInt()];
+        payload.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(ByteBuffer payload, Instant instant) {
+        payload.putLong(instant != null ? instant.getEpochSecond() : NO_EXPIRY);
+        payload.putInt(instant != null ? instant.getNano() : 0);
+    }
+
+    private static Instant readInstant(ByteBuffer payload) {
+        long seconds = payload.getLong();
+        int nanos = payload.getInt();
+        return seconds == NO_EXPIRY
+            ? null
+            : Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    private static int checksum(ByteBuffer source, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(source.duplicate().limit(offset + length).position(offset));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Location and indexed fields of the latest record of a workflow.
+     */
+    private record IndexEntry(
+        int offset,
+        int length,
+        String suspensionId,
+        Instant expiresAt
+    ) {
+        IndexEntry withOffset(int newOffset) {
+            return new IndexEntry(newOffset, length, suspensionId, expiresAt);
+        }
+    }
+
+    /**
+     * Builder for {@link MappedFileWorkflowStateStore}.
+     */
+    public static final class Builder {
+
+        private final Path path;
+        private int initialCapacity = 1 << 20;
+        private boolean syncOnWrite = true;
+        private long minCompactionBytes = 1 << 20;
+
+        private Builder(Path path) {
+            this.path = Objects.requireNonNull(path, "Path cannot be null");
+        }
+
+        /**
+         * Sets the size a new file is mapped with. The mapping doubles when
+         * it fills up. Defaults to 1 MiB.
+         *
+         * @param bytes The initial capacity in bytes
+         * @return This builder
+         */
+        public Builder initialCapacity(int bytes) {
+            if (bytes < FILE_HEADER_BYTES) {
+                throw new IllegalArgumentException(
+                    "Initial capacity must be at least " +
+                    FILE_HEADER_BYTES +
+                    " bytes"
+                );
+            }
+            this.initialCapacity = bytes;
+            return this;
+        }
+
+        /**
+         * Sets whether each write is forced to the storage device before
+         * it returns. Turning this off trades durability on power loss for
+         * write latency; written records still survive a process crash.
+         * Defaults to true.
+         *
+         * @param sync true to force every write
+         * @return This builder
+         */
+        public Builder syncOnWrite(boolean sync) {
+            this.syncOnWrite = sync;
+            return this;
+        }
+
+        /**
+         * Sets the reclaimable bytes below which the file is not compacted
+         * automatically. Defaults to 1 MiB.
+         *
+         * @param bytes The minimum reclaimable bytes
+         * @return This builder
+         */
+        public Builder minCompactionBytes(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException(
+                    "Minimum compaction bytes cannot be negative"
+                );
+            }
+            this.minCompactionBytes = bytes;
+            return this;
+        }
+
+        public MappedFileWorkflowStateStore build() {
+            return new MappedFileWorkflowStateStore(this);
+        }
+    }
+}
@@ -0,0 +1,563 @@
+package dev.agents4j.workflow.suspension;
+
+import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.graph.GraphEdge;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.error.ExecutionError;
+import dev.agents4j.api.suspension.ResumeOptions;
+import dev.agents4j.api.suspension.StoredSuspension;
+import dev.agents4j.api.suspension.SuspensionExpiry;
+import dev.agents4j.api.suspension.WorkflowStateStore;
+import dev.agents4j.workflow.context.WorkflowContextKeys;
+import dev.agents4j.workflow.execution.VirtualThreads;
+import dev.agents4j.workflow.monitor.NoOpWorkflowMonitor;
+import dev.agents4j.workflow.monitor.WorkflowMonitor;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Expires suspensions whose {@code GraphCommandSuspend} timeout has passed.
+ *
+ * <p>The service wraps a {@link WorkflowStateStore}: the workflow is built
+ * with {@link #store()} so every suspension with a timeout it stores is
+ * scheduled, and every resume that removes it cancels the timer. Stored
+ * suspensions are stamped with the service's clock, so expiries are
+ * measured against the same clock that decides when they fire. Timers
+ * live on a hierarchical timing wheel, so scheduling and cancelling stay
+ * O(1) however many suspensions are pending. On {@link #attach} the
+ * schedule is rebuilt from the expiries already in the store, so timeouts
+ * survive a restart when the store does.</p>
+ *
+ * <p>When a suspension expires the service claims it by deleting it from
+ * the store, provided it is still the same suspension. Resuming by
+ * workflow ID claims the suspension the same way before the workflow
+ * runs, so a resume that got there first wins and the timeout is
+ * dropped, even if the timer fires while that resume is still running.
+ * {@link GraphWorkflow#resume(WorkflowId)} refuses suspensions that have
+ * expired by the system clock, which can disagree with the service's
+ * clock; the claim still lets only one of them proceed.</p>
+ *
+ * <p>If the suspended node has an outgoing edge named
+ * {@link #DEFAULT_TIMEOUT_EDGE} (or the configured name), the workflow is
+ * resumed along that edge with
+ * {@link WorkflowContextKeys#TIMED_OUT_SUSPENSION_ID} set. Otherwise the
+ * workflow fails with a {@code SUSPENSION_TIMEOUT} error reported to the
+ * {@link WorkflowMonitor}.</p>
+ *
+ * @param <I> The workflow input type
+ * @param <O> The workflow output type
+ */
+public final class SuspensionTimeoutService<I, O> implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        SuspensionTimeoutService.class.getName()
+    );
+
+    /**
+     * The default name of the edge a timed-out suspension resumes along.
+     */
+    public static final String DEFAULT_TIMEOUT_EDGE = "timeout";
+
+    private final WorkflowStateStore delegate;
+    private final WorkflowStateStore store;
+    private final Clock clock;
+    private final long tickMillis;
+    private final WorkflowMonitor monitor;
+    private final String timeoutEdgeName;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    private final Object lock = new Object();
+    private final TimingWheel<SuspensionExpiry> wheel;
+    private final Map<WorkflowId, TimingWheel.Timer<SuspensionExpiry>> timers =
+        new HashMap<>();
+
+    private volatile GraphWorkflow<I, O> workflow;
+    private ScheduledExecutorService ticker;
+
+    private SuspensionTimeoutService(Builder<I, O> builder) {
+        this.delegate = builder.store;
+        this.store = new SchedulingStore();
+        this.clock = builder.clock;
+        this.tickMillis = builder.tick.toMillis();
+        this.monitor = builder.monitor;
+        this.timeoutEdgeName = builder.timeoutEdgeName;
+        this.ownedExecutor = builder.executor == null ? newExecutor() : null;
+        this.executor = builder.executor != null ? builder.executor : ownedExecutor;
+        this.wheel = new TimingWheel<>(tickMillis, clock.millis());
+    }
+
+    /**
+     * Creates a builder for a service over the given store.
+     *
+     * @param store The store the suspensions are kept in
+     * @param <I> The workflow input type
+     * @param <O> The workflow output type
+     * @return A new builder
+     */
+    public static <I, O> Builder<I, O> builder(WorkflowStateStore store) {
+        return new Builder<>(store);
+    }
+
+    /**
+     * Gets the store to build the workflow with. It delegates to the
+     * underlying store and keeps the timers in step with it.
+     *
+     * @return The scheduling store
+     */
+    public WorkflowStateStore store() {
+        return store;
+    }
+
+    /**
+     * Binds the workflow whose suspensions this service expires and
+     * schedules every expiry already in the store. Call {@link #advance()}
+     * to process due timers, or use {@link #start} instead.
+     *
+     * @param workflow The workflow, built with {@link #store()}
+     * @throws IllegalArgumentException if the workflow uses another store
+     */
+    public void attach(GraphWorkflow<I, O> workflow) {
+        Objects.requireNonNull(workflow, "Workflow cannot be null");
+        if (workflow.getStateStore().filter(s -> s == store).isEmpty()) {
+            throw new IllegalArgumentException(
+                "Workflow must be built with the service's store: " +
+                workflow.getName()
+            );
+        }
+        this.workflow = workflow;
+        List<SuspensionExpiry> expiries = delegate.listExpiries();
+        expiries.forEach(this::schedule);
+        LOGGER.fine(
+            "Scheduled " + expiries.size() + " suspension timeouts for " +
+            workflow.getName()
+        );
+    }
+
+    /**
+     * Attaches the workflow and advances the wheel once per tick on a
+     * daemon thread until the service is closed.
+     *
+     * @param workflow The workflow, built with {@link #store()}
+     */
+    public void start(GraphWorkflow<I, O> workflow) {
+        attach(workflow);
+        synchronized (lock) {
+            if (ticker != null) {
+                throw new IllegalStateException("Service is already started");
+            }
+            ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "suspension-timeout-ticker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(
+                this::tick,
+                tickMillis,
+                tickMillis,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    /**
+     * Fires every timer that is due at the clock's current time and hands
+     * the expiries to the executor.
+     *
+     * @return The number of timers fired
+     */
+    public int advance() {
+        if (workflow == null) {
+            throw new IllegalStateException("No workflow attached");
+        }
+        List<SuspensionExpiry> due = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advanceTo(clock.millis(), expiry -> {
+                timers.remove(expiry.workflowId());
+                due.add(expiry);
+            });
+        }
+        for (SuspensionExpiry expiry : due) {
+            executor.execute(() -> expire(expiry));
+        }
+        return due.size();
+    }
+
+    /**
+     * Gets the number of scheduled timeouts.
+     *
+     * @return The number of pending timers
+     */
+    public int pendingTimers() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Stops the ticker started by {@link #start} and the default executor.
+     * The underlying store and an executor passed to the builder are not
+     * closed.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (ticker != null) {
+                ticker.shutdownNow();
+                ticker = null;
+            }
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Creates the default executor: virtual threads where the JVM has them,
+     * otherwise a pool of daemon threads, so resumed workflows that block
+     * do not occupy the common pool.
+     */
+    private static ExecutorService newExecutor() {
+        if (VirtualThreads.isAvailable()) {
+            return VirtualThreads.newExecutor("suspension-timeout-");
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            r -> {
+                Thread thread = new Thread(
+                    r,
+                    "suspension-timeout-" + count.incrementAndGet()
+                );
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    /**
+     * Restamps a suspension with the service's clock, keeping its timeout.
+     */
+    private StoredSuspension stamped(StoredSuspension suspension) {
+        Instant now = clock.instant();
+        return new StoredSuspension(
+            suspension.workflowId(),
+            suspension.suspensionId(),
+            suspension.workflowVersion(),
+            suspension.reason(),
+            now,
+            suspension.timeout().map(now::plus).orElse(null),
+            suspension.state()
+        );
+    }
+
+    private void tick() {
+        try {
+            advance();
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            LOGGER.log(Level.WARNING, "Failed to advance suspension timeouts", e);
+        }
+    }
+
+    private void schedule(SuspensionExpiry expiry) {
+        long deadline = toEpochMillis(expiry.expiresAt());
+        synchronized (lock) {
+            TimingWheel.Timer<SuspensionExpiry> previous = timers.put(
+                expiry.workflowId(),
+                wheel.schedule(expiry, deadline)
+            );
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+        }
+    }
+
+    private void cancel(WorkflowId workflowId) {
+        synchronized (lock) {
+            TimingWheel.Timer<SuspensionExpiry> timer = timers.remove(workflowId);
+            if (timer != null) {
+                wheel.cancel(timer);
+            }
+        }
+    }
+
+    private void expire(SuspensionExpiry expiry) {
+        WorkflowId workflowId = expiry.workflowId();
+        try {
+            Optional<StoredSuspension> stored = delegate
+                .get(workflowId)
+                .filter(s -> s.suspensionId().equals(expiry.suspensionId()));
+            if (stored.isEmpty()) {
+                // Resumed or suspended again since the timer was set
+                return;
+            }
+            if (!stored.get().isExpired(clock.instant())) {
+                schedule(SuspensionExpiry.of(stored.get()));
+                return;
+            }
+
+            GraphWorkflowState<I> state = null;
+            Exception failure = null;
+            try {
+                state = workflow
+                    .getStateSerializer()
+                    .deserialize(stored.get().state(), workflow.getVersion());
+            } catch (Exception e) {
+                failure = e;
+            }
+            if (!delegate.delete(workflowId, expiry.suspensionId())) {
+                return;
+            }
+
+            Optional<GraphEdge> edge = state == null
+                ? Optional.empty()
+                : timeoutEdge(state);
+            if (edge.isPresent()) {
+                LOGGER.fine(
+                    "Suspension " + expiry.suspensionId() + " of workflow " +
+                    workflowId.value() + " timed out; resuming along " +
+                    edge.get().edgeId()
+                );
+                workflow.resumeWithOptions(
+                    state
+                        .withContext(
+                            WorkflowContextKeys.TIMED_OUT_SUSPENSION_ID,
+                            expiry.suspensionId()
+                        )
+                        .traverseEdge(edge.get().edgeId(), edge.get().toNode()),
+                    ResumeOptions.permissive()
+                );
+                return;
+            }
+
+            String nodeId = state != null
+                ? state.currentNode().map(NodeId::value).orElse("unknown")
+                : "unknown";
+            monitor.onWorkflowError(
+                workflowId,
+                ExecutionError.of(
+                    "SUSPENSION_TIMEOUT",
+                    "Suspension " + expiry.suspensionId() + " expired at " +
+                    expiry.expiresAt(),
+                    nodeId
+                ),
+                state,
+                failure
+            );
+        } catch (RuntimeException e) {
+            LOGGER.log(
+                Level.WARNING,
+                "Failed to expire suspension " + expiry.suspensionId() +
+                " of workflow " + workflowId.value(),
+                e
+            );
+        }
+    }
+
+    private Optional<GraphEdge> timeoutEdge(GraphWorkflowState<I> state) {
+        return state
+            .currentNode()
+            .flatMap(node ->
+                workflow
+                    .getEdgesFrom(node)
+                    .stream()
+                    .filter(edge ->
+                        edge.getName().filter(timeoutEdgeName::equals).isPresent()
+                    )
+                    .findFirst()
+            );
+    }
+
+    private static long toEpochMillis(Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Store decorator that schedules stored timeouts and cancels them when
+     * their suspension is removed.
+     */
+    private final class SchedulingStore implements WorkflowStateStore {
+
+        @Override
+        public void put(StoredSuspension suspension) {
+            StoredSuspension stored = stamped(suspension);
+            delegate.put(stored);
+            if (stored.expiresAt() != null) {
+                schedule(SuspensionExpiry.of(stored));
+            } else {
+                cancel(stored.workflowId());
+            }
+        }
+
+        @Override
+        public Optional<StoredSuspension> get(WorkflowId workflowId) {
+            return delegate.get(workflowId);
+        }
+
+        @Override
+        public Optional<StoredSuspension> findBySuspensionId(String suspensionId) {
+            return delegate.findBySuspensionId(suspensionId);
+        }
+
+        @Override
+        public boolean delete(WorkflowId workflowId) {
+            boolean deleted = delegate.delete(workflowId);
+            cancel(workflowId);
+            return deleted;
+        }
+
+        @Override
+        public boolean delete(WorkflowId workflowId, String suspensionId) {
+            boolean deleted = delegate.delete(workflowId, suspensionId);
+            if (deleted) {
+                cancel(workflowId);
+            }
+            return deleted;
+        }
+
+        @Override
+        public List<StoredSuspension> scanExpired(Instant now, int limit) {
+            return delegate.scanExpired(now, limit);
+        }
+
+        @Override
+        public List<SuspensionExpiry> listExpiries() {
+            return delegate.listExpiries();
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Builder for {@link SuspensionTimeoutService}.
+     *
+     * @param <I> The workflow input type
+     * @param <O> The workflow output type
+     */
+    public static final class Builder<I, O> {
+
+        private final WorkflowStateStore store;
+        private Duration tick = Duration.ofSeconds(1);
+        private Clock clock = Clock.systemUTC();
+        private WorkflowMonitor monitor = NoOpWorkflowMonitor.INSTANCE;
+        private String timeoutEdgeName = DEFAULT_TIMEOUT_EDGE;
+        private Executor executor;
+
+        private Builder(WorkflowStateStore store) {
+            this.store = Objects.requireNonNull(store, "Store cannot be null");
+        }
+
+        /**
+         * Sets the resolution of the timing wheel. Timeouts fire at most one
+         * tick late. Defaults to one second.
+         *
+         * @param tick The tick duration
+         * @return This builder
+         */
+        public Builder<I, O> tick(Duration tick) {
+            Objects.requireNonNull(tick, "Tick cannot be null");
+            if (tick.toMillis() <= 0) {
+                throw new IllegalArgumentException(
+                    "Tick must be at least one millisecond"
+                );
+            }
+            this.tick = tick;
+            return this;
+        }
+
+        /**
+         * Sets the clock timeouts are measured against.
+         *
+         * @param clock The clock
+         * @return This builder
+         */
+        public Builder<I, O> clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the monitor that timed-out workflows without a timeout edge
+         * are reported to.
+         *
+         * @param monitor The monitor
+         * @return This builder
+         */
+        public Builder<I, O> monitor(WorkflowMonitor monitor) {
+            this.monitor = Objects.requireNonNull(
+                monitor,
+                "Monitor cannot be null"
+            );
+            return this;
+        }
+
+        /**
+         * Sets the name of the edge timed-out suspensions resume along.
+         *
+         * @param timeoutEdgeName The edge name
+         * @return This builder
+         */
+        public Builder<I, O> timeoutEdgeName(String timeoutEdgeName) {
+            this.timeoutEdgeName = Objects.requireNonNull(
+                timeoutEdgeName,
+                "Timeout edge name cannot be null"
+            );
+            return this;
+        }
+
+        /**
+         * Sets the executor expired suspensions are resumed or failed on.
+         * Defaults to an executor owned by the service, on virtual threads
+         * where available, which is shut down when the service is closed.
+         *
+         * @param executor The executor
+         * @return This builder
+         */
+        public Builder<I, O> executor(Executor executor) {
+            this.executor = Objects.requireNonNull(
+                executor,
+                "Executor cannot be null"
+            );
+            return this;
+        }
+
+        /**
+         * Builds the service.
+         *
+         * @return A new SuspensionTimeoutService
+         */
+        public SuspensionTimeoutService<I, O> build() {
+            return new SuspensionTimeoutService<>(this);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package dev.agents4j.workflow.suspension;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Scheduling and cancelling are O(1) and a
+ * timer is moved at most once per level before it fires, so the cost of
+ * pending timers does not grow with their number or with how far away
+ * they are.
+ *
+ * <p>Level 0 has one slot per tick; each higher level covers a whole
+ * rotation of the level below in each of its slots. A timer is placed on
+ * the lowest level whose span covers its remaining delay, in the slot
+ * given by its deadline. When a level wraps, the next slot of the level
+ * above is cascaded: its timers are placed again, now on a lower level.
+ * Deadlines are rounded up to whole ticks, so timers never fire early.</p>
+ *
+ * <p>Not thread-safe; callers serialize access.</p>
+ *
+ * @param <T> The payload type
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    // Delays beyond the top level are parked there and re-placed when cascaded
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Slot<T>[][] levels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.levels = (Slot<T>[][]) new Slot<?>[LEVELS][SLOTS];
+        for (Slot<T>[] level : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+    }
+
+    /**
+     * Schedules a payload. Deadlines that have already passed fire on the
+     * next tick.
+     *
+     * @param payload The payload to hand back when the timer fires
+     * @param deadlineMillis The deadline in epoch milliseconds
+     * @return The timer, for cancellation
+     */
+    Timer<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(
+            Math.floorDiv(deadlineMillis, tickMillis) +
+            (Math.floorMod(deadlineMillis, tickMillis) == 0 ? 0 : 1),
+            currentTick + 1
+        );
+        Timer<T> timer = new Timer<>(payload, deadlineTick);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer that has not fired yet.
+     *
+     * @param timer The timer
+     * @return true if the timer was pending
+     */
+    boolean cancel(Timer<T> timer) {
+        if (timer.slot == null) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time, handing every timer whose
+     * deadline tick has been reached to the consumer, tick by tick.
+     *
+     * @param nowMillis The current time in epoch milliseconds
+     * @param expired Receives the payloads of the fired timers
+     */
+    void advanceTo(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                // Nothing to cascade or fire; jump straight to the target
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            cascade();
+            Slot<T> slot = levels[0][(int) (currentTick & SLOT_MASK)];
+            Timer<T> timer;
+            while ((timer = slot.poll()) != null) {
+                size--;
+                expired.accept(timer.payload);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of pending timers.
+     *
+     * @return The number of timers
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Re-places the timers of every level whose lower levels all wrapped
+     * on this tick, highest level first.
+     */
+    private void cascade() {
+        int wrapped = 0;
+        while (
+            wrapped < LEVELS - 1 &&
+            ((currentTick >>> (SLOT_BITS * wrapped)) & SLOT_MASK) == 0
+        ) {
+            wrapped++;
+        }
+        for (int level = wrapped; level >= 1; level--) {
+            Slot<T> slot = levels[level][
+                (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)
+            ];
+            Timer<T> timer;
+            while ((timer = slot.poll()) != null) {
+                place(timer);
+            }
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delay = Math.min(timer.deadlineTick - currentTick, MAX_DELAY_TICKS);
+        long tick = currentTick + delay;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        levels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)].add(
+            timer
+        );
+    }
+
+    /**
+     * A scheduled payload.
+     *
+     * @param <T> The payload type
+     */
+    static final class Timer<T> {
+
+        private final T payload;
+        private final long deadlineTick;
+        private Slot<T> slot;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        T payload() {
+            return payload;
+        }
+
+        private void unlink() {
+            if (previous != null) {
+                previous.next = next;
+            } else {
+                slot.head = next;
+            }
+            if (next != null) {
+                next.previous = previous;
+            }
+            slot = null;
+            previous = null;
+            next = null;
+        }
+    }
+
+    /**
+     * Doubly linked list of the timers in one slot.
+     */
+    private static final class Slot<T> {
+
+        private Timer<T> head;
+
+        void add(Timer<T> timer) {
+            timer.slot = this;
+            timer.previous = null;
+            timer.next = head;
+            if (head != null) {
+                head.previous = timer;
+            }
+            head = timer;
+        }
+
+        Timer<T> poll() {
+            Timer<T> timer = head;
+            if (timer != null) {
+                timer.unlink();
+            }
+            return timer;
+        }
+    }
+}
@@ -2,14 +2,13 @@ package dev.agents4j.workflow.validation;
 
 import dev.agents4j.api.graph.EdgeId;
 import dev.agents4j.api.graph.GraphEdge;
+import dev.agents4j.api.graph.GraphTopology;
 import dev.agents4j.api.graph.GraphWorkflowNode;
 import dev.agents4j.api.graph.NodeId;
 import dev.agents4j.api.validation.ValidationResult;
 import dev.agents4j.workflow.output.OutputExtractor;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -26,6 +25,7 @@ public class GraphWorkflowValidator<I> {
     private final String name;
     private final Map<NodeId, GraphWorkflowNode<I>> nodes;
     private final Map<EdgeId, GraphEdge> edges;
+    private final GraphTopology topology;
     private final Set<NodeId> entryPointIds;
     private final NodeId defaultEntryPointId;
     private final OutputExtractor<I, ?> outputExtractor;
@@ -47,10 +47,43 @@ public class GraphWorkflowValidator<I> {
         Set<NodeId> entryPointIds,
         NodeId defaultEntryPointId,
         OutputExtractor<I, ?> outputExtractor
+    ) {
+        this(
+            name,
+            nodes,
+            edges,
+            GraphTopology.of(edges.values()),
+            entryPointIds,
+            defaultEntryPointId,
+            outputExtractor
+        );
+    }
+
+    /**
+     * Creates a new validator for the given workflow components, reusing an
+     * already compiled adjacency index.
+     *
+     * @param name The workflow name
+     * @param nodes The workflow nodes
+     * @param edges The workflow edges
+     * @param topology The compiled adjacency index of the edges
+     * @param entryPointIds The entry point node IDs
+     * @param defaultEntryPointId The default entry point node ID
+     * @param outputExtractor The output extractor
+     */
+    public GraphWorkflowValidator(
+        String name,
+        Map<NodeId, GraphWorkflowNode<I>> nodes,
+        Map<EdgeId, GraphEdge> edges,
+        GraphTopology topology,
+        Set<NodeId> entryPointIds,
+        NodeId defaultEntryPointId,
+        OutputExtractor<I, ?> outputExtractor
     ) {
         this.name = name;
         this.nodes = nodes;
         this.edges = edges;
+        this.topology = topology;
         this.entryPointIds = entryPointIds;
         this.defaultEntryPointId = defaultEntryPointId;
         this.outputExtractor = outputExtractor;
@@ -152,30 +185,6 @@ public class GraphWorkflowValidator<I> {
      * @return Set of reachable node IDs
      */
     private Set<NodeId> findReachableNodes() {
-        Set<NodeId> reachable = new HashSet<>();
-        Set<NodeId> toProcess = new HashSet<>(entryPointIds);
-        
-        while (!toProcess.isEmpty()) {
-            NodeId nodeId = toProcess.iterator().next();
-            toProcess.remove(nodeId);
-            
-            if (reachable.contains(nodeId)) {
-                continue;
-            }
-            
-            reachable.add(nodeId);
-            
-            // Find edges from this node
-            for (GraphEdge edge : edges.values()) {
-                if (edge.fromNode().equals(nodeId)) {
-                    NodeId targetNode = edge.toNode();
-                    if (!reachable.contains(targetNode)) {
-                        toProcess.add(targetNode);
-                    }
-                }
-            }
-        }
-        
-        return reachable;
+        return topology.reachableFrom(entryPointIds);
     }
 }
\ No newline at end of file
@@ -0,0 +1,384 @@
+package dev.agents4j.workflow.checkpoint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.GraphWorkflowImpl;
+import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import dev.agents4j.workflow.config.WorkflowConfiguration;
+import dev.agents4j.workflow.history.NodeInteraction;
+import dev.agents4j.workflow.history.ProcessingHistory;
+import dev.agents4j.workflow.history.ProcessingHistoryUtils;
+import dev.agents4j.workflow.serialization.BinaryGraphWorkflowStateSerializer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointRecoveryTest {
+
+    private static final NodeId DRAFT = NodeId.of("draft");
+    private static final NodeId REVIEW = NodeId.of("review");
+    private static final NodeId PUBLISH = NodeId.of("publish");
+    private static final WorkflowId WORKFLOW_ID = WorkflowId.of("wf-crash");
+
+    @TempDir
+    Path tempDir;
+
+    private static GraphWorkflowImpl<String, String> workflow(
+        CheckpointStore store,
+        AtomicInteger modelCalls,
+        boolean crashOnPublish
+    ) {
+        return workflow(store, modelCalls, state -> {
+            if (crashOnPublish) {
+                throw new SimulatedCrash();
+            }
+            return GraphCommandComplete.withResult("published");
+        });
+    }
+
+    private static GraphWorkflowImpl<String, String> workflow(
+        CheckpointStore store,
+        AtomicInteger modelCalls,
+        Function<GraphWorkflowState<String>, GraphCommand<String>> publish
+    ) {
+        return (GraphWorkflowImpl<String, String>) GraphWorkflowBuilder
+            .<String, String>create(String.class)
+            .name("article")
+            .addNode(
+                new StepNode(DRAFT, true, state -> {
+                    modelCalls.incrementAndGet();
+                    return GraphCommandTraverse.to(REVIEW);
+                })
+            )
+            .addNode(
+                new StepNode(REVIEW, true, state -> {
+                    modelCalls.incrementAndGet();
+                    return GraphCommandTraverse.to(PUBLISH);
+                })
+            )
+            .addNode(
+                new StepNode(PUBLISH, false, publish)
+            )
+            .addEdge(DRAFT, REVIEW)
+            .addEdge(REVIEW, PUBLISH)
+            .defaultEntryPoint(DRAFT)
+            .outputExtractor(GraphWorkflowState::data)
+            .asyncExecutor(Runnable::run)
+            .configuration(
+                WorkflowConfiguration.builder()
+                    .checkpointPolicy(CheckpointPolicy.afterExpensiveNodes())
+                    .build()
+            )
+            .checkpointStore(store)
+            .build();
+    }
+
+    /**
+     * A drafting loop whose expensive node appends each draft to the
+     * processing history, like the LLM nodes do. Every step is checkpointed
+     * as a delta, and the drafting node crashes on the given turn.
+     */
+    private static GraphWorkflowImpl<String, String> draftingLoop(
+        CheckpointStore store,
+        AtomicInteger modelCalls,
+        int turns,
+        int crashOnTurn
+    ) {
+        return (GraphWorkflowImpl<String, String>) GraphWorkflowBuilder
+            .<String, String>create(String.class)
+            .name("drafting")
+            .addNode(
+                new StepNode(DRAFT, true, state -> {
+                    ProcessingHistory history =
+                        ProcessingHistoryUtils.getOrCreateHistory(state);
+                    int turn = history.getAllInteractions().size() + 1;
+                    if (turn == crashOnTurn) {
+                        throw new SimulatedCrash();
+                    }
+                    modelCalls.incrementAndGet();
+                    return GraphCommandTraverse.toWithContext(
+                        REVIEW,
+                        state
+                            .context()
+                            .with(
+                                ProcessingHistory.HISTORY_KEY,
+                                history.withInteraction(
+                                    new NodeInteraction(
+                                        DRAFT,
+                                        "draft",
+                                        "turn " + turn,
+                                        "draft " + turn,
+                                        Instant.now()
+                                    )
+                                )
+                            )
+                    );
+                })
+            )
+            .addNode(
+                new StepNode(REVIEW, false, state -> {
+                    int drafts = ProcessingHistoryUtils
+                        .getOrCreateHistory(state)
+                        .getAllInteractions()
+                        .size();
+                    return drafts < turns
+                        ? GraphCommandTraverse.toWithContext(DRAFT, state.context())
+                        : GraphCommandComplete.withResult("reviewed");
+                })
+            )
+            .addEdge(DRAFT, REVIEW)
+            .addEdge(REVIEW, DRAFT)
+            .defaultEntryPoint(DRAFT)
+            .outputExtractor(state ->
+                ProcessingHistoryUtils
+                    .getOrCreateHistory(state)
+                    .getAllInteractions()
+                    .stream()
+                    .map(NodeInteraction::output)
+                    .collect(Collectors.joining(","))
+            )
+            .asyncExecutor(Runnable::run)
+            .customSerializer(
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0")
+            )
+            .configuration(
+                WorkflowConfiguration.builder()
+                    .allowCycles(true)
+                    .checkpointPolicy(CheckpointPolicy.everySteps(1))
+                    .maxCheckpointDeltas(16)
+                    .build()
+            )
+            .checkpointStore(store)
+            .build();
+    }
+
+    private static void assertRecovers(CheckpointStore store) {
+        var modelCalls = new AtomicInteger();
+        var crashed = workflow(store, modelCalls, true);
+        assertThrows(
+            SimulatedCrash.class,
+            () -> crashed.start(WORKFLOW_ID, "topic", ExecutionContext.empty())
+        );
+
+        var restarted = workflow(store, modelCalls, false);
+        List<Checkpoint> incomplete = restarted.findIncompleteCheckpoints();
+        Map<WorkflowId, WorkflowResult<String, WorkflowError>> results =
+            restarted.recoverAll();
+
+        assertEquals(1, incomplete.size());
+        assertEquals(PUBLISH.value(), incomplete.get(0).nodeId());
+        assertEquals("article", incomplete.get(0).workflowName());
+        assertTrue(results.get(WORKFLOW_ID).isSuccess());
+        assertEquals(2, modelCalls.get());
+        assertTrue(store.list().isEmpty());
+    }
+
+    @Nested
+    @DisplayName("Recovery Tests")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Should resume from the last checkpoint without redoing expensive nodes")
+        void shouldResumeFromInMemoryCheckpoint() {
+            assertRecovers(new InMemoryCheckpointStore());
+        }
+
+        @Test
+        @DisplayName("Should resume from a checkpoint file after a restart")
+        void shouldResumeFromCheckpointFile() {
+            assertRecovers(new FileCheckpointStore(tempDir.resolve("recovery")));
+        }
+
+        @Test
+        @DisplayName("Should report a missing checkpoint as a validation error")
+        void shouldReportMissingCheckpoint() {
+            // Arrange
+            var workflow = workflow(
+                new InMemoryCheckpointStore(),
+                new AtomicInteger(),
+                false
+            );
+
+            // Act
+            var result = workflow.recover(WorkflowId.of("unknown"));
+
+            // Assert
+            assertTrue(result.isFailure());
+            assertEquals("CHECKPOINT_NOT_FOUND", result.getError().orElseThrow().code());
+        }
+
+        @Test
+        @DisplayName("Should recover a processing history from a chain of delta checkpoints")
+        void shouldRecoverHistoryFromDeltas() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var modelCalls = new AtomicInteger();
+            var crashed = draftingLoop(store, modelCalls, 6, 4);
+            assertThrows(
+                SimulatedCrash.class,
+                () -> crashed.start(WORKFLOW_ID, "topic", ExecutionContext.empty())
+            );
+            Checkpoint checkpoint = store.get(WORKFLOW_ID).orElseThrow();
+
+            // Act
+            var restarted = draftingLoop(store, modelCalls, 6, 0);
+            var result = restarted.recover(WORKFLOW_ID);
+
+            // Assert
+            assertFalse(checkpoint.deltas().isEmpty());
+            assertEquals(DRAFT.value(), checkpoint.nodeId());
+            assertTrue(result.isSuccess());
+            assertEquals(
+                "draft 1,draft 2,draft 3,draft 4,draft 5,draft 6",
+                result.getOrThrow()
+            );
+            assertEquals(6, modelCalls.get());
+            assertTrue(store.list().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep the checkpoint of a recoverable failure")
+        void shouldKeepCheckpointOfRecoverableFailure() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var modelCalls = new AtomicInteger();
+            var rateLimited = new AtomicInteger();
+            var workflow = workflow(store, modelCalls, state -> {
+                if (rateLimited.getAndIncrement() == 0) {
+                    throw new IllegalStateException("Rate limited");
+                }
+                return GraphCommandComplete.withResult("published");
+            });
+
+            // Act
+            var failed = workflow.start(
+                WORKFLOW_ID,
+                "topic",
+                ExecutionContext.empty()
+            );
+            List<Checkpoint> kept = store.list();
+            var recovered = workflow.recover(WORKFLOW_ID);
+
+            // Assert
+            assertTrue(failed.isFailure());
+            assertTrue(failed.getError().orElseThrow().isRecoverable());
+            assertEquals(1, kept.size());
+            assertEquals(PUBLISH.value(), kept.get(0).nodeId());
+            assertTrue(recovered.isSuccess());
+            assertEquals(2, modelCalls.get());
+            assertTrue(store.list().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should leave no checkpoint behind after a normal run")
+        void shouldLeaveNoCheckpointAfterNormalRun() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var workflow = workflow(store, new AtomicInteger(), false);
+
+            // Act
+            var result = workflow.start(WORKFLOW_ID, "topic", ExecutionContext.empty());
+
+            // Assert
+            assertTrue(result.isSuccess());
+            assertTrue(store.list().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("File Store Tests")
+    class FileStoreTests {
+
+        @Test
+        @DisplayName("Should skip damaged checkpoint files")
+        void shouldSkipDamagedFiles() throws Exception {
+            // Arrange
+            Path directory = tempDir.resolve("damaged");
+            var store = new FileCheckpointStore(directory, false);
+            var checkpoint = new Checkpoint(
+                WORKFLOW_ID,
+                "article",
+                "1.0.0",
+                PUBLISH.value(),
+                2,
+                Instant.now(),
+                new byte[] { 1, 2, 3 }
+            );
+            store.save(checkpoint);
+            Files.writeString(directory.resolve("garbage.ckpt"), "not a checkpoint");
+
+            // Act
+            List<Checkpoint> checkpoints = store.list();
+
+            // Assert
+            assertEquals(List.of(checkpoint), checkpoints);
+            assertEquals(checkpoint, store.get(WORKFLOW_ID).orElseThrow());
+        }
+    }
+
+    private static class SimulatedCrash extends Error {
+
+        SimulatedCrash() {
+            super("Simulated process crash");
+        }
+    }
+
+    private static class StepNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final boolean expensive;
+        private final Function<GraphWorkflowState<String>, GraphCommand<String>> step;
+
+        StepNode(
+            NodeId nodeId,
+            boolean expensive,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> step
+        ) {
+            this.nodeId = nodeId;
+            this.expensive = expensive;
+            this.step = step;
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return expensive ? Set.of(EXPENSIVE_TAG) : Set.of();
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            return WorkflowResult.success(step.apply(state));
+        }
+    }
+}
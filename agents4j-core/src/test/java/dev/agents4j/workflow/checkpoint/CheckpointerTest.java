@@ -0,0 +1,405 @@
+package dev.agents4j.workflow.checkpoint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.graph.EdgeId;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.serialization.BinaryGraphWorkflowStateSerializer;
+import dev.agents4j.workflow.serialization.JsonGraphWorkflowStateSerializer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointerTest {
+
+    private static final WorkflowId WORKFLOW_ID = WorkflowId.of("wf-1");
+    private static final ContextKey<Long> VERSION = ContextKey.longKey("version");
+    private static final GraphWorkflowNode<String> PLAIN = new TaggedNode(
+        "plain",
+        Set.of()
+    );
+    private static final GraphWorkflowNode<String> EXPENSIVE = new TaggedNode(
+        "llm",
+        Set.of(GraphWorkflowNode.EXPENSIVE_TAG)
+    );
+
+    @TempDir
+    Path tempDir;
+
+    private static GraphWorkflowState<String> stateAt(String nodeId) {
+        return GraphWorkflowState.create(WORKFLOW_ID, "data", NodeId.of(nodeId));
+    }
+
+    private static Checkpointer<String> checkpointer(
+        CheckpointPolicy policy,
+        CheckpointStore store,
+        Queue<Runnable> writes
+    ) {
+        return new Checkpointer<>(
+            "test-workflow",
+            "1.0.0",
+            policy,
+            store,
+            new JsonGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+            writes::add
+        );
+    }
+
+    private static Checkpointer<String> deltaCheckpointer(
+        CheckpointStore store,
+        Queue<Runnable> writes,
+        int maxDeltas
+    ) {
+        return new Checkpointer<>(
+            "test-workflow",
+            "1.0.0",
+            CheckpointPolicy.everySteps(1),
+            store,
+            new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+            writes::add,
+            maxDeltas
+        );
+    }
+
+    /**
+     * Checkpoints the given number of successive steps one at a time, each
+     * changing the data and context, and returns the last state.
+     */
+    private static GraphWorkflowState<String> checkpointSteps(
+        Checkpointer<String> checkpointer,
+        Queue<Runnable> writes,
+        GraphWorkflowState<String> state,
+        int steps
+    ) {
+        for (int i = 0; i < steps; i++) {
+            NodeId next = NodeId.of("step-" + (state.getVersion() + 1));
+            state = state.traverseEdge(
+                EdgeId.of("edge-" + state.getVersion()),
+                next,
+                state.data() + "+",
+                ExecutionContext.of(VERSION, state.getVersion())
+            );
+            checkpointer.afterStep(PLAIN, state);
+            runAll(writes);
+        }
+        return state;
+    }
+
+    private static void runAll(Queue<Runnable> writes) {
+        Runnable write;
+        while ((write = writes.poll()) != null) {
+            write.run();
+        }
+    }
+
+    @Nested
+    @DisplayName("Write Tests")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should coalesce checkpoints of a fast node chain")
+        void shouldCoalesceCheckpoints() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = checkpointer(
+                CheckpointPolicy.everySteps(1),
+                store,
+                writes
+            );
+
+            // Act
+            checkpointer.afterStep(PLAIN, stateAt("b"));
+            checkpointer.afterStep(PLAIN, stateAt("c"));
+            checkpointer.afterStep(PLAIN, stateAt("d"));
+            int scheduled = writes.size();
+            runAll(writes);
+
+            // Assert
+            assertEquals(1, scheduled);
+            Checkpoint checkpoint = store.get(WORKFLOW_ID).orElseThrow();
+            assertEquals("d", checkpoint.nodeId());
+            assertEquals(3, checkpoint.step());
+            assertEquals("test-workflow", checkpoint.workflowName());
+            assertTrue(checkpointer.isRunning(WORKFLOW_ID));
+        }
+
+        @Test
+        @DisplayName("Should drop pending checkpoints and delete on finish")
+        void shouldDeleteOnFinish() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = checkpointer(
+                CheckpointPolicy.everySteps(1),
+                store,
+                writes
+            );
+            checkpointer.afterStep(PLAIN, stateAt("b"));
+            runAll(writes);
+            checkpointer.afterStep(PLAIN, stateAt("c"));
+
+            // Act
+            checkpointer.finish(WORKFLOW_ID);
+            runAll(writes);
+
+            // Assert
+            assertTrue(store.get(WORKFLOW_ID).isEmpty());
+            assertFalse(checkpointer.isRunning(WORKFLOW_ID));
+        }
+
+        @Test
+        @DisplayName("Should write the pending checkpoint and keep it on release")
+        void shouldKeepCheckpointOnRelease() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = checkpointer(
+                CheckpointPolicy.everySteps(1),
+                store,
+                writes
+            );
+            checkpointer.afterStep(PLAIN, stateAt("b"));
+            runAll(writes);
+            checkpointer.afterStep(PLAIN, stateAt("c"));
+
+            // Act
+            checkpointer.release(WORKFLOW_ID);
+            runAll(writes);
+
+            // Assert
+            assertEquals("c", store.get(WORKFLOW_ID).orElseThrow().nodeId());
+            assertFalse(checkpointer.isRunning(WORKFLOW_ID));
+        }
+
+        @Test
+        @DisplayName("Should let a new execution checkpoint while the deletion runs")
+        void shouldDeleteOutsideLane() {
+            // Arrange
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = new AtomicReference<Checkpointer<String>>();
+            var stepped = new AtomicBoolean();
+            var store = new InMemoryCheckpointStore() {
+                @Override
+                public boolean delete(WorkflowId workflowId) {
+                    Thread next = new Thread(() ->
+                        checkpointer.get().afterStep(PLAIN, stateAt("x"))
+                    );
+                    next.start();
+                    try {
+                        next.join(5000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    stepped.set(!next.isAlive());
+                    return super.delete(workflowId);
+                }
+            };
+            checkpointer.set(
+                checkpointer(CheckpointPolicy.everySteps(1), store, writes)
+            );
+            checkpointer.get().afterStep(PLAIN, stateAt("b"));
+            runAll(writes);
+
+            // Act
+            checkpointer.get().finish(WORKFLOW_ID);
+            runAll(writes);
+
+            // Assert
+            assertTrue(stepped.get());
+            assertEquals("x", store.get(WORKFLOW_ID).orElseThrow().nodeId());
+            assertEquals(1, store.get(WORKFLOW_ID).orElseThrow().step());
+            assertTrue(checkpointer.get().isRunning(WORKFLOW_ID));
+        }
+
+        @Test
+        @DisplayName("Should remove a recovered checkpoint when nothing new was written")
+        void shouldRemoveRecoveredCheckpoint() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var writes = new ArrayDeque<Runnable>();
+            checkpointer(CheckpointPolicy.everySteps(1), store, writes)
+                .afterStep(PLAIN, stateAt("b"));
+            runAll(writes);
+            var restarted = checkpointer(CheckpointPolicy.never(), store, writes);
+
+            // Act
+            restarted.finish(WORKFLOW_ID);
+            runAll(writes);
+
+            // Assert
+            assertTrue(store.list().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Delta Tests")
+    class DeltaTests {
+
+        @Test
+        @DisplayName("Should append deltas and compact them past the limit")
+        void shouldAppendAndCompactDeltas() throws Exception {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = deltaCheckpointer(store, writes, 3);
+
+            // Act
+            var fourth = checkpointSteps(checkpointer, writes, stateAt("a"), 4);
+            Checkpoint chained = store.get(WORKFLOW_ID).orElseThrow();
+            var fifth = checkpointSteps(checkpointer, writes, fourth, 1);
+            Checkpoint compacted = store.get(WORKFLOW_ID).orElseThrow();
+
+            // Assert
+            assertEquals(3, chained.deltas().size());
+            assertEquals(4, chained.step());
+            assertEquals(fourth, checkpointer.restore(chained));
+            assertTrue(compacted.deltas().isEmpty());
+            assertEquals(5, compacted.step());
+            assertEquals(fifth, checkpointer.restore(compacted));
+        }
+
+        @Test
+        @DisplayName("Should write full states when deltas are disabled")
+        void shouldWriteFullStatesWithoutDeltas() throws Exception {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = deltaCheckpointer(store, writes, 0);
+
+            // Act
+            var last = checkpointSteps(checkpointer, writes, stateAt("a"), 3);
+
+            // Assert
+            Checkpoint checkpoint = store.get(WORKFLOW_ID).orElseThrow();
+            assertTrue(checkpoint.deltas().isEmpty());
+            assertEquals(last, checkpointer.restore(checkpoint));
+        }
+
+        @Test
+        @DisplayName("Should end the delta chain of a file at a torn delta")
+        void shouldStopAtTornDelta() throws Exception {
+            // Arrange
+            Path directory = tempDir.resolve("deltas");
+            var store = new FileCheckpointStore(directory, false);
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = deltaCheckpointer(store, writes, 8);
+            var last = checkpointSteps(checkpointer, writes, stateAt("a"), 3);
+            Path file;
+            try (var files = Files.list(directory)) {
+                file = files.findFirst().orElseThrow();
+            }
+
+            // Act
+            Files.write(file, new byte[] { 0, 0, 0, 9, 1 }, StandardOpenOption.APPEND);
+            Checkpoint checkpoint = store.get(WORKFLOW_ID).orElseThrow();
+
+            // Assert
+            assertEquals(2, checkpoint.deltas().size());
+            assertEquals(3, checkpoint.step());
+            assertEquals(last.currentNode().orElseThrow().value(), checkpoint.nodeId());
+            assertEquals(last, checkpointer.restore(checkpoint));
+        }
+    }
+
+    @Nested
+    @DisplayName("Policy Tests")
+    class PolicyTests {
+
+        @Test
+        @DisplayName("Should checkpoint only after expensive nodes")
+        void shouldCheckpointAfterExpensiveNodes() {
+            // Arrange
+            var store = new InMemoryCheckpointStore();
+            var writes = new ArrayDeque<Runnable>();
+            var checkpointer = checkpointer(
+                CheckpointPolicy.afterExpensiveNodes(),
+                store,
+                writes
+            );
+
+            // Act
+            checkpointer.afterStep(PLAIN, stateAt("llm"));
+            int afterPlain = writes.size();
+            checkpointer.afterStep(EXPENSIVE, stateAt("next"));
+            runAll(writes);
+
+            // Assert
+            assertEquals(0, afterPlain);
+            assertEquals("next", store.get(WORKFLOW_ID).orElseThrow().nodeId());
+        }
+
+        @Test
+        @DisplayName("Should count steps and elapsed time since the last checkpoint")
+        void shouldCountStepsAndTime() {
+            // Arrange
+            CheckpointPolicy everyTwo = CheckpointPolicy.everySteps(2);
+            CheckpointPolicy hourly = CheckpointPolicy.every(Duration.ofHours(1));
+            CheckpointPolicy either = everyTwo.or(hourly);
+
+            // Act & Assert
+            assertFalse(everyTwo.shouldCheckpoint(PLAIN, 1, Duration.ZERO));
+            assertTrue(everyTwo.shouldCheckpoint(PLAIN, 2, Duration.ZERO));
+            assertFalse(hourly.shouldCheckpoint(PLAIN, 5, Duration.ofMinutes(59)));
+            assertTrue(hourly.shouldCheckpoint(PLAIN, 1, Duration.ofHours(1)));
+            assertTrue(either.shouldCheckpoint(PLAIN, 1, Duration.ofHours(2)));
+            assertFalse(CheckpointPolicy.never().shouldCheckpoint(EXPENSIVE, 9, Duration.ofDays(1)));
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> CheckpointPolicy.everySteps(0)
+            );
+        }
+    }
+
+    private static class TaggedNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final Set<String> tags;
+
+        TaggedNode(String nodeId, Set<String> tags) {
+            this.nodeId = NodeId.of(nodeId);
+            this.tags = tags;
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            return WorkflowResult.success(GraphCommandComplete.withResult("done"));
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package dev.agents4j.workflow.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.graph.AsyncGraphWorkflowNode;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandFork;
+import dev.agents4j.api.graph.GraphCommandJoin;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.ExecutionError;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the non-blocking execution mode of GraphWorkflowExecutor.
+ */
+class GraphWorkflowExecutorAsyncTest {
+
+    private static final NodeId START = NodeId.of("start");
+    private static final NodeId WAIT = NodeId.of("wait");
+    private static final NodeId END = NodeId.of("end");
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Waiting async nodes should not hold executor threads")
+    void waitingAsyncNodesShouldNotHoldThreads() throws Exception {
+        // Arrange
+        GraphWorkflow<String, String> workflow = linearWorkflow(
+            new DelayedNode("wait", 300, state -> GraphCommandTraverse.to(END))
+        );
+
+        // Act
+        long start = System.nanoTime();
+        List<CompletableFuture<WorkflowResult<String, WorkflowError>>> futures =
+            new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(workflow.startAsync("input-" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(
+            10,
+            TimeUnit.SECONDS
+        );
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        for (int i = 0; i < futures.size(); i++) {
+            WorkflowResult<String, WorkflowError> result = futures.get(i).join();
+            assertTrue(result.isSuccess());
+            assertEquals("input-" + i, result.getValue().get());
+        }
+        assertTrue(
+            elapsedMillis < 3000,
+            "200 workflows on 2 threads should overlap, took " + elapsedMillis + "ms"
+        );
+    }
+
+    @Test
+    @DisplayName("Sync and async nodes should chain in one workflow")
+    void syncAndAsyncNodesShouldChain() throws Exception {
+        // Arrange
+        DelayedNode wait = new DelayedNode("wait", 50, state ->
+            GraphCommandTraverse.toWithData(END, state.data() + "+async")
+        );
+        GraphWorkflow<String, String> workflow = linearWorkflow(wait);
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow
+            .startAsync("input")
+            .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("input+async", result.getValue().get());
+        assertEquals(1, wait.getProcessCount());
+    }
+
+    @Test
+    @DisplayName("Async node failure should fail the workflow")
+    void asyncNodeFailureShouldFailWorkflow() throws Exception {
+        // Arrange
+        GraphWorkflow<String, String> workflow = linearWorkflow(
+            new DelayedNode("wait", 20, null)
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow
+            .startAsync("input")
+            .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertEquals("WAIT_FAILED", result.getError().get().code());
+    }
+
+    @Test
+    @DisplayName("Blocking execution should wait for async nodes")
+    void blockingExecutionShouldWaitForAsyncNodes() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = linearWorkflow(
+            new DelayedNode("wait", 50, state -> GraphCommandTraverse.to(END))
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("input", result.getValue().get());
+    }
+
+    @Test
+    @DisplayName("Parallel fork of async branches should join without blocking")
+    void parallelForkOfAsyncBranchesShouldJoin() throws Exception {
+        // Arrange
+        NodeId join = NodeId.of("join");
+        DelayedNode a = new DelayedNode("a", 200, state ->
+            GraphCommandJoin.waitAll(join)
+        );
+        DelayedNode b = new DelayedNode("b", 200, state ->
+            GraphCommandJoin.waitAll(join)
+        );
+        GraphWorkflow<String, String> workflow = GraphWorkflowBuilder.<
+                String,
+                String
+            >create(String.class)
+            .name("Async Fork Workflow")
+            .addNode(new SyncNode("fork", state ->
+                GraphCommandFork.parallel(Set.of(a.getNodeId(), b.getNodeId()))
+            ))
+            .addNode(a)
+            .addNode(b)
+            .addNode(new SyncNode("join", state ->
+                GraphCommandComplete.withResult(state.data())
+            ))
+            .addEdge(NodeId.of("fork"), a.getNodeId())
+            .addEdge(NodeId.of("fork"), b.getNodeId())
+            .defaultEntryPoint(NodeId.of("fork"))
+            .outputExtractor(state ->
+                state.currentNode().get().value() + ":" + state.data()
+            )
+            .asyncExecutor(executor)
+            .build();
+
+        // Act
+        long start = System.nanoTime();
+        WorkflowResult<String, WorkflowError> result = workflow
+            .startAsync("input")
+            .get(5, TimeUnit.SECONDS);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("join:input", result.getValue().get());
+        assertEquals(1, a.getProcessCount());
+        assertEquals(1, b.getProcessCount());
+        assertTrue(elapsedMillis < 1000, "Took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Adapter should present sync nodes as async nodes")
+    void adapterShouldPresentSyncNodesAsAsync() {
+        // Arrange
+        SyncNode sync = new SyncNode("sync", state -> GraphCommandTraverse.to(END));
+        DelayedNode async = new DelayedNode("async", 0, state ->
+            GraphCommandTraverse.to(END)
+        );
+        GraphWorkflowState<String> state = GraphWorkflowState.create(
+            WorkflowId.generate(),
+            "input",
+            sync.getNodeId()
+        );
+
+        // Act
+        AsyncGraphWorkflowNode<String> adapted = AsyncGraphWorkflowNode.adapt(sync);
+        CompletableFuture<
+            WorkflowResult<GraphCommand<String>, WorkflowError>
+        > completed = adapted.processWithLifecycleAsync(state).toCompletableFuture();
+        AsyncGraphWorkflowNode<String> offloaded = AsyncGraphWorkflowNode.adapt(
+            sync,
+            executor
+        );
+
+        // Assert
+        assertTrue(completed.isDone());
+        assertTrue(completed.join().isSuccess());
+        assertEquals(sync.getNodeId(), adapted.getNodeId());
+        assertSame(async, AsyncGraphWorkflowNode.adapt(async));
+        assertTrue(
+            offloaded
+                .processWithLifecycleAsync(state)
+                .toCompletableFuture()
+                .join()
+                .isSuccess()
+        );
+    }
+
+    private GraphWorkflow<String, String> linearWorkflow(DelayedNode wait) {
+        return GraphWorkflowBuilder.<String, String>create(String.class)
+            .name("Async Workflow")
+            .addNode(new SyncNode("start", state -> GraphCommandTraverse.to(WAIT)))
+            .addNode(wait)
+            .addNode(new SyncNode("end", state ->
+                GraphCommandComplete.withResult(state.data())
+            ))
+            .addEdge(START, WAIT)
+            .addEdge(WAIT, END)
+            .defaultEntryPoint(START)
+            .outputExtractor(state -> state.data())
+            .asyncExecutor(executor)
+            .build();
+    }
+
+    /**
+     * Async test node that completes after a delay without holding a thread,
+     * or fails when no command function is given.
+     */
+    private static class DelayedNode implements AsyncGraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final long delayMillis;
+        private final Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction;
+        private final AtomicInteger processCount = new AtomicInteger();
+
+        DelayedNode(
+            String id,
+            long delayMillis,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction
+        ) {
+            this.nodeId = NodeId.of(id);
+            this.delayMillis = delayMillis;
+            this.commandFunction = commandFunction;
+        }
+
+        @Override
+        public CompletionStage<
+            WorkflowResult<GraphCommand<String>, WorkflowError>
+        > processAsync(GraphWorkflowState<String> state) {
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    processCount.incrementAndGet();
+                    if (commandFunction == null) {
+                        return WorkflowResult.failure(
+                            ExecutionError.of(
+                                "WAIT_FAILED",
+                                "Wait failed",
+                                nodeId.value()
+                            )
+                        );
+                    }
+                    return WorkflowResult.success(commandFunction.apply(state));
+                },
+                CompletableFuture.delayedExecutor(
+                    delayMillis,
+                    TimeUnit.MILLISECONDS
+                )
+            );
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        int getProcessCount() {
+            return processCount.get();
+        }
+    }
+
+    /**
+     * Blocking test node that returns a command computed from the state.
+     */
+    private static class SyncNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction;
+
+        SyncNode(
+            String id,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction
+        ) {
+            this.nodeId = NodeId.of(id);
+            this.commandFunction = commandFunction;
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            return WorkflowResult.success(commandFunction.apply(state));
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public boolean isEntryPoint() {
+            return nodeId.equals(START) || nodeId.value().equals("fork");
+        }
+    }
+}
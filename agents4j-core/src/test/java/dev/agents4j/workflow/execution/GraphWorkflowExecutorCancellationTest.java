@@ -0,0 +1,306 @@
+package dev.agents4j.workflow.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.execution.CancellationToken;
+import dev.agents4j.api.graph.AsyncGraphWorkflowNode;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import dev.agents4j.workflow.config.WorkflowConfiguration;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for deadline enforcement and cancellation in GraphWorkflowExecutor.
+ */
+class GraphWorkflowExecutorCancellationTest {
+
+    private static final NodeId START = NodeId.of("start");
+    private static final NodeId SLOW = NodeId.of("slow");
+    private static final NodeId END = NodeId.of("end");
+
+    @Test
+    @DisplayName("Nodes should see the execution deadline")
+    void nodesShouldSeeExecutionDeadline() {
+        // Arrange
+        AtomicReference<CancellationToken> seen = new AtomicReference<>();
+        GraphWorkflow<String, String> workflow = workflow(
+            new BlockingNode("slow", 0, seen, null),
+            Duration.ofSeconds(30)
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        CancellationToken token = seen.get();
+        assertTrue(token.hasDeadline());
+        assertTrue(token.remainingNanos() <= Duration.ofSeconds(30).toNanos());
+        assertSame(CancellationToken.none(), CancellationToken.current());
+    }
+
+    @Test
+    @DisplayName("A blocked node should be interrupted at the deadline")
+    void blockedNodeShouldBeInterruptedAtDeadline() {
+        // Arrange
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicInteger endCalls = new AtomicInteger();
+        GraphWorkflow<String, String> workflow = workflow(
+            new BlockingNode("slow", 10_000, null, interrupted),
+            Duration.ofMillis(200),
+            endCalls
+        );
+
+        // Act
+        long start = System.nanoTime();
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertEquals("EXECUTION_TIMEOUT", result.getError().get().code());
+        assertTrue(interrupted.get());
+        assertEquals(0, endCalls.get());
+        assertTrue(elapsedMillis < 5_000, "Took " + elapsedMillis + "ms");
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    @DisplayName("A pending async node should be abandoned at the deadline")
+    void pendingAsyncNodeShouldBeAbandonedAtDeadline() throws Exception {
+        // Arrange
+        NeverCompletingNode slow = new NeverCompletingNode("slow");
+        GraphWorkflow<String, String> workflow = workflow(
+            slow,
+            Duration.ofMillis(200)
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow
+            .startAsync("input")
+            .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertEquals("EXECUTION_TIMEOUT", result.getError().get().code());
+        assertTrue(slow.stage.isCancelled());
+    }
+
+    @Test
+    @DisplayName("A pending async node should be abandoned at the deadline in the blocking executor")
+    void pendingAsyncNodeShouldBeAbandonedWhenBlocking() {
+        // Arrange
+        NeverCompletingNode slow = new NeverCompletingNode("slow");
+        AtomicInteger endCalls = new AtomicInteger();
+        GraphWorkflow<String, String> workflow = workflow(
+            slow,
+            Duration.ofMillis(200),
+            endCalls
+        );
+
+        // Act
+        long start = System.nanoTime();
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertEquals("EXECUTION_TIMEOUT", result.getError().get().code());
+        assertTrue(slow.stage.isCancelled());
+        assertEquals(0, endCalls.get());
+        assertTrue(elapsedMillis < 5_000, "Took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Cancelling the future should stop the workflow")
+    void cancellingFutureShouldStopWorkflow() throws Exception {
+        // Arrange
+        NeverCompletingNode slow = new NeverCompletingNode("slow");
+        AtomicInteger endCalls = new AtomicInteger();
+        GraphWorkflow<String, String> workflow = workflow(
+            slow,
+            Duration.ofSeconds(30),
+            endCalls
+        );
+        CompletableFuture<WorkflowResult<String, WorkflowError>> future =
+            workflow.startAsync("input");
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        future.cancel(true);
+
+        // Assert
+        assertThrows(CancellationException.class, future::join);
+        CancellationToken token = slow.token.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!slow.stage.isCancelled() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(token.isCancelled());
+        assertEquals(CancellationToken.Reason.CANCELLED, token.reason().get());
+        assertTrue(slow.stage.isCancelled());
+        assertEquals(0, endCalls.get());
+    }
+
+    private static GraphWorkflow<String, String> workflow(
+        GraphWorkflowNode<String> slow,
+        Duration maxExecutionTime
+    ) {
+        return workflow(slow, maxExecutionTime, new AtomicInteger());
+    }
+
+    private static GraphWorkflow<String, String> workflow(
+        GraphWorkflowNode<String> slow,
+        Duration maxExecutionTime,
+        AtomicInteger endCalls
+    ) {
+        return GraphWorkflowBuilder.<String, String>create(String.class)
+            .name("Deadline Workflow")
+            .addNode(new BlockingNode("start", 0, null, null))
+            .addNode(slow)
+            .addNode(new GraphWorkflowNode<String>() {
+                @Override
+                public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+                    GraphWorkflowState<String> state
+                ) {
+                    endCalls.incrementAndGet();
+                    return WorkflowResult.success(
+                        GraphCommandComplete.withResult(state.data())
+                    );
+                }
+
+                @Override
+                public NodeId getNodeId() {
+                    return END;
+                }
+
+                @Override
+                public String getName() {
+                    return END.value();
+                }
+            })
+            .addEdge(START, SLOW)
+            .addEdge(SLOW, END)
+            .defaultEntryPoint(START)
+            .outputExtractor(state -> state.data())
+            .configuration(
+                WorkflowConfiguration.builder()
+                    .maxExecutionTime(maxExecutionTime)
+                    .build()
+            )
+            .build();
+    }
+
+    /**
+     * Test node that blocks for a while, recording the token it ran under and
+     * whether it was interrupted.
+     */
+    private static class BlockingNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final long sleepMillis;
+        private final AtomicReference<CancellationToken> seen;
+        private final AtomicBoolean interrupted;
+
+        BlockingNode(
+            String id,
+            long sleepMillis,
+            AtomicReference<CancellationToken> seen,
+            AtomicBoolean interrupted
+        ) {
+            this.nodeId = NodeId.of(id);
+            this.sleepMillis = sleepMillis;
+            this.seen = seen;
+            this.interrupted = interrupted;
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            if (seen != null) {
+                seen.set(CancellationToken.current());
+            }
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+            NodeId next = nodeId.equals(START) ? SLOW : END;
+            return WorkflowResult.success(GraphCommandTraverse.to(next));
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public boolean isEntryPoint() {
+            return nodeId.equals(START);
+        }
+    }
+
+    /**
+     * Async test node whose stage never completes on its own.
+     */
+    private static class NeverCompletingNode
+        implements AsyncGraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final CompletableFuture<
+            WorkflowResult<GraphCommand<String>, WorkflowError>
+        > stage = new CompletableFuture<>();
+        private final AtomicReference<CancellationToken> token =
+            new AtomicReference<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        NeverCompletingNode(String id) {
+            this.nodeId = NodeId.of(id);
+        }
+
+        @Override
+        public CompletionStage<
+            WorkflowResult<GraphCommand<String>, WorkflowError>
+        > processAsync(GraphWorkflowState<String> state) {
+            token.set(CancellationToken.current());
+            started.countDown();
+            return stage;
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package dev.agents4j.workflow.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.execution.CancellationToken;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandFork;
+import dev.agents4j.api.graph.GraphCommandJoin;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.ExecutionError;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import dev.agents4j.workflow.config.WorkflowConfiguration;
+import dev.agents4j.workflow.output.OutputExtractor;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for fork/join execution in GraphWorkflowExecutor.
+ */
+class GraphWorkflowExecutorForkJoinTest {
+
+    private static final NodeId FORK = NodeId.of("fork");
+    private static final NodeId JOIN = NodeId.of("join");
+
+    private ExecutorService branchExecutor;
+
+    @BeforeEach
+    void setUp() {
+        branchExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        branchExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Parallel fork should run branches concurrently")
+    void parallelForkShouldRunBranchesConcurrently() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("a", "b", "c")),
+            branch("a", 300, GraphCommandJoin.waitAll(JOIN)),
+            branch("b", 300, GraphCommandJoin.waitAll(JOIN)),
+            branch("c", 300, GraphCommandJoin.waitAll(JOIN))
+        );
+
+        // Act
+        long start = System.nanoTime();
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("joined:input", result.getValue().get());
+        assertTrue(
+            elapsedMillis < 800,
+            "Branches should overlap, took " + elapsedMillis + "ms"
+        );
+    }
+
+    @Test
+    @DisplayName("Sequential fork should run every branch before joining")
+    void sequentialForkShouldRunEveryBranch() {
+        // Arrange
+        BranchNode a = branch("a", 0, GraphCommandJoin.waitAll(JOIN));
+        BranchNode b = branch("b", 0, GraphCommandJoin.waitAll(JOIN));
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.sequential(branches("a", "b")),
+            a,
+            b
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(1, a.getProcessCount());
+        assertEquals(1, b.getProcessCount());
+    }
+
+    @Test
+    @DisplayName("Branch contexts should be merged at the join node")
+    void branchContextsShouldBeMergedAtJoin() {
+        // Arrange
+        ContextKey<String> keyA = ContextKey.stringKey("branch.a");
+        ContextKey<String> keyB = ContextKey.stringKey("branch.b");
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            WorkflowConfiguration.defaultConfiguration(),
+            state -> state.getContextOrDefault(keyA, "") +
+            state.getContextOrDefault(keyB, ""),
+            GraphCommandFork.parallel(branches("a", "b")),
+            new BranchNode("a", 0, state ->
+                withContext(state, keyA, "A")
+            ),
+            new BranchNode("b", 0, state ->
+                withContext(state, keyB, "B")
+            )
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("AB", result.getValue().get());
+    }
+
+    @Test
+    @DisplayName("A branch should not undo a sibling's update of a key set before the fork")
+    void staleBranchContextShouldNotOverwriteUpdate() {
+        // Arrange
+        ContextKey<String> shared = ContextKey.stringKey("shared");
+        ContextKey<String> keyB = ContextKey.stringKey("branch.b");
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            WorkflowConfiguration.defaultConfiguration(),
+            state -> state.getContextOrDefault(shared, "") +
+            state.getContextOrDefault(keyB, ""),
+            GraphCommandFork.parallelWithContext(
+                branches("a", "b"),
+                WorkflowContext.empty().with(shared, "fork")
+            ),
+            new BranchNode("a", 0, state ->
+                withContext(state, shared, "A")
+            ),
+            // Finishes last, still carrying the fork's value of the shared key
+            new BranchNode("b", 200, state ->
+                withContext(state, keyB, "B")
+            )
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("AB", result.getValue().get());
+    }
+
+    @Test
+    @DisplayName("Joined data should come from the branches in ID order, not finishing order")
+    void joinedDataShouldNotDependOnFinishingOrder() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("a", "b")),
+            new BranchNode("a", 200, state -> withData("from a")),
+            new BranchNode("b", 0, state -> withData("from b"))
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("joined:from b", result.getValue().get());
+    }
+
+    @Test
+    @DisplayName("WAIT_ANY should continue with the first branch and cancel the rest")
+    void waitAnyShouldCancelRemainingBranches() throws Exception {
+        // Arrange
+        BranchNode slowTail = branch("slow-tail", 0, GraphCommandJoin.waitAny(JOIN));
+        BranchNode slow = new BranchNode("slow", 2000, state ->
+            GraphCommandTraverse.to(slowTail.getNodeId())
+        );
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("fast", "slow")),
+            branch("fast", 0, GraphCommandJoin.waitAny(JOIN)),
+            slow,
+            slowTail
+        );
+
+        // Act
+        long start = System.nanoTime();
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Thread.sleep(100);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertTrue(elapsedMillis < 1500, "Took " + elapsedMillis + "ms");
+        assertEquals(0, slowTail.getProcessCount());
+    }
+
+    @Test
+    @DisplayName("WAIT_MAJORITY should tolerate a minority of failed branches")
+    void waitMajorityShouldTolerateMinorityFailure() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("a", "b", "c")),
+            branch("a", 0, GraphCommandJoin.waitMajority(JOIN)),
+            branch("b", 50, GraphCommandJoin.waitMajority(JOIN)),
+            new BranchNode("c", 0, null)
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+    }
+
+    @Test
+    @DisplayName("WAIT_ALL should fail when any branch fails")
+    void waitAllShouldFailWhenBranchFails() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("a", "b")),
+            branch("a", 0, GraphCommandJoin.waitAll(JOIN)),
+            new BranchNode("b", 0, null)
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertEquals("BRANCH_FAILED", result.getError().get().code());
+    }
+
+    @Test
+    @DisplayName("Join timeout should fail the workflow")
+    void joinTimeoutShouldFailWorkflow() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("fast", "slow")),
+            branch(
+                "fast",
+                0,
+                GraphCommandJoin.waitAllWithTimeout(JOIN, Duration.ofMillis(200))
+            ),
+            branch(
+                "slow",
+                3000,
+                GraphCommandJoin.waitAllWithTimeout(JOIN, Duration.ofMillis(200))
+            )
+        );
+
+        // Act
+        long start = System.nanoTime();
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertEquals("JOIN_TIMEOUT", result.getError().get().code());
+        assertTrue(elapsedMillis < 2000, "Took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("WAIT_ANY should cancel the token of the losing branches")
+    void waitAnyShouldCancelLosingBranchToken() {
+        // Arrange
+        AtomicReference<CancellationToken> slowToken = new AtomicReference<>();
+        BranchNode slow = new BranchNode("slow", 0, state -> {
+            slowToken.set(CancellationToken.current());
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return GraphCommandJoin.waitAny(JOIN);
+        });
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("fast", "slow")),
+            branch("fast", 300, GraphCommandJoin.waitAny(JOIN)),
+            slow
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertNotNull(slowToken.get());
+        assertTrue(slowToken.get().isCancelled());
+    }
+
+    @Test
+    @DisplayName("Configured join timeout should run from the fork")
+    void configuredJoinTimeoutShouldRunFromFork() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            WorkflowConfiguration.builder()
+                .joinTimeout(Duration.ofMillis(200))
+                .build(),
+            GraphCommandFork.parallel(branches("a", "b")),
+            branch("a", 3000, GraphCommandJoin.waitAll(JOIN)),
+            branch("b", 3000, GraphCommandJoin.waitAll(JOIN))
+        );
+
+        // Act
+        long start = System.nanoTime();
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(result.isFailure());
+        assertEquals("JOIN_TIMEOUT", result.getError().get().code());
+        assertTrue(elapsedMillis < 2000, "Took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Fork without a join should complete when all branches complete")
+    void forkWithoutJoinShouldComplete() {
+        // Arrange
+        GraphWorkflow<String, String> workflow = forkJoinWorkflow(
+            GraphCommandFork.parallel(branches("a", "b")),
+            branch("a", 0, GraphCommandComplete.withResult("a")),
+            branch("b", 0, GraphCommandComplete.withResult("b"))
+        );
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("done:input", result.getValue().get());
+    }
+
+    private GraphWorkflow<String, String> forkJoinWorkflow(
+        GraphCommandFork<String> fork,
+        BranchNode... branchNodes
+    ) {
+        return forkJoinWorkflow(
+            WorkflowConfiguration.defaultConfiguration(),
+            fork,
+            branchNodes
+        );
+    }
+
+    private GraphWorkflow<String, String> forkJoinWorkflow(
+        WorkflowConfiguration configuration,
+        GraphCommandFork<String> fork,
+        BranchNode... branchNodes
+    ) {
+        return forkJoinWorkflow(
+            configuration,
+            state -> (state.currentNode().get().equals(JOIN) ? "joined:" : "done:") +
+            state.data(),
+            fork,
+            branchNodes
+        );
+    }
+
+    private GraphWorkflow<String, String> forkJoinWorkflow(
+        WorkflowConfiguration configuration,
+        OutputExtractor<String, String> extractor,
+        GraphCommandFork<String> fork,
+        BranchNode... branchNodes
+    ) {
+        GraphWorkflowBuilder<String, String> builder = GraphWorkflowBuilder.<
+                String,
+                String
+            >create(String.class)
+            .name("Fork Join Workflow")
+            .addNode(new BranchNode("fork", 0, state -> fork))
+            .addNode(new BranchNode("join", 0, state ->
+                GraphCommandComplete.withResult(state.data())
+            ))
+            .defaultEntryPoint(FORK)
+            .outputExtractor(extractor)
+            .configuration(configuration)
+            .asyncExecutor(branchExecutor);
+        for (BranchNode node : branchNodes) {
+            builder.addNode(node);
+            if (fork.targetNodes().contains(node.getNodeId())) {
+                builder.addEdge(FORK, node.getNodeId());
+            }
+        }
+        return builder.build();
+    }
+
+    private static Set<NodeId> branches(String... ids) {
+        return Stream.of(ids).map(NodeId::of).collect(Collectors.toSet());
+    }
+
+    private static BranchNode branch(
+        String id,
+        long delayMillis,
+        GraphCommand<String> command
+    ) {
+        return new BranchNode(id, delayMillis, state -> command);
+    }
+
+    private static <T> GraphCommand<String> withContext(
+        GraphWorkflowState<String> state,
+        ContextKey<T> key,
+        T value
+    ) {
+        return new GraphCommandJoin<>(
+            JOIN,
+            GraphCommandJoin.JoinStrategy.WAIT_ALL,
+            Optional.of(state.context().with(key, value)),
+            Optional.empty(),
+            Optional.empty(),
+            null
+        );
+    }
+
+    private static GraphCommand<String> withData(String data) {
+        return new GraphCommandJoin<>(
+            JOIN,
+            GraphCommandJoin.JoinStrategy.WAIT_ALL,
+            Optional.empty(),
+            Optional.of(data),
+            Optional.empty(),
+            null
+        );
+    }
+
+    /**
+     * Test node that optionally sleeps and then returns a fixed command, or
+     * fails when no command function is given.
+     */
+    private static class BranchNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final long delayMillis;
+        private final Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction;
+        private final AtomicInteger processCount = new AtomicInteger();
+
+        BranchNode(
+            String id,
+            long delayMillis,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction
+        ) {
+            this.nodeId = NodeId.of(id);
+            this.delayMillis = delayMillis;
+            this.commandFunction = commandFunction;
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return WorkflowResult.failure(
+                        ExecutionError.of("INTERRUPTED", "Interrupted", nodeId.value())
+                    );
+                }
+            }
+            processCount.incrementAndGet();
+            if (commandFunction == null) {
+                return WorkflowResult.failure(
+                    ExecutionError.of("BRANCH_FAILED", "Branch failed", nodeId.value())
+                );
+            }
+            return WorkflowResult.success(commandFunction.apply(state));
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public boolean isEntryPoint() {
+            return nodeId.equals(FORK);
+        }
+
+        int getProcessCount() {
+            return processCount.get();
+        }
+    }
+}
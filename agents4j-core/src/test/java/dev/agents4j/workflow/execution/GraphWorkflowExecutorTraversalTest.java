@@ -0,0 +1,163 @@
+package dev.agents4j.workflow.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.graph.EdgeId;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphEdge;
+import dev.agents4j.api.graph.GraphTopology;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.config.WorkflowConfiguration;
+import dev.agents4j.workflow.context.WorkflowContextKeys;
+import dev.agents4j.workflow.monitor.NoOpWorkflowMonitor;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for how GraphWorkflowExecutor applies traverse commands to the state.
+ */
+class GraphWorkflowExecutorTraversalTest {
+
+    private static final NodeId START = NodeId.of("start");
+    private static final NodeId END = NodeId.of("end");
+    private static final ContextKey<String> NOTE = ContextKey.stringKey("note");
+
+    @Test
+    @DisplayName("Traversal should apply data and context in one version step")
+    void traversalShouldApplyUpdatesInOneVersionStep() {
+        // Arrange
+        GraphWorkflowExecutor<String, GraphWorkflowState<String>> executor =
+            executor(WorkflowConfiguration.defaultConfiguration());
+        GraphWorkflowState<String> initialState = GraphWorkflowState.create(
+            WorkflowId.generate(),
+            "input",
+            START,
+            WorkflowContext.empty().with(NOTE, "initial")
+        );
+
+        // Act
+        GraphWorkflowState<String> finalState = executor
+            .executeWorkflow(initialState)
+            .getValue()
+            .get();
+
+        // Assert
+        assertEquals("input+start", finalState.data());
+        assertEquals("from-start", finalState.getContext(NOTE).get());
+        assertEquals(
+            EdgeId.between(START, END).value(),
+            finalState.getContext(WorkflowContextKeys.LAST_EDGE_ID).get()
+        );
+        assertEquals(
+            finalState.metadata().lastModified(),
+            finalState.getContext(WorkflowContextKeys.LAST_EDGE_TIME).get()
+        );
+        assertEquals(List.of(START, END), finalState.getPath());
+        assertEquals(initialState.getVersion() + 1, finalState.getVersion());
+    }
+
+    @Test
+    @DisplayName("Traversal should skip edge context when not recorded")
+    void traversalShouldSkipEdgeContextWhenNotRecorded() {
+        // Arrange
+        GraphWorkflowExecutor<String, GraphWorkflowState<String>> executor =
+            executor(
+                WorkflowConfiguration.builder().recordEdgeContext(false).build()
+            );
+        GraphWorkflowState<String> initialState = GraphWorkflowState.create(
+            WorkflowId.generate(),
+            "input",
+            START
+        );
+
+        // Act
+        GraphWorkflowState<String> finalState = executor
+            .executeWorkflow(initialState)
+            .getValue()
+            .get();
+
+        // Assert
+        assertEquals("input+start", finalState.data());
+        assertEquals("from-start", finalState.getContext(NOTE).get());
+        assertFalse(finalState.hasContext(WorkflowContextKeys.LAST_EDGE_ID));
+        assertFalse(finalState.hasContext(WorkflowContextKeys.LAST_EDGE_TIME));
+        assertTrue(finalState.position().hasTraversedEdge(EdgeId.between(START, END)));
+    }
+
+    private static GraphWorkflowExecutor<
+        String,
+        GraphWorkflowState<String>
+    > executor(WorkflowConfiguration configuration) {
+        Map<NodeId, GraphWorkflowNode<String>> nodes = Map.of(
+            START,
+            new FunctionNode(START, state ->
+                GraphCommandTraverse.toWithUpdates(
+                    END,
+                    state.context().with(NOTE, "from-start"),
+                    state.data() + "+start"
+                )
+            ),
+            END,
+            new FunctionNode(END, state -> GraphCommandComplete.withResult("done"))
+        );
+        return new GraphWorkflowExecutor<>(
+            "traversal",
+            nodes,
+            GraphTopology.of(List.of(GraphEdge.between(START, END))),
+            state -> state,
+            configuration,
+            NoOpWorkflowMonitor.INSTANCE,
+            ForkJoinPool.commonPool()
+        );
+    }
+
+    /**
+     * Test node returning the command computed by a function.
+     */
+    private static class FunctionNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final Function<
+            GraphWorkflowState<String>,
+            GraphCommand<String>
+        > commandFunction;
+
+        FunctionNode(
+            NodeId nodeId,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction
+        ) {
+            this.nodeId = nodeId;
+            this.commandFunction = commandFunction;
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            return WorkflowResult.success(commandFunction.apply(state));
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package dev.agents4j.workflow.execution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandFork;
+import dev.agents4j.api.graph.GraphCommandJoin;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+/**
+ * Tests for running workflows on virtual threads.
+ */
+class VirtualThreadExecutionTest {
+
+    private static final NodeId START = NodeId.of("start");
+    private static final NodeId CHAT = NodeId.of("chat");
+    private static final NodeId END = NodeId.of("end");
+
+    @Test
+    @DisplayName("Availability should match the running JVM")
+    void availabilityShouldMatchRunningJvm() {
+        // Act & Assert
+        boolean expected = Runtime.version().feature() >= 21;
+        assertEquals(expected, VirtualThreads.isAvailable());
+        if (!expected) {
+            assertThrows(UnsupportedOperationException.class, () ->
+                VirtualThreads.newExecutor("test-")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Workflows built with virtual threads should run on any JVM")
+    void workflowsWithVirtualThreadsShouldRunOnAnyJvm() throws Exception {
+        // Arrange
+        GraphWorkflow<String, String> workflow = mockChatWorkflow(0);
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow
+            .startAsync("input")
+            .get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("reply:input", result.getValue().get());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("10k blocking workflows should run with bounded platform threads")
+    void blockingWorkflowsShouldRunWithBoundedPlatformThreads()
+        throws Exception {
+        // Arrange
+        GraphWorkflow<String, String> workflow = mockChatWorkflow(200);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int platformThreadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        // Act
+        long start = System.nanoTime();
+        List<CompletableFuture<WorkflowResult<String, WorkflowError>>> futures =
+            new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            futures.add(workflow.startAsync("input-" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(
+            30,
+            TimeUnit.SECONDS
+        );
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        for (CompletableFuture<WorkflowResult<String, WorkflowError>> future : futures) {
+            assertTrue(future.join().isSuccess());
+        }
+        int addedPlatformThreads =
+            threads.getPeakThreadCount() - platformThreadsBefore;
+        assertTrue(
+            addedPlatformThreads <= Runtime.getRuntime().availableProcessors() + 16,
+            "Added " + addedPlatformThreads + " platform threads"
+        );
+        assertTrue(
+            elapsedMillis < 20_000,
+            "Blocking calls should overlap, took " + elapsedMillis + "ms"
+        );
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Fork branches should run on virtual threads")
+    void forkBranchesShouldRunOnVirtualThreads() throws Exception {
+        // Arrange
+        NodeId join = NodeId.of("join");
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+        Function<GraphWorkflowState<String>, GraphCommand<String>> branch =
+            state -> {
+                virtual.add(isVirtual(Thread.currentThread()));
+                return GraphCommandJoin.waitAll(join);
+            };
+        GraphWorkflow<String, String> workflow = GraphWorkflowBuilder.<
+                String,
+                String
+            >create(String.class)
+            .name("Virtual Fork Workflow")
+            .addNode(new BlockingNode("fork", 0, state ->
+                GraphCommandFork.parallel(Set.of(NodeId.of("a"), NodeId.of("b")))
+            ))
+            .addNode(new BlockingNode("a", 50, branch))
+            .addNode(new BlockingNode("b", 50, branch))
+            .addNode(new BlockingNode("join", 0, state ->
+                GraphCommandComplete.withResult(state.data())
+            ))
+            .addEdge(NodeId.of("fork"), NodeId.of("a"))
+            .addEdge(NodeId.of("fork"), NodeId.of("b"))
+            .defaultEntryPoint(NodeId.of("fork"))
+            .outputExtractor(state -> state.data())
+            .virtualThreads()
+            .build();
+
+        // Act
+        WorkflowResult<String, WorkflowError> result = workflow.start("input");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals(Set.of(true), virtual);
+    }
+
+    private static GraphWorkflow<String, String> mockChatWorkflow(
+        long chatLatencyMillis
+    ) {
+        return GraphWorkflowBuilder.<String, String>create(String.class)
+            .name("Mock Chat Workflow")
+            .addNode(new BlockingNode("start", 0, state ->
+                GraphCommandTraverse.to(CHAT)
+            ))
+            .addNode(new BlockingNode("chat", chatLatencyMillis, state ->
+                GraphCommandTraverse.toWithData(END, "reply:" + state.data())
+            ))
+            .addNode(new BlockingNode("end", 0, state ->
+                GraphCommandComplete.withResult(state.data())
+            ))
+            .addEdge(START, CHAT)
+            .addEdge(CHAT, END)
+            .defaultEntryPoint(START)
+            .outputExtractor(state -> state.data())
+            .virtualThreads()
+            .build();
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Test node that blocks like a synchronous model call and then returns a
+     * command computed from the state.
+     */
+    private static class BlockingNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final long latencyMillis;
+        private final Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction;
+
+        BlockingNode(
+            String id,
+            long latencyMillis,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> commandFunction
+        ) {
+            this.nodeId = NodeId.of(id);
+            this.latencyMillis = latencyMillis;
+            this.commandFunction = commandFunction;
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            if (latencyMillis > 0) {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return WorkflowResult.success(commandFunction.apply(state));
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public boolean isEntryPoint() {
+            return nodeId.equals(START) || nodeId.value().equals("fork");
+        }
+    }
+}
@@ -59,6 +59,23 @@ class ProcessingHistoryTest {
         assertEquals(interaction2, latestB.get());
     }
 
+    @Test
+    @DisplayName("Should append to a copy and leave the original unchanged")
+    void shouldAppendToCopy() {
+        var interaction = new NodeInteraction(nodeA, "Node A", "input", "output", Instant.now());
+
+        var appended = history.withInteraction(interaction);
+
+        assertTrue(history.getAllInteractions().isEmpty());
+        assertEquals(1, appended.getAllInteractions().size());
+        assertNotEquals(history, appended);
+        assertEquals(appended, new ProcessingHistory().withInteraction(interaction));
+        assertEquals(
+            appended.hashCode(),
+            new ProcessingHistory().withInteraction(interaction).hashCode()
+        );
+    }
+
     @Test
     @DisplayName("Should return empty for non-existent node")
     void shouldReturnEmptyForNonExistentNode() {
@@ -3,6 +3,7 @@ package dev.agents4j.workflow.integration;
 import static org.junit.jupiter.api.Assertions.*;
 
 import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.batch.BatchOptions;
 import dev.agents4j.api.context.ContextKey;
 import dev.agents4j.api.context.ExecutionContext;
 import dev.agents4j.api.graph.GraphCommand;
@@ -12,14 +13,26 @@ import dev.agents4j.api.graph.GraphCommandTraverse;
 import dev.agents4j.api.graph.GraphWorkflowNode;
 import dev.agents4j.api.graph.GraphWorkflowState;
 import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
 import dev.agents4j.api.result.WorkflowResult;
 import dev.agents4j.api.result.error.WorkflowError;
 import dev.agents4j.api.suspension.ResumeOptions;
+import dev.agents4j.api.suspension.StoredSuspension;
+import dev.agents4j.api.suspension.WorkflowStateStore;
 import dev.agents4j.workflow.GraphWorkflowImpl;
 import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import dev.agents4j.workflow.context.WorkflowContextKeys;
 import dev.agents4j.workflow.output.OutputExtractor;
+import dev.agents4j.workflow.store.InMemoryWorkflowStateStore;
+import dev.agents4j.workflow.store.MappedFileWorkflowStateStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -278,6 +291,71 @@ class GraphWorkflowImplIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Batch Workflow Execution")
+    class BatchExecutionTests {
+
+        @Test
+        @DisplayName("Should execute every input of a batch")
+        void shouldExecuteEveryInputOfBatch() {
+            var inputs = List.of("batch-1", "batch-2", "batch-3", "batch-4");
+
+            var results = workflow
+                .startBatch(
+                    inputs,
+                    BatchOptions.builder()
+                        .maxConcurrency(2)
+                        .preserveInputOrder()
+                        .build()
+                )
+                .stream()
+                .collect(Collectors.toList());
+
+            assertEquals(4, results.size());
+            for (int i = 0; i < inputs.size(); i++) {
+                assertEquals(inputs.get(i), results.get(i).input());
+                assertEquals(
+                    "Final result: " +
+                    inputs.get(i) +
+                    " -> Node A -> Node B -> Node C",
+                    results.get(i).result().getValue().orElse(null)
+                );
+            }
+        }
+
+        @Test
+        @DisplayName("Should give each batch item its own workflow id")
+        void shouldGiveEachBatchItemItsOwnWorkflowId() {
+            var context = ExecutionContext.empty()
+                .with(ContextKey.stringKey("batch.marker"), "shared");
+
+            var results = workflow
+                .startBatch(
+                    Stream.of("a", "b", "c"),
+                    BatchOptions.builder().context(context).build()
+                )
+                .stream()
+                .collect(Collectors.toList());
+
+            var workflowIds = results
+                .stream()
+                .map(item -> item.result().getFinalContext().orElseThrow())
+                .peek(finalContext ->
+                    assertEquals(
+                        "shared",
+                        finalContext
+                            .get(ContextKey.stringKey("batch.marker"))
+                            .orElse(null)
+                    )
+                )
+                .map(finalContext ->
+                    finalContext.get(WorkflowContextKeys.WORKFLOW_ID).orElseThrow()
+                )
+                .collect(Collectors.toSet());
+            assertEquals(3, workflowIds.size());
+        }
+    }
+
     @Nested
     @DisplayName("Workflow Resume Tests")
     class WorkflowResumeTests {
@@ -342,6 +420,235 @@ class GraphWorkflowImplIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("State Store Tests")
+    class StateStoreTests {
+
+        private GraphWorkflow<String, String> storedWorkflow(
+            WorkflowStateStore store,
+            SuspendingNode suspendingNode
+        ) {
+            return GraphWorkflowBuilder.<String, String>create(String.class)
+                .name("store-test")
+                .addNode(suspendingNode)
+                .addNode(nodeB)
+                .addNode(nodeC)
+                .addEdge(NODE_B, NODE_C)
+                .defaultEntryPoint(NODE_SUSPENDING)
+                .outputExtractor(createOutputExtractor())
+                .stateStore(store)
+                .build();
+        }
+
+        private SuspendingNode newSuspendingNode() {
+            return new SuspendingNode(
+                NODE_SUSPENDING,
+                "Suspending in Node",
+                STEP_SUSPENDING_KEY,
+                STEP_SUSPENDING_TIME,
+                NODE_B
+            );
+        }
+
+        @Test
+        @DisplayName("Should persist suspension and resume by workflow ID")
+        void shouldPersistSuspensionAndResumeByWorkflowId() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var workflow = storedWorkflow(store, newSuspendingNode());
+            var workflowId = WorkflowId.of("stored-workflow");
+
+            // Act
+            var suspended = workflow.start(
+                workflowId,
+                "store-test",
+                ExecutionContext.empty()
+            );
+            var stored = store.get(workflowId);
+            var result = workflow.resume(workflowId);
+
+            // Assert
+            assertTrue(suspended.isSuspended());
+            assertEquals("suspended-id", stored.orElseThrow().suspensionId());
+            assertEquals("1.0.0", stored.orElseThrow().workflowVersion());
+            assertTrue(result.isSuccess());
+            assertEquals(
+                "Final result: store-test -> Node B -> Node C",
+                result.getValue().orElse(null)
+            );
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("Should resume from a file store after reopening it")
+        void shouldResumeFromReopenedFileStore() throws Exception {
+            // Arrange
+            Path file = Files.createTempFile("suspensions", ".log");
+            Files.delete(file);
+            var workflowId = WorkflowId.of("file-workflow");
+            var suspendingNode = newSuspendingNode();
+            try (var store = MappedFileWorkflowStateStore.open(file)) {
+                storedWorkflow(store, suspendingNode).start(
+                    workflowId,
+                    "file-test",
+                    ExecutionContext.empty()
+                );
+            }
+
+            // Act
+            WorkflowResult<String, WorkflowError> result;
+            try (var store = MappedFileWorkflowStateStore.open(file)) {
+                result = storedWorkflow(store, suspendingNode).resume(workflowId);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+
+            // Assert
+            assertTrue(result.isSuccess());
+            assertEquals(
+                "Final result: file-test -> Node B -> Node C",
+                result.getValue().orElse(null)
+            );
+        }
+
+        @Test
+        @DisplayName("Should fail to resume unknown or expired suspensions")
+        void shouldFailToResumeUnknownOrExpiredSuspensions() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var expiredId = WorkflowId.of("expired-workflow");
+            store.put(
+                new StoredSuspension(
+                    expiredId,
+                    "expired-suspension",
+                    "1.0.0",
+                    "waiting",
+                    Instant.now().minusSeconds(60),
+                    Instant.now().minusSeconds(1),
+                    new byte[0]
+                )
+            );
+            var workflow = storedWorkflow(store, newSuspendingNode());
+
+            // Act
+            var unknown = workflow.resume(WorkflowId.of("unknown-workflow"));
+            var expired = workflow.resume(expiredId);
+            var withoutStore = GraphWorkflowBuilder.<String, String>create(
+                String.class
+            )
+                .addNode(nodeC)
+                .defaultEntryPoint(NODE_C)
+                .outputExtractor(createOutputExtractor())
+                .build()
+                .resume(expiredId);
+
+            // Assert
+            assertEquals("SUSPENSION_NOT_FOUND", unknown.getError().orElseThrow().code());
+            assertEquals("SUSPENSION_EXPIRED", expired.getError().orElseThrow().code());
+            assertEquals("NO_STATE_STORE", withoutStore.getError().orElseThrow().code());
+        }
+
+        @Test
+        @DisplayName("Should not run a suspension another resume claimed first")
+        void shouldRejectSuspensionClaimedByAnotherResume() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore() {
+                @Override
+                public Optional<StoredSuspension> get(WorkflowId workflowId) {
+                    Optional<StoredSuspension> stored = super.get(workflowId);
+                    // A concurrent resume claims it between read and claim
+                    stored.ifPresent(s -> super.delete(workflowId, s.suspensionId()));
+                    return stored;
+                }
+            };
+            var workflow = storedWorkflow(store, newSuspendingNode());
+            var workflowId = WorkflowId.of("claimed-workflow");
+            workflow.start(workflowId, "claim-test", ExecutionContext.empty());
+
+            // Act
+            var result = workflow.resume(workflowId);
+
+            // Assert
+            assertEquals(
+                "SUSPENSION_CONFLICT",
+                result.getError().orElseThrow().code()
+            );
+        }
+
+        @Test
+        @DisplayName("Should keep a suspension stored while the claimed resume ran")
+        void shouldKeepSuspensionStoredDuringResume() {
+            // Arrange
+            var newer = new StoredSuspension(
+                WorkflowId.of("racing-workflow"),
+                "newer-suspension",
+                "1.0.0",
+                "waiting",
+                Instant.now(),
+                null,
+                new byte[0]
+            );
+            var store = new InMemoryWorkflowStateStore() {
+                @Override
+                public boolean delete(WorkflowId workflowId, String suspensionId) {
+                    boolean claimed = super.delete(workflowId, suspensionId);
+                    // The workflow suspends again elsewhere while this resume runs
+                    put(newer);
+                    return claimed;
+                }
+            };
+            var workflow = storedWorkflow(store, newSuspendingNode());
+            var workflowId = newer.workflowId();
+            workflow.start(workflowId, "race-test", ExecutionContext.empty());
+
+            // Act
+            var result = workflow.resume(workflowId);
+
+            // Assert
+            assertTrue(result.isSuccess());
+            assertEquals(
+                "newer-suspension",
+                store.get(workflowId).orElseThrow().suspensionId()
+            );
+        }
+
+        @Test
+        @DisplayName("Should put the suspension back when the resume fails recoverably")
+        void shouldRestoreSuspensionOnRecoverableFailure() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var errorNode = NodeId.of("nodeError");
+            var workflow = GraphWorkflowBuilder.<String, String>create(String.class)
+                .name("store-test")
+                .addNode(
+                    new SuspendingNode(
+                        NODE_SUSPENDING,
+                        "Suspending in Node",
+                        STEP_SUSPENDING_KEY,
+                        STEP_SUSPENDING_TIME,
+                        errorNode
+                    )
+                )
+                .addNode(new ErrorTestNode(errorNode))
+                .defaultEntryPoint(NODE_SUSPENDING)
+                .outputExtractor(createOutputExtractor())
+                .stateStore(store)
+                .build();
+            var workflowId = WorkflowId.of("failing-workflow");
+            workflow.start(workflowId, "fail-test", ExecutionContext.empty());
+
+            // Act
+            var result = workflow.resume(workflowId);
+
+            // Assert
+            assertTrue(result.getError().orElseThrow().isRecoverable());
+            assertEquals(
+                "suspended-id",
+                store.get(workflowId).orElseThrow().suspensionId()
+            );
+        }
+    }
+
     @Nested
     @DisplayName("Workflow Metadata Tests")
     class WorkflowMetadataTests {
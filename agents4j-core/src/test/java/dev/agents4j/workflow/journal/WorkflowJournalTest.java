@@ -0,0 +1,455 @@
+package dev.agents4j.workflow.journal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandSuspend;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import dev.agents4j.workflow.config.WorkflowConfiguration;
+import dev.agents4j.workflow.history.NodeInteraction;
+import dev.agents4j.workflow.history.ProcessingHistory;
+import dev.agents4j.workflow.history.ProcessingHistoryUtils;
+import dev.agents4j.workflow.serialization.BinaryGraphWorkflowStateSerializer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WorkflowJournalTest {
+
+    private static final NodeId THINK = NodeId.of("think");
+    private static final NodeId ACT = NodeId.of("act");
+    private static final ContextKey<Integer> TURN = ContextKey.intKey("turn");
+    private static final ContextKey<String> SCRATCH = ContextKey.stringKey(
+        "scratch"
+    );
+    private static final WorkflowId WORKFLOW_ID = WorkflowId.of("wf-journal");
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * An agent loop alternating between thinking and acting. Thinking adds
+     * to the data and rewrites the context, dropping the scratch entry every
+     * other turn; acting carries the context over. The loop suspends after the given
+     * number of turns.
+     */
+    private static WorkflowResult<String, WorkflowError> runAgentLoop(
+        WorkflowJournal<String> journal,
+        int turns
+    ) {
+        return GraphWorkflowBuilder.<String, String>create(String.class)
+            .name("agent-loop")
+            .addNode(
+                new StepNode(THINK, state -> {
+                    int turn = state.context().get(TURN).orElse(0) + 1;
+                    if (turn > turns) {
+                        return GraphCommandSuspend.withId(
+                            "await-user",
+                            "Waiting for the user"
+                        );
+                    }
+                    ExecutionContext.Builder context = ExecutionContext
+                        .builder()
+                        .put(TURN, turn);
+                    if (turn % 2 == 1) {
+                        context.put(SCRATCH, "note " + turn);
+                    }
+                    return GraphCommandTraverse.toWithUpdates(
+                        ACT,
+                        context.build(),
+                        state.data() + " t" + turn
+                    );
+                })
+            )
+            .addNode(
+                new StepNode(ACT, state ->
+                    GraphCommandTraverse.toWithContext(THINK, state.context())
+                )
+            )
+            .addEdge(THINK, ACT)
+            .addEdge(ACT, THINK)
+            .defaultEntryPoint(THINK)
+            .outputExtractor(GraphWorkflowState::data)
+            .asyncExecutor(Runnable::run)
+            .configuration(
+                WorkflowConfiguration.builder()
+                    .allowCycles(true)
+                    .journalSnapshotInterval(3)
+                    .build()
+            )
+            .journal(journal)
+            .build()
+            .start(WORKFLOW_ID, "goal", ExecutionContext.empty());
+    }
+
+    /**
+     * An agent loop whose thinking node appends its turn to the processing
+     * history, like the LLM nodes do, and suspends after the given number of
+     * turns.
+     */
+    private static WorkflowResult<String, WorkflowError> runHistoryLoop(
+        WorkflowJournal<String> journal,
+        int turns
+    ) {
+        return GraphWorkflowBuilder.<String, String>create(String.class)
+            .name("history-loop")
+            .addNode(
+                new StepNode(THINK, state -> {
+                    int turn = state.context().get(TURN).orElse(0) + 1;
+                    if (turn > turns) {
+                        return GraphCommandSuspend.withId(
+                            "await-user",
+                            "Waiting for the user"
+                        );
+                    }
+                    ProcessingHistory history = ProcessingHistoryUtils
+                        .getOrCreateHistory(state)
+                        .withInteraction(
+                            new NodeInteraction(
+                                THINK,
+                                "think",
+                                "turn " + turn,
+                                "thought " + turn,
+                                Instant.now()
+                            )
+                        );
+                    return GraphCommandTraverse.toWithContext(
+                        ACT,
+                        state
+                            .context()
+                            .with(TURN, turn)
+                            .with(ProcessingHistory.HISTORY_KEY, history)
+                    );
+                })
+            )
+            .addNode(
+                new StepNode(ACT, state ->
+                    GraphCommandTraverse.toWithContext(THINK, state.context())
+                )
+            )
+            .addEdge(THINK, ACT)
+            .addEdge(ACT, THINK)
+            .defaultEntryPoint(THINK)
+            .outputExtractor(GraphWorkflowState::data)
+            .asyncExecutor(Runnable::run)
+            .configuration(
+                WorkflowConfiguration.builder()
+                    .allowCycles(true)
+                    .journalSnapshotInterval(3)
+                    .build()
+            )
+            .journal(journal)
+            .build()
+            .start(WORKFLOW_ID, "goal", ExecutionContext.empty());
+    }
+
+    /**
+     * A two-step workflow that completes.
+     */
+    private static WorkflowResult<String, WorkflowError> runToCompletion(
+        WorkflowJournal<String> journal,
+        boolean deleteCompletedJournals
+    ) {
+        return GraphWorkflowBuilder.<String, String>create(String.class)
+            .name("two-step")
+            .addNode(
+                new StepNode(THINK, state ->
+                    GraphCommandTraverse.toWithUpdates(
+                        ACT,
+                        ExecutionContext.builder().put(TURN, 1).build(),
+                        state.data() + " t1"
+                    )
+                )
+            )
+            .addNode(
+                new StepNode(ACT, state ->
+                    GraphCommandComplete.withResult(state.data())
+                )
+            )
+            .addEdge(THINK, ACT)
+            .defaultEntryPoint(THINK)
+            .outputExtractor(GraphWorkflowState::data)
+            .asyncExecutor(Runnable::run)
+            .configuration(
+                WorkflowConfiguration.builder()
+                    .deleteCompletedJournals(deleteCompletedJournals)
+                    .build()
+            )
+            .journal(journal)
+            .build()
+            .start(WORKFLOW_ID, "goal", ExecutionContext.empty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GraphWorkflowState<String> suspendedState(
+        WorkflowResult<String, WorkflowError> result
+    ) {
+        assertTrue(result.isSuspended());
+        return (GraphWorkflowState<String>) result
+            .getSuspension()
+            .orElseThrow()
+            .suspensionState();
+    }
+
+    @Nested
+    @DisplayName("Replay Tests")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should replay the in-memory journal to the live state")
+        void shouldReplayInMemoryJournal() {
+            // Arrange
+            var journal = new InMemoryWorkflowJournal<String>();
+
+            // Act
+            var live = suspendedState(runAgentLoop(journal, 7));
+
+            // Assert
+            var segment = journal.read(WORKFLOW_ID).orElseThrow();
+            assertFalse(segment.entries().isEmpty());
+            assertEquals(live, journal.replay(WORKFLOW_ID).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Should replay the journal file to the live state")
+        void shouldReplayJournalFile() {
+            // Arrange
+            var journal = new FileWorkflowJournal<>(
+                tempDir.resolve("replay"),
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+                "1.0.0"
+            );
+
+            // Act
+            var live = suspendedState(runAgentLoop(journal, 7));
+
+            // Assert
+            assertEquals(live, journal.replay(WORKFLOW_ID).orElseThrow());
+            journal.close();
+            var reopened = new FileWorkflowJournal<>(
+                tempDir.resolve("replay"),
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+                "1.0.0"
+            );
+            assertEquals(live, reopened.replay(WORKFLOW_ID).orElseThrow());
+            reopened.close();
+        }
+
+        @Test
+        @DisplayName("Should replay a processing history appended on every turn")
+        void shouldReplayProcessingHistory() {
+            // Arrange
+            var journal = new FileWorkflowJournal<>(
+                tempDir.resolve("history"),
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+                "1.0.0"
+            );
+
+            // Act
+            var live = suspendedState(runHistoryLoop(journal, 5));
+            var replayed = journal.replay(WORKFLOW_ID).orElseThrow();
+            journal.close();
+
+            // Assert
+            assertEquals(live, replayed);
+            var history = replayed
+                .context()
+                .get(ProcessingHistory.HISTORY_KEY)
+                .orElseThrow();
+            assertEquals(5, history.getAllInteractions().size());
+            assertEquals(
+                "thought 5",
+                history.getLatestFromNode(THINK).orElseThrow().output()
+            );
+        }
+
+        @Test
+        @DisplayName("Should replay up to the last intact entry of a torn file")
+        void shouldStopAtTornTail() throws Exception {
+            // Arrange
+            Path directory = tempDir.resolve("torn");
+            var journal = new FileWorkflowJournal<>(
+                directory,
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+                "1.0.0"
+            );
+            var live = suspendedState(runAgentLoop(journal, 7));
+            journal.close();
+            Path file;
+            try (var files = Files.list(directory)) {
+                file = files.findFirst().orElseThrow();
+            }
+
+            // Act
+            Files.write(
+                file,
+                new byte[] { 2, 0, 0, 1, 0, 42 },
+                StandardOpenOption.APPEND
+            );
+            var reopened = new FileWorkflowJournal<>(
+                directory,
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+                "1.0.0"
+            );
+
+            // Assert
+            assertEquals(live, reopened.replay(WORKFLOW_ID).orElseThrow());
+            reopened.close();
+        }
+
+        @Test
+        @DisplayName("Should delete the journal of a workflow")
+        void shouldDeleteJournal() {
+            // Arrange
+            var journal = new InMemoryWorkflowJournal<String>();
+            runAgentLoop(journal, 2);
+
+            // Act
+            boolean deleted = journal.delete(WORKFLOW_ID);
+
+            // Assert
+            assertTrue(deleted);
+            assertTrue(journal.replay(WORKFLOW_ID).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle Tests")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should release the journal file when the execution ends")
+        void shouldReleaseWhenExecutionEnds() {
+            // Arrange
+            var journal = new ReleaseRecordingJournal(tempDir.resolve("release"));
+
+            // Act
+            var live = suspendedState(runAgentLoop(journal, 3));
+            var afterSuspend = List.copyOf(journal.released);
+            var completed = runToCompletion(journal, false);
+
+            // Assert
+            assertEquals(List.of(WORKFLOW_ID), afterSuspend);
+            assertEquals(List.of(WORKFLOW_ID, WORKFLOW_ID), journal.released);
+            assertTrue(completed.isSuccess());
+            assertEquals(
+                "goal t1",
+                journal.replay(WORKFLOW_ID).orElseThrow().data()
+            );
+            assertNotEquals(live, journal.replay(WORKFLOW_ID).orElseThrow());
+            journal.close();
+        }
+
+        @Test
+        @DisplayName("Should delete the journal of a completed execution when configured")
+        void shouldDeleteCompletedJournal() throws Exception {
+            // Arrange
+            Path directory = tempDir.resolve("completed");
+            var journal = new FileWorkflowJournal<>(
+                directory,
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+                "1.0.0"
+            );
+
+            // Act
+            var result = runToCompletion(journal, true);
+
+            // Assert
+            assertTrue(result.isSuccess());
+            assertTrue(journal.read(WORKFLOW_ID).isEmpty());
+            try (var files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+            journal.close();
+        }
+
+        @Test
+        @DisplayName("Should keep the journal of a completed execution by default")
+        void shouldKeepCompletedJournal() {
+            // Arrange
+            var journal = new InMemoryWorkflowJournal<String>();
+
+            // Act
+            var result = runToCompletion(journal, false);
+
+            // Assert
+            assertTrue(result.isSuccess());
+            assertEquals(
+                "goal t1",
+                journal.replay(WORKFLOW_ID).orElseThrow().data()
+            );
+        }
+    }
+
+    /**
+     * File journal that records which workflows it was asked to release.
+     */
+    private static class ReleaseRecordingJournal
+        extends FileWorkflowJournal<String> {
+
+        private final List<WorkflowId> released = new CopyOnWriteArrayList<>();
+
+        ReleaseRecordingJournal(Path directory) {
+            super(
+                directory,
+                new BinaryGraphWorkflowStateSerializer<>(String.class, "1.0.0"),
+                "1.0.0"
+            );
+        }
+
+        @Override
+        public void release(WorkflowId workflowId) {
+            released.add(workflowId);
+            super.release(workflowId);
+        }
+    }
+
+    private static class StepNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final Function<GraphWorkflowState<String>, GraphCommand<String>> step;
+
+        StepNode(
+            NodeId nodeId,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> step
+        ) {
+            this.nodeId = nodeId;
+            this.step = step;
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            return WorkflowResult.success(step.apply(state));
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package dev.agents4j.workflow.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.graph.EdgeId;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.serialization.StateHeader;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.DeserializationException;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.VersionMismatchException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class BinaryGraphWorkflowStateSerializerTest {
+
+    private static final String VERSION = "1.2.0";
+    private static final NodeId START = NodeId.of("start");
+    private static final NodeId REVIEW = NodeId.of("review");
+    private static final NodeId REVISE = NodeId.of("revise");
+    private static final ContextKey<String> TOPIC = ContextKey.stringKey("topic");
+    private static final ContextKey<Integer> ATTEMPTS = ContextKey.intKey("attempts");
+    private static final ContextKey<Long> TOKENS = ContextKey.longKey("tokens");
+    private static final ContextKey<Double> SCORE = ContextKey.of("score", Double.class);
+    private static final ContextKey<Boolean> APPROVED = ContextKey.booleanKey("approved");
+    private static final ContextKey<Instant> DUE = ContextKey.of("due", Instant.class);
+    private static final ContextKey<Reviewer> REVIEWER = ContextKey.of(
+        "reviewer",
+        Reviewer.class
+    );
+
+    private final BinaryGraphWorkflowStateSerializer<String> serializer =
+        new BinaryGraphWorkflowStateSerializer<>(String.class);
+
+    private static GraphWorkflowState<String> reviewLoopState() {
+        WorkflowContext context = WorkflowContext.empty()
+            .with(TOPIC, "quarterly report")
+            .with(ATTEMPTS, -3)
+            .with(TOKENS, 5_000_000_000L)
+            .with(SCORE, 0.75)
+            .with(APPROVED, false)
+            .with(DUE, Instant.parse("2024-05-01T10:15:30.123456789Z"))
+            .with(REVIEWER, new Reviewer("alice", List.of("finance", "legal")));
+        return GraphWorkflowState.create(
+            WorkflowId.of("wf-1"),
+            "draft text",
+            START,
+            context
+        )
+            .traverseEdge(EdgeId.between(START, REVIEW), REVIEW)
+            .traverseEdge(EdgeId.between(REVIEW, REVISE), REVISE)
+            .traverseEdge(EdgeId.between(REVISE, REVIEW), REVIEW);
+    }
+
+    private static void assertSameState(
+        GraphWorkflowState<String> expected,
+        GraphWorkflowState<String> actual
+    ) {
+        assertEquals(expected.workflowId(), actual.workflowId());
+        assertEquals(expected.data(), actual.data());
+        assertEquals(expected.currentNode(), actual.currentNode());
+        assertEquals(expected.context().keys(), actual.context().keys());
+        for (ContextKey<?> key : expected.context().keys()) {
+            assertEquals(expected.context().get(key), actual.context().get(key));
+        }
+        assertEquals(expected.getPath(), actual.getPath());
+        assertEquals(expected.getPreviousNode(), actual.getPreviousNode());
+        assertEquals(expected.getDepth(), actual.getDepth());
+        assertEquals(
+            expected.position().edgeTraversalHistory(),
+            actual.position().edgeTraversalHistory()
+        );
+        assertEquals(expected.metadata(), actual.metadata());
+    }
+
+    @Nested
+    @DisplayName("Round Trip Tests")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should restore the full state from bytes")
+        void shouldRestoreFullStateFromBytes() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = reviewLoopState();
+
+            // Act
+            byte[] bytes = serializer.serializeToBytes(state, VERSION);
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                bytes,
+                VERSION
+            );
+
+            // Assert
+            assertSameState(state, restored);
+            assertTrue(restored.hasCycle());
+        }
+
+        @Test
+        @DisplayName("Should read from a direct buffer and advance its position")
+        void shouldReadFromDirectBuffer() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = reviewLoopState();
+            byte[] bytes = serializer.serializeToBytes(state, VERSION);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 8);
+            buffer.put(bytes).putLong(42L).flip();
+
+            // Act
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                buffer,
+                VERSION
+            );
+
+            // Assert
+            assertSameState(state, restored);
+            assertEquals(bytes.length, buffer.position());
+            assertEquals(42L, buffer.getLong());
+        }
+
+        @Test
+        @DisplayName("Should round trip through the string form")
+        void shouldRoundTripThroughStringForm() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = reviewLoopState();
+
+            // Act
+            String serialized = serializer.serialize(state, VERSION);
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                serialized,
+                VERSION
+            );
+
+            // Assert
+            assertSameState(state, restored);
+            assertEquals(VERSION, serializer.extractVersion(serialized));
+            assertTrue(serializer.validate(serialized).isValid());
+        }
+
+        @Test
+        @DisplayName("Should handle null data and an empty context")
+        void shouldHandleNullDataAndEmptyContext() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = GraphWorkflowState.create(
+                WorkflowId.generate(),
+                null,
+                START
+            );
+
+            // Act
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                serializer.serializeToBytes(state, VERSION),
+                VERSION
+            );
+
+            // Assert
+            assertSameState(state, restored);
+        }
+
+        @Test
+        @DisplayName("Should be smaller than the JSON encoding")
+        void shouldBeSmallerThanJson() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = reviewLoopState();
+            JsonGraphWorkflowStateSerializer<String> json =
+                new JsonGraphWorkflowStateSerializer<>(String.class);
+
+            // Act
+            int binarySize = serializer.serializeToBytes(state, VERSION).length;
+            int jsonSize = json.serializeToBytes(state, VERSION).length;
+
+            // Assert
+            assertTrue(
+                binarySize < jsonSize,
+                "binary=" + binarySize + " json=" + jsonSize
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Version Tests")
+    class VersionTests {
+
+        @Test
+        @DisplayName("Should reject an incompatible major version")
+        void shouldRejectIncompatibleMajorVersion() throws Exception {
+            // Arrange
+            byte[] bytes = serializer.serializeToBytes(reviewLoopState(), VERSION);
+
+            // Act & Assert
+            VersionMismatchException error = assertThrows(
+                VersionMismatchException.class,
+                () -> serializer.deserialize(bytes, "2.0.0")
+            );
+            assertEquals(VERSION, error.getSerializedVersion());
+            assertNotNull(serializer.deserialize(bytes, "1.9.0"));
+        }
+
+        @Test
+        @DisplayName("Should migrate by rewriting the header")
+        void shouldMigrateByRewritingHeader() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = reviewLoopState();
+            String serialized = serializer.serialize(state, VERSION);
+
+            // Act
+            String migrated = serializer
+                .migrate(serialized, VERSION, "1.3.0")
+                .orElseThrow();
+
+            // Assert
+            assertEquals("1.3.0", serializer.extractVersion(migrated));
+            assertSameState(state, serializer.deserialize(migrated, "1.3.0"));
+            assertTrue(serializer.migrate(serialized, VERSION, "2.0.0").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject a different state data type")
+        void shouldRejectDifferentStateDataType() throws Exception {
+            // Arrange
+            byte[] bytes = new BinaryGraphWorkflowStateSerializer<>(Integer.class)
+                .serializeToBytes(
+                    GraphWorkflowState.create(WorkflowId.generate(), 7, START),
+                    VERSION
+                );
+
+            // Act & Assert
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.deserialize(bytes, VERSION)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Header Tests")
+    class HeaderTests {
+
+        @Test
+        @DisplayName("Should peek the header without moving the buffer")
+        void shouldPeekHeaderWithoutMovingBuffer() throws Exception {
+            // Arrange
+            Instant before = Instant.now();
+            byte[] bytes = serializer.serializeToBytes(reviewLoopState(), VERSION);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+
+            // Act
+            StateHeader header = serializer.peekHeader(buffer);
+
+            // Assert
+            assertEquals(0, buffer.position());
+            assertEquals(VERSION, header.workflowVersion());
+            assertEquals("1.0.0", header.schemaVersion());
+            assertEquals(String.class.getName(), header.stateDataType());
+            assertEquals("wf-1", header.workflowId());
+            assertEquals(Optional.of("review"), header.currentNodeId());
+            assertFalse(header.serializedAt().isBefore(before));
+            assertFalse(header.serializedBefore(before));
+            assertEquals(
+                "wf-1",
+                serializer
+                    .peekHeader(serializer.serialize(reviewLoopState(), VERSION))
+                    .workflowId()
+            );
+        }
+
+        @Test
+        @DisplayName("Should not need the state body")
+        void shouldNotNeedStateBody() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = GraphWorkflowState.create(
+                WorkflowId.of("wf-header"),
+                "x".repeat(10_000),
+                START
+            );
+            byte[] bytes = serializer.serializeToBytes(state, VERSION);
+            byte[] headerOnly = Arrays.copyOf(bytes, 80);
+
+            // Act
+            StateHeader header = serializer.peekHeader(headerOnly);
+
+            // Assert
+            assertEquals("wf-header", header.workflowId());
+            assertEquals("start", header.currentNode());
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.peekHeader(Arrays.copyOf(bytes, 10))
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Malformed Input Tests")
+    class MalformedInputTests {
+
+        @Test
+        @DisplayName("Should reject truncated input")
+        void shouldRejectTruncatedInput() throws Exception {
+            // Arrange
+            byte[] bytes = serializer.serializeToBytes(reviewLoopState(), VERSION);
+            byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+
+            // Act & Assert
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.deserialize(truncated, VERSION)
+            );
+        }
+
+        @Test
+        @DisplayName("Should reject other formats")
+        void shouldRejectOtherFormats() throws Exception {
+            // Arrange
+            String json = new JsonGraphWorkflowStateSerializer<>(String.class)
+                .serialize(reviewLoopState(), VERSION);
+
+            // Act & Assert
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.deserialize(json, VERSION)
+            );
+            assertNull(serializer.extractVersion("not a state"));
+        }
+    }
+
+    /**
+     * Context value without a dedicated tag, stored as embedded JSON.
+     */
+    record Reviewer(String name, List<String> areas) {}
+}
@@ -0,0 +1,238 @@
+package dev.agents4j.workflow.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.workflow.serialization.ContextTypeRegistry.ContextType;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ContextTypeRegistryTest {
+
+    private static final String VERSION = "1.0.0";
+    private static final ContextKey<Reviewer> REVIEWER = ContextKey.of(
+        "reviewer",
+        Reviewer.class
+    );
+    private static final ContextKey<Integer> ATTEMPTS = ContextKey.intKey("attempts");
+
+    private static GraphWorkflowState<String> reviewerState() {
+        WorkflowContext context = WorkflowContext.empty()
+            .with(REVIEWER, new Reviewer("alice", List.of("legal")))
+            .with(ATTEMPTS, 2);
+        return GraphWorkflowState.create(
+            WorkflowId.of("wf-registry"),
+            "data",
+            NodeId.of("start"),
+            context
+        );
+    }
+
+    @Nested
+    @DisplayName("Resolution Tests")
+    class ResolutionTests {
+
+        @Test
+        @DisplayName("Should resolve built-in types without registration")
+        void shouldResolveBuiltInTypes() {
+            // Arrange
+            ContextTypeRegistry registry = ContextTypeRegistry.defaults();
+
+            // Act & Assert
+            for (Class<?> type : List.of(
+                String.class,
+                Integer.class,
+                Long.class,
+                Double.class,
+                Boolean.class,
+                Instant.class
+            )) {
+                assertTrue(registry.isRegistered(type.getName()));
+                assertEquals(
+                    type,
+                    registry.resolve(type.getName()).orElseThrow().type()
+                );
+            }
+        }
+
+        @Test
+        @DisplayName("Should cache types loaded by name")
+        void shouldCacheTypesLoadedByName() {
+            // Arrange
+            ContextTypeRegistry registry = ContextTypeRegistry.builder().build();
+
+            // Act
+            ContextType<?> first = registry.resolve(Reviewer.class.getName()).orElseThrow();
+            ContextType<?> second = registry.resolve(Reviewer.class.getName()).orElseThrow();
+
+            // Assert
+            assertSame(first, second);
+            assertFalse(registry.isRegistered(Reviewer.class.getName()));
+            assertTrue(registry.resolve("com.example.Missing").isEmpty());
+            assertTrue(registry.resolve(null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should refuse unregistered types when reflection is off")
+        void shouldRefuseUnregisteredTypes() {
+            // Arrange
+            ContextTypeRegistry registry = ContextTypeRegistry.builder()
+                .allowUnregisteredTypes(false)
+                .build();
+
+            // Act & Assert
+            assertTrue(registry.resolve(Reviewer.class.getName()).isEmpty());
+            assertTrue(registry.resolve(String.class.getName()).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should pre-bind registered keys and aliases")
+        void shouldPreBindRegisteredKeysAndAliases() {
+            // Arrange
+            ContextTypeRegistry registry = ContextTypeRegistry.builder()
+                .register(REVIEWER)
+                .register("com.example.OldReviewer", Reviewer.class)
+                .build();
+
+            // Act
+            ContextType<?> type = registry.resolve(Reviewer.class.getName()).orElseThrow();
+            ContextType<?> alias = registry.resolve("com.example.OldReviewer").orElseThrow();
+
+            // Assert
+            assertSame(REVIEWER, type.key("reviewer"));
+            assertEquals(ContextKey.of("other", Reviewer.class), type.key("other"));
+            assertEquals(Reviewer.class, alias.type());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reading Tests")
+    class ReadingTests {
+
+        @Test
+        @DisplayName("Should reject mismatched values and keep the parser usable")
+        void shouldRejectMismatchedValues() throws Exception {
+            // Arrange
+            ContextType<?> integerType = ContextTypeRegistry.defaults()
+                .resolve(Integer.class.getName())
+                .orElseThrow();
+            ContextType<?> reviewerType = ContextTypeRegistry.defaults()
+                .resolve(Reviewer.class.getName())
+                .orElseThrow();
+            JsonParser parser = new ObjectMapper().createParser(
+                "[{\"nested\":[1,2]}, {\"name\":[]}, 7]"
+            );
+            parser.nextToken();
+
+            // Act & Assert
+            parser.nextToken();
+            assertThrows(IllegalArgumentException.class, () -> integerType.read(parser));
+            parser.nextToken();
+            assertThrows(IllegalArgumentException.class, () -> reviewerType.read(parser));
+            parser.nextToken();
+            assertEquals(7, integerType.read(parser));
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        }
+    }
+
+    @Nested
+    @DisplayName("Serializer Tests")
+    class SerializerTests {
+
+        @Test
+        @DisplayName("Should restore values under pre-bound keys in both formats")
+        void shouldRestoreValuesUnderPreBoundKeys() throws Exception {
+            // Arrange
+            ContextTypeRegistry registry = ContextTypeRegistry.builder()
+                .register(REVIEWER)
+                .build();
+            GraphWorkflowState<String> state = reviewerState();
+
+            // Act
+            GraphWorkflowState<String> fromJson = new JsonGraphWorkflowStateSerializer<>(
+                String.class,
+                VERSION,
+                registry
+            ).deserialize(
+                new JsonGraphWorkflowStateSerializer<>(String.class).serialize(state, VERSION),
+                VERSION
+            );
+            GraphWorkflowState<String> fromBinary = new BinaryGraphWorkflowStateSerializer<>(
+                String.class,
+                VERSION,
+                registry
+            ).deserialize(
+                new BinaryGraphWorkflowStateSerializer<>(String.class).serializeToBytes(
+                    state,
+                    VERSION
+                ),
+                VERSION
+            );
+
+            // Assert
+            for (GraphWorkflowState<String> restored : List.of(fromJson, fromBinary)) {
+                assertEquals(state.context(), restored.context());
+                ContextKey<?> restoredKey = restored
+                    .context()
+                    .keys()
+                    .stream()
+                    .filter(key -> key.name().equals("reviewer"))
+                    .findFirst()
+                    .orElseThrow();
+                assertSame(REVIEWER, restoredKey);
+            }
+        }
+
+        @Test
+        @DisplayName("Should skip values of refused types")
+        void shouldSkipValuesOfRefusedTypes() throws Exception {
+            // Arrange
+            ContextTypeRegistry registry = ContextTypeRegistry.builder()
+                .allowUnregisteredTypes(false)
+                .build();
+            GraphWorkflowState<String> state = reviewerState();
+
+            // Act
+            GraphWorkflowState<String> fromJson = new JsonGraphWorkflowStateSerializer<>(
+                String.class,
+                VERSION,
+                registry
+            ).deserialize(
+                new JsonGraphWorkflowStateSerializer<>(String.class).serialize(state, VERSION),
+                VERSION
+            );
+            GraphWorkflowState<String> fromBinary = new BinaryGraphWorkflowStateSerializer<>(
+                String.class,
+                VERSION,
+                registry
+            ).deserialize(
+                new BinaryGraphWorkflowStateSerializer<>(String.class).serializeToBytes(
+                    state,
+                    VERSION
+                ),
+                VERSION
+            );
+
+            // Assert
+            for (GraphWorkflowState<String> restored : List.of(fromJson, fromBinary)) {
+                assertEquals(1, restored.context().size());
+                assertEquals(2, restored.context().get(ATTEMPTS).orElseThrow());
+            }
+        }
+    }
+
+    /**
+     * Context value without a built-in reader.
+     */
+    record Reviewer(String name, List<String> areas) {}
+}
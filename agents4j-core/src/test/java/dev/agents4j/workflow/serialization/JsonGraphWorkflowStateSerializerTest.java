@@ -0,0 +1,383 @@
+package dev.agents4j.workflow.serialization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.serialization.StateHeader;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.DeserializationException;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.SerializationException;
+import dev.agents4j.api.serialization.WorkflowStateSerializer.VersionMismatchException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class JsonGraphWorkflowStateSerializerTest {
+
+    private static final String VERSION = "1.2.0";
+    private static final NodeId START = NodeId.of("start");
+    private static final ContextKey<String> TRANSCRIPT = ContextKey.stringKey(
+        "transcript"
+    );
+    private static final ContextKey<Integer> ATTEMPTS = ContextKey.intKey("attempts");
+    private static final ContextKey<Long> TOKENS = ContextKey.longKey("tokens");
+    private static final ContextKey<Double> SCORE = ContextKey.of("score", Double.class);
+    private static final ContextKey<Boolean> APPROVED = ContextKey.booleanKey("approved");
+    private static final ContextKey<Instant> DUE = ContextKey.of("due", Instant.class);
+    private static final ContextKey<Reviewer> REVIEWER = ContextKey.of(
+        "reviewer",
+        Reviewer.class
+    );
+
+    private final JsonGraphWorkflowStateSerializer<String> serializer =
+        new JsonGraphWorkflowStateSerializer<>(String.class);
+
+    private static GraphWorkflowState<String> transcriptState() {
+        WorkflowContext context = WorkflowContext.empty()
+            .with(TRANSCRIPT, "user: hello\nassistant: hi there\n".repeat(200))
+            .with(ATTEMPTS, 3)
+            .with(TOKENS, 42L)
+            .with(SCORE, 0.75)
+            .with(APPROVED, true)
+            .with(DUE, Instant.parse("2024-05-01T10:15:30Z"))
+            .with(REVIEWER, new Reviewer("alice", List.of("finance", "legal")));
+        return GraphWorkflowState.create(
+            WorkflowId.of("wf-1"),
+            "draft text",
+            START,
+            context
+        );
+    }
+
+    private static void assertSameContent(
+        GraphWorkflowState<String> expected,
+        GraphWorkflowState<String> actual
+    ) {
+        assertEquals(expected.workflowId(), actual.workflowId());
+        assertEquals(expected.data(), actual.data());
+        assertEquals(expected.currentNode(), actual.currentNode());
+        assertEquals(expected.context().keys(), actual.context().keys());
+        for (ContextKey<?> key : expected.context().keys()) {
+            assertEquals(expected.context().get(key), actual.context().get(key));
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming Tests")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Should round trip through streams without closing them")
+        void shouldRoundTripThroughStreams() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = transcriptState();
+            TrackingOutputStream output = new TrackingOutputStream();
+
+            // Act
+            serializer.serialize(state, VERSION, output);
+            TrackingInputStream input = new TrackingInputStream(
+                output.toByteArray()
+            );
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                input,
+                VERSION
+            );
+
+            // Assert
+            assertSameContent(state, restored);
+            assertFalse(output.closed.get());
+            assertFalse(input.closed.get());
+        }
+
+        @Test
+        @DisplayName("Should round trip through channels")
+        void shouldRoundTripThroughChannels() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = transcriptState();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            // Act
+            serializer.serialize(state, VERSION, Channels.newChannel(output));
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                Channels.newChannel(new ByteArrayInputStream(output.toByteArray())),
+                VERSION
+            );
+
+            // Assert
+            assertSameContent(state, restored);
+        }
+
+        @Test
+        @DisplayName("Should produce the same document for every output form")
+        void shouldProduceSameDocumentForEveryOutputForm() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = transcriptState();
+
+            // Act
+            String text = serializer.serialize(state, VERSION);
+            byte[] bytes = serializer.serializeToBytes(state, VERSION);
+
+            // Assert
+            String fromBytes = new String(bytes, StandardCharsets.UTF_8);
+            assertEquals(
+                text.replaceAll("\"serializedAt\":[0-9.]+", ""),
+                fromBytes.replaceAll("\"serializedAt\":[0-9.]+", "")
+            );
+            assertSameContent(state, serializer.deserialize(text, VERSION));
+            assertSameContent(state, serializer.deserialize(bytes, VERSION));
+        }
+
+        @Test
+        @DisplayName("Should surface stream failures as serialization errors")
+        void shouldSurfaceStreamFailures() {
+            // Arrange
+            OutputStream failing = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("disk full");
+                }
+            };
+
+            // Act & Assert
+            assertThrows(
+                SerializationException.class,
+                () -> serializer.serialize(transcriptState(), VERSION, failing)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Header Tests")
+    class HeaderTests {
+
+        @Test
+        @DisplayName("Should peek the header fields")
+        void shouldPeekHeaderFields() throws Exception {
+            // Arrange
+            Instant before = Instant.now();
+            byte[] bytes = serializer.serializeToBytes(transcriptState(), VERSION);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+
+            // Act
+            StateHeader header = serializer.peekHeader(buffer);
+
+            // Assert
+            assertEquals(0, buffer.position());
+            assertEquals(VERSION, header.workflowVersion());
+            assertEquals("1.0.0", header.schemaVersion());
+            assertEquals(String.class.getName(), header.stateDataType());
+            assertEquals("wf-1", header.workflowId());
+            assertEquals("start", header.currentNode());
+            assertFalse(header.serializedAt().isBefore(before));
+            assertTrue(header.serializedBefore(Instant.now().plusSeconds(1)));
+        }
+
+        @Test
+        @DisplayName("Should stop reading after the header")
+        void shouldStopReadingAfterHeader() throws Exception {
+            // Arrange - everything after the header is not valid JSON
+            String json =
+                "{\"workflowVersion\":\"1.0.0\",\"schemaVersion\":\"1.0.0\"," +
+                "\"stateDataType\":\"java.lang.String\",\"workflowId\":\"wf-3\"," +
+                "\"currentNode\":null,\"serializedAt\":1714558530.123456789," +
+                "\"stateData\": nope";
+
+            // Act
+            StateHeader header = serializer.peekHeader(json);
+
+            // Assert
+            assertEquals("wf-3", header.workflowId());
+            assertTrue(header.currentNodeId().isEmpty());
+            assertEquals(
+                Instant.parse("2024-05-01T10:15:30.123456789Z"),
+                header.serializedAt()
+            );
+        }
+
+        @Test
+        @DisplayName("Should read headers of states with the time at the end")
+        void shouldReadHeadersWithTimeAtEnd() throws Exception {
+            // Arrange
+            String json =
+                "{\"workflowVersion\":\"1.0.0\",\"workflowId\":\"wf-4\"," +
+                "\"stateData\":{\"a\":[1,2]},\"contextData\":{}," +
+                "\"serializedAt\":\"2024-05-01T10:15:30Z\"}";
+
+            // Act
+            StateHeader header = serializer.peekHeader(
+                json.getBytes(StandardCharsets.UTF_8)
+            );
+
+            // Assert
+            assertEquals("wf-4", header.workflowId());
+            assertNull(header.schemaVersion());
+            assertEquals(Instant.parse("2024-05-01T10:15:30Z"), header.serializedAt());
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.peekHeader("{\"workflowId\":\"wf-5\"}")
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Compatibility Tests")
+    class CompatibilityTests {
+
+        @Test
+        @DisplayName("Should read states that list context values before types")
+        void shouldReadValueBeforeType() throws Exception {
+            // Arrange
+            String legacy =
+                "{\"workflowVersion\":\"1.0.0\",\"schemaVersion\":\"1.0.0\"," +
+                "\"workflowId\":\"wf-legacy\",\"stateData\":\"data\"," +
+                "\"currentNode\":\"start\",\"contextData\":{" +
+                "\"attempts\":{\"value\":2,\"type\":\"java.lang.Integer\"}," +
+                "\"reviewer\":{\"value\":{\"name\":\"bob\",\"areas\":[]}," +
+                "\"type\":\"" + Reviewer.class.getName() + "\"}}," +
+                "\"positionData\":{\"depth\":0,\"path\":[\"start\"]}," +
+                "\"metadataData\":{\"version\":1}," +
+                "\"serializedAt\":1714558530.0," +
+                "\"stateDataType\":\"java.lang.String\"}";
+
+            // Act
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                legacy,
+                VERSION
+            );
+
+            // Assert
+            assertEquals("wf-legacy", restored.workflowId().value());
+            assertEquals(2, restored.context().get(ATTEMPTS).orElseThrow());
+            assertEquals(
+                new Reviewer("bob", List.of()),
+                restored.context().get(REVIEWER).orElseThrow()
+            );
+        }
+
+        @Test
+        @DisplayName("Should skip context entries that cannot be restored")
+        void shouldSkipUnrestorableEntries() throws Exception {
+            // Arrange
+            String json =
+                "{\"workflowVersion\":\"1.0.0\",\"workflowId\":\"wf-2\"," +
+                "\"stateData\":null,\"contextData\":{" +
+                "\"missing\":{\"type\":\"com.example.Missing\",\"value\":{\"a\":[1]}}," +
+                "\"wrong\":{\"type\":\"java.lang.Integer\",\"value\":{\"a\":1}}," +
+                "\"attempts\":{\"type\":\"java.lang.Integer\",\"value\":5}}," +
+                "\"stateDataType\":\"java.lang.String\"}";
+
+            // Act
+            GraphWorkflowState<String> restored = serializer.deserialize(
+                json,
+                VERSION
+            );
+
+            // Assert
+            assertEquals(1, restored.context().size());
+            assertEquals(5, restored.context().get(ATTEMPTS).orElseThrow());
+            assertNull(restored.data());
+        }
+
+        @Test
+        @DisplayName("Should reject an incompatible version before reading data")
+        void shouldRejectIncompatibleVersionEarly() {
+            // Arrange - the data after the version is not valid JSON
+            String json = "{\"workflowVersion\":\"2.0.0\",\"stateData\": nope";
+
+            // Act & Assert
+            VersionMismatchException error = assertThrows(
+                VersionMismatchException.class,
+                () -> serializer.deserialize(json, VERSION)
+            );
+            assertEquals("2.0.0", error.getSerializedVersion());
+        }
+
+        @Test
+        @DisplayName("Should reject malformed input and other data types")
+        void shouldRejectMalformedInput() throws Exception {
+            // Arrange
+            byte[] integerState = new JsonGraphWorkflowStateSerializer<>(Integer.class)
+                .serializeToBytes(
+                    GraphWorkflowState.create(WorkflowId.generate(), 7, START),
+                    VERSION
+                );
+
+            // Act & Assert
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.deserialize("{\"workflowVersion\":", VERSION)
+            );
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.deserialize("[]", VERSION)
+            );
+            assertThrows(
+                DeserializationException.class,
+                () -> serializer.deserialize(integerState, VERSION)
+            );
+        }
+
+        @Test
+        @DisplayName("Should extract and migrate the version")
+        void shouldExtractAndMigrateVersion() throws Exception {
+            // Arrange
+            GraphWorkflowState<String> state = transcriptState();
+            String serialized = serializer.serialize(state, VERSION);
+
+            // Act
+            String migrated = serializer
+                .migrate(serialized, VERSION, "1.3.0")
+                .orElseThrow();
+
+            // Assert
+            assertEquals(VERSION, serializer.extractVersion(serialized));
+            assertEquals("1.3.0", serializer.extractVersion(migrated));
+            assertSameContent(state, serializer.deserialize(migrated, "1.3.0"));
+            assertTrue(serializer.migrate(serialized, VERSION, "2.0.0").isEmpty());
+            assertNull(serializer.extractVersion("not json"));
+        }
+    }
+
+    /**
+     * Context value stored through databind.
+     */
+    record Reviewer(String name, List<String> areas) {}
+
+    static class TrackingOutputStream extends ByteArrayOutputStream {
+
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+
+    static class TrackingInputStream extends ByteArrayInputStream {
+
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        TrackingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dev.agents4j.workflow.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.suspension.StoredSuspension;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class InMemoryWorkflowStateStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private InMemoryWorkflowStateStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryWorkflowStateStore();
+    }
+
+    static StoredSuspension suspension(
+        String workflowId,
+        String suspensionId,
+        Duration timeout
+    ) {
+        return new StoredSuspension(
+            WorkflowId.of(workflowId),
+            suspensionId,
+            "1.0.0",
+            "awaiting approval",
+            NOW,
+            timeout != null ? NOW.plus(timeout) : null,
+            ("state of " + workflowId).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should find suspensions by workflow and suspension ID")
+        void shouldFindSuspensionsByWorkflowAndSuspensionId() {
+            // Arrange
+            StoredSuspension stored = suspension("wf-1", "s-1", null);
+
+            // Act
+            store.put(stored);
+
+            // Assert
+            assertEquals(stored, store.get(WorkflowId.of("wf-1")).orElseThrow());
+            assertEquals(stored, store.findBySuspensionId("s-1").orElseThrow());
+            assertTrue(store.get(WorkflowId.of("wf-2")).isEmpty());
+            assertTrue(store.findBySuspensionId("s-2").isEmpty());
+            assertEquals(1, store.size());
+        }
+
+        @Test
+        @DisplayName("Should replace the suspension of the same workflow")
+        void shouldReplaceSuspensionOfSameWorkflow() {
+            // Arrange
+            store.put(suspension("wf-1", "s-1", Duration.ofMinutes(1)));
+
+            // Act
+            store.put(suspension("wf-1", "s-2", null));
+
+            // Assert
+            assertEquals(1, store.size());
+            assertEquals("s-2", store.get(WorkflowId.of("wf-1")).orElseThrow().suspensionId());
+            assertTrue(store.findBySuspensionId("s-1").isEmpty());
+            assertTrue(store.scanExpired(NOW.plus(Duration.ofHours(1)), 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should delete suspensions and their index entries")
+        void shouldDeleteSuspensions() {
+            // Arrange
+            store.put(suspension("wf-1", "s-1", Duration.ofMinutes(1)));
+
+            // Act
+            boolean deleted = store.delete(WorkflowId.of("wf-1"));
+
+            // Assert
+            assertTrue(deleted);
+            assertFalse(store.delete(WorkflowId.of("wf-1")));
+            assertEquals(0, store.size());
+            assertTrue(store.findBySuspensionId("s-1").isEmpty());
+            assertTrue(store.scanExpired(NOW.plus(Duration.ofHours(1)), 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should scan expired suspensions in expiry order")
+        void shouldScanExpiredSuspensionsInOrder() {
+            // Arrange
+            store.put(suspension("wf-late", "s-late", Duration.ofMinutes(30)));
+            store.put(suspension("wf-early", "s-early", Duration.ofMinutes(5)));
+            store.put(suspension("wf-open", "s-open", null));
+            store.put(suspension("wf-future", "s-future", Duration.ofHours(2)));
+
+            // Act
+            List<StoredSuspension> expired = store.scanExpired(
+                NOW.plus(Duration.ofHours(1)),
+                10
+            );
+            List<StoredSuspension> limited = store.scanExpired(
+                NOW.plus(Duration.ofHours(1)),
+                1
+            );
+
+            // Assert
+            assertEquals(
+                List.of("s-early", "s-late"),
+                expired.stream().map(StoredSuspension::suspensionId).toList()
+            );
+            assertEquals(1, limited.size());
+            assertEquals("s-early", limited.get(0).suspensionId());
+            assertTrue(expired.get(0).isExpired(NOW.plus(Duration.ofMinutes(5))));
+            assertEquals(Duration.ofMinutes(5), expired.get(0).timeout().orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package dev.agents4j.workflow.store;
+
+import static dev.agents4j.workflow.store.InMemoryWorkflowStateStoreTest.suspension;
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.suspension.StoredSuspension;
+import dev.agents4j.api.suspension.WorkflowStateStore;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileWorkflowStateStoreTest {
+
+    private static final Instant LATER = Instant.parse("2026-01-01T01:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private MappedFileWorkflowStateStore open(Path file) {
+        return MappedFileWorkflowStateStore.builder(file)
+            .initialCapacity(256)
+            .minCompactionBytes(0)
+            .syncOnWrite(false)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Persistence Tests")
+    class PersistenceTests {
+
+        @Test
+        @DisplayName("Should restore the latest suspensions after reopening")
+        void shouldRestoreLatestSuspensionsAfterReopening() {
+            // Arrange
+            Path file = tempDir.resolve("suspensions.log");
+            StoredSuspension replaced = suspension("wf-1", "s-1b", Duration.ofMinutes(5));
+            StoredSuspension kept = suspension("wf-2", "s-2", null);
+            try (MappedFileWorkflowStateStore store = MappedFileWorkflowStateStore.open(file)) {
+                store.put(suspension("wf-1", "s-1a", null));
+                store.put(kept);
+                store.put(replaced);
+                store.put(suspension("wf-3", "s-3", Duration.ofMinutes(1)));
+                store.delete(WorkflowId.of("wf-3"));
+            }
+
+            // Act
+            try (MappedFileWorkflowStateStore store = MappedFileWorkflowStateStore.open(file)) {
+                // Assert
+                assertEquals(2, store.size());
+                assertEquals(replaced, store.get(WorkflowId.of("wf-1")).orElseThrow());
+                assertEquals(kept, store.findBySuspensionId("s-2").orElseThrow());
+                assertTrue(store.findBySuspensionId("s-1a").isEmpty());
+                assertTrue(store.get(WorkflowId.of("wf-3")).isEmpty());
+                assertEquals(
+                    List.of(replaced),
+                    store.scanExpired(LATER, 10)
+                );
+            }
+        }
+
+        @Test
+        @DisplayName("Should grow the mapping for large states")
+        void shouldGrowMappingForLargeStates() {
+            // Arrange
+            Path file = tempDir.resolve("large.log");
+            StoredSuspension large = new StoredSuspension(
+                WorkflowId.of("wf-large"),
+                "s-large",
+                "1.0.0",
+                "waiting",
+                Instant.EPOCH,
+                null,
+                new byte[10_000]
+            );
+
+            // Act
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                store.put(large);
+            }
+
+            // Assert
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                assertEquals(large, store.get(WorkflowId.of("wf-large")).orElseThrow());
+            }
+        }
+
+        @Test
+        @DisplayName("Should discard a damaged tail and keep appending")
+        void shouldDiscardDamagedTail() throws Exception {
+            // Arrange
+            Path file = tempDir.resolve("torn.log");
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                store.put(suspension("wf-1", "s-1", null));
+                store.put(suspension("wf-2", "s-2", null));
+            }
+            // Damage the state of the second record, as a torn append would
+            byte[] bytes = Files.readAllBytes(file);
+            int stateOffset = indexOf(bytes, "state of wf-2".getBytes(StandardCharsets.UTF_8));
+            bytes[stateOffset] ^= 0x7f;
+            Files.write(file, bytes);
+
+            // Act
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                store.put(suspension("wf-3", "s-3", null));
+            }
+
+            // Assert
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                assertTrue(store.get(WorkflowId.of("wf-1")).isPresent());
+                assertTrue(store.get(WorkflowId.of("wf-2")).isEmpty());
+                assertTrue(store.get(WorkflowId.of("wf-3")).isPresent());
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject files that are not state stores")
+        void shouldRejectForeignFiles() throws Exception {
+            // Arrange
+            Path file = tempDir.resolve("foreign.log");
+            Files.writeString(file, "not a state store");
+
+            // Act & Assert
+            assertThrows(
+                WorkflowStateStore.StoreException.class,
+                () -> MappedFileWorkflowStateStore.open(file)
+            );
+        }
+
+        @Test
+        @DisplayName("Should refuse to open a file that is already open")
+        void shouldRefuseConcurrentOpen() {
+            // Arrange
+            Path file = tempDir.resolve("locked.log");
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                // Act & Assert
+                assertThrows(
+                    WorkflowStateStore.StoreException.class,
+                    () -> open(file)
+                );
+                store.put(suspension("wf-1", "s-1", null));
+            }
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                assertEquals(1, store.size());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Compaction Tests")
+    class CompactionTests {
+
+        @Test
+        @DisplayName("Should compact once replaced records outweigh live ones")
+        void shouldCompactAutomatically() throws Exception {
+            // Arrange
+            Path file = tempDir.resolve("compacted.log");
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                store.put(suspension("wf-keep", "s-keep", Duration.ofMinutes(1)));
+
+                // Act
+                for (int i = 0; i < 50; i++) {
+                    store.put(suspension("wf-churn", "s-churn-" + i, null));
+                }
+                store.delete(WorkflowId.of("wf-churn"));
+
+                // Assert
+                assertEquals(0, store.reclaimableBytes());
+                assertTrue(Files.size(file) <= 256);
+                assertEquals(1, store.size());
+                assertTrue(store.findBySuspensionId("s-churn-49").isEmpty());
+                assertEquals(1, store.scanExpired(LATER, 10).size());
+            }
+            try (MappedFileWorkflowStateStore store = open(file)) {
+                assertEquals(1, store.size());
+                assertTrue(store.get(WorkflowId.of("wf-keep")).isPresent());
+                assertFalse(Files.exists(tempDir.resolve("compacted.log.compact")));
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep live records when compacted explicitly")
+        void shouldKeepLiveRecordsWhenCompactedExplicitly() {
+            // Arrange
+            Path file = tempDir.resolve("explicit.log");
+            try (
+                MappedFileWorkflowStateStore store = MappedFileWorkflowStateStore.open(file)
+            ) {
+                store.put(suspension("wf-1", "s-1a", null));
+                store.put(suspension("wf-1", "s-1b", null));
+                store.put(suspension("wf-2", "s-2", null));
+
+                // Act
+                store.compact();
+                store.put(suspension("wf-3", "s-3", null));
+
+                // Assert
+                assertEquals(0, store.reclaimableBytes());
+                assertEquals("s-1b", store.get(WorkflowId.of("wf-1")).orElseThrow().suspensionId());
+                assertEquals(3, store.size());
+            }
+            try (
+                MappedFileWorkflowStateStore store = MappedFileWorkflowStateStore.open(file)
+            ) {
+                assertEquals(3, store.size());
+                assertTrue(store.findBySuspensionId("s-3").isPresent());
+            }
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= bytes.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (bytes[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new AssertionError("Pattern not found");
+    }
+}
@@ -0,0 +1,476 @@
+package dev.agents4j.workflow.suspension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.GraphWorkflow;
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.ExecutionContext;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.graph.EdgeCondition;
+import dev.agents4j.api.graph.EdgeId;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandSuspend;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphEdge;
+import dev.agents4j.api.graph.GraphWorkflowNode;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.api.suspension.ResumeOptions;
+import dev.agents4j.api.suspension.WorkflowStateStore;
+import dev.agents4j.workflow.builder.GraphWorkflowBuilder;
+import dev.agents4j.workflow.context.WorkflowContextKeys;
+import dev.agents4j.workflow.monitor.WorkflowMonitor;
+import dev.agents4j.workflow.store.InMemoryWorkflowStateStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class SuspensionTimeoutServiceTest {
+
+    private static final NodeId WAIT = NodeId.of("wait");
+    private static final NodeId APPROVED = NodeId.of("approved");
+    private static final NodeId EXPIRED = NodeId.of("expired");
+    private static final ContextKey<String> DECISION = ContextKey.stringKey(
+        "decision"
+    );
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+    // Far from the wall clock, so only the service's clock can stamp suspensions
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+
+    private static GraphWorkflow<String, String> workflow(
+        WorkflowStateStore store,
+        boolean withTimeoutEdge,
+        List<String> outcomes
+    ) {
+        return workflow(store, withTimeoutEdge, outcomes, () -> {});
+    }
+
+    private static GraphWorkflow<String, String> workflow(
+        WorkflowStateStore store,
+        boolean withTimeoutEdge,
+        List<String> outcomes,
+        Runnable onApproved
+    ) {
+        GraphWorkflowBuilder<String, String> builder = GraphWorkflowBuilder
+            .<String, String>create(String.class)
+            .name("approval")
+            .addNode(
+                new StepNode(WAIT, state ->
+                    state.getContext(DECISION).isPresent()
+                        ? GraphCommandTraverse.to(APPROVED)
+                        : GraphCommandSuspend.withTimeout(
+                            "approval-" + state.workflowId().value(),
+                            TIMEOUT
+                        )
+                )
+            )
+            .addNode(
+                new StepNode(APPROVED, state -> {
+                    onApproved.run();
+                    return complete(outcomes, "approved");
+                })
+            )
+            .addNode(
+                new StepNode(EXPIRED, state ->
+                    complete(
+                        outcomes,
+                        "expired " +
+                        state
+                            .getContext(WorkflowContextKeys.TIMED_OUT_SUSPENSION_ID)
+                            .orElse("?")
+                    )
+                )
+            )
+            .addEdge(WAIT, APPROVED)
+            .defaultEntryPoint(WAIT)
+            .outputExtractor(GraphWorkflowState::data)
+            .stateStore(store);
+        if (withTimeoutEdge) {
+            builder.addEdge(
+                GraphEdge.named(
+                    WAIT,
+                    EXPIRED,
+                    SuspensionTimeoutService.DEFAULT_TIMEOUT_EDGE,
+                    EdgeCondition.never()
+                )
+            );
+        }
+        return builder.build();
+    }
+
+    private static GraphCommand<String> complete(
+        List<String> outcomes,
+        String outcome
+    ) {
+        outcomes.add(outcome);
+        return GraphCommandComplete.withResult(outcome);
+    }
+
+    private static SuspensionTimeoutService<String, String> service(
+        WorkflowStateStore store,
+        MutableClock clock,
+        RecordingMonitor monitor
+    ) {
+        return SuspensionTimeoutService.<String, String>builder(store)
+            .clock(clock)
+            .monitor(monitor)
+            .executor(Runnable::run)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should resume along the timeout edge once expired")
+        void shouldResumeAlongTimeoutEdge() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var outcomes = new CopyOnWriteArrayList<String>();
+            var clock = new MutableClock(START);
+            var service = service(store, clock, new RecordingMonitor());
+            var workflow = workflow(service.store(), true, outcomes);
+            service.attach(workflow);
+            var workflowId = WorkflowId.of("wf-timeout");
+            workflow.start(workflowId, "request", ExecutionContext.empty());
+
+            // Act
+            clock.advance(TIMEOUT.minusSeconds(30));
+            int early = service.advance();
+            clock.advance(Duration.ofMinutes(1));
+            int fired = service.advance();
+
+            // Assert
+            assertEquals(0, early);
+            assertEquals(1, fired);
+            assertEquals(List.of("expired approval-wf-timeout"), outcomes);
+            assertEquals(0, store.size());
+            assertEquals(0, service.pendingTimers());
+        }
+
+        @Test
+        @DisplayName("Should report a timeout error without a timeout edge")
+        void shouldReportTimeoutWithoutEdge() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var outcomes = new CopyOnWriteArrayList<String>();
+            var clock = new MutableClock(START);
+            var monitor = new RecordingMonitor();
+            var service = service(store, clock, monitor);
+            var workflow = workflow(service.store(), false, outcomes);
+            service.attach(workflow);
+            var workflowId = WorkflowId.of("wf-fail");
+            workflow.start(workflowId, "request", ExecutionContext.empty());
+
+            // Act
+            clock.advance(TIMEOUT.plusSeconds(1));
+            service.advance();
+
+            // Assert
+            assertTrue(outcomes.isEmpty());
+            assertEquals(1, monitor.errors.size());
+            assertEquals("SUSPENSION_TIMEOUT", monitor.errors.get(0).code());
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("Should drop the timer when the workflow is resumed first")
+        void shouldDropTimerWhenResumedFirst() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var outcomes = new CopyOnWriteArrayList<String>();
+            var clock = new MutableClock(START);
+            var monitor = new RecordingMonitor();
+            var service = service(store, clock, monitor);
+            var workflow = workflow(service.store(), true, outcomes);
+            service.attach(workflow);
+            var workflowId = WorkflowId.of("wf-approved");
+            workflow.start(workflowId, "request", ExecutionContext.empty());
+
+            // Act
+            var result = workflow.resume(
+                workflowId,
+                WorkflowContext.of(DECISION, "yes"),
+                ResumeOptions.permissive()
+            );
+            int pending = service.pendingTimers();
+            clock.advance(TIMEOUT.plusSeconds(1));
+            int fired = service.advance();
+
+            // Assert
+            assertTrue(result.isSuccess());
+            assertEquals(0, pending);
+            assertEquals(0, fired);
+            assertEquals(List.of("approved"), outcomes);
+            assertTrue(monitor.errors.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should drop a timer that fires while a resume is running")
+        void shouldDropTimerFiredDuringResume() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var outcomes = new CopyOnWriteArrayList<String>();
+            var clock = new MutableClock(START);
+            var monitor = new RecordingMonitor();
+            var expirations = new ArrayList<Runnable>();
+            var service = SuspensionTimeoutService.<String, String>builder(store)
+                .clock(clock)
+                .monitor(monitor)
+                .executor(expirations::add)
+                .build();
+            // The timer's expiry runs while the resumed workflow is in flight
+            var workflow = workflow(service.store(), true, outcomes, () ->
+                expirations.forEach(Runnable::run)
+            );
+            service.attach(workflow);
+            var workflowId = WorkflowId.of("wf-racing");
+            workflow.start(workflowId, "request", ExecutionContext.empty());
+            clock.advance(TIMEOUT.plusSeconds(1));
+            int fired = service.advance();
+
+            // Act
+            var result = workflow.resume(
+                workflowId,
+                WorkflowContext.of(DECISION, "yes"),
+                ResumeOptions.permissive()
+            );
+
+            // Assert
+            assertEquals(1, fired);
+            assertEquals(1, expirations.size());
+            assertTrue(result.isSuccess());
+            assertEquals(List.of("approved"), outcomes);
+            assertTrue(monitor.errors.isEmpty());
+            assertEquals(0, store.size());
+        }
+
+        @Test
+        @DisplayName("Should record the workflow version on timed suspensions")
+        void shouldRecordWorkflowVersion() {
+            // Arrange
+            var workflow = workflow(
+                new InMemoryWorkflowStateStore(),
+                false,
+                new CopyOnWriteArrayList<>()
+            );
+
+            // Act
+            var result = workflow.start(
+                WorkflowId.of("wf-version"),
+                "request",
+                ExecutionContext.empty()
+            );
+
+            // Assert
+            assertEquals(
+                workflow.getVersion(),
+                result.getWorkflowSuspension().orElseThrow().getWorkflowVersion()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Restart Tests")
+    class RestartTests {
+
+        @Test
+        @DisplayName("Should rebuild the schedule from the store on attach")
+        void shouldRebuildScheduleFromStore() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var outcomes = new CopyOnWriteArrayList<String>();
+            var clock = new MutableClock(START);
+            var before = service(store, clock, new RecordingMonitor());
+            workflow(before.store(), true, outcomes).start(
+                WorkflowId.of("wf-restart"),
+                "request",
+                ExecutionContext.empty()
+            );
+            before.close();
+
+            // Act
+            var after = service(store, clock, new RecordingMonitor());
+            after.attach(workflow(after.store(), true, outcomes));
+            int pending = after.pendingTimers();
+            clock.advance(TIMEOUT.plusSeconds(1));
+            int fired = after.advance();
+
+            // Assert
+            assertEquals(1, pending);
+            assertEquals(1, fired);
+            assertEquals(List.of("expired approval-wf-restart"), outcomes);
+        }
+
+        @Test
+        @DisplayName("Should reject workflows built with another store")
+        void shouldRejectWorkflowsWithAnotherStore() {
+            // Arrange
+            var store = new InMemoryWorkflowStateStore();
+            var service = service(
+                store,
+                new MutableClock(START),
+                new RecordingMonitor()
+            );
+
+            // Act & Assert
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> service.attach(workflow(store, true, List.of()))
+            );
+        }
+    }
+
+    private static class StepNode implements GraphWorkflowNode<String> {
+
+        private final NodeId nodeId;
+        private final Function<GraphWorkflowState<String>, GraphCommand<String>> step;
+
+        StepNode(
+            NodeId nodeId,
+            Function<GraphWorkflowState<String>, GraphCommand<String>> step
+        ) {
+            this.nodeId = nodeId;
+            this.step = step;
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public String getName() {
+            return nodeId.value();
+        }
+
+        @Override
+        public WorkflowResult<GraphCommand<String>, WorkflowError> process(
+            GraphWorkflowState<String> state
+        ) {
+            return WorkflowResult.success(step.apply(state));
+        }
+    }
+
+    private static class RecordingMonitor implements WorkflowMonitor {
+
+        private final List<WorkflowError> errors = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onWorkflowError(
+            WorkflowId workflowId,
+            WorkflowError error,
+            GraphWorkflowState<?> state,
+            Exception exception
+        ) {
+            errors.add(error);
+        }
+
+        @Override
+        public void onWorkflowStarted(
+            WorkflowId workflowId,
+            String workflowName,
+            GraphWorkflowState<?> initialState
+        ) {}
+
+        @Override
+        public void onWorkflowResumed(
+            WorkflowId workflowId,
+            GraphWorkflowState<?> resumedState
+        ) {}
+
+        @Override
+        public void onWorkflowCompleted(
+            WorkflowId workflowId,
+            GraphWorkflowState<?> finalState
+        ) {}
+
+        @Override
+        public void onWorkflowSuspended(
+            WorkflowId workflowId,
+            GraphWorkflowState<?> suspendedState
+        ) {}
+
+        @Override
+        public void onNodeStarted(
+            WorkflowId workflowId,
+            NodeId nodeId,
+            GraphWorkflowState<?> state
+        ) {}
+
+        @Override
+        public void onNodeCompleted(
+            WorkflowId workflowId,
+            NodeId nodeId,
+            GraphWorkflowState<?> state,
+            long processingTime
+        ) {}
+
+        @Override
+        public void onNodeError(
+            WorkflowId workflowId,
+            NodeId nodeId,
+            WorkflowError error,
+            GraphWorkflowState<?> state,
+            Exception exception
+        ) {}
+
+        @Override
+        public void onNodeTransition(
+            WorkflowId workflowId,
+            EdgeId edgeId,
+            NodeId fromNodeId,
+            NodeId toNodeId,
+            GraphWorkflowState<?> state
+        ) {}
+
+        @Override
+        public void onWarning(
+            WorkflowId workflowId,
+            String message,
+            GraphWorkflowState<?> state
+        ) {}
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
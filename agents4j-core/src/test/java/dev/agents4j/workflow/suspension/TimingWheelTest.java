@@ -0,0 +1,129 @@
+package dev.agents4j.workflow.suspension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Nested
+    @DisplayName("Firing Tests")
+    class FiringTests {
+
+        @Test
+        @DisplayName("Should fire timers in deadline order and never early")
+        void shouldFireTimersInDeadlineOrder() {
+            // Arrange
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+            wheel.schedule("c", 95);
+            wheel.schedule("a", 20);
+            wheel.schedule("b", 41);
+            List<String> fired = new ArrayList<>();
+
+            // Act
+            wheel.advanceTo(49, fired::add);
+            List<String> early = new ArrayList<>(fired);
+            wheel.advanceTo(100, fired::add);
+
+            // Assert
+            assertEquals(List.of("a"), early);
+            assertEquals(List.of("a", "b", "c"), fired);
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Should cascade timers scheduled beyond the lowest level")
+        void shouldCascadeLongDelays() {
+            // Arrange
+            TimingWheel<Long> wheel = new TimingWheel<>(TICK, 0);
+            long[] deadlines = { 640, 650, 4_096_000, 41_000_000, 123_456_780 };
+            for (long deadline : deadlines) {
+                wheel.schedule(deadline, deadline);
+            }
+            List<Long> fired = new ArrayList<>();
+
+            // Act & Assert
+            for (long deadline : deadlines) {
+                wheel.advanceTo(deadline - TICK, fired::add);
+                assertFalse(fired.contains(deadline), "fired early: " + deadline);
+                wheel.advanceTo(deadline, fired::add);
+                assertTrue(fired.contains(deadline), "not fired: " + deadline);
+            }
+            assertEquals(0, wheel.size());
+        }
+
+        @Test
+        @DisplayName("Should fire past deadlines on the next tick")
+        void shouldFirePastDeadlinesOnNextTick() {
+            // Arrange
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, 1_000);
+            wheel.schedule("late", 0);
+            List<String> fired = new ArrayList<>();
+
+            // Act
+            wheel.advanceTo(1_009, fired::add);
+            List<String> sameTick = new ArrayList<>(fired);
+            wheel.advanceTo(1_010, fired::add);
+
+            // Assert
+            assertTrue(sameTick.isEmpty());
+            assertEquals(List.of("late"), fired);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation Tests")
+    class CancellationTests {
+
+        @Test
+        @DisplayName("Should not fire cancelled timers")
+        void shouldNotFireCancelledTimers() {
+            // Arrange
+            TimingWheel<String> wheel = new TimingWheel<>(TICK, 0);
+            TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", 5_000);
+            wheel.schedule("kept", 5_000);
+
+            // Act
+            boolean first = wheel.cancel(cancelled);
+            boolean second = wheel.cancel(cancelled);
+            List<String> fired = new ArrayList<>();
+            wheel.advanceTo(10_000, fired::add);
+
+            // Assert
+            assertTrue(first);
+            assertFalse(second);
+            assertEquals(List.of("kept"), fired);
+        }
+
+        @Test
+        @DisplayName("Should keep many timers and fire each once")
+        void shouldFireManyTimersOnce() {
+            // Arrange
+            TimingWheel<Integer> wheel = new TimingWheel<>(1, 0);
+            List<TimingWheel.Timer<Integer>> timers = new ArrayList<>();
+            for (int i = 0; i < 100_000; i++) {
+                timers.add(wheel.schedule(i, 1 + (i * 7919L) % 1_000_000));
+            }
+            for (int i = 0; i < timers.size(); i += 2) {
+                wheel.cancel(timers.get(i));
+            }
+            int[] fired = new int[1];
+
+            // Act
+            wheel.advanceTo(1_000_000, i -> {
+                assertEquals(1, i % 2);
+                fired[0]++;
+            });
+
+            // Assert
+            assertEquals(50_000, fired[0]);
+            assertEquals(0, wheel.size());
+        }
+    }
+}
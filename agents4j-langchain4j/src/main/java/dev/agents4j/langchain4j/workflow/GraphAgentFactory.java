@@ -9,6 +9,7 @@ import dev.agents4j.langchain4j.workflow.factory.LLMNodeFactory;
 import dev.agents4j.langchain4j.workflow.factory.WorkflowSequenceFactory;
 import dev.agents4j.langchain4j.workflow.routing.GraphLLMContentRouter;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 
 import java.util.List;
 import java.util.Set;
@@ -107,6 +108,61 @@ public class GraphAgentFactory {
             .build();
     }
 
+    /**
+     * Creates a streaming LLM node for a graph workflow. Partial responses
+     * are published to the listener while the model generates them; the node
+     * completes when the stream ends.
+     *
+     * @param <T> The type of input/output
+     * @param nodeId The node ID
+     * @param model The StreamingChatModel to use
+     * @param systemPrompt The system prompt for the LLM
+     * @param tokenListener The listener to publish partial responses to
+     * @return A GraphWorkflowNode that streams input through the LLM
+     */
+    public static <T> GraphWorkflowNode<T> createLLMNode(
+        String nodeId,
+        StreamingChatModel model,
+        String systemPrompt,
+        TokenListener tokenListener
+    ) {
+        return StreamingLLMGraphWorkflowNode.<T>builder()
+            .nodeId(nodeId)
+            .model(model)
+            .systemPrompt(systemPrompt)
+            .tokenListener(tokenListener)
+            .build();
+    }
+
+    /**
+     * Creates a streaming LLM node for a graph workflow with a custom message extractor.
+     * Partial responses are published to the listener while the model generates them;
+     * the node completes when the stream ends.
+     *
+     * @param <T> The type of input/output
+     * @param nodeId The node ID
+     * @param model The StreamingChatModel to use
+     * @param systemPrompt The system prompt for the LLM
+     * @param userMessageExtractor Function to extract the user message from the current state
+     * @param tokenListener The listener to publish partial responses to
+     * @return A GraphWorkflowNode that streams input through the LLM
+     */
+    public static <T> GraphWorkflowNode<T> createLLMNode(
+        String nodeId,
+        StreamingChatModel model,
+        String systemPrompt,
+        Function<GraphWorkflowState<T>, String> userMessageExtractor,
+        TokenListener tokenListener
+    ) {
+        return StreamingLLMGraphWorkflowNode.<T>builder()
+            .nodeId(nodeId)
+            .model(model)
+            .systemPrompt(systemPrompt)
+            .userMessageExtractor(userMessageExtractor)
+            .tokenListener(tokenListener)
+            .build();
+    }
+
     /**
      * Creates an LLM node for sequence workflows with proper next node routing.
      *
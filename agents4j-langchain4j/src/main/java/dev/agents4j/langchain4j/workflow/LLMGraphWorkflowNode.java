@@ -2,7 +2,9 @@ package dev.agents4j.langchain4j.workflow;
 
 import dev.agents4j.api.context.ContextKey;
 import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.execution.CancellationToken;
 import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandComplete;
 import dev.agents4j.api.graph.GraphCommandTraverse;
 import dev.agents4j.api.graph.GraphWorkflowNode;
 import dev.agents4j.api.graph.GraphWorkflowState;
@@ -10,6 +12,10 @@ import dev.agents4j.api.graph.NodeId;
 import dev.agents4j.api.result.WorkflowResult;
 import dev.agents4j.api.result.error.ExecutionError;
 import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.langchain4j.workflow.cache.RequestCoalescer;
+import dev.agents4j.langchain4j.workflow.cache.ResponseCache;
+import dev.agents4j.langchain4j.workflow.hedge.HedgingPolicy;
+import dev.agents4j.langchain4j.workflow.limit.ModelRateLimiter;
 import dev.agents4j.workflow.history.NodeInteraction;
 import dev.agents4j.workflow.history.ProcessingHistory;
 import dev.agents4j.workflow.history.ProcessingHistoryUtils;
@@ -22,6 +28,9 @@ import dev.langchain4j.model.chat.ChatModel;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,10 +40,36 @@ import java.util.logging.Logger;
  * This node uses a ChatModel to process user messages with a specified system prompt,
  * and tracks interaction history.
  *
+ * <p>The node honours the {@link CancellationToken} of the running execution:
+ * it does not call the model once the workflow budget is spent, and a call
+ * that is interrupted because the deadline passed or the workflow was
+ * cancelled fails with a {@code llm-deadline-exceeded} error.</p>
+ *
+ * <p>A node built with a {@link ResponseCache} answers repeated requests
+ * from the cache. Requests are keyed on the model identity, the system
+ * prompt and the user message; a cached response is recorded in the
+ * history like a fresh one.</p>
+ *
+ * <p>A node built with a {@link RequestCoalescer} shares one model call
+ * between concurrent identical requests, keyed the same way, so a burst of
+ * the same question costs a single call even before the cache is warm.</p>
+ *
+ * <p>A node built with a {@link ModelRateLimiter} waits for the limiter
+ * before calling the model, and fails with a recoverable
+ * {@code llm-rate-limited} error when it is not admitted in time.</p>
+ *
+ * <p>A node built with a {@link HedgingPolicy} sends a duplicate request,
+ * to the same or an alternate model, when the first one is slower than
+ * usual, and uses whichever response arrives first.</p>
+ *
+ * <p>A node built with {@link Builder#completing()} completes the workflow
+ * with the response as its result instead of traversing to the next node.</p>
+ *
  * @param <T> The type of input/output for the node
  */
 public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
     private static final Logger LOGGER = Logger.getLogger(LLMGraphWorkflowNode.class.getName());
+    private static final ContextKey<Object> RESPONSE_KEY = ContextKey.of("response", Object.class);
     
     private final NodeId id;
     private final ChatModel model;
@@ -43,6 +78,13 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
     private final String name;
     private final String description;
     private final NodeId nextNodeId;
+    private final boolean completing;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ModelRateLimiter rateLimiter;
+    private final HedgingPolicy hedgingPolicy;
+    private final ChatModel hedgeModel;
+    private final String cacheModelId;
 
     private LLMGraphWorkflowNode(Builder<T> builder) {
         this.id = NodeId.of(builder.nodeId);
@@ -56,37 +98,34 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
         this.nextNodeId = builder.nextNodeId != null ? 
                 NodeId.of(builder.nextNodeId) : 
                 NodeId.of("next");
+        this.completing = builder.completing;
+        this.responseCache = builder.responseCache;
+        this.requestCoalescer = builder.requestCoalescer;
+        this.rateLimiter = builder.rateLimiter;
+        this.hedgingPolicy = builder.hedgingPolicy;
+        this.hedgeModel = builder.hedgeModel != null ? builder.hedgeModel : model;
+        this.cacheModelId = builder.cacheModelId != null ?
+                builder.cacheModelId :
+                ResponseCache.modelIdOf(model);
     }
 
     @Override
     public WorkflowResult<GraphCommand<T>, WorkflowError> process(GraphWorkflowState<T> state) {
         LOGGER.info(() -> "Processing in LLM node: " + id.value());
+        CancellationToken token = CancellationToken.current();
+        if (token.isCancelled()) {
+            return deadlineExceeded(token);
+        }
         
         try {
             // Extract the user message from the state using the provided extractor
             String userMessage = userMessageExtractor.apply(state);
             LOGGER.fine(() -> "Extracted user message: " + userMessage);
 
-            // Create chat messages
-            List<ChatMessage> messages = new ArrayList<>();
-            messages.add(SystemMessage.from(systemPrompt));
-            messages.add(UserMessage.from(userMessage));
-
-            LOGGER.info(() -> "Sending request to LLM with " + messages.size() + " messages");
-            
-            // Get LLM response
-            long startTime = System.currentTimeMillis();
-            AiMessage response = model.chat(messages).aiMessage();
-            long duration = System.currentTimeMillis() - startTime;
-            
-            String responseText = response.text();
-            LOGGER.info(() -> "Received LLM response in " + duration + "ms");
+            String responseText = respond(userMessage, token);
             LOGGER.fine(() -> "Response content: " + responseText);
 
-            // Get or create the processing history
-            ProcessingHistory history = ProcessingHistoryUtils.getOrCreateHistory(state);
-
-            // Add this interaction to the history
+            // Add this interaction to a copy of the processing history
             NodeInteraction interaction = new NodeInteraction(
                 id,
                 getName(),
@@ -94,7 +133,9 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
                 responseText,
                 Instant.now()
             );
-            history.addInteraction(interaction);
+            ProcessingHistory history = ProcessingHistoryUtils
+                .getOrCreateHistory(state)
+                .withInteraction(interaction);
             LOGGER.fine(() -> "Added interaction to history. Total interactions: " + 
                          history.getAllInteractions().size());
 
@@ -102,16 +143,28 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
             WorkflowContext updatedContext = state
                 .context()
                 // Keep the response key for backward compatibility
-                .with(ContextKey.of("response", Object.class), responseText)
+                .with(RESPONSE_KEY, responseText)
                 // Store the processing history
-                .with(ProcessingHistory.HISTORY_KEY, history);
+                .withSlot(ProcessingHistory.HISTORY_SLOT, history);
 
+            if (completing) {
+                LOGGER.info(() -> "LLM processing complete, completing workflow");
+                return WorkflowResult.success(
+                    GraphCommandComplete.withResultAndContext(responseText, updatedContext)
+                );
+            }
             LOGGER.info(() -> "LLM processing complete, traversing to node: " + nextNodeId.value());
             
             return WorkflowResult.success(
                 GraphCommandTraverse.toWithContext(nextNodeId, updatedContext)
             );
+        } catch (ModelRateLimiter.WaitTimeoutException e) {
+            return rateLimited(e);
         } catch (Exception e) {
+            if (token.isCancelled()) {
+                // The executor interrupted the call when the budget ran out
+                return deadlineExceeded(token);
+            }
             LOGGER.log(Level.SEVERE, "Error processing with LLM: " + e.getMessage(), e);
             
             return WorkflowResult.failure(
@@ -125,6 +178,91 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
         }
     }
 
+    /**
+     * Gets the response to a user message from the cache, or from the model
+     * on a miss, sharing the call with identical requests in flight.
+     */
+    private String respond(String userMessage, CancellationToken token) {
+        String key = responseCache != null || requestCoalescer != null
+            ? ResponseCache.key(cacheModelId, systemPrompt, userMessage)
+            : null;
+        if (responseCache != null) {
+            Optional<String> cached = responseCache.get(key);
+            if (cached.isPresent()) {
+                LOGGER.info(() -> "Using cached LLM response in node " + id.value());
+                return cached.get();
+            }
+        }
+        if (requestCoalescer != null) {
+            return requestCoalescer.execute(key, () -> callModel(userMessage, key, token));
+        }
+        return callModel(userMessage, key, token);
+    }
+
+    private String callModel(String userMessage, String key, CancellationToken token) {
+        // Create chat messages
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(SystemMessage.from(systemPrompt));
+        messages.add(UserMessage.from(userMessage));
+
+        LOGGER.info(() -> "Sending request to LLM with " + messages.size() + " messages" +
+                token.remaining().map(remaining -> ", remaining budget " + remaining).orElse(""));
+
+        // Get LLM response
+        long startTime = System.currentTimeMillis();
+        AiMessage response = hedgingPolicy != null
+            ? hedgingPolicy.execute(
+                id.value(),
+                () -> chat(model, messages, userMessage),
+                () -> chat(hedgeModel, messages, userMessage))
+            : chat(model, messages, userMessage);
+        long duration = System.currentTimeMillis() - startTime;
+        LOGGER.info(() -> "Received LLM response in " + duration + "ms");
+
+        String responseText = response.text();
+        // Cached before the coalesced waiters are released, so later requests hit
+        if (responseCache != null && responseText != null) {
+            responseCache.put(key, responseText);
+        }
+        return responseText;
+    }
+
+    private AiMessage chat(ChatModel target, List<ChatMessage> messages, String userMessage) {
+        try (ModelRateLimiter.Permit permit = rateLimiter != null
+                ? rateLimiter.acquire(ModelRateLimiter.estimateTokens(systemPrompt, userMessage))
+                : null) {
+            return target.chat(messages).aiMessage();
+        }
+    }
+
+    private WorkflowResult<GraphCommand<T>, WorkflowError> rateLimited(ModelRateLimiter.WaitTimeoutException e) {
+        LOGGER.warning(() -> "LLM call in node " + id.value() + " not admitted: " + e.getMessage());
+        return WorkflowResult.failure(
+            new ExecutionError(
+                "llm-rate-limited",
+                "LLM call not admitted by rate limiter: " + e.getMessage(),
+                Map.of("limit", e.limit(), "maxWaitMs", e.maxWait().toMillis()),
+                Instant.now(),
+                id.value(),
+                e
+            )
+        );
+    }
+
+    private WorkflowResult<GraphCommand<T>, WorkflowError> deadlineExceeded(CancellationToken token) {
+        String reason = token.reason()
+                .map(r -> r == CancellationToken.Reason.CANCELLED ? "workflow cancelled" : "deadline exceeded")
+                .orElse("deadline exceeded");
+        LOGGER.warning(() -> "Skipping LLM call in node " + id.value() + ": " + reason);
+        return WorkflowResult.failure(
+            ExecutionError.of(
+                "llm-deadline-exceeded",
+                "LLM call not completed: " + reason,
+                id.value()
+            )
+        );
+    }
+
     @Override
     public NodeId getNodeId() {
         return id;
@@ -140,6 +278,12 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
         return description;
     }
 
+    @Override
+    public Set<String> getTags() {
+        // Each run is a paid model call
+        return Set.of(EXPENSIVE_TAG);
+    }
+
     /**
      * Creates a builder for constructing LLMGraphWorkflowNode instances.
      *
@@ -163,6 +307,13 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
         private String name;
         private String description;
         private String nextNodeId;
+        private boolean completing;
+        private ResponseCache responseCache;
+        private RequestCoalescer requestCoalescer;
+        private ModelRateLimiter rateLimiter;
+        private HedgingPolicy hedgingPolicy;
+        private ChatModel hedgeModel;
+        private String cacheModelId;
 
         /**
          * Sets the node ID for the LLM node.
@@ -241,6 +392,96 @@ public class LLMGraphWorkflowNode<T> implements GraphWorkflowNode<T> {
             return this;
         }
 
+        /**
+         * Configures the node to complete the workflow with the response as
+         * its result instead of traversing to the next node. This is ideal
+         * for the last node in a sequence workflow.
+         *
+         * @return This builder
+         */
+        public Builder<T> completing() {
+            this.completing = true;
+            return this;
+        }
+
+        /**
+         * Sets the cache to answer repeated requests from. The cache may be
+         * shared with other nodes and workflows. No cache is used by default.
+         *
+         * @param responseCache The response cache
+         * @return This builder
+         */
+        public Builder<T> responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Sets the coalescer that shares one model call between concurrent
+         * identical requests. The coalescer may be shared with other nodes
+         * and workflows. Requests are not coalesced by default.
+         *
+         * @param requestCoalescer The request coalescer
+         * @return This builder
+         */
+        public Builder<T> requestCoalescer(RequestCoalescer requestCoalescer) {
+            this.requestCoalescer = requestCoalescer;
+            return this;
+        }
+
+        /**
+         * Sets the limiter that paces requests to the model. Share one
+         * limiter between all nodes calling the same model. A request the
+         * limiter does not admit in time fails the node with a recoverable
+         * {@code llm-rate-limited} error. Requests are not limited by default.
+         *
+         * @param rateLimiter The model rate limiter
+         * @return This builder
+         */
+        public Builder<T> rateLimiter(ModelRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the policy that hedges slow model calls with a duplicate call,
+         * using the response that arrives first. Latencies are tracked under
+         * the node ID, so one policy can serve several nodes. Calls are not
+         * hedged by default.
+         *
+         * @param hedgingPolicy The hedging policy
+         * @return This builder
+         */
+        public Builder<T> hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the model duplicate calls are sent to when hedging. Defaults
+         * to the node's model.
+         *
+         * @param hedgeModel The ChatModel for hedged calls
+         * @return This builder
+         */
+        public Builder<T> hedgeModel(ChatModel hedgeModel) {
+            this.hedgeModel = hedgeModel;
+            return this;
+        }
+
+        /**
+         * Sets the identity of the model in cache keys. Defaults to the model
+         * class and model name; set it when nodes use models of the same name
+         * with different settings.
+         *
+         * @param cacheModelId The model identity
+         * @return This builder
+         */
+        public Builder<T> cacheModelId(String cacheModelId) {
+            this.cacheModelId = cacheModelId;
+            return this;
+        }
+
         /**
          * Builds a new LLMGraphWorkflowNode with the configured properties.
          *
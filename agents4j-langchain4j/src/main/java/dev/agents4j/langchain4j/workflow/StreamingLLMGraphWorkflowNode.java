@@ -0,0 +1,475 @@
+package dev.agents4j.langchain4j.workflow;
+
+import dev.agents4j.api.context.ContextKey;
+import dev.agents4j.api.context.WorkflowContext;
+import dev.agents4j.api.execution.CancellationToken;
+import dev.agents4j.api.graph.AsyncGraphWorkflowNode;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.ExecutionError;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.langchain4j.workflow.limit.ModelRateLimiter;
+import dev.agents4j.workflow.history.NodeInteraction;
+import dev.agents4j.workflow.history.ProcessingHistory;
+import dev.agents4j.workflow.history.ProcessingHistoryUtils;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A GraphWorkflowNode that processes input with a streaming Large Language
+ * Model. It behaves like {@link LLMGraphWorkflowNode}, but publishes each
+ * partial response to a {@link TokenListener} as the model generates it, so
+ * callers can show output while the workflow is still executing. The node
+ * completes, and the workflow moves on, when the stream ends.
+ *
+ * <p>The node is an {@link AsyncGraphWorkflowNode}: its stage is completed
+ * from the model's completion or error callback, so an executor in async
+ * mode does not hold a thread for the length of the stream.</p>
+ *
+ * <p>The node honours the {@link CancellationToken} of the running execution
+ * like the blocking node: it stops waiting for the stream when the deadline
+ * passes or the workflow is cancelled, drops any tokens that arrive later,
+ * and fails with a {@code llm-deadline-exceeded} error.</p>
+ *
+ * <p>A node built with a {@link ModelRateLimiter} holds its permit until the
+ * model's completion or error callback, or until the stream is abandoned,
+ * and fails with a recoverable {@code llm-rate-limited} error
+ * when it is not admitted in time.</p>
+ *
+ * @param <T> The type of input/output for the node
+ */
+public class StreamingLLMGraphWorkflowNode<T> implements AsyncGraphWorkflowNode<T> {
+    private static final Logger LOGGER = Logger.getLogger(StreamingLLMGraphWorkflowNode.class.getName());
+    private static final ContextKey<Object> RESPONSE_KEY = ContextKey.of("response", Object.class);
+
+    private final NodeId id;
+    private final StreamingChatModel model;
+    private final String systemPrompt;
+    private final Function<GraphWorkflowState<T>, String> userMessageExtractor;
+    private final TokenListener tokenListener;
+    private final ModelRateLimiter rateLimiter;
+    private final String name;
+    private final String description;
+    private final NodeId nextNodeId;
+
+    private StreamingLLMGraphWorkflowNode(Builder<T> builder) {
+        this.id = NodeId.of(builder.nodeId);
+        this.model = builder.model;
+        this.systemPrompt = builder.systemPrompt;
+        this.userMessageExtractor = builder.userMessageExtractor;
+        this.tokenListener = builder.tokenListener;
+        this.rateLimiter = builder.rateLimiter;
+        this.name = builder.name != null ? builder.name : "Streaming LLM Node";
+        this.description = builder.description != null ?
+                builder.description :
+                "Streams input through LLM using system prompt: " + systemPrompt;
+        this.nextNodeId = builder.nextNodeId != null ?
+                NodeId.of(builder.nextNodeId) :
+                NodeId.of("next");
+    }
+
+    @Override
+    public CompletionStage<WorkflowResult<GraphCommand<T>, WorkflowError>> processAsync(
+            GraphWorkflowState<T> state) {
+        LOGGER.info(() -> "Processing in streaming LLM node: " + id.value());
+        CancellationToken token = CancellationToken.current();
+        if (token.isCancelled()) {
+            return CompletableFuture.completedFuture(deadlineExceeded(token));
+        }
+
+        String userMessage;
+        TokenStream stream = null;
+        try {
+            userMessage = userMessageExtractor.apply(state);
+            LOGGER.fine(() -> "Extracted user message: " + userMessage);
+
+            List<ChatMessage> messages = new ArrayList<>();
+            messages.add(SystemMessage.from(systemPrompt));
+            messages.add(UserMessage.from(userMessage));
+
+            LOGGER.info(() -> "Streaming request to LLM with " + messages.size() + " messages" +
+                    token.remaining().map(remaining -> ", remaining budget " + remaining).orElse(""));
+            ModelRateLimiter.Permit permit = rateLimiter != null
+                    ? rateLimiter.acquire(ModelRateLimiter.estimateTokens(systemPrompt, userMessage))
+                    : null;
+            stream = new TokenStream(state.workflowId(), permit);
+            model.chat(messages, stream);
+        } catch (ModelRateLimiter.WaitTimeoutException e) {
+            return CompletableFuture.completedFuture(rateLimited(e));
+        } catch (Exception e) {
+            if (stream != null) {
+                stream.abandon();
+            }
+            if (token.isCancelled()) {
+                return CompletableFuture.completedFuture(deadlineExceeded(token));
+            }
+            return CompletableFuture.completedFuture(processingError(e));
+        }
+
+        // Stop waiting for the stream, in either executor mode, once the
+        // deadline passes or the workflow is cancelled
+        TokenStream started = stream;
+        CancellationToken.Registration abandonOnCancel = token.onCancel(started::abandon);
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<WorkflowResult<GraphCommand<T>, WorkflowError>> result =
+            started.done.handle((responseText, error) -> {
+                abandonOnCancel.remove();
+                if (error != null) {
+                    return token.isCancelled()
+                        ? deadlineExceeded(token)
+                        : processingError(unwrap(error));
+                }
+                long duration = System.currentTimeMillis() - startTime;
+                LOGGER.info(() -> "LLM stream completed in " + duration + "ms");
+                return completed(state, userMessage, responseText);
+            });
+        result.whenComplete((completed, error) -> {
+            if (result.isCancelled()) {
+                // The executor abandoned the node
+                abandonOnCancel.remove();
+                started.abandon();
+            }
+        });
+        return result;
+    }
+
+    private WorkflowResult<GraphCommand<T>, WorkflowError> completed(
+            GraphWorkflowState<T> state, String userMessage, String responseText) {
+        ProcessingHistory history = ProcessingHistoryUtils
+            .getOrCreateHistory(state)
+            .withInteraction(new NodeInteraction(
+                id,
+                getName(),
+                userMessage,
+                responseText,
+                Instant.now()
+            ));
+
+        WorkflowContext updatedContext = state
+            .context()
+            // Keep the response key for backward compatibility
+            .with(RESPONSE_KEY, responseText)
+            .withSlot(ProcessingHistory.HISTORY_SLOT, history);
+
+        LOGGER.info(() -> "Streaming LLM processing complete, traversing to node: " + nextNodeId.value());
+        return WorkflowResult.success(
+            GraphCommandTraverse.toWithContext(nextNodeId, updatedContext)
+        );
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+    }
+
+    private WorkflowResult<GraphCommand<T>, WorkflowError> processingError(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Error streaming with LLM: " + e.getMessage(), e);
+        return WorkflowResult.failure(
+            ExecutionError.withCause(
+                "llm-processing-error",
+                "Error streaming with LLM: " + e.getMessage(),
+                id.value(),
+                e
+            )
+        );
+    }
+
+    private WorkflowResult<GraphCommand<T>, WorkflowError> rateLimited(ModelRateLimiter.WaitTimeoutException e) {
+        LOGGER.warning(() -> "LLM call in node " + id.value() + " not admitted: " + e.getMessage());
+        return WorkflowResult.failure(
+            new ExecutionError(
+                "llm-rate-limited",
+                "LLM call not admitted by rate limiter: " + e.getMessage(),
+                Map.of("limit", e.limit(), "maxWaitMs", e.maxWait().toMillis()),
+                Instant.now(),
+                id.value(),
+                e
+            )
+        );
+    }
+
+    private WorkflowResult<GraphCommand<T>, WorkflowError> deadlineExceeded(CancellationToken token) {
+        String reason = token.reason()
+                .map(r -> r == CancellationToken.Reason.CANCELLED ? "workflow cancelled" : "deadline exceeded")
+                .orElse("deadline exceeded");
+        LOGGER.warning(() -> "Abandoning LLM stream in node " + id.value() + ": " + reason);
+        return WorkflowResult.failure(
+            ExecutionError.of(
+                "llm-deadline-exceeded",
+                "LLM call not completed: " + reason,
+                id.value()
+            )
+        );
+    }
+
+    @Override
+    public NodeId getNodeId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Set<String> getTags() {
+        // Each run is a paid model call
+        return Set.of(EXPENSIVE_TAG);
+    }
+
+    /**
+     * Creates a builder for constructing StreamingLLMGraphWorkflowNode instances.
+     *
+     * @param <T> The type of input/output for the node
+     * @return A new Builder instance
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Forwards the partial responses of one call to the token listener and
+     * collects the complete response.
+     */
+    private final class TokenStream implements StreamingChatResponseHandler {
+        private final WorkflowId workflowId;
+        private final ModelRateLimiter.Permit permit;
+        private final StringBuilder text = new StringBuilder();
+        private final CompletableFuture<String> done = new CompletableFuture<>();
+        private volatile boolean abandoned;
+
+        private TokenStream(WorkflowId workflowId, ModelRateLimiter.Permit permit) {
+            this.workflowId = workflowId;
+            this.permit = permit;
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            if (abandoned || partialResponse == null) {
+                return;
+            }
+            synchronized (text) {
+                text.append(partialResponse);
+            }
+            if (tokenListener != null) {
+                try {
+                    tokenListener.onToken(workflowId, id, partialResponse);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Token listener failed in node " + id.value(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            String complete = completeResponse != null && completeResponse.aiMessage() != null
+                    ? completeResponse.aiMessage().text()
+                    : null;
+            if (complete == null) {
+                synchronized (text) {
+                    complete = text.toString();
+                }
+            }
+            release();
+            done.complete(complete);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            release();
+            done.completeExceptionally(error);
+        }
+
+        /**
+         * Drops the tokens still to come and frees the permit without
+         * waiting for the model to end the stream.
+         */
+        private void abandon() {
+            abandoned = true;
+            release();
+            done.completeExceptionally(
+                new CancellationException("LLM stream abandoned in node " + id.value())
+            );
+        }
+
+        private void release() {
+            if (permit != null) {
+                permit.close();
+            }
+        }
+    }
+
+    /**
+     * Builder for creating StreamingLLMGraphWorkflowNode instances.
+     *
+     * @param <T> The type of input/output for the node
+     */
+    public static class Builder<T> {
+        private String nodeId;
+        private StreamingChatModel model;
+        private String systemPrompt;
+        private Function<GraphWorkflowState<T>, String> userMessageExtractor;
+        private TokenListener tokenListener;
+        private ModelRateLimiter rateLimiter;
+        private String name;
+        private String description;
+        private String nextNodeId;
+
+        /**
+         * Sets the node ID for the streaming LLM node.
+         *
+         * @param nodeId The node ID
+         * @return This builder
+         */
+        public Builder<T> nodeId(String nodeId) {
+            this.nodeId = nodeId;
+            return this;
+        }
+
+        /**
+         * Sets the StreamingChatModel to use for LLM processing.
+         *
+         * @param model The StreamingChatModel instance
+         * @return This builder
+         */
+        public Builder<T> model(StreamingChatModel model) {
+            this.model = model;
+            return this;
+        }
+
+        /**
+         * Sets the system prompt to use for LLM processing.
+         *
+         * @param systemPrompt The system prompt
+         * @return This builder
+         */
+        public Builder<T> systemPrompt(String systemPrompt) {
+            this.systemPrompt = systemPrompt;
+            return this;
+        }
+
+        /**
+         * Sets the function to extract user messages from the workflow state.
+         *
+         * @param userMessageExtractor Function to extract user messages
+         * @return This builder
+         */
+        public Builder<T> userMessageExtractor(Function<GraphWorkflowState<T>, String> userMessageExtractor) {
+            this.userMessageExtractor = userMessageExtractor;
+            return this;
+        }
+
+        /**
+         * Sets the listener to publish partial responses to. Use
+         * {@link TokenListener#of(dev.agents4j.workflow.monitor.WorkflowMonitor)}
+         * to report them to a workflow monitor. Tokens are only collected
+         * into the response by default.
+         *
+         * @param tokenListener The token listener
+         * @return This builder
+         */
+        public Builder<T> tokenListener(TokenListener tokenListener) {
+            this.tokenListener = tokenListener;
+            return this;
+        }
+
+        /**
+         * Sets the limiter that paces requests to the model. Share one
+         * limiter between all nodes calling the same model. A request the
+         * limiter does not admit in time fails the node with a recoverable
+         * {@code llm-rate-limited} error. Requests are not limited by default.
+         *
+         * @param rateLimiter The model rate limiter
+         * @return This builder
+         */
+        public Builder<T> rateLimiter(ModelRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the name of the streaming LLM node.
+         *
+         * @param name The node name
+         * @return This builder
+         */
+        public Builder<T> name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Sets the description of the streaming LLM node.
+         *
+         * @param description The node description
+         * @return This builder
+         */
+        public Builder<T> description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * Sets the ID of the next node to traverse to after processing.
+         *
+         * @param nextNodeId The next node ID
+         * @return This builder
+         */
+        public Builder<T> nextNodeId(String nextNodeId) {
+            this.nextNodeId = nextNodeId;
+            return this;
+        }
+
+        /**
+         * Builds a new StreamingLLMGraphWorkflowNode with the configured properties.
+         *
+         * @return A new StreamingLLMGraphWorkflowNode instance
+         * @throws IllegalStateException if required properties are not set
+         */
+        public StreamingLLMGraphWorkflowNode<T> build() {
+            if (nodeId == null) {
+                throw new IllegalStateException("Node ID must be specified");
+            }
+            if (model == null) {
+                throw new IllegalStateException("StreamingChatModel must be specified");
+            }
+            if (systemPrompt == null) {
+                throw new IllegalStateException("System prompt must be specified");
+            }
+            if (userMessageExtractor == null) {
+                // Default extractor that converts the state data to string
+                userMessageExtractor = state -> state.data().toString();
+            }
+
+            return new StreamingLLMGraphWorkflowNode<>(this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.agents4j.langchain4j.workflow;
+
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.workflow.monitor.WorkflowMonitor;
+import java.util.Objects;
+
+/**
+ * Receives the tokens a streaming LLM node produces while the model is still
+ * generating, so callers can show output before the node completes.
+ *
+ * <p>Tokens arrive in order on the model client's callback thread and must
+ * be handled quickly; a listener that throws is logged and does not fail
+ * the node.</p>
+ */
+@FunctionalInterface
+public interface TokenListener {
+    /**
+     * Called for each partial response streamed by the model.
+     *
+     * @param workflowId The workflow the node runs in
+     * @param nodeId The streaming node
+     * @param token The text generated since the previous call
+     */
+    void onToken(WorkflowId workflowId, NodeId nodeId, String token);
+
+    /**
+     * Creates a listener that reports tokens to a workflow monitor through
+     * {@link WorkflowMonitor#onNodeOutput(WorkflowId, NodeId, String)}.
+     *
+     * @param monitor The workflow monitor
+     * @return A listener forwarding to the monitor
+     */
+    static TokenListener of(WorkflowMonitor monitor) {
+        Objects.requireNonNull(monitor, "Monitor cannot be null");
+        return monitor::onNodeOutput;
+    }
+}
@@ -0,0 +1,204 @@
+package dev.agents4j.langchain4j.workflow.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Response cache that keeps responses in memory, evicting the least recently
+ * used ones once either the entry count or the total size exceeds its
+ * bound. Responses expire a fixed time after they were cached; expired
+ * responses are dropped when they are next looked up or evicted.
+ *
+ * <p>Sizes are approximated by the in-memory size of the key and response
+ * strings. A response larger than the size bound is not cached.</p>
+ */
+public final class InMemoryResponseCache implements ResponseCache {
+
+    // Rough per-entry overhead of the map node, entry and string headers
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Access order makes the first entry the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(
+        16,
+        0.75f,
+        true
+    );
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    private InMemoryResponseCache(Builder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.maxBytes = builder.maxBytes;
+        this.ttl = builder.ttl;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * Creates a builder for an in-memory response cache.
+     *
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public synchronized Optional<String> get(String key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        if (!clock.instant().isBefore(entry.expiresAt())) {
+            entries.remove(key);
+            bytes -= entry.weight();
+            expirations++;
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.response());
+    }
+
+    @Override
+    public synchronized void put(String key, String response) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(response, "Response cannot be null");
+        long weight = weigh(key, response);
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.weight();
+        }
+        if (weight > maxBytes) {
+            return;
+        }
+        entries.put(key, new Entry(response, weight, clock.instant().plus(ttl)));
+        bytes += weight;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            bytes -= evicted.weight();
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    @Override
+    public synchronized Stats stats() {
+        return new Stats(
+            hits,
+            misses,
+            evictions,
+            expirations,
+            entries.size(),
+            bytes
+        );
+    }
+
+    private static long weigh(String key, String response) {
+        return ENTRY_OVERHEAD_BYTES + 2L * (key.length() + response.length());
+    }
+
+    private record Entry(String response, long weight, Instant expiresAt) {}
+
+    /**
+     * Builder for in-memory response caches.
+     */
+    public static final class Builder {
+
+        private int maxEntries = 10_000;
+        private long maxBytes = 64L * 1024 * 1024;
+        private Duration ttl = Duration.ofHours(1);
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum number of cached responses. Defaults to 10,000.
+         *
+         * @param maxEntries The maximum number of entries
+         * @return This builder
+         */
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException(
+                    "Max entries must be positive"
+                );
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum approximate size of all cached responses.
+         * Defaults to 64 MiB.
+         *
+         * @param maxBytes The maximum size in bytes
+         * @return This builder
+         */
+        public Builder maxBytes(long maxBytes) {
+            if (maxBytes < 1) {
+                throw new IllegalArgumentException("Max bytes must be positive");
+            }
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Sets how long a response stays cached. Defaults to one hour.
+         *
+         * @param ttl The time to live
+         * @return This builder
+         */
+        public Builder ttl(Duration ttl) {
+            Objects.requireNonNull(ttl, "TTL cannot be null");
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("TTL must be positive");
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Sets the clock expiries are measured with.
+         *
+         * @param clock The clock
+         * @return This builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+            return this;
+        }
+
+        /**
+         * Builds the cache.
+         *
+         * @return A new in-memory response cache
+         */
+        public InMemoryResponseCache build() {
+            return new InMemoryResponseCache(this);
+        }
+    }
+}
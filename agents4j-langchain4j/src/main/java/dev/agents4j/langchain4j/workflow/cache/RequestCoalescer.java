@@ -0,0 +1,146 @@
+package dev.agents4j.langchain4j.workflow.cache;
+
+import dev.agents4j.api.execution.CancellationToken;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical LLM requests into a single upstream call.
+ * The first caller for a key makes the call; callers arriving with the same
+ * key while it is in flight wait for it and get its response, or its error.
+ * Once the call completes the key is released, so later requests call the
+ * model again unless a {@link ResponseCache} answers them.
+ *
+ * <p>Keys are built like cache keys, with
+ * {@link ResponseCache#key(String, String, String)}, and one coalescer can
+ * be shared by any number of nodes and workflows. The call is not shared
+ * once the {@link CancellationToken} of its caller is cancelled, for example
+ * when that caller's workflow hit its deadline: the waiting callers are
+ * released right away, retry, and one of them makes the call again.</p>
+ */
+public final class RequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight =
+        new ConcurrentHashMap<>();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    /**
+     * Gets the response for a key, making the call unless an identical
+     * request is already in flight.
+     *
+     * @param key The request key
+     * @param call The upstream call
+     * @return The response of this or the in-flight call
+     * @throws CancellationException if the caller is interrupted while waiting
+     */
+    public String execute(String key, Supplier<String> call) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(call, "Call cannot be null");
+        while (true) {
+            CompletableFuture<String> own = new CompletableFuture<>();
+            CompletableFuture<String> existing = inFlight.putIfAbsent(key, own);
+            if (existing == null) {
+                return lead(key, own, call);
+            }
+            coalescedCalls.increment();
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException(
+                    "Interrupted while waiting for an in-flight LLM request"
+                );
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof LeaderInterrupted) {
+                    // Not counted as coalesced: this caller tries again
+                    coalescedCalls.decrement();
+                    continue;
+                }
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    private String lead(
+        String key,
+        CompletableFuture<String> own,
+        Supplier<String> call
+    ) {
+        upstreamCalls.increment();
+        CancellationToken token = CancellationToken.current();
+        // Do not hold the waiters until a cancelled call actually returns
+        CancellationToken.Registration abandon = token.onCancel(() -> {
+            inFlight.remove(key, own);
+            own.completeExceptionally(new LeaderInterrupted());
+        });
+        try {
+            String response = call.get();
+            own.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(
+                token.isCancelled() ? new LeaderInterrupted() : e
+            );
+            throw e;
+        } finally {
+            abandon.remove();
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Gets a snapshot of the coalescing statistics.
+     *
+     * @return The coalescing statistics
+     */
+    public Stats stats() {
+        return new Stats(
+            upstreamCalls.sum(),
+            coalescedCalls.sum(),
+            inFlight.size()
+        );
+    }
+
+    private static final class LeaderInterrupted extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        LeaderInterrupted() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Coalescing statistics.
+     *
+     * @param upstreamCalls The number of calls made to the model
+     * @param coalescedCalls The number of requests answered by another
+     *     caller's in-flight call
+     * @param inFlight The number of calls currently in flight
+     */
+    public record Stats(long upstreamCalls, long coalescedCalls, int inFlight) {
+        /**
+         * Gets the share of requests that did not need their own call.
+         *
+         * @return The deduplication rate between 0 and 1, or 0 without requests
+         */
+        public double deduplicationRate() {
+            long requests = upstreamCalls + coalescedCalls;
+            return requests == 0 ? 0.0 : (double) coalescedCalls / requests;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package dev.agents4j.langchain4j.workflow.cache;
+
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cache of LLM responses shared by the LLM nodes configured with it. Keys
+ * are hashes of the model identity, the system prompt and the user message,
+ * built with {@link #key(String, String, String)}, so one cache can back
+ * any number of nodes and workflows.
+ *
+ * <p>Implementations decide on eviction and expiry and must be safe for
+ * concurrent use. {@link InMemoryResponseCache} keeps a bounded number of
+ * entries in memory; other implementations can put a shared store such as
+ * Redis behind the same interface.</p>
+ */
+public interface ResponseCache {
+    /**
+     * Gets a cached response. A lookup counts as a hit or a miss in the
+     * cache's {@link #stats() statistics}.
+     *
+     * @param key The cache key
+     * @return The cached response, or empty if there is none or it expired
+     */
+    Optional<String> get(String key);
+
+    /**
+     * Caches a response, replacing any response under the same key.
+     *
+     * @param key The cache key
+     * @param response The response text
+     */
+    void put(String key, String response);
+
+    /**
+     * Removes all cached responses. Statistics are kept.
+     */
+    void invalidateAll();
+
+    /**
+     * Gets a snapshot of the cache statistics.
+     *
+     * @return The cache statistics
+     */
+    Stats stats();
+
+    /**
+     * Builds the key of a request: the SHA-256 hash of the model identity,
+     * the system prompt and the user message.
+     *
+     * @param modelId The model identity, see {@link #modelIdOf(ChatModel)}
+     * @param systemPrompt The system prompt
+     * @param userMessage The user message
+     * @return The hex-encoded cache key
+     */
+    static String key(String modelId, String systemPrompt, String userMessage) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(systemPrompt, "System prompt cannot be null");
+        Objects.requireNonNull(userMessage, "User message cannot be null");
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        // Length prefixes keep ("ab", "c") and ("a", "bc") apart
+        for (String part : new String[] { modelId, systemPrompt, userMessage }) {
+            byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Derives the identity of a model for cache keys from its class and
+     * default model name. Models that differ in other settings, such as
+     * temperature, should be given distinct IDs by the node builders.
+     *
+     * @param model The chat model
+     * @return The model identity
+     */
+    static String modelIdOf(ChatModel model) {
+        Objects.requireNonNull(model, "Model cannot be null");
+        ChatRequestParameters parameters = model.defaultRequestParameters();
+        String modelName = parameters != null ? parameters.modelName() : null;
+        return modelName != null
+            ? model.getClass().getName() + "/" + modelName
+            : model.getClass().getName();
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @param hits The number of lookups that found a response
+     * @param misses The number of lookups that found none
+     * @param evictions The number of responses evicted to stay within bounds
+     * @param expirations The number of responses dropped after their TTL
+     * @param entries The number of cached responses
+     * @param bytes The approximate size of the cached responses in bytes
+     */
+    record Stats(
+        long hits,
+        long misses,
+        long evictions,
+        long expirations,
+        int entries,
+        long bytes
+    ) {
+        /**
+         * Gets the share of lookups that found a response.
+         *
+         * @return The hit rate between 0 and 1, or 0 without lookups
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
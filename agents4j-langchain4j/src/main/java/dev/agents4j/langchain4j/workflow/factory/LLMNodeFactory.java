@@ -1,32 +1,15 @@
 package dev.agents4j.langchain4j.workflow.factory;
 
-import dev.agents4j.api.context.ContextKey;
-import dev.agents4j.api.context.WorkflowContext;
-import dev.agents4j.api.graph.GraphCommand;
-import dev.agents4j.api.graph.GraphCommandComplete;
-
 import dev.agents4j.api.graph.GraphWorkflowNode;
 import dev.agents4j.api.graph.GraphWorkflowState;
-import dev.agents4j.api.graph.NodeId;
-import dev.agents4j.api.result.WorkflowResult;
-import dev.agents4j.api.result.error.ExecutionError;
-import dev.agents4j.api.result.error.WorkflowError;
 import dev.agents4j.langchain4j.workflow.LLMGraphWorkflowNode;
-import dev.agents4j.workflow.history.NodeInteraction;
-import dev.agents4j.workflow.history.ProcessingHistory;
-import dev.agents4j.workflow.history.ProcessingHistoryUtils;
-import dev.langchain4j.data.message.AiMessage;
-import dev.langchain4j.data.message.ChatMessage;
-import dev.langchain4j.data.message.SystemMessage;
-import dev.langchain4j.data.message.UserMessage;
+import dev.agents4j.langchain4j.workflow.cache.RequestCoalescer;
+import dev.agents4j.langchain4j.workflow.cache.ResponseCache;
+import dev.agents4j.langchain4j.workflow.hedge.HedgingPolicy;
+import dev.agents4j.langchain4j.workflow.limit.ModelRateLimiter;
 import dev.langchain4j.model.chat.ChatModel;
 
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Function;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Factory for creating LLM-based workflow nodes with enhanced capabilities.
@@ -62,6 +45,12 @@ public class LLMNodeFactory {
         private boolean completing = false;
         private String name;
         private String description;
+        private ResponseCache responseCache;
+        private RequestCoalescer requestCoalescer;
+        private ModelRateLimiter rateLimiter;
+        private HedgingPolicy hedgingPolicy;
+        private ChatModel hedgeModel;
+        private String cacheModelId;
 
         private LLMNodeBuilder(String nodeId, ChatModel model, String systemPrompt) {
             this.nodeId = nodeId;
@@ -125,144 +114,131 @@ public class LLMNodeFactory {
         }
 
         /**
-         * Builds the GraphWorkflowNode with the configured properties.
+         * Sets the cache to answer repeated requests from, keyed on the
+         * model, system prompt and user message. The cache may be shared
+         * with other nodes and workflows. No cache is used by default.
          *
-         * @return A new GraphWorkflowNode instance
+         * @param responseCache The response cache
+         * @return This builder
          */
-        public GraphWorkflowNode<T> build() {
-            if (completing) {
-                return new CompletingLLMNode<>(this);
-            } else {
-                LLMGraphWorkflowNode.Builder<T> builder = LLMGraphWorkflowNode.<T>builder()
-                    .nodeId(nodeId)
-                    .model(model)
-                    .systemPrompt(systemPrompt);
-
-                if (userMessageExtractor != null) {
-                    builder.userMessageExtractor(userMessageExtractor);
-                }
-                if (nextNodeId != null) {
-                    builder.nextNodeId(nextNodeId);
-                }
-                if (name != null) {
-                    builder.name(name);
-                }
-                if (description != null) {
-                    builder.description(description);
-                }
-
-                return builder.build();
-            }
+        public LLMNodeBuilder<T> responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
         }
-    }
-
-    /**
-     * A specialized LLM node that completes the workflow instead of traversing to the next node.
-     * This is ideal for the last node in a sequence workflow.
-     */
-    private static class CompletingLLMNode<T> implements GraphWorkflowNode<T> {
-        private static final Logger LOGGER = Logger.getLogger(CompletingLLMNode.class.getName());
-        
-        private final NodeId id;
-        private final ChatModel model;
-        private final String systemPrompt;
-        private final Function<GraphWorkflowState<T>, String> userMessageExtractor;
-        private final String name;
-        private final String description;
 
-        private CompletingLLMNode(LLMNodeBuilder<T> builder) {
-            this.id = NodeId.of(builder.nodeId);
-            this.model = builder.model;
-            this.systemPrompt = builder.systemPrompt;
-            this.userMessageExtractor = builder.userMessageExtractor != null 
-                ? builder.userMessageExtractor 
-                : state -> state.data().toString();
-            this.name = builder.name != null ? builder.name : "CompletingLLM-" + builder.nodeId;
-            this.description = builder.description != null ? builder.description :
-                "Completing LLM Node: " + systemPrompt.substring(0, Math.min(50, systemPrompt.length())) + "...";
+        /**
+         * Sets the coalescer that shares one model call between concurrent
+         * identical requests. The coalescer may be shared with other nodes
+         * and workflows. Requests are not coalesced by default.
+         *
+         * @param requestCoalescer The request coalescer
+         * @return This builder
+         */
+        public LLMNodeBuilder<T> requestCoalescer(RequestCoalescer requestCoalescer) {
+            this.requestCoalescer = requestCoalescer;
+            return this;
         }
 
-        @Override
-        public WorkflowResult<GraphCommand<T>, WorkflowError> process(GraphWorkflowState<T> state) {
-            LOGGER.info(() -> "Processing in completing LLM node: " + id.value());
-            
-            try {
-                // Extract the user message from the state using the provided extractor
-                String userMessage = userMessageExtractor.apply(state);
-                LOGGER.fine(() -> "Extracted user message: " + userMessage);
-
-                // Create chat messages
-                List<ChatMessage> messages = new ArrayList<>();
-                messages.add(SystemMessage.from(systemPrompt));
-                messages.add(UserMessage.from(userMessage));
-
-                LOGGER.info(() -> "Sending request to LLM with " + messages.size() + " messages");
-                
-                // Get LLM response
-                long startTime = System.currentTimeMillis();
-                AiMessage response = model.chat(messages).aiMessage();
-                long duration = System.currentTimeMillis() - startTime;
-                
-                String responseText = response.text();
-                LOGGER.info(() -> "Received LLM response in " + duration + "ms");
-                LOGGER.fine(() -> "Response content: " + responseText);
-
-                // Get or create the processing history
-                ProcessingHistory history = ProcessingHistoryUtils.getOrCreateHistory(state);
-
-                // Add this interaction to the history
-                NodeInteraction interaction = new NodeInteraction(
-                    id,
-                    getName(),
-                    userMessage,
-                    responseText,
-                    Instant.now()
-                );
-                history.addInteraction(interaction);
-                LOGGER.fine(() -> "Added interaction to history. Total interactions: " + 
-                             history.getAllInteractions().size());
-
-                // Create updated context with the response and history
-                WorkflowContext updatedContext = state
-                    .context()
-                    // Keep the response key for backward compatibility
-                    .with(ContextKey.of("response", Object.class), responseText)
-                    // Store the processing history
-                    .with(ProcessingHistory.HISTORY_KEY, history);
+        /**
+         * Sets the limiter that paces requests to the model. Share one
+         * limiter between all nodes calling the same model. A request the
+         * limiter does not admit in time fails the node with a recoverable
+         * {@code llm-rate-limited} error. Requests are not limited by default.
+         *
+         * @param rateLimiter The model rate limiter
+         * @return This builder
+         */
+        public LLMNodeBuilder<T> rateLimiter(ModelRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
 
-                LOGGER.info(() -> "LLM processing complete, completing workflow");
-                
-                // Use GraphCommandComplete to complete the workflow
-                return WorkflowResult.success(
-                    GraphCommandComplete.withResultAndContext(responseText, updatedContext)
-                );
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error processing with LLM: " + e.getMessage(), e);
-                
-                return WorkflowResult.failure(
-                    ExecutionError.withCause(
-                        "llm-processing-error",
-                        "Error processing with LLM: " + e.getMessage(),
-                        id.value(),
-                        e
-                    )
-                );
-            }
+        /**
+         * Sets the policy that hedges slow model calls with a duplicate call,
+         * using the response that arrives first. Latencies are tracked under
+         * the node ID, so one policy can serve several nodes. Calls are not
+         * hedged by default.
+         *
+         * @param hedgingPolicy The hedging policy
+         * @return This builder
+         */
+        public LLMNodeBuilder<T> hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
         }
 
-        @Override
-        public NodeId getNodeId() {
-            return id;
+        /**
+         * Sets the model duplicate calls are sent to when hedging. Defaults
+         * to the node's model.
+         *
+         * @param hedgeModel The ChatModel for hedged calls
+         * @return This builder
+         */
+        public LLMNodeBuilder<T> hedgeModel(ChatModel hedgeModel) {
+            this.hedgeModel = hedgeModel;
+            return this;
         }
 
-        @Override
-        public String getName() {
-            return name;
+        /**
+         * Sets the identity of the model in cache keys. Defaults to the model
+         * class and model name.
+         *
+         * @param cacheModelId The model identity
+         * @return This builder
+         */
+        public LLMNodeBuilder<T> cacheModelId(String cacheModelId) {
+            this.cacheModelId = cacheModelId;
+            return this;
         }
 
-        @Override
-        public String getDescription() {
-            return description;
+        /**
+         * Builds the GraphWorkflowNode with the configured properties.
+         *
+         * @return A new GraphWorkflowNode instance
+         */
+        public GraphWorkflowNode<T> build() {
+            LLMGraphWorkflowNode.Builder<T> builder = LLMGraphWorkflowNode.<T>builder()
+                .nodeId(nodeId)
+                .model(model)
+                .systemPrompt(systemPrompt);
+            if (completing) {
+                builder.completing()
+                    .name("CompletingLLM-" + nodeId)
+                    .description("Completing LLM Node: "
+                        + systemPrompt.substring(0, Math.min(50, systemPrompt.length())) + "...");
+            }
+            if (userMessageExtractor != null) {
+                builder.userMessageExtractor(userMessageExtractor);
+            }
+            if (nextNodeId != null) {
+                builder.nextNodeId(nextNodeId);
+            }
+            if (name != null) {
+                builder.name(name);
+            }
+            if (description != null) {
+                builder.description(description);
+            }
+            if (responseCache != null) {
+                builder.responseCache(responseCache);
+            }
+            if (requestCoalescer != null) {
+                builder.requestCoalescer(requestCoalescer);
+            }
+            if (rateLimiter != null) {
+                builder.rateLimiter(rateLimiter);
+            }
+            if (hedgingPolicy != null) {
+                builder.hedgingPolicy(hedgingPolicy);
+            }
+            if (hedgeModel != null) {
+                builder.hedgeModel(hedgeModel);
+            }
+            if (cacheModelId != null) {
+                builder.cacheModelId(cacheModelId);
+            }
+
+            return builder.build();
         }
     }
-}
\ No newline at end of file
+}
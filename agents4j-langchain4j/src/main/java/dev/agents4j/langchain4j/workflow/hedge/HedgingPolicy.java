@@ -0,0 +1,465 @@
+package dev.agents4j.langchain4j.workflow.hedge;
+
+import dev.agents4j.workflow.execution.VirtualThreads;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Cuts tail latency of model calls by hedging: when a call has not returned
+ * after a delay, a duplicate call is issued, the first successful response
+ * is used and the other call is cancelled.
+ *
+ * <p>The delay is either fixed or, by default, the 95th percentile of the
+ * latencies recently observed for the same key, typically the node ID, so
+ * only calls slower than usual are hedged. Failed and cancelled calls count
+ * with the time they ran, a lower bound of their latency, so a model that
+ * times out does not look faster than it is. Until enough latencies have
+ * been observed, calls are not hedged and run on the caller's thread.</p>
+ *
+ * <p>Hedges are paid from a budget per key: each call adds the maximum extra
+ * load to it, each hedge takes one call from it, and the budget holds at
+ * most a small burst of hedges. Quiet periods therefore cannot save up a
+ * flood of hedges for the moment the model slows down.</p>
+ *
+ * <p>Hedged calls run on the policy's executor while the caller waits, and
+ * are cancelled by interrupting them; the caller being interrupted cancels
+ * all of its calls. A call that fails before the delay is not hedged, and
+ * its error is returned as is. Close the policy to shut down the executor
+ * it created.</p>
+ */
+public final class HedgingPolicy implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(
+        HedgingPolicy.class.getName()
+    );
+
+    /** The budget one hedge costs, in millionths of a call. */
+    private static final long HEDGE_COST = 1_000_000L;
+
+    private final Duration fixedDelay;
+    private final double quantile;
+    private final int minSamples;
+    private final int window;
+    private final long creditPerCall;
+    private final long maxBudget;
+    private final ExecutorService executor;
+    private final ExecutorService ownedExecutor;
+    private final ConcurrentMap<String, KeyState> keys = new ConcurrentHashMap<>();
+
+    private HedgingPolicy(Builder builder) {
+        this.fixedDelay = builder.fixedDelay;
+        this.quantile = builder.quantile;
+        this.minSamples = builder.minSamples;
+        this.window = builder.window;
+        this.creditPerCall = Math.round(builder.maxExtraLoad * HEDGE_COST);
+        this.maxBudget = builder.maxBurst * HEDGE_COST;
+        this.ownedExecutor = builder.executor == null ? newExecutor() : null;
+        this.executor = builder.executor != null ? builder.executor : ownedExecutor;
+    }
+
+    /**
+     * Creates a builder for a hedging policy.
+     *
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs a call, hedging it with a second call if it is slow.
+     *
+     * @param key The key latencies and hedges are tracked under, such as
+     *     the node ID
+     * @param primary The call
+     * @param hedge The duplicate call, to the same or an alternate model
+     * @param <R> The response type
+     * @return The response of the call that succeeded first
+     * @throws CancellationException if the caller is interrupted while waiting
+     * @throws java.util.concurrent.RejectedExecutionException if the policy
+     *     is closed
+     */
+    public <R> R execute(String key, Supplier<R> primary, Supplier<R> hedge) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(primary, "Primary call cannot be null");
+        Objects.requireNonNull(hedge, "Hedge call cannot be null");
+        KeyState state = keys.computeIfAbsent(key, k -> new KeyState(window));
+        state.requests.incrementAndGet();
+        state.deposit(creditPerCall, maxBudget);
+
+        Optional<Duration> delay = delay(state);
+        if (delay.isEmpty()) {
+            // Nothing to hedge against yet, so skip the executor
+            return attempt(state, primary, false).response();
+        }
+
+        CompletionService<Attempt<R>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt<R>>> running = new ArrayList<>(2);
+        try {
+            running.add(completion.submit(() -> attempt(state, primary, false)));
+            Future<Attempt<R>> done = completion.poll(
+                delay.get().toNanos(),
+                TimeUnit.NANOSECONDS
+            );
+            if (done == null && state.tryHedge()) {
+                LOGGER.fine(() -> "Hedging call for " + key + " after " + delay.get());
+                running.add(completion.submit(() -> attempt(state, hedge, true)));
+            }
+            if (done == null) {
+                done = completion.take();
+            }
+
+            RuntimeException firstError = null;
+            for (int i = 0; i < running.size(); i++) {
+                if (i > 0) {
+                    done = completion.take();
+                }
+                try {
+                    Attempt<R> attempt = done.get();
+                    if (attempt.hedge()) {
+                        state.hedgeWins.incrementAndGet();
+                    }
+                    return attempt.response();
+                } catch (ExecutionException e) {
+                    // Wait for the other call before giving up
+                    if (firstError == null) {
+                        firstError = unchecked(e.getCause());
+                    }
+                }
+            }
+            throw firstError;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException(
+                "Interrupted while waiting for a hedged LLM call"
+            );
+        } finally {
+            for (Future<Attempt<R>> future : running) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <R> Attempt<R> attempt(KeyState state, Supplier<R> call, boolean hedge) {
+        long start = System.nanoTime();
+        try {
+            return new Attempt<>(call.get(), hedge);
+        } finally {
+            // A call that failed or was cancelled took at least this long
+            state.latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    private Optional<Duration> delay(KeyState state) {
+        if (fixedDelay != null) {
+            return Optional.of(fixedDelay);
+        }
+        return state.latencies.quantile(quantile, minSamples).map(Duration::ofNanos);
+    }
+
+    /**
+     * Gets a snapshot of the hedging statistics for a key.
+     *
+     * @param key The key, such as the node ID
+     * @return The statistics, all zero for an unknown key
+     */
+    public Stats stats(String key) {
+        KeyState state = keys.get(key);
+        if (state == null) {
+            return new Stats(0, 0, 0, Optional.ofNullable(fixedDelay));
+        }
+        return new Stats(
+            state.requests.get(),
+            state.hedges.get(),
+            state.hedgeWins.get(),
+            delay(state)
+        );
+    }
+
+    /**
+     * Shuts down the executor the policy created, letting running calls
+     * finish. An executor passed to the builder is left to its owner.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * Creates the default executor: virtual threads where the JVM has them,
+     * otherwise a bounded pool of daemon threads.
+     */
+    private static ExecutorService newExecutor() {
+        if (VirtualThreads.isAvailable()) {
+            return VirtualThreads.newExecutor("llm-hedge-");
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threads = runnable -> {
+            Thread thread = new Thread(runnable, "llm-hedge-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors() * 2,
+            threads
+        );
+    }
+
+    private record Attempt<R>(R response, boolean hedge) {}
+
+    /**
+     * Counters, hedge budget and latencies of one key.
+     */
+    private static final class KeyState {
+
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong hedges = new AtomicLong();
+        private final AtomicLong hedgeWins = new AtomicLong();
+        private final LatencyWindow latencies;
+        /** Guarded by this, in millionths of a call. */
+        private long budget;
+
+        private KeyState(int window) {
+            this.latencies = new LatencyWindow(window);
+        }
+
+        private synchronized void deposit(long credit, long maxBudget) {
+            budget = Math.min(maxBudget, budget + credit);
+        }
+
+        private synchronized boolean tryHedge() {
+            if (budget < HEDGE_COST) {
+                return false;
+            }
+            budget -= HEDGE_COST;
+            hedges.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * The most recent latencies of a key, in nanoseconds.
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        private LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        private Optional<Long> quantile(double q, int minSamples) {
+            long[] sorted;
+            synchronized (this) {
+                if (size < minSamples) {
+                    return Optional.empty();
+                }
+                sorted = Arrays.copyOf(samples, size);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(q * sorted.length) - 1;
+            return Optional.of(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        }
+    }
+
+    /**
+     * Hedging statistics of one key.
+     *
+     * @param requests The number of calls made through the policy
+     * @param hedged The number of calls that were hedged
+     * @param hedgeWins The number of hedged calls answered by the hedge
+     * @param delay The current hedging delay, or empty while latencies are
+     *     still being collected
+     */
+    public record Stats(
+        long requests,
+        long hedged,
+        long hedgeWins,
+        Optional<Duration> delay
+    ) {
+        /**
+         * Gets the extra load caused by hedging, as a share of calls.
+         *
+         * @return The share of calls that were hedged, or 0 without calls
+         */
+        public double extraLoad() {
+            return requests == 0 ? 0.0 : (double) hedged / requests;
+        }
+    }
+
+    /**
+     * Builder for hedging policies.
+     */
+    public static final class Builder {
+
+        private Duration fixedDelay;
+        private double quantile = 0.95;
+        private int minSamples = 20;
+        private int window = 512;
+        private double maxExtraLoad = 0.1;
+        private int maxBurst = 10;
+        private ExecutorService executor;
+
+        private Builder() {}
+
+        /**
+         * Hedges after a fixed delay instead of an observed latency quantile.
+         *
+         * @param delay The hedging delay
+         * @return This builder
+         */
+        public Builder delay(Duration delay) {
+            Objects.requireNonNull(delay, "Delay cannot be null");
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("Delay cannot be negative");
+            }
+            this.fixedDelay = delay;
+            return this;
+        }
+
+        /**
+         * Sets the latency quantile to hedge after. Defaults to 0.95.
+         *
+         * @param quantile The quantile, between 0 and 1
+         * @return This builder
+         */
+        public Builder quantile(double quantile) {
+            if (!(quantile > 0.0 && quantile < 1.0)) {
+                throw new IllegalArgumentException(
+                    "Quantile must be between 0 and 1"
+                );
+            }
+            this.quantile = quantile;
+            return this;
+        }
+
+        /**
+         * Sets the number of latencies to observe before hedging by
+         * quantile. Defaults to 20.
+         *
+         * @param minSamples The minimum number of latencies
+         * @return This builder
+         */
+        public Builder minSamples(int minSamples) {
+            if (minSamples < 1) {
+                throw new IllegalArgumentException(
+                    "Min samples must be positive"
+                );
+            }
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * Sets the number of recent latencies the quantile is computed
+         * over. Defaults to 512.
+         *
+         * @param window The number of latencies kept per key
+         * @return This builder
+         */
+        public Builder window(int window) {
+            if (window < 1) {
+                throw new IllegalArgumentException("Window must be positive");
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Caps the share of calls that may be hedged, and so the extra load
+         * on the model. Defaults to 0.1, or 10%.
+         *
+         * @param maxExtraLoad The maximum share of hedged calls, between 0 and 1
+         * @return This builder
+         */
+        public Builder maxExtraLoad(double maxExtraLoad) {
+            if (maxExtraLoad < 0.0 || maxExtraLoad > 1.0) {
+                throw new IllegalArgumentException(
+                    "Max extra load must be between 0 and 1"
+                );
+            }
+            this.maxExtraLoad = maxExtraLoad;
+            return this;
+        }
+
+        /**
+         * Caps the number of hedges the budget saved up in quiet periods
+         * can pay for in a row. Defaults to 10.
+         *
+         * @param maxBurst The maximum number of back-to-back hedges
+         * @return This builder
+         */
+        public Builder maxBurst(int maxBurst) {
+            if (maxBurst < 1) {
+                throw new IllegalArgumentException("Max burst must be positive");
+            }
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        /**
+         * Sets the executor hedged calls run on, such as the workflow's
+         * executor. The policy does not shut it down. Defaults to virtual
+         * threads where available, otherwise a bounded pool of daemon
+         * threads, which is shut down when the policy is closed.
+         *
+         * @param executor The executor
+         * @return This builder
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = Objects.requireNonNull(
+                executor,
+                "Executor cannot be null"
+            );
+            return this;
+        }
+
+        /**
+         * Builds the policy.
+         *
+         * @return A new hedging policy
+         */
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package dev.agents4j.langchain4j.workflow.limit;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the requests sent through one model so that bursts of workflows
+ * stay within the provider's quotas. A limiter combines up to three limits:
+ * requests per interval, estimated tokens per interval, and the number of
+ * requests in flight at once. Share one limiter between all nodes and
+ * routers that call the same model.
+ *
+ * <p>Callers are served in arrival order: they wait for the interval limits
+ * one at a time in a fair queue, and only then for a concurrency slot from a
+ * fair semaphore, so slots are only held by requests about to be sent. A
+ * caller that cannot go ahead within the configured maximum wait gets a
+ * {@link WaitTimeoutException} instead of blocking forever, which the LLM
+ * nodes report as a recoverable {@code llm-rate-limited} error.</p>
+ *
+ * <p>Interval limits are token buckets that refill continuously, so a full
+ * bucket allows a burst of up to its capacity. Token counts are estimates
+ * made before the call, see {@link #estimateTokens(String...)}.</p>
+ */
+public final class ModelRateLimiter {
+
+    private final Semaphore concurrency;
+    private final int maxConcurrency;
+    private final Bucket requests;
+    private final Bucket tokens;
+    private final int outputTokenReserve;
+    private final Duration maxWait;
+
+    // Fair, so callers take from the buckets in arrival order
+    private final ReentrantLock bucketLock = new ReentrantLock(true);
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    private ModelRateLimiter(Builder builder) {
+        this.maxConcurrency = builder.maxConcurrency;
+        this.concurrency = builder.maxConcurrency > 0
+            ? new Semaphore(builder.maxConcurrency, true)
+            : null;
+        this.requests = builder.requestsPerInterval > 0
+            ? new Bucket(builder.requestsPerInterval, builder.requestInterval)
+            : null;
+        this.tokens = builder.tokensPerInterval > 0
+            ? new Bucket(builder.tokensPerInterval, builder.tokenInterval)
+            : null;
+        this.outputTokenReserve = builder.outputTokenReserve;
+        this.maxWait = builder.maxWait;
+    }
+
+    /**
+     * Creates a builder for a model rate limiter. Without further settings
+     * the limiter lets every request through.
+     *
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Estimates the number of tokens in a prompt at four characters per
+     * token, which is close enough for English text and common tokenizers.
+     *
+     * @param texts The prompt parts
+     * @return The estimated number of tokens
+     */
+    public static int estimateTokens(String... texts) {
+        long chars = 0;
+        for (String text : texts) {
+            if (text != null) {
+                chars += text.length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (chars + 3) / 4);
+    }
+
+    /**
+     * Waits until a request may be sent. The returned permit holds a
+     * concurrency slot until it is closed, so callers should close it in a
+     * try-with-resources block once the model has answered.
+     *
+     * @param estimatedTokens The estimated number of prompt tokens
+     * @return The permit to send the request
+     * @throws WaitTimeoutException if the request cannot be sent within the
+     *     maximum wait
+     * @throws CancellationException if the caller is interrupted while waiting
+     */
+    public Permit acquire(int estimatedTokens) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        long tokenCount = Math.max(0L, estimatedTokens) + outputTokenReserve;
+        boolean taken = false;
+        try {
+            // Wait for the buckets before taking a slot, so a caller held
+            // back by the rate does not keep a slot from a caller that could go
+            if (requests != null || tokens != null) {
+                take(tokenCount, deadline);
+                taken = true;
+            }
+            if (
+                concurrency != null &&
+                !concurrency.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)
+            ) {
+                throw timeout("concurrency");
+            }
+            granted.increment();
+            taken = false;
+            return new Permit(concurrency != null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException(
+                "Interrupted while waiting for the model rate limiter"
+            );
+        } finally {
+            if (taken) {
+                refund(tokenCount);
+            }
+        }
+    }
+
+    private void take(long tokenCount, long deadline) throws InterruptedException {
+        if (!bucketLock.tryLock(remaining(deadline), TimeUnit.NANOSECONDS)) {
+            throw timeout("rate");
+        }
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long wait = Math.max(
+                    requests != null ? requests.nanosUntil(1, now) : 0,
+                    tokens != null ? tokens.nanosUntil(tokenCount, now) : 0
+                );
+                if (wait == 0) {
+                    if (requests != null) {
+                        requests.take(1);
+                    }
+                    if (tokens != null) {
+                        tokens.take(tokenCount);
+                    }
+                    return;
+                }
+                // Fail now rather than sleep past the deadline
+                if (now + wait - deadline > 0) {
+                    throw timeout("rate");
+                }
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    /**
+     * Returns what a caller took from the buckets when it did not get a
+     * slot, since its request is not sent.
+     */
+    private void refund(long tokenCount) {
+        bucketLock.lock();
+        try {
+            if (requests != null) {
+                requests.refund(1);
+            }
+            if (tokens != null) {
+                tokens.refund(tokenCount);
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0L, deadline - System.nanoTime());
+    }
+
+    private WaitTimeoutException timeout(String limit) {
+        timedOut.increment();
+        return new WaitTimeoutException(limit, maxWait);
+    }
+
+    /**
+     * Gets a snapshot of the limiter statistics.
+     *
+     * @return The limiter statistics
+     */
+    public Stats stats() {
+        return new Stats(
+            granted.sum(),
+            timedOut.sum(),
+            concurrency != null ? maxConcurrency - concurrency.availablePermits() : 0
+        );
+    }
+
+    /**
+     * Permission to send one request. Closing the permit frees its
+     * concurrency slot; closing it again has no effect.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean held;
+
+        private Permit(boolean slotTaken) {
+            this.held = new AtomicBoolean(slotTaken);
+        }
+
+        @Override
+        public void close() {
+            if (held.compareAndSet(true, false)) {
+                concurrency.release();
+            }
+        }
+    }
+
+    /**
+     * Thrown when a request cannot be sent within the maximum wait.
+     */
+    public static final class WaitTimeoutException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String limit;
+        private final Duration maxWait;
+
+        WaitTimeoutException(String limit, Duration maxWait) {
+            super(
+                "Request not admitted by the " +
+                limit +
+                " limit within " +
+                maxWait.toMillis() +
+                " ms"
+            );
+            this.limit = limit;
+            this.maxWait = maxWait;
+        }
+
+        /**
+         * Gets the limit that held the request back: {@code "concurrency"}
+         * or {@code "rate"}.
+         *
+         * @return The limit name
+         */
+        public String limit() {
+            return limit;
+        }
+
+        /**
+         * Gets the maximum wait that was exceeded.
+         *
+         * @return The maximum wait
+         */
+        public Duration maxWait() {
+            return maxWait;
+        }
+    }
+
+    /**
+     * Limiter statistics.
+     *
+     * @param granted The number of requests let through
+     * @param timedOut The number of requests that waited too long
+     * @param active The number of permits currently held, when concurrency
+     *     is limited
+     */
+    public record Stats(long granted, long timedOut, int active) {}
+
+    /**
+     * Token bucket refilled continuously at capacity per interval. Guarded
+     * by the limiter's bucket lock.
+     */
+    private static final class Bucket {
+
+        private final double capacity;
+        private final double refillPerNano;
+        private double available;
+        private long refilledAt;
+
+        private Bucket(long capacity, Duration interval) {
+            this.capacity = capacity;
+            this.refillPerNano = capacity / (double) interval.toNanos();
+            this.available = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        private long nanosUntil(long amount, long now) {
+            available = Math.min(
+                capacity,
+                available + (now - refilledAt) * refillPerNano
+            );
+            refilledAt = now;
+            // A request larger than the bucket waits for a full bucket
+            double needed = Math.min(amount, capacity);
+            if (available >= needed) {
+                return 0;
+            }
+            return (long) Math.ceil((needed - available) / refillPerNano);
+        }
+
+        private void take(long amount) {
+            available -= Math.min(amount, capacity);
+        }
+
+        private void refund(long amount) {
+            available = Math.min(capacity, available + Math.min(amount, capacity));
+        }
+    }
+
+    /**
+     * Builder for model rate limiters.
+     */
+    public static final class Builder {
+
+        private int maxConcurrency;
+        private long requestsPerInterval;
+        private Duration requestInterval;
+        private long tokensPerInterval;
+        private Duration tokenInterval;
+        private int outputTokenReserve;
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        private Builder() {}
+
+        /**
+         * Limits the number of requests in flight at once. Unlimited by
+         * default.
+         *
+         * @param maxConcurrency The maximum number of concurrent requests
+         * @return This builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException(
+                    "Max concurrency must be positive"
+                );
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Limits the number of requests per interval, such as 500 per
+         * minute. Unlimited by default.
+         *
+         * @param requests The number of requests per interval
+         * @param interval The interval
+         * @return This builder
+         */
+        public Builder requestsPer(long requests, Duration interval) {
+            this.requestsPerInterval = positive(requests, "Requests");
+            this.requestInterval = positive(interval);
+            return this;
+        }
+
+        /**
+         * Limits the estimated number of tokens per interval, such as
+         * 100,000 per minute. Unlimited by default.
+         *
+         * @param tokens The number of tokens per interval
+         * @param interval The interval
+         * @return This builder
+         */
+        public Builder tokensPer(long tokens, Duration interval) {
+            this.tokensPerInterval = positive(tokens, "Tokens");
+            this.tokenInterval = positive(interval);
+            return this;
+        }
+
+        /**
+         * Sets the number of tokens counted for each response on top of the
+         * prompt estimate, for providers that count output tokens against
+         * the same limit. Defaults to 0.
+         *
+         * @param outputTokenReserve The tokens counted per response
+         * @return This builder
+         */
+        public Builder outputTokenReserve(int outputTokenReserve) {
+            if (outputTokenReserve < 0) {
+                throw new IllegalArgumentException(
+                    "Output token reserve cannot be negative"
+                );
+            }
+            this.outputTokenReserve = outputTokenReserve;
+            return this;
+        }
+
+        /**
+         * Sets how long a request may wait to be admitted. Defaults to
+         * 30 seconds.
+         *
+         * @param maxWait The maximum wait
+         * @return This builder
+         */
+        public Builder maxWait(Duration maxWait) {
+            Objects.requireNonNull(maxWait, "Max wait cannot be null");
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException(
+                    "Max wait cannot be negative"
+                );
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Builds the limiter.
+         *
+         * @return A new model rate limiter
+         */
+        public ModelRateLimiter build() {
+            return new ModelRateLimiter(this);
+        }
+
+        private static long positive(long value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return value;
+        }
+
+        private static Duration positive(Duration interval) {
+            Objects.requireNonNull(interval, "Interval cannot be null");
+            if (interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("Interval must be positive");
+            }
+            return interval;
+        }
+    }
+}
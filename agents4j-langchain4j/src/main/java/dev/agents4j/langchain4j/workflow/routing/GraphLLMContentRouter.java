@@ -10,6 +10,9 @@ import dev.agents4j.api.result.error.ExecutionError;
 import dev.agents4j.api.routing.ContentRouter;
 import dev.agents4j.api.routing.RoutingDecision;
 import dev.agents4j.api.routing.RoutingStrategy;
+import dev.agents4j.langchain4j.workflow.cache.RequestCoalescer;
+import dev.agents4j.langchain4j.workflow.cache.ResponseCache;
+import dev.agents4j.langchain4j.workflow.limit.ModelRateLimiter;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.SystemMessage;
@@ -38,6 +41,12 @@ import java.util.stream.Collectors;
  * the most appropriate graph node to route the content to based on the analysis.
  * It supports confidence scoring, alternative routes, and reasoning.</p>
  *
+ * <p>A router built with a {@link RequestCoalescer} shares one classification
+ * call between concurrent routers classifying the same prompt. A router
+ * built with a {@link ModelRateLimiter} waits for it before each call; a
+ * call it does not admit in time falls back like any other failed
+ * classification.</p>
+ *
  * @param <T> The type of content being routed
  */
 public class GraphLLMContentRouter<T> implements ContentRouter<T> {
@@ -59,6 +68,9 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
     private final boolean includeReasoning;
     private final int maxAlternatives;
     private final RoutingStrategy strategy;
+    private final RequestCoalescer requestCoalescer;
+    private final ModelRateLimiter rateLimiter;
+    private final String modelId;
 
     /**
      * Creates a new GraphLLMContentRouter with the specified configuration.
@@ -81,6 +93,36 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
             boolean includeReasoning,
             int maxAlternatives,
             RoutingStrategy strategy) {
+        this(nodeId, model, classificationPrompt, includeConfidence, includeAlternatives,
+                includeReasoning, maxAlternatives, strategy, null, null);
+    }
+
+    /**
+     * Creates a new GraphLLMContentRouter that coalesces identical concurrent
+     * classification requests and paces calls to the model.
+     *
+     * @param nodeId The node ID for this router
+     * @param model The ChatModel to use for content classification
+     * @param classificationPrompt The prompt template for classification
+     * @param includeConfidence Whether to include confidence scores
+     * @param includeAlternatives Whether to include alternative routes
+     * @param includeReasoning Whether to include reasoning for decisions
+     * @param maxAlternatives Maximum number of alternatives to include
+     * @param strategy The routing strategy to use
+     * @param requestCoalescer The request coalescer, or null to call the model for every request
+     * @param rateLimiter The model rate limiter, or null to call the model without limits
+     */
+    public GraphLLMContentRouter(
+            NodeId nodeId,
+            ChatModel model,
+            String classificationPrompt,
+            boolean includeConfidence,
+            boolean includeAlternatives,
+            boolean includeReasoning,
+            int maxAlternatives,
+            RoutingStrategy strategy,
+            RequestCoalescer requestCoalescer,
+            ModelRateLimiter rateLimiter) {
         this.nodeId = Objects.requireNonNull(nodeId, "Node ID cannot be null");
         this.model = Objects.requireNonNull(model, "ChatModel cannot be null");
         this.classificationPrompt = classificationPrompt != null ? 
@@ -90,6 +132,21 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
         this.includeReasoning = includeReasoning;
         this.maxAlternatives = Math.max(1, maxAlternatives);
         this.strategy = Objects.requireNonNull(strategy, "RoutingStrategy cannot be null");
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.modelId = ResponseCache.modelIdOf(model);
+    }
+
+    private String classify(String fullPrompt) {
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(SystemMessage.from(classificationPrompt));
+        messages.add(UserMessage.from(fullPrompt));
+        try (ModelRateLimiter.Permit permit = rateLimiter != null
+                ? rateLimiter.acquire(ModelRateLimiter.estimateTokens(classificationPrompt, fullPrompt))
+                : null) {
+            AiMessage response = model.chat(messages).aiMessage();
+            return response.text();
+        }
     }
 
     @Override
@@ -129,12 +186,11 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
             String fullPrompt = buildClassificationPrompt(content, availableRoutes, context);
             
             // Query the LLM
-            List<ChatMessage> messages = new ArrayList<>();
-            messages.add(SystemMessage.from(classificationPrompt));
-            messages.add(UserMessage.from(fullPrompt));
-            
-            AiMessage response = model.chat(messages).aiMessage();
-            String responseText = response.text();
+            String responseText = requestCoalescer != null
+                    ? requestCoalescer.execute(
+                            ResponseCache.key(modelId, classificationPrompt, fullPrompt),
+                            () -> classify(fullPrompt))
+                    : classify(fullPrompt);
             
             // Parse the response
             RoutingDecision decision = parseResponse(responseText, availableRoutes, startTime);
@@ -248,7 +304,8 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
      * @param startTime The processing start time
      * @return A RoutingDecision based on the LLM response
      */
-    private RoutingDecision parseResponse(String responseText, Set<NodeId> availableRoutes, long startTime) {
+    // Package-private for the routing benchmarks
+    RoutingDecision parseResponse(String responseText, Set<NodeId> availableRoutes, long startTime) {
         // Extract route from response
         Matcher routeMatcher = ROUTE_PATTERN.matcher(responseText);
         if (!routeMatcher.find()) {
@@ -362,6 +419,8 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
         private boolean includeReasoning = true;
         private int maxAlternatives = 3;
         private RoutingStrategy strategy;
+        private RequestCoalescer requestCoalescer;
+        private ModelRateLimiter rateLimiter;
 
         /**
          * Sets the node ID for the router.
@@ -462,6 +521,31 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
             return this;
         }
 
+        /**
+         * Sets the coalescer that shares one classification call between
+         * concurrent identical requests. Requests are not coalesced by default.
+         *
+         * @param requestCoalescer The request coalescer
+         * @return This builder instance
+         */
+        public Builder<T> requestCoalescer(RequestCoalescer requestCoalescer) {
+            this.requestCoalescer = requestCoalescer;
+            return this;
+        }
+
+        /**
+         * Sets the limiter that paces classification calls. Share one limiter
+         * between all nodes and routers calling the same model. Calls are not
+         * limited by default.
+         *
+         * @param rateLimiter The model rate limiter
+         * @return This builder instance
+         */
+        public Builder<T> rateLimiter(ModelRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
         /**
          * Builds a new GraphLLMContentRouter instance.
          *
@@ -494,7 +578,9 @@ public class GraphLLMContentRouter<T> implements ContentRouter<T> {
                     includeAlternatives,
                     includeReasoning,
                     maxAlternatives,
-                    strategy
+                    strategy,
+                    requestCoalescer,
+                    rateLimiter
             );
         }
     }
@@ -0,0 +1,274 @@
+package dev.agents4j.langchain4j.workflow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.execution.CancellationToken;
+import dev.agents4j.api.graph.GraphCommand;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.api.result.WorkflowResult;
+import dev.agents4j.api.result.error.WorkflowError;
+import dev.agents4j.langchain4j.workflow.limit.ModelRateLimiter;
+import dev.agents4j.workflow.history.ProcessingHistory;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class StreamingLLMGraphWorkflowNodeTest {
+
+    private static final WorkflowId WORKFLOW_ID = WorkflowId.of("wf-stream");
+    private static final NodeId NODE_ID = NodeId.of("writer");
+
+    private static GraphWorkflowState<String> state() {
+        return GraphWorkflowState.create(WORKFLOW_ID, "Write a haiku", NODE_ID);
+    }
+
+    private static StreamingLLMGraphWorkflowNode<String> node(
+        StreamingChatModel model,
+        TokenListener listener,
+        ModelRateLimiter rateLimiter
+    ) {
+        return StreamingLLMGraphWorkflowNode
+            .<String>builder()
+            .nodeId(NODE_ID.value())
+            .model(model)
+            .systemPrompt("You are a poet")
+            .tokenListener(listener)
+            .rateLimiter(rateLimiter)
+            .nextNodeId("review")
+            .build();
+    }
+
+    private static CompletableFuture<
+        WorkflowResult<GraphCommand<String>, WorkflowError>
+    > start(StreamingLLMGraphWorkflowNode<String> node, CancellationToken token) {
+        CancellationToken.Scope scope = token.enter();
+        try {
+            return node.processAsync(state()).toCompletableFuture();
+        } finally {
+            scope.close();
+        }
+    }
+
+    private static ChatResponse response(String text) {
+        return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+    }
+
+    @Nested
+    @DisplayName("Streaming Tests")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Should publish tokens as they arrive and complete on the final response")
+        void shouldPublishTokens() {
+            // Arrange
+            var model = new ScriptedModel();
+            var tokens = new CopyOnWriteArrayList<String>();
+            var node = node(model, (workflowId, nodeId, token) -> {
+                assertEquals(WORKFLOW_ID, workflowId);
+                assertEquals(NODE_ID, nodeId);
+                tokens.add(token);
+            }, null);
+
+            // Act
+            var stage = start(node, CancellationToken.none());
+            model.handler.onPartialResponse("Autumn ");
+            model.handler.onPartialResponse("moon");
+            boolean doneBeforeCompletion = stage.isDone();
+            model.handler.onCompleteResponse(response("Autumn moon"));
+
+            // Assert
+            assertFalse(doneBeforeCompletion);
+            assertEquals(List.of("Autumn ", "moon"), tokens);
+            var result = stage.join();
+            assertTrue(result.isSuccess());
+            var command = (GraphCommandTraverse<String>) result.getOrThrow();
+            assertEquals(NodeId.of("review"), command.targetNode());
+            var history = command
+                .contextUpdates()
+                .orElseThrow()
+                .get(ProcessingHistory.HISTORY_KEY)
+                .orElseThrow();
+            assertEquals(
+                "Autumn moon",
+                history.getLatestFromNode(NODE_ID).orElseThrow().output()
+            );
+        }
+
+        @Test
+        @DisplayName("Should hold the rate limiter permit until the stream ends")
+        void shouldHoldPermitUntilCompletion() {
+            // Arrange
+            var model = new ScriptedModel();
+            var limiter = ModelRateLimiter.builder().maxConcurrency(1).build();
+            var node = node(model, null, limiter);
+
+            // Act
+            var stage = start(node, CancellationToken.none());
+            int activeWhileStreaming = limiter.stats().active();
+            model.handler.onPartialResponse("Autumn");
+            model.handler.onCompleteResponse(response("Autumn"));
+
+            // Assert
+            assertEquals(1, activeWhileStreaming);
+            assertTrue(stage.join().isSuccess());
+            assertEquals(0, limiter.stats().active());
+        }
+
+        @Test
+        @DisplayName("Should fail and free the permit when the stream errors")
+        void shouldFailOnStreamError() {
+            // Arrange
+            var model = new ScriptedModel();
+            var limiter = ModelRateLimiter.builder().maxConcurrency(1).build();
+            var node = node(model, null, limiter);
+
+            // Act
+            var stage = start(node, CancellationToken.none());
+            model.handler.onError(new IllegalStateException("Connection reset"));
+
+            // Assert
+            var result = stage.join();
+            assertTrue(result.isFailure());
+            assertEquals(
+                "llm-processing-error",
+                result.getError().orElseThrow().code()
+            );
+            assertEquals(0, limiter.stats().active());
+        }
+
+        @Test
+        @DisplayName("Should fail recoverably when the rate limiter does not admit the call")
+        void shouldReportRateLimited() {
+            // Arrange
+            var model = new ScriptedModel();
+            var limiter = ModelRateLimiter
+                .builder()
+                .maxConcurrency(1)
+                .maxWait(Duration.ZERO)
+                .build();
+            var node = node(model, null, limiter);
+            var held = limiter.acquire(0);
+
+            // Act
+            var result = start(node, CancellationToken.none()).join();
+            held.close();
+
+            // Assert
+            assertTrue(result.isFailure());
+            var error = result.getError().orElseThrow();
+            assertEquals("llm-rate-limited", error.code());
+            assertTrue(error.isRecoverable());
+            assertNull(model.handler);
+        }
+    }
+
+    @Nested
+    @DisplayName("Abandon Tests")
+    class AbandonTests {
+
+        @Test
+        @DisplayName("Should abandon the stream when the workflow is cancelled")
+        void shouldAbandonOnCancel() {
+            // Arrange
+            var model = new ScriptedModel();
+            var tokens = new CopyOnWriteArrayList<String>();
+            var limiter = ModelRateLimiter.builder().maxConcurrency(1).build();
+            var node = node(
+                model,
+                (workflowId, nodeId, token) -> tokens.add(token),
+                limiter
+            );
+            var token = CancellationToken.create();
+            var stage = start(node, token);
+            model.handler.onPartialResponse("Autumn ");
+
+            // Act
+            token.cancel();
+            model.handler.onPartialResponse("moon");
+            model.handler.onCompleteResponse(response("Autumn moon"));
+
+            // Assert
+            var result = stage.join();
+            assertTrue(result.isFailure());
+            assertEquals(
+                "llm-deadline-exceeded",
+                result.getError().orElseThrow().code()
+            );
+            assertEquals(List.of("Autumn "), tokens);
+            assertEquals(0, limiter.stats().active());
+        }
+
+        @Test
+        @DisplayName("Should abandon the stream when the executor cancels the stage")
+        void shouldAbandonOnStageCancel() {
+            // Arrange
+            var model = new ScriptedModel();
+            var tokens = new CopyOnWriteArrayList<String>();
+            var limiter = ModelRateLimiter.builder().maxConcurrency(1).build();
+            var node = node(
+                model,
+                (workflowId, nodeId, token) -> tokens.add(token),
+                limiter
+            );
+            var stage = start(node, CancellationToken.create());
+
+            // Act
+            stage.cancel(true);
+            model.handler.onPartialResponse("late");
+
+            // Assert
+            assertTrue(tokens.isEmpty());
+            assertEquals(0, limiter.stats().active());
+        }
+
+        @Test
+        @DisplayName("Should not call the model once the budget is spent")
+        void shouldSkipCallWhenCancelled() {
+            // Arrange
+            var model = new ScriptedModel();
+            var node = node(model, null, null);
+            var token = CancellationToken.create();
+            token.cancel();
+
+            // Act
+            var result = start(node, token).join();
+
+            // Assert
+            assertTrue(result.isFailure());
+            assertEquals(
+                "llm-deadline-exceeded",
+                result.getError().orElseThrow().code()
+            );
+            assertNull(model.handler);
+        }
+    }
+
+    /**
+     * Streaming model that keeps the handler of its last call, so tests can
+     * drive the stream callbacks themselves.
+     */
+    private static class ScriptedModel implements StreamingChatModel {
+
+        private volatile StreamingChatResponseHandler handler;
+
+        @Override
+        public void chat(
+            List<ChatMessage> messages,
+            StreamingChatResponseHandler handler
+        ) {
+            this.handler = handler;
+        }
+    }
+}
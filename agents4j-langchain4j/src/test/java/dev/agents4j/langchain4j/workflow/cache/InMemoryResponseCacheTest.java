@@ -0,0 +1,245 @@
+package dev.agents4j.langchain4j.workflow.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.langchain4j.workflow.LLMGraphWorkflowNode;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class InMemoryResponseCacheTest {
+
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict the least recently used response")
+        void shouldEvictLeastRecentlyUsed() {
+            // Arrange
+            var cache = InMemoryResponseCache.builder().maxEntries(2).build();
+            cache.put("a", "response a");
+            cache.put("b", "response b");
+            cache.get("a");
+
+            // Act
+            cache.put("c", "response c");
+
+            // Assert
+            assertEquals("response a", cache.get("a").orElseThrow());
+            assertTrue(cache.get("b").isEmpty());
+            assertEquals("response c", cache.get("c").orElseThrow());
+            assertEquals(1, cache.stats().evictions());
+            assertEquals(2, cache.stats().entries());
+        }
+
+        @Test
+        @DisplayName("Should evict to stay within the size bound")
+        void shouldEvictBySize() {
+            // Arrange
+            var cache = InMemoryResponseCache.builder().maxBytes(400).build();
+            cache.put("a", "x".repeat(50));
+            cache.put("b", "y".repeat(50));
+
+            // Act
+            cache.put("c", "z".repeat(50));
+
+            // Assert
+            assertTrue(cache.get("a").isEmpty());
+            assertTrue(cache.get("b").isPresent());
+            assertTrue(cache.get("c").isPresent());
+            assertTrue(cache.stats().bytes() <= 400);
+        }
+
+        @Test
+        @DisplayName("Should not cache a response larger than the size bound")
+        void shouldSkipOversizedResponse() {
+            // Arrange
+            var cache = InMemoryResponseCache.builder().maxBytes(400).build();
+            cache.put("small", "fits");
+
+            // Act
+            cache.put("large", "x".repeat(1000));
+
+            // Assert
+            assertTrue(cache.get("large").isEmpty());
+            assertEquals("fits", cache.get("small").orElseThrow());
+            assertEquals(0, cache.stats().evictions());
+        }
+
+        @Test
+        @DisplayName("Should replace a response cached under the same key")
+        void shouldReplaceResponse() {
+            // Arrange
+            var cache = InMemoryResponseCache.builder().build();
+            cache.put("a", "first");
+            long firstBytes = cache.stats().bytes();
+
+            // Act
+            cache.put("a", "second");
+
+            // Assert
+            assertEquals("second", cache.get("a").orElseThrow());
+            assertEquals(1, cache.stats().entries());
+            assertEquals(firstBytes + 2, cache.stats().bytes());
+        }
+    }
+
+    @Nested
+    @DisplayName("Expiry Tests")
+    class ExpiryTests {
+
+        @Test
+        @DisplayName("Should expire a response once its TTL has passed")
+        void shouldExpireAfterTtl() {
+            // Arrange
+            var clock = new MutableClock(START);
+            var cache = InMemoryResponseCache
+                .builder()
+                .ttl(Duration.ofMinutes(10))
+                .clock(clock)
+                .build();
+            cache.put("a", "response a");
+
+            // Act
+            clock.advance(Duration.ofMinutes(9));
+            var beforeExpiry = cache.get("a");
+            clock.advance(Duration.ofMinutes(1));
+            var atExpiry = cache.get("a");
+
+            // Assert
+            assertEquals("response a", beforeExpiry.orElseThrow());
+            assertTrue(atExpiry.isEmpty());
+            var stats = cache.stats();
+            assertEquals(1, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(1, stats.expirations());
+            assertEquals(0, stats.entries());
+            assertEquals(0, stats.bytes());
+        }
+
+        @Test
+        @DisplayName("Should restart the TTL when a response is cached again")
+        void shouldRestartTtlOnPut() {
+            // Arrange
+            var clock = new MutableClock(START);
+            var cache = InMemoryResponseCache
+                .builder()
+                .ttl(Duration.ofMinutes(10))
+                .clock(clock)
+                .build();
+            cache.put("a", "response a");
+            clock.advance(Duration.ofMinutes(8));
+
+            // Act
+            cache.put("a", "response a");
+            clock.advance(Duration.ofMinutes(8));
+
+            // Assert
+            assertEquals("response a", cache.get("a").orElseThrow());
+        }
+    }
+
+    @Nested
+    @DisplayName("Node Tests")
+    class NodeTests {
+
+        @Test
+        @DisplayName("Should answer a repeated request from the cache")
+        void shouldAnswerRepeatedRequestFromCache() {
+            // Arrange
+            var calls = new AtomicInteger();
+            var cache = InMemoryResponseCache.builder().build();
+            var node = LLMGraphWorkflowNode
+                .<String>builder()
+                .nodeId("answer")
+                .model(new EchoModel(calls))
+                .systemPrompt("Answer briefly")
+                .responseCache(cache)
+                .build();
+            var state = GraphWorkflowState.create(
+                WorkflowId.of("wf-cache"),
+                "question",
+                NodeId.of("answer")
+            );
+
+            // Act
+            var first = node.process(state);
+            var second = node.process(state);
+
+            // Assert
+            assertTrue(first.isSuccess());
+            assertTrue(second.isSuccess());
+            assertEquals(1, calls.get());
+            assertEquals(1, cache.stats().hits());
+            assertEquals(1, cache.stats().entries());
+        }
+    }
+
+    /**
+     * Model that answers with the user message and counts its calls.
+     */
+    private static class EchoModel implements ChatModel {
+
+        private final AtomicInteger calls;
+
+        EchoModel(AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public ChatResponse chat(List<ChatMessage> messages) {
+            calls.incrementAndGet();
+            UserMessage user = (UserMessage) messages.get(messages.size() - 1);
+            return ChatResponse
+                .builder()
+                .aiMessage(AiMessage.from("echo: " + user.singleText()))
+                .build();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.agents4j.langchain4j.workflow.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.execution.CancellationToken;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RequestCoalescerTest {
+
+    private static final String KEY = "same-request";
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private CompletableFuture<String> callAsync(
+        RequestCoalescer coalescer,
+        Supplier<String> call
+    ) {
+        return CompletableFuture.supplyAsync(
+            () -> coalescer.execute(KEY, call),
+            callers
+        );
+    }
+
+    private static void awaitCondition(BooleanSupplier condition)
+        throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits for the latch without giving in to interrupts, like a model
+     * client that only notices cancellation when its response arrives.
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nested
+    @DisplayName("Sharing Tests")
+    class SharingTests {
+
+        @Test
+        @DisplayName("Should answer all waiting callers with one upstream call")
+        void shouldFanOutResponse() throws Exception {
+            // Arrange
+            var coalescer = new RequestCoalescer();
+            var calls = new AtomicInteger();
+            var release = new CountDownLatch(1);
+            Supplier<String> call = () -> {
+                calls.incrementAndGet();
+                awaitUninterruptibly(release);
+                return "shared answer";
+            };
+            var leader = callAsync(coalescer, call);
+            awaitCondition(() -> calls.get() == 1);
+            List<CompletableFuture<String>> waiters = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                waiters.add(callAsync(coalescer, call));
+            }
+            awaitCondition(() -> coalescer.stats().coalescedCalls() == 4);
+
+            // Act
+            release.countDown();
+
+            // Assert
+            assertEquals("shared answer", leader.get(5, TimeUnit.SECONDS));
+            for (CompletableFuture<String> waiter : waiters) {
+                assertEquals("shared answer", waiter.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            var stats = coalescer.stats();
+            assertEquals(1, stats.upstreamCalls());
+            assertEquals(0, stats.inFlight());
+            assertEquals(0.8, stats.deduplicationRate(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should pass the leader's failure to the waiting callers")
+        void shouldShareLeaderFailure() throws Exception {
+            // Arrange
+            var coalescer = new RequestCoalescer();
+            var calls = new AtomicInteger();
+            var release = new CountDownLatch(1);
+            var failure = new IllegalStateException("Model unavailable");
+            Supplier<String> call = () -> {
+                calls.incrementAndGet();
+                awaitUninterruptibly(release);
+                throw failure;
+            };
+            var leader = callAsync(coalescer, call);
+            awaitCondition(() -> calls.get() == 1);
+            var waiter = callAsync(coalescer, call);
+            awaitCondition(() -> coalescer.stats().coalescedCalls() == 1);
+
+            // Act
+            release.countDown();
+
+            // Assert
+            var leaderError = assertThrows(
+                ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS)
+            );
+            var waiterError = assertThrows(
+                ExecutionException.class,
+                () -> waiter.get(5, TimeUnit.SECONDS)
+            );
+            assertSame(failure, leaderError.getCause());
+            assertSame(failure, waiterError.getCause());
+            assertEquals(1, calls.get());
+        }
+
+        @Test
+        @DisplayName("Should call the model again once the key is released")
+        void shouldCallAgainAfterCompletion() {
+            // Arrange
+            var coalescer = new RequestCoalescer();
+            var calls = new AtomicInteger();
+
+            // Act
+            coalescer.execute(KEY, () -> "answer " + calls.incrementAndGet());
+            String second = coalescer.execute(
+                KEY,
+                () -> "answer " + calls.incrementAndGet()
+            );
+
+            // Assert
+            assertEquals("answer 2", second);
+            assertEquals(2, coalescer.stats().upstreamCalls());
+            assertEquals(0, coalescer.stats().coalescedCalls());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation Tests")
+    class CancellationTests {
+
+        @Test
+        @DisplayName("Should release waiters to retry when the leader is cancelled")
+        void shouldRetryAfterLeaderCancelled() throws Exception {
+            // Arrange
+            var coalescer = new RequestCoalescer();
+            var calls = new AtomicInteger();
+            var release = new CountDownLatch(1);
+            var leaderToken = CancellationToken.create();
+            var leader = CompletableFuture.supplyAsync(
+                () -> {
+                    CancellationToken.Scope scope = leaderToken.enter();
+                    try {
+                        return coalescer.execute(KEY, () -> {
+                            calls.incrementAndGet();
+                            awaitUninterruptibly(release);
+                            return "stale answer";
+                        });
+                    } finally {
+                        scope.close();
+                    }
+                },
+                callers
+            );
+            awaitCondition(() -> calls.get() == 1);
+            var waiter = callAsync(coalescer, () ->
+                "fresh answer " + calls.incrementAndGet()
+            );
+            awaitCondition(() -> coalescer.stats().coalescedCalls() == 1);
+
+            // Act
+            leaderToken.cancel();
+
+            // Assert
+            assertEquals("fresh answer 2", waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(2, coalescer.stats().upstreamCalls());
+            assertEquals(0, coalescer.stats().coalescedCalls());
+            release.countDown();
+            assertEquals("stale answer", leader.get(5, TimeUnit.SECONDS));
+            assertEquals(0, coalescer.stats().inFlight());
+        }
+    }
+}
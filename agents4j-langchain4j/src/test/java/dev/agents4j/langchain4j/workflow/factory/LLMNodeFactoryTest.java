@@ -0,0 +1,125 @@
+package dev.agents4j.langchain4j.workflow.factory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dev.agents4j.api.graph.GraphCommandComplete;
+import dev.agents4j.api.graph.GraphCommandTraverse;
+import dev.agents4j.api.graph.GraphWorkflowState;
+import dev.agents4j.api.graph.NodeId;
+import dev.agents4j.api.graph.WorkflowId;
+import dev.agents4j.langchain4j.workflow.limit.ModelRateLimiter;
+import dev.agents4j.workflow.history.ProcessingHistory;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LLMNodeFactoryTest {
+
+    private static final NodeId NODE_ID = NodeId.of("summary");
+
+    private static GraphWorkflowState<String> state() {
+        return GraphWorkflowState.create(
+            WorkflowId.of("wf-factory"),
+            "question",
+            NODE_ID
+        );
+    }
+
+    @Nested
+    @DisplayName("Completing Node Tests")
+    class CompletingNodeTests {
+
+        @Test
+        @DisplayName("Should complete the workflow with the response")
+        void shouldCompleteWithResponse() {
+            // Arrange
+            var node = LLMNodeFactory
+                .<String>llmNode(NODE_ID.value(), new EchoModel(), "Summarize")
+                .completing()
+                .build();
+
+            // Act
+            var result = node.process(state());
+
+            // Assert
+            assertTrue(result.isSuccess());
+            var command = (GraphCommandComplete<String>) result.getOrThrow();
+            assertEquals("echo: question", command.result());
+            var history = command
+                .contextUpdates()
+                .orElseThrow()
+                .get(ProcessingHistory.HISTORY_KEY)
+                .orElseThrow();
+            assertEquals(
+                "echo: question",
+                history.getLatestFromNode(NODE_ID).orElseThrow().output()
+            );
+            assertEquals("CompletingLLM-summary", node.getName());
+        }
+
+        @Test
+        @DisplayName("Should fail recoverably when the rate limiter does not admit the call")
+        void shouldReportRateLimited() {
+            // Arrange
+            var limiter = ModelRateLimiter
+                .builder()
+                .maxConcurrency(1)
+                .maxWait(Duration.ZERO)
+                .build();
+            var node = LLMNodeFactory
+                .<String>llmNode(NODE_ID.value(), new EchoModel(), "Summarize")
+                .rateLimiter(limiter)
+                .completing()
+                .build();
+            var held = limiter.acquire(0);
+
+            // Act
+            var result = node.process(state());
+            held.close();
+
+            // Assert
+            var error = result.getError().orElseThrow();
+            assertEquals("llm-rate-limited", error.code());
+            assertTrue(error.isRecoverable());
+        }
+
+        @Test
+        @DisplayName("Should traverse to the next node unless completing")
+        void shouldTraverseByDefault() {
+            // Arrange
+            var node = LLMNodeFactory
+                .<String>llmNode(NODE_ID.value(), new EchoModel(), "Summarize")
+                .nextNode("review")
+                .build();
+
+            // Act
+            var result = node.process(state());
+
+            // Assert
+            var command = (GraphCommandTraverse<String>) result.getOrThrow();
+            assertEquals(NodeId.of("review"), command.targetNode());
+        }
+    }
+
+    /**
+     * Model that answers with the user message.
+     */
+    private static class EchoModel implements ChatModel {
+
+        @Override
+        public ChatResponse chat(List<ChatMessage> messages) {
+            UserMessage user = (UserMessage) messages.get(messages.size() - 1);
+            return ChatResponse
+                .builder()
+                .aiMessage(AiMessage.from("echo: " + user.singleText()))
+                .build();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package dev.agents4j.langchain4j.workflow.hedge;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class HedgingPolicyTest {
+
+    private static final String KEY = "writer";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A call that answers after the given time, or fails when interrupted.
+     */
+    private static Supplier<String> slowCall(String response, Duration latency) {
+        return () -> {
+            try {
+                Thread.sleep(latency.toMillis());
+                return response;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Call interrupted", e);
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Delay Tests")
+    class DelayTests {
+
+        @Test
+        @DisplayName("Should hedge a call slower than the delay and cancel the loser")
+        void shouldHedgeSlowCall() throws Exception {
+            // Arrange
+            var policy = HedgingPolicy
+                .builder()
+                .delay(Duration.ofMillis(20))
+                .maxExtraLoad(1.0)
+                .executor(executor)
+                .build();
+            var primaryInterrupted = new CountDownLatch(1);
+            Supplier<String> primary = () -> {
+                try {
+                    new CountDownLatch(1).await();
+                    return "primary";
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                    throw new IllegalStateException("Call interrupted", e);
+                }
+            };
+
+            // Act
+            String response = policy.execute(KEY, primary, () -> "hedge");
+
+            // Assert
+            assertEquals("hedge", response);
+            assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS));
+            var stats = policy.stats(KEY);
+            assertEquals(1, stats.requests());
+            assertEquals(1, stats.hedged());
+            assertEquals(1, stats.hedgeWins());
+        }
+
+        @Test
+        @DisplayName("Should not hedge a call faster than the delay")
+        void shouldNotHedgeFastCall() {
+            // Arrange
+            var policy = HedgingPolicy
+                .builder()
+                .delay(Duration.ofSeconds(5))
+                .maxExtraLoad(1.0)
+                .executor(executor)
+                .build();
+            var hedged = new AtomicBoolean();
+
+            // Act
+            String response = policy.execute(KEY, () -> "primary", () -> {
+                hedged.set(true);
+                return "hedge";
+            });
+
+            // Assert
+            assertEquals("primary", response);
+            assertFalse(hedged.get());
+            assertEquals(0, policy.stats(KEY).hedged());
+        }
+
+        @Test
+        @DisplayName("Should run calls on the caller's thread until a quantile exists")
+        void shouldRunInlineUntilQuantile() {
+            // Arrange
+            var policy = HedgingPolicy
+                .builder()
+                .minSamples(2)
+                .executor(executor)
+                .build();
+            var caller = Thread.currentThread();
+            var threads = new AtomicReference<Thread>();
+            Supplier<String> primary = () -> {
+                threads.set(Thread.currentThread());
+                return "primary";
+            };
+
+            // Act
+            policy.execute(KEY, primary, () -> "hedge");
+            var firstThread = threads.get();
+            boolean delayAfterFirst = policy.stats(KEY).delay().isPresent();
+            policy.execute(KEY, primary, () -> "hedge");
+            policy.execute(KEY, primary, () -> "hedge");
+            var thirdThread = threads.get();
+
+            // Assert
+            assertSame(caller, firstThread);
+            assertFalse(delayAfterFirst);
+            assertNotSame(caller, thirdThread);
+            assertTrue(policy.stats(KEY).delay().isPresent());
+        }
+
+        @Test
+        @DisplayName("Should count failed calls toward the latency quantile")
+        void shouldRecordFailedCallLatency() {
+            // Arrange
+            var policy = HedgingPolicy
+                .builder()
+                .minSamples(1)
+                .executor(executor)
+                .build();
+            var failing = slowCall("never", Duration.ofMillis(50));
+
+            // Act
+            assertThrows(
+                IllegalStateException.class,
+                () -> policy.execute(
+                    KEY,
+                    () -> {
+                        failing.get();
+                        throw new IllegalStateException("Model timed out");
+                    },
+                    () -> "hedge"
+                )
+            );
+
+            // Assert
+            var delay = policy.stats(KEY).delay().orElseThrow();
+            assertTrue(delay.compareTo(Duration.ofMillis(50)) >= 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Budget Tests")
+    class BudgetTests {
+
+        @Test
+        @DisplayName("Should not let quiet periods save up more than the burst")
+        void shouldCapSavedBudget() {
+            // Arrange
+            var policy = HedgingPolicy
+                .builder()
+                .delay(Duration.ofMillis(20))
+                .maxExtraLoad(0.25)
+                .maxBurst(2)
+                .executor(executor)
+                .build();
+            for (int i = 0; i < 12; i++) {
+                policy.execute(KEY, () -> "fast", () -> "hedge");
+            }
+            var slow = slowCall("primary", Duration.ofMillis(300));
+
+            // Act
+            String first = policy.execute(KEY, slow, () -> "hedge");
+            String second = policy.execute(KEY, slow, () -> "hedge");
+            String third = policy.execute(KEY, slow, () -> "hedge");
+
+            // Assert
+            assertEquals("hedge", first);
+            assertEquals("hedge", second);
+            assertEquals("primary", third);
+            assertEquals(2, policy.stats(KEY).hedged());
+        }
+
+        @Test
+        @DisplayName("Should never hedge without an extra load budget")
+        void shouldNotHedgeWithoutBudget() {
+            // Arrange
+            var policy = HedgingPolicy
+                .builder()
+                .delay(Duration.ZERO)
+                .maxExtraLoad(0.0)
+                .executor(executor)
+                .build();
+            var hedges = new AtomicInteger();
+
+            // Act
+            for (int i = 0; i < 5; i++) {
+                policy.execute(
+                    KEY,
+                    slowCall("primary", Duration.ofMillis(10)),
+                    () -> "hedge " + hedges.incrementAndGet()
+                );
+            }
+
+            // Assert
+            assertEquals(0, hedges.get());
+            assertEquals(0.0, policy.stats(KEY).extraLoad());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle Tests")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Should shut down its own executor on close")
+        void shouldShutDownOwnExecutor() {
+            // Arrange
+            var policy = HedgingPolicy
+                .builder()
+                .delay(Duration.ofSeconds(5))
+                .build();
+            assertEquals("primary", policy.execute(KEY, () -> "primary", () -> "hedge"));
+
+            // Act
+            policy.close();
+
+            // Assert
+            assertThrows(
+                RejectedExecutionException.class,
+                () -> policy.execute(KEY, () -> "primary", () -> "hedge")
+            );
+        }
+
+        @Test
+        @DisplayName("Should leave a supplied executor running on close")
+        void shouldLeaveSuppliedExecutor() {
+            // Arrange
+            var policy = HedgingPolicy.builder().executor(executor).build();
+
+            // Act
+            policy.close();
+
+            // Assert
+            assertFalse(executor.isShutdown());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package dev.agents4j.langchain4j.workflow.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ModelRateLimiterTest {
+
+    // Long enough that buckets do not refill noticeably during a test
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Nested
+    @DisplayName("Rate Tests")
+    class RateTests {
+
+        @Test
+        @DisplayName("Should admit a burst up to the request limit")
+        void shouldLimitRequests() {
+            // Arrange
+            var limiter = ModelRateLimiter
+                .builder()
+                .requestsPer(2, HOUR)
+                .maxWait(Duration.ZERO)
+                .build();
+
+            // Act
+            limiter.acquire(10).close();
+            limiter.acquire(10).close();
+            var error = assertThrows(
+                ModelRateLimiter.WaitTimeoutException.class,
+                () -> limiter.acquire(10)
+            );
+
+            // Assert
+            assertEquals("rate", error.limit());
+            assertEquals(Duration.ZERO, error.maxWait());
+            assertEquals(2, limiter.stats().granted());
+            assertEquals(1, limiter.stats().timedOut());
+        }
+
+        @Test
+        @DisplayName("Should count estimated and reserved tokens against the token limit")
+        void shouldLimitTokens() {
+            // Arrange
+            var limiter = ModelRateLimiter
+                .builder()
+                .tokensPer(100, HOUR)
+                .outputTokenReserve(20)
+                .maxWait(Duration.ZERO)
+                .build();
+
+            // Act
+            limiter.acquire(30).close();
+            limiter.acquire(30).close();
+
+            // Assert
+            assertThrows(
+                ModelRateLimiter.WaitTimeoutException.class,
+                () -> limiter.acquire(1)
+            );
+        }
+
+        @Test
+        @DisplayName("Should wait for the bucket to refill")
+        void shouldWaitForRefill() {
+            // Arrange
+            var limiter = ModelRateLimiter
+                .builder()
+                .requestsPer(1, Duration.ofMillis(100))
+                .maxWait(Duration.ofSeconds(5))
+                .build();
+            limiter.acquire(0).close();
+
+            // Act
+            long start = System.nanoTime();
+            limiter.acquire(0).close();
+            long waited = System.nanoTime() - start;
+
+            // Assert
+            assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertEquals(2, limiter.stats().granted());
+        }
+
+        @Test
+        @DisplayName("Should estimate four characters per token")
+        void shouldEstimateTokens() {
+            assertEquals(0, ModelRateLimiter.estimateTokens());
+            assertEquals(3, ModelRateLimiter.estimateTokens("12345678", null, "9"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency Tests")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Should hold a slot until the permit is closed")
+        void shouldLimitConcurrency() {
+            // Arrange
+            var limiter = ModelRateLimiter
+                .builder()
+                .maxConcurrency(1)
+                .maxWait(Duration.ZERO)
+                .build();
+
+            // Act
+            var permit = limiter.acquire(0);
+            var error = assertThrows(
+                ModelRateLimiter.WaitTimeoutException.class,
+                () -> limiter.acquire(0)
+            );
+            int activeWhileHeld = limiter.stats().active();
+            permit.close();
+            permit.close();
+
+            // Assert
+            assertEquals("concurrency", error.limit());
+            assertEquals(1, activeWhileHeld);
+            assertEquals(0, limiter.stats().active());
+            limiter.acquire(0).close();
+        }
+
+        @Test
+        @DisplayName("Should not hold a slot while waiting for the rate")
+        void shouldWaitForRateBeforeSlot() throws Exception {
+            // Arrange
+            var limiter = ModelRateLimiter
+                .builder()
+                .maxConcurrency(1)
+                .requestsPer(1, Duration.ofMillis(500))
+                .maxWait(Duration.ofSeconds(5))
+                .build();
+            limiter.acquire(0).close();
+            var started = new CountDownLatch(1);
+
+            // Act
+            var waiting = CompletableFuture.runAsync(() -> {
+                started.countDown();
+                limiter.acquire(0).close();
+            });
+            started.await();
+            Thread.sleep(100);
+            int activeWhileWaiting = limiter.stats().active();
+            waiting.get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals(0, activeWhileWaiting);
+            assertEquals(2, limiter.stats().granted());
+        }
+
+        @Test
+        @DisplayName("Should refund the rate of a caller that got no slot")
+        void shouldRefundRateOnSlotTimeout() {
+            // Arrange
+            var limiter = ModelRateLimiter
+                .builder()
+                .maxConcurrency(1)
+                .requestsPer(2, HOUR)
+                .maxWait(Duration.ZERO)
+                .build();
+            var held = limiter.acquire(0);
+
+            // Act
+            var error = assertThrows(
+                ModelRateLimiter.WaitTimeoutException.class,
+                () -> limiter.acquire(0)
+            );
+            held.close();
+
+            // Assert
+            assertEquals("concurrency", error.limit());
+            limiter.acquire(0).close();
+            assertEquals(2, limiter.stats().granted());
+        }
+    }
+}